@@ -0,0 +1,144 @@
+package com.siakad.benchmark;
+
+import com.siakad.metrics.InMemoryMetricsRegistry;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentResult;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark hot path EnrollmentService dengan repository in-memory
+ * Varian *_contended dijalankan dengan 8 thread untuk mengukur kontensi pada mata kuliah populer
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnrollmentServiceBenchmark {
+
+    @Param({"100", "5000"})
+    public int catalogSize;
+
+    @Param({"1000", "50000"})
+    public int studentCount;
+
+    /**
+     * Membandingkan hot path dengan dan tanpa metrics untuk mengukur overhead instrumentasi
+     */
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    private EnrollmentService enrollmentService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryStudentRepository students = new InMemoryStudentRepository(studentCount, 64);
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students, catalogSize, 64);
+        // Kapasitas sangat besar agar enrollCourse tidak pernah gagal karena penuh selama benchmark
+        Fixtures.loadCatalog(courses, catalogSize, Integer.MAX_VALUE);
+        Fixtures.loadRoster(students, courses, studentCount, Math.min(catalogSize, 8), new Random(42));
+        enrollmentService = new EnrollmentService(students, courses,
+                Fixtures.NO_OP_NOTIFICATIONS, new GradeCalculator());
+        if (metrics) {
+            enrollmentService.setMetricsRegistry(new InMemoryMetricsRegistry());
+        }
+    }
+
+    /**
+     * Pasangan enroll + drop pada mata kuliah tanpa prasyarat, agar enrolledCount tetap stabil
+     */
+    @Benchmark
+    public Enrollment enrollAndDrop() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String studentId = randomStudent(random);
+        String courseCode = Fixtures.courseCode(4 * random.nextInt(catalogSize / 4));
+        Enrollment enrollment = tryEnroll(studentId, courseCode);
+        if (enrollment != null) {
+            enrollmentService.dropCourse(studentId, courseCode);
+        }
+        return enrollment;
+    }
+
+    /**
+     * Sama dengan enrollAndDrop, namun penolakan dikembalikan sebagai EnrollmentResult tanpa exception
+     */
+    @Benchmark
+    public EnrollmentResult tryEnrollAndDrop() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String studentId = randomStudent(random);
+        String courseCode = Fixtures.courseCode(4 * random.nextInt(catalogSize / 4));
+        EnrollmentResult result = enrollmentService.tryEnrollCourse(studentId, courseCode);
+        if (result.isSuccess()) {
+            enrollmentService.dropCourse(studentId, courseCode);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Enrollment enrollAndDrop_contended() {
+        return enrollAndDrop();
+    }
+
+    /**
+     * Semua thread mendaftar ke satu mata kuliah yang sama (hot course)
+     */
+    @Benchmark
+    @Threads(8)
+    public Enrollment enrollAndDrop_hotCourse() {
+        String studentId = randomStudent(ThreadLocalRandom.current());
+        Enrollment enrollment = tryEnroll(studentId, Fixtures.courseCode(0));
+        if (enrollment != null) {
+            enrollmentService.dropCourse(studentId, Fixtures.courseCode(0));
+        }
+        return enrollment;
+    }
+
+    @Benchmark
+    public boolean validateCreditLimit() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return enrollmentService.validateCreditLimit(Fixtures.studentId(random.nextInt(studentCount)),
+                12 + random.nextInt(12));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean validateCreditLimit_contended() {
+        return validateCreditLimit();
+    }
+
+    private String randomStudent(ThreadLocalRandom random) {
+        return Fixtures.studentId(random.nextInt(studentCount));
+    }
+
+    private Enrollment tryEnroll(String studentId, String courseCode) {
+        try {
+            return enrollmentService.enrollCourse(studentId, courseCode);
+        } catch (RuntimeException rejected) {
+            // Mahasiswa suspended atau prasyarat belum terpenuhi juga bagian dari beban nyata
+            return null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.NotificationService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Data fixture realistis untuk benchmark: katalog mata kuliah dengan rantai prasyarat,
+ * roster mahasiswa, dan transkrip nilai
+ */
+
+final class Fixtures {
+    static final double[] GRADE_POINTS = {0.0, 1.0, 1.7, 2.0, 2.3, 2.7, 3.0, 3.3, 3.7, 4.0};
+    static final String[] STATUSES = {"ACTIVE", "ACTIVE", "ACTIVE", "PROBATION"};
+
+    /**
+     * NotificationService yang tidak melakukan apa-apa, agar benchmark mengukur service saja
+     */
+    static final NotificationService NO_OP_NOTIFICATIONS = new NotificationService() {
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+        }
+    };
+
+    private Fixtures() {
+    }
+
+    static String courseCode(int i) {
+        return "MK" + i;
+    }
+
+    static String studentId(int i) {
+        return "S" + i;
+    }
+
+    /**
+     * Setiap mata kuliah ke-i (i % 4 != 0) memiliki prasyarat mata kuliah ke-(i - 1)
+     */
+    static void loadCatalog(InMemoryCourseRepository courses, int catalogSize, int capacity) {
+        for (int i = 0; i < catalogSize; i++) {
+            Course course = new Course(courseCode(i), "Mata Kuliah " + i, 2 + i % 3, capacity, 0, "Dosen " + i % 200);
+            if (i % 4 != 0) {
+                course.addPrerequisite(courseCode(i - 1));
+            }
+            courses.save(course);
+        }
+    }
+
+    /**
+     * Setiap mahasiswa sudah menyelesaikan completedPerStudent mata kuliah pertama katalog
+     */
+    static void loadRoster(InMemoryStudentRepository students, InMemoryCourseRepository courses,
+                           int studentCount, int completedPerStudent, Random random) {
+        for (int i = 0; i < studentCount; i++) {
+            double gpa = GRADE_POINTS[random.nextInt(GRADE_POINTS.length)];
+            students.save(new Student(studentId(i), "Mahasiswa " + i, "s" + i + "@mail.com", "IF",
+                    1 + random.nextInt(8), gpa, STATUSES[random.nextInt(STATUSES.length)]));
+            for (int c = 0; c < completedPerStudent; c++) {
+                students.addCompletedCourse(studentId(i), courses.findByCourseCode(courseCode(c)));
+            }
+        }
+    }
+
+    static List<CourseGrade> transcript(int size, Random random) {
+        List<CourseGrade> grades = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            grades.add(new CourseGrade(courseCode(i), 1 + random.nextInt(4),
+                    GRADE_POINTS[random.nextInt(GRADE_POINTS.length)]));
+        }
+        return grades;
+    }
+}
@@ -0,0 +1,81 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark perhitungan IPK, status akademik, dan batas SKS
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradeCalculatorBenchmark {
+
+    // Transkrip semester awal, pertengahan, dan akhir studi
+    @Param({"8", "48", "144"})
+    public int transcriptSize;
+
+    private final GradeCalculator calculator = new GradeCalculator();
+    private List<CourseGrade> transcript;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transcript = Fixtures.transcript(transcriptSize, new Random(42));
+    }
+
+    @Benchmark
+    public double calculateGPA() {
+        return calculator.calculateGPA(transcript);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public double calculateGPA_contended() {
+        return calculator.calculateGPA(transcript);
+    }
+
+    @Benchmark
+    public String determineAcademicStatus() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return calculator.determineAcademicStatus(random.nextInt(401) / 100.0, 1 + random.nextInt(14));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String determineAcademicStatus_contended() {
+        return determineAcademicStatus();
+    }
+
+    @Benchmark
+    public int calculateMaxCredits() {
+        return calculator.calculateMaxCredits(ThreadLocalRandom.current().nextInt(401) / 100.0);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int calculateMaxCredits_contended() {
+        return calculateMaxCredits();
+    }
+}
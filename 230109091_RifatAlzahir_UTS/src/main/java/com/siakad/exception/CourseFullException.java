@@ -13,4 +13,12 @@ public class CourseFullException extends RuntimeException {
     public CourseFullException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @param message Pesan exception
+     * @param writableStackTrace false untuk exception tanpa stack trace (lebih murah dibuat di hot path)
+     */
+    public CourseFullException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.siakad.exception;
+
+/**
+ * Exception yang dilempar ketika pendaftaran membuat total SKS mahasiswa melebihi batas
+ */
+
+public class CreditLimitExceededException extends RuntimeException {
+
+    public CreditLimitExceededException(String message) {
+        super(message);
+    }
+
+    public CreditLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * @param message Pesan exception
+     * @param writableStackTrace false untuk exception tanpa stack trace (lebih murah dibuat di hot path)
+     */
+    public CreditLimitExceededException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+}
\ No newline at end of file
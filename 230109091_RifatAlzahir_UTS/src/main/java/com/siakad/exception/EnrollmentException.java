@@ -13,4 +13,12 @@ public class EnrollmentException extends RuntimeException {
     public EnrollmentException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * @param message Pesan exception
+     * @param writableStackTrace false untuk exception tanpa stack trace (lebih murah dibuat di hot path)
+     */
+    public EnrollmentException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.siakad.exception;
+
+/**
+ * Exception yang dilempar ketika jadwal mata kuliah bentrok dengan jadwal mahasiswa
+ */
+
+public class ScheduleConflictException extends RuntimeException {
+
+    public ScheduleConflictException(String message) {
+        super(message);
+    }
+
+    public ScheduleConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * @param message Pesan exception
+     * @param writableStackTrace false untuk exception tanpa stack trace (lebih murah dibuat di hot path)
+     */
+    public ScheduleConflictException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+}
\ No newline at end of file
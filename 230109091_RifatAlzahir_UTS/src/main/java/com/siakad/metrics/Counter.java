@@ -0,0 +1,11 @@
+package com.siakad.metrics;
+
+/**
+ * Penghitung kejadian yang hanya bisa bertambah
+ */
+
+@FunctionalInterface
+public interface Counter {
+
+    void increment();
+}
@@ -0,0 +1,114 @@
+package com.siakad.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetricsRegistry in-memory yang bisa di-scrape (format teks Prometheus) atau di-dump ke log
+ */
+
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+    private static final double[] REPORTED_PERCENTILES = {50.0, 99.0, 99.9};
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, AdderCounter> counters = new ConcurrentHashMap<>();
+
+    private static final class AdderCounter implements Counter {
+        private final LongAdder adder = new LongAdder();
+
+        @Override
+        public void increment() {
+            adder.increment();
+        }
+
+        long sum() {
+            return adder.sum();
+        }
+    }
+
+    @Override
+    public LatencyHistogram latency(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    @Override
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new AdderCounter());
+    }
+
+    /**
+     * @return Histogram dengan nama tersebut, atau null jika belum pernah didaftarkan
+     */
+    public LatencyHistogram getHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * @return Nilai counter, 0 jika belum pernah didaftarkan
+     */
+    public long getCount(String name) {
+        AdderCounter counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Menghasilkan semua metrics dalam format teks Prometheus
+     * Titik pada nama diganti underscore, latensi dilaporkan dalam detik sebagai summary
+     *
+     * @return Teks exposition format
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, AdderCounter> entry : new TreeMap<>(counters).entrySet()) {
+            String name = sanitize(entry.getKey()) + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            out.append(name).append(' ').append(entry.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String name = sanitize(entry.getKey()) + "_seconds";
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            out.append("# TYPE ").append(name).append(" summary\n");
+            for (double percentile : REPORTED_PERCENTILES) {
+                out.append(name).append("{quantile=\"").append(percentile / 100.0).append("\"} ")
+                        .append(seconds(snapshot.getValueAtPercentile(percentile))).append('\n');
+            }
+            out.append(name).append("_sum ").append(seconds(snapshot.getTotalNanos()))
+                    .append('\n');
+            out.append(name).append("_count ").append(snapshot.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Ringkasan metrics yang mudah dibaca, satu baris per metrics
+     *
+     * @return Teks ringkasan
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, AdderCounter> entry : new TreeMap<>(counters).entrySet()) {
+            out.append(entry.getKey()).append(" count=").append(entry.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            out.append(entry.getKey())
+                    .append(" count=").append(snapshot.getCount())
+                    .append(" p50=").append(snapshot.getValueAtPercentile(50.0)).append("ns")
+                    .append(" p99=").append(snapshot.getValueAtPercentile(99.0)).append("ns")
+                    .append(" p999=").append(snapshot.getValueAtPercentile(99.9)).append("ns")
+                    .append(" max=").append(snapshot.getMaxNanos()).append("ns")
+                    .append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+}
@@ -0,0 +1,14 @@
+package com.siakad.metrics;
+
+/**
+ * Penerima sampel latensi satu tahap operasi
+ */
+
+@FunctionalInterface
+public interface LatencyRecorder {
+
+    /**
+     * @param nanos Durasi dalam nanodetik
+     */
+    void record(long nanos);
+}
@@ -0,0 +1,39 @@
+package com.siakad.metrics;
+
+/**
+ * Registry metrics yang bisa diganti (in-memory, adapter ke sistem monitoring, atau NOOP)
+ * Recorder dan counter diambil sekali saat konfigurasi, bukan per operasi,
+ * sehingga hot path tidak melakukan lookup berdasarkan nama
+ */
+
+public interface MetricsRegistry {
+
+    /**
+     * Registry yang membuang semua metrics
+     */
+    MetricsRegistry NOOP = new MetricsRegistry() {
+        @Override
+        public LatencyRecorder latency(String name) {
+            return nanos -> {
+            };
+        }
+
+        @Override
+        public Counter counter(String name) {
+            return () -> {
+            };
+        }
+    };
+
+    /**
+     * @param name Nama metrics, misal "enrollment.stage.student_lookup"
+     * @return Recorder latensi untuk nama tersebut, instance yang sama untuk nama yang sama
+     */
+    LatencyRecorder latency(String name);
+
+    /**
+     * @param name Nama metrics, misal "enrollment.outcome.course_full"
+     * @return Counter untuk nama tersebut, instance yang sama untuk nama yang sama
+     */
+    Counter counter(String name);
+}
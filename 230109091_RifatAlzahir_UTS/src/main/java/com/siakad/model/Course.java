@@ -2,22 +2,29 @@ package com.siakad.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Model class untuk data Mata Kuliah
  */
 
 public class Course {
+    private static final AtomicIntegerFieldUpdater<Course> ENROLLED_COUNT =
+            AtomicIntegerFieldUpdater.newUpdater(Course.class, "enrolledCount");
+
     private String courseCode;
     private String courseName;
     private int credits;
     private int capacity;
-    private int enrolledCount;
+    private volatile int enrolledCount;
     private String lecturer;
     private List<String> prerequisites; // Mata kuliah prasyarat
+    private volatile int prerequisitesVersion; // Naik setiap kali daftar prasyarat diubah
+    private List<TimeSlot> timeSlots; // Jadwal pertemuan mingguan
 
     public Course() {
         this.prerequisites = new ArrayList<>();
+        this.timeSlots = new ArrayList<>();
     }
 
     public Course(String courseCode, String courseName, int credits,
@@ -29,6 +36,7 @@ public class Course {
         this.enrolledCount = enrolledCount;
         this.lecturer = lecturer;
         this.prerequisites = new ArrayList<>();
+        this.timeSlots = new ArrayList<>();
     }
 
     // Getters and Setters
@@ -72,6 +80,43 @@ public class Course {
         this.enrolledCount = enrolledCount;
     }
 
+    /**
+     * Memesan satu kursi secara atomik (lock-free)
+     * Pengecekan kapasitas dan penambahan enrolledCount dilakukan dalam satu operasi CAS
+     * pada objek ini saja, salinan lain dari mata kuliah yang sama tidak ikut terhitung
+     *
+     * @return true jika kursi berhasil dipesan, false jika mata kuliah sudah penuh
+     */
+    public boolean tryReserveSeat() {
+        while (true) {
+            int current = enrolledCount;
+            if (current >= capacity) {
+                return false;
+            }
+            if (ENROLLED_COUNT.compareAndSet(this, current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Melepas satu kursi secara atomik (lock-free)
+     * enrolledCount tidak pernah menjadi negatif
+     *
+     * @return true jika kursi berhasil dilepas, false jika tidak ada kursi yang terisi
+     */
+    public boolean releaseSeat() {
+        while (true) {
+            int current = enrolledCount;
+            if (current <= 0) {
+                return false;
+            }
+            if (ENROLLED_COUNT.compareAndSet(this, current, current - 1)) {
+                return true;
+            }
+        }
+    }
+
     public String getLecturer() {
         return lecturer;
     }
@@ -86,6 +131,7 @@ public class Course {
 
     public void setPrerequisites(List<String> prerequisites) {
         this.prerequisites = prerequisites;
+        this.prerequisitesVersion++;
     }
 
     public void addPrerequisite(String courseCode) {
@@ -93,5 +139,30 @@ public class Course {
             this.prerequisites = new ArrayList<>();
         }
         this.prerequisites.add(courseCode);
+        this.prerequisitesVersion++;
+    }
+
+    /**
+     * Versi daftar prasyarat, digunakan index prasyarat untuk mendeteksi perubahan katalog
+     *
+     * @return Versi yang naik setiap kali setPrerequisites atau addPrerequisite dipanggil
+     */
+    public int getPrerequisitesVersion() {
+        return prerequisitesVersion;
+    }
+
+    public List<TimeSlot> getTimeSlots() {
+        return timeSlots;
+    }
+
+    public void setTimeSlots(List<TimeSlot> timeSlots) {
+        this.timeSlots = timeSlots;
+    }
+
+    public void addTimeSlot(TimeSlot timeSlot) {
+        if (this.timeSlots == null) {
+            this.timeSlots = new ArrayList<>();
+        }
+        this.timeSlots.add(timeSlot);
     }
 }
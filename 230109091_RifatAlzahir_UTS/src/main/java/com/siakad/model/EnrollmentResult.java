@@ -0,0 +1,91 @@
+package com.siakad.model;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CreditLimitExceededException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.exception.ScheduleConflictException;
+import com.siakad.exception.StudentNotFoundException;
+
+/**
+ * Hasil pendaftaran satu mata kuliah
+ * Berisi Enrollment jika berhasil, posisi antrian jika masuk waitlist, atau alasan penolakan jika gagal
+ */
+
+public sealed interface EnrollmentResult {
+
+    /**
+     * @return Kode mata kuliah yang diminta
+     */
+    String courseCode();
+
+    /**
+     * @return true jika pendaftaran berhasil
+     */
+    boolean isSuccess();
+
+    /**
+     * Pendaftaran berhasil
+     *
+     * @param enrollment Enrollment yang dibuat
+     */
+    record Success(Enrollment enrollment) implements EnrollmentResult {
+        @Override
+        public String courseCode() {
+            return enrollment.getCourseCode();
+        }
+
+        @Override
+        public boolean isSuccess() {
+            return true;
+        }
+    }
+
+    /**
+     * Pendaftaran ditolak
+     *
+     * @param courseCode Kode mata kuliah yang diminta
+     * @param reason Alasan penolakan
+     * @param message Pesan penolakan
+     */
+    record Rejected(String courseCode, RejectionReason reason, String message) implements EnrollmentResult {
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+
+        /**
+         * Mengubah penolakan menjadi exception yang sesuai dengan kontrak EnrollmentService#enrollCourse
+         *
+         * @param writableStackTrace false untuk exception tanpa stack trace
+         * @return Exception dengan pesan yang sama
+         */
+        public RuntimeException toException(boolean writableStackTrace) {
+            return switch (reason) {
+                case STUDENT_NOT_FOUND -> new StudentNotFoundException(message, writableStackTrace);
+                case COURSE_NOT_FOUND -> new CourseNotFoundException(message, writableStackTrace);
+                case COURSE_FULL -> new CourseFullException(message, writableStackTrace);
+                case PREREQUISITE_NOT_MET -> new PrerequisiteNotMetException(message, writableStackTrace);
+                case SCHEDULE_CONFLICT -> new ScheduleConflictException(message, writableStackTrace);
+                case CREDIT_LIMIT_EXCEEDED -> new CreditLimitExceededException(message, writableStackTrace);
+                case STUDENT_SUSPENDED, ALREADY_ENROLLED, DUPLICATE_REQUEST -> new EnrollmentException(message, writableStackTrace);
+            };
+        }
+    }
+
+    /**
+     * Mata kuliah penuh, mahasiswa dimasukkan ke waitlist dan akan dipromosikan otomatis
+     * ketika ada kursi yang dilepas
+     *
+     * @param courseCode Kode mata kuliah yang diminta
+     * @param studentId ID mahasiswa
+     * @param position Posisi di waitlist, mulai dari 1
+     */
+    record Waitlisted(String courseCode, String studentId, int position) implements EnrollmentResult {
+        @Override
+        public boolean isSuccess() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.siakad.model;
+
+/**
+ * Alasan penolakan pendaftaran mata kuliah
+ */
+
+public enum RejectionReason {
+    STUDENT_NOT_FOUND,
+    STUDENT_SUSPENDED,
+    COURSE_NOT_FOUND,
+    COURSE_FULL,
+    PREREQUISITE_NOT_MET,
+    SCHEDULE_CONFLICT,
+    CREDIT_LIMIT_EXCEEDED,
+    ALREADY_ENROLLED,
+    DUPLICATE_REQUEST
+}
@@ -0,0 +1,87 @@
+package com.siakad.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Satu pertemuan mingguan mata kuliah, misal Senin 07:30 - 09:10
+ * Waktu harus kelipatan 5 menit (resolusi bitmap jadwal mingguan) dan berakhir di hari yang sama
+ *
+ * @param day Hari pertemuan
+ * @param start Jam mulai
+ * @param end Jam selesai (eksklusif, pertemuan lain boleh mulai tepat pada jam ini)
+ */
+
+public record TimeSlot(DayOfWeek day, LocalTime start, LocalTime end) {
+
+    /**
+     * Resolusi jadwal dalam menit
+     */
+    public static final int RESOLUTION_MINUTES = 5;
+
+    /**
+     * Jumlah unit resolusi dalam satu minggu
+     */
+    public static final int UNITS_PER_WEEK = 7 * 24 * 60 / RESOLUTION_MINUTES;
+
+    /**
+     * @throws IllegalArgumentException jika ada nilai null, jam selesai tidak setelah jam mulai,
+     *         atau waktu bukan kelipatan 5 menit
+     */
+    public TimeSlot {
+        if (day == null || start == null || end == null) {
+            throw new IllegalArgumentException("Day, start and end must not be null");
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Time slot must end after it starts");
+        }
+        if (!onGrid(start) || !onGrid(end)) {
+            throw new IllegalArgumentException("Time slot must be on a " + RESOLUTION_MINUTES + "-minute grid");
+        }
+    }
+
+    /**
+     * @return Unit pertama yang ditempati, dihitung dari Senin 00:00
+     */
+    public int startUnit() {
+        return unitOf(start);
+    }
+
+    /**
+     * @return Unit setelah unit terakhir yang ditempati
+     */
+    public int endUnit() {
+        return unitOf(end);
+    }
+
+    /**
+     * @return true jika kedua pertemuan beririsan waktunya
+     */
+    public boolean overlaps(TimeSlot other) {
+        return startUnit() < other.endUnit() && other.startUnit() < endUnit();
+    }
+
+    /**
+     * Kebalikan dari startUnit/endUnit, digunakan repository yang menyimpan jadwal dalam bentuk unit
+     *
+     * @throws IllegalArgumentException jika rentang unit tidak berada dalam satu hari
+     */
+    public static TimeSlot ofUnits(int startUnit, int endUnit) {
+        int unitsPerDay = UNITS_PER_WEEK / 7;
+        int day = startUnit / unitsPerDay;
+        if (startUnit < 0 || endUnit <= startUnit || endUnit > (day + 1) * unitsPerDay) {
+            throw new IllegalArgumentException("Invalid time slot units: " + startUnit + "-" + endUnit);
+        }
+        return new TimeSlot(DayOfWeek.of(day + 1),
+                LocalTime.ofSecondOfDay((long) (startUnit - day * unitsPerDay) * RESOLUTION_MINUTES * 60),
+                LocalTime.ofSecondOfDay((long) (endUnit - day * unitsPerDay) * RESOLUTION_MINUTES * 60));
+    }
+
+    private int unitOf(LocalTime time) {
+        return ((day.getValue() - 1) * 24 * 60 + time.getHour() * 60 + time.getMinute()) / RESOLUTION_MINUTES;
+    }
+
+    private static boolean onGrid(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % RESOLUTION_MINUTES == 0;
+    }
+}
@@ -0,0 +1,194 @@
+package com.siakad.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Index sekunder berbasis bitmap untuk beberapa atribut sekaligus
+ * Setiap record mendapat nomor urut (ordinal) yang rapat, dan setiap nilai atribut memiliki
+ * ChunkedBitmap berisi ordinal record dengan nilai tersebut. Query gabungan beberapa atribut
+ * dijawab dengan irisan bitmap, dimulai dari bitmap terkecil
+ *
+ * Nilai atribut terakhir yang di-index disimpan per ordinal, sehingga index bisa diperbarui
+ * walaupun objek sumbernya sudah diubah di tempat sebelum index dipanggil. Jika tidak ada atribut
+ * yang berubah (misal hanya jumlah peserta), index cukup memegang read lock tanpa alokasi
+ *
+ * @param <T> Tipe record
+ */
+
+class BitmapIndex<T> {
+    private final Function<T, String> keyExtractor;
+    private final List<Function<T, ?>> attributes;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final RecordSlots<T> records = new RecordSlots<>();
+    private final List<Object[]> indexedValues = new ArrayList<>();
+    private final List<Map<Object, ChunkedBitmap>> bitmaps = new ArrayList<>();
+    private final ChunkedBitmap all = new ChunkedBitmap();
+
+    /**
+     * @param keyExtractor Pengambil primary key record
+     * @param attributes Pengambil nilai atribut yang di-index, urutannya dipakai oleh find
+     */
+    BitmapIndex(Function<T, String> keyExtractor, List<Function<T, ?>> attributes) {
+        this.keyExtractor = keyExtractor;
+        this.attributes = List.copyOf(attributes);
+        for (int i = 0; i < attributes.size(); i++) {
+            bitmaps.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Menambahkan record atau memperbarui nilai atribut record yang sudah di-index
+     */
+    void index(T record) {
+        String key = keyExtractor.apply(record);
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(key);
+            if (ordinal != null && unchanged(indexedValues.get(ordinal), record)) {
+                records.set(ordinal, record);
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Object[] values = new Object[attributes.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = attributes.get(i).apply(record);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(key);
+            if (ordinal == null) {
+                ordinal = allocate(key, record);
+                all.add(ordinal);
+                indexedValues.set(ordinal, values);
+                for (int i = 0; i < values.length; i++) {
+                    bitmapFor(i, values[i]).add(ordinal);
+                }
+                return;
+            }
+            Object[] previous = indexedValues.get(ordinal);
+            for (int i = 0; i < values.length; i++) {
+                if (!Objects.equals(previous[i], values[i])) {
+                    removeFrom(i, previous[i], ordinal);
+                    bitmapFor(i, values[i]).add(ordinal);
+                }
+            }
+            indexedValues.set(ordinal, values);
+            records.set(ordinal, record);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean unchanged(Object[] previous, T record) {
+        for (int i = 0; i < previous.length; i++) {
+            if (!Objects.equals(previous[i], attributes.get(i).apply(record))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mencari record yang cocok dengan semua filter
+     *
+     * @param filters Nilai per atribut (urutan sesuai konstruktor), null berarti atribut tidak difilter
+     * @return Objek record terakhir yang di-index, terurut sesuai urutan pertama kali di-index
+     */
+    List<T> find(Object... filters) {
+        lock.readLock().lock();
+        try {
+            ChunkedBitmap[] selected = select(filters);
+            ChunkedBitmap result = selected.length == 1 ? selected[0] : ChunkedBitmap.and(selected);
+            List<T> found = new ArrayList<>(result.cardinality());
+            result.forEach(ordinal -> found.add(records.get(ordinal)));
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah record yang cocok dengan semua filter, tanpa membuat daftar hasil
+     */
+    int count(Object... filters) {
+        lock.readLock().lock();
+        try {
+            ChunkedBitmap[] selected = select(filters);
+            return selected.length == 1 ? selected[0].cardinality() : ChunkedBitmap.andCardinality(selected);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Bitmap yang harus diiris, terurut dari kardinalitas terkecil. Bitmap milik index,
+     *         sehingga hanya boleh dibaca di bawah read lock
+     */
+    private ChunkedBitmap[] select(Object[] filters) {
+        if (filters.length != attributes.size()) {
+            throw new IllegalArgumentException("Expected " + attributes.size() + " filters");
+        }
+        List<ChunkedBitmap> selected = new ArrayList<>(filters.length);
+        for (int i = 0; i < filters.length; i++) {
+            if (filters[i] != null) {
+                ChunkedBitmap bitmap = bitmaps.get(i).get(filters[i]);
+                if (bitmap == null) {
+                    return new ChunkedBitmap[]{new ChunkedBitmap()};
+                }
+                selected.add(bitmap);
+            }
+        }
+        if (selected.isEmpty()) {
+            return new ChunkedBitmap[]{all};
+        }
+        ChunkedBitmap[] ordered = selected.toArray(new ChunkedBitmap[0]);
+        Arrays.sort(ordered, Comparator.comparingInt(ChunkedBitmap::cardinality));
+        return ordered;
+    }
+
+    private int allocate(String key, T record) {
+        int ordinal = records.add(record);
+        indexedValues.add(null);
+        ordinals.put(key, ordinal);
+        return ordinal;
+    }
+
+    private ChunkedBitmap bitmapFor(int attribute, Object value) {
+        return bitmaps.get(attribute).computeIfAbsent(nullSafe(value), v -> new ChunkedBitmap());
+    }
+
+    private void removeFrom(int attribute, Object value, int ordinal) {
+        Map<Object, ChunkedBitmap> byValue = bitmaps.get(attribute);
+        Object key = nullSafe(value);
+        ChunkedBitmap bitmap = byValue.get(key);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                byValue.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Nilai null di-index dengan penanda sendiri, karena null pada filter berarti "semua"
+     */
+    private static Object nullSafe(Object value) {
+        return value == null ? NullValue.INSTANCE : value;
+    }
+
+    private enum NullValue {
+        INSTANCE
+    }
+}
@@ -0,0 +1,21 @@
+package com.siakad.repository;
+
+/**
+ * Statistik cache repository
+ *
+ * @param hits Jumlah pembacaan yang dilayani dari cache
+ * @param misses Jumlah pembacaan yang diteruskan ke repository asli
+ * @param evictions Jumlah entry yang dibuang karena ukuran cache penuh
+ * @param expirations Jumlah entry yang dibuang karena TTL habis
+ * @param size Jumlah entry saat ini
+ */
+public record CacheStats(long hits, long misses, long evictions, long expirations, int size) {
+
+    /**
+     * @return Rasio hit (0.0 - 1.0), 0.0 jika belum ada pembacaan
+     */
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
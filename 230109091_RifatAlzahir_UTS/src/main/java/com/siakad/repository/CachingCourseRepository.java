@@ -0,0 +1,128 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decorator read-through cache untuk CourseRepository
+ * findByCourseCode dan findByCourseCodes dilayani dari cache LRU,
+ * update dan updateAll ditulis ke repository asli lalu ke cache (write-through)
+ *
+ * Entry yang habis TTL atau di-evict dimuat ulang sebagai objek baru, sementara pemanggil lama masih
+ * memegang objek sebelumnya. Untuk EnrollmentService, delegate harus memesan kursi di penyimpanannya
+ * sendiri (misal OffHeapCourseRepository) atau cache dipakai tanpa TTL dengan ukuran yang cukup
+ * untuk semua mata kuliah
+ */
+
+public class CachingCourseRepository implements CourseRepository {
+    private final CourseRepository delegate;
+    private final RepositoryCache<String, Course> cache;
+
+    /**
+     * @param delegate Repository asli (misal database)
+     * @param maxSize Jumlah maksimal mata kuliah di cache
+     * @param ttl Umur maksimal entry, null atau Duration.ZERO berarti tanpa TTL
+     */
+    public CachingCourseRepository(CourseRepository delegate, int maxSize, Duration ttl) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate must not be null");
+        }
+        this.delegate = delegate;
+        this.cache = new RepositoryCache<>(maxSize, ttl == null ? 0 : ttl.toNanos());
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        if (courseCode == null) {
+            return null;
+        }
+        return cache.get(courseCode, delegate::findByCourseCode);
+    }
+
+    /**
+     * Hanya kode yang tidak ada di cache yang diteruskan ke repository asli, dalam satu panggilan
+     */
+    @Override
+    public Map<String, Course> findByCourseCodes(Collection<String> courseCodes) {
+        Map<String, Course> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String courseCode : courseCodes) {
+            Course cached = cache.getIfPresent(courseCode);
+            if (cached != null) {
+                found.put(courseCode, cached);
+            } else {
+                missing.add(courseCode);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        List<RepositoryCache.Node<Course>> placeholders = new ArrayList<>(missing.size());
+        for (String courseCode : missing) {
+            placeholders.add(cache.beginLoad(courseCode));
+        }
+        Map<String, Course> loaded = Map.of();
+        try {
+            loaded = delegate.findByCourseCodes(missing);
+        } finally {
+            for (int i = 0; i < missing.size(); i++) {
+                cache.completeLoad(missing.get(i), placeholders.get(i), loaded.get(missing.get(i)));
+            }
+        }
+
+        // Susun ulang agar urutan hasil sama dengan urutan permintaan
+        Map<String, Course> ordered = new LinkedHashMap<>();
+        for (String courseCode : courseCodes) {
+            Course course = found.containsKey(courseCode) ? found.get(courseCode) : loaded.get(courseCode);
+            if (course != null) {
+                ordered.put(courseCode, course);
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public void update(Course course) {
+        cache.writeThrough(course.getCourseCode(), course, delegate::update);
+    }
+
+    @Override
+    public void updateAll(Collection<Course> courses) {
+        cache.writeAllThrough(courses, Course::getCourseCode, delegate::updateAll);
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return delegate.isPrerequisiteMet(studentId, courseCode);
+    }
+
+    @Override
+    public Set<String> findCoursesWithPrerequisitesMet(String studentId, Collection<String> courseCodes) {
+        return delegate.findCoursesWithPrerequisitesMet(studentId, courseCodes);
+    }
+
+    /**
+     * Membuang satu mata kuliah dari cache, misal setelah perubahan langsung di database
+     *
+     * @param courseCode Kode mata kuliah
+     */
+    public void invalidate(String courseCode) {
+        cache.invalidate(courseCode);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
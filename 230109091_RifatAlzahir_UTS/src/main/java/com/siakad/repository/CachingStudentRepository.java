@@ -0,0 +1,71 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decorator read-through cache untuk StudentRepository
+ * findById dilayani dari cache LRU, update dan updateAll ditulis ke repository asli lalu ke cache (write-through)
+ */
+
+public class CachingStudentRepository implements StudentRepository {
+    private final StudentRepository delegate;
+    private final RepositoryCache<String, Student> cache;
+
+    /**
+     * @param delegate Repository asli (misal database)
+     * @param maxSize Jumlah maksimal mahasiswa di cache
+     * @param ttl Umur maksimal entry, null atau Duration.ZERO berarti tanpa TTL
+     */
+    public CachingStudentRepository(StudentRepository delegate, int maxSize, Duration ttl) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate must not be null");
+        }
+        this.delegate = delegate;
+        this.cache = new RepositoryCache<>(maxSize, ttl == null ? 0 : ttl.toNanos());
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        if (studentId == null) {
+            return null;
+        }
+        return cache.get(studentId, delegate::findById);
+    }
+
+    @Override
+    public void update(Student student) {
+        cache.writeThrough(student.getStudentId(), student, delegate::update);
+    }
+
+    @Override
+    public void updateAll(Collection<Student> students) {
+        cache.writeAllThrough(students, Student::getStudentId, delegate::updateAll);
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        return delegate.getCompletedCourses(studentId);
+    }
+
+    /**
+     * Membuang satu mahasiswa dari cache, misal setelah perubahan langsung di database
+     *
+     * @param studentId ID mahasiswa
+     */
+    public void invalidate(String studentId) {
+        cache.invalidate(studentId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,288 @@
+package com.siakad.repository;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Bitmap terkompresi bergaya Roaring untuk int non-negatif
+ * Nilai dibagi per chunk 65536 berdasarkan 16 bit atas. Chunk jarang disimpan sebagai array
+ * char terurut, chunk padat (lebih dari 4096 nilai) sebagai bitmap 1024 long, sehingga
+ * irisan beberapa bitmap cukup memproses chunk yang ada di semuanya
+ *
+ * Tidak thread-safe, sinkronisasi dilakukan oleh pemilik (BitmapIndex)
+ */
+
+class ChunkedBitmap {
+    private static final int ARRAY_MAX = 4_096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[0];
+    private Object[] chunks = new Object[0]; // char[] (array) atau long[] (bitmap)
+    private int[] sizes = new int[0];
+    private int chunkCount;
+
+    void add(int value) {
+        char key = (char) (value >>> 16);
+        char low = (char) value;
+        int index = Arrays.binarySearch(keys, 0, chunkCount, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, key, new char[4]);
+        }
+        Object chunk = chunks[index];
+        if (chunk instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                bits[low >>> 6] |= mask;
+                sizes[index]++;
+            }
+            return;
+        }
+        char[] values = (char[]) chunk;
+        int size = sizes[index];
+        int position = Arrays.binarySearch(values, 0, size, low);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (size == ARRAY_MAX) {
+            long[] bits = toBitmap(values, size);
+            bits[low >>> 6] |= 1L << low;
+            chunks[index] = bits;
+            sizes[index] = size + 1;
+            return;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(ARRAY_MAX, size * 2));
+            chunks[index] = values;
+        }
+        System.arraycopy(values, position, values, position + 1, size - position);
+        values[position] = low;
+        sizes[index] = size + 1;
+    }
+
+    void remove(int value) {
+        int index = Arrays.binarySearch(keys, 0, chunkCount, (char) (value >>> 16));
+        if (index < 0) {
+            return;
+        }
+        char low = (char) value;
+        Object chunk = chunks[index];
+        if (chunk instanceof long[] bits) {
+            long mask = 1L << low;
+            if ((bits[low >>> 6] & mask) == 0) {
+                return;
+            }
+            bits[low >>> 6] &= ~mask;
+            if (--sizes[index] == ARRAY_MAX) {
+                chunks[index] = toArray(bits, ARRAY_MAX);
+            }
+            return;
+        }
+        char[] values = (char[]) chunk;
+        int size = sizes[index];
+        int position = Arrays.binarySearch(values, 0, size, low);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        if (--sizes[index] == 0) {
+            removeChunk(index);
+        }
+    }
+
+    boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, chunkCount, (char) (value >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        return chunkContains(index, (char) value);
+    }
+
+    int cardinality() {
+        int total = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            total += sizes[i];
+        }
+        return total;
+    }
+
+    boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    /**
+     * Irisan beberapa bitmap sekaligus, chunk diproses satu kali tanpa bitmap perantara
+     *
+     * @param bitmaps Bitmap yang diiris, sebaiknya terurut dari kardinalitas terkecil
+     * @return Bitmap baru berisi nilai yang ada di semua bitmap
+     */
+    static ChunkedBitmap and(ChunkedBitmap... bitmaps) {
+        ChunkedBitmap result = new ChunkedBitmap();
+        intersect(bitmaps, result);
+        return result;
+    }
+
+    /**
+     * @return Jumlah nilai yang ada di semua bitmap, tanpa membuat bitmap hasil
+     */
+    static int andCardinality(ChunkedBitmap... bitmaps) {
+        return intersect(bitmaps, null);
+    }
+
+    private static int intersect(ChunkedBitmap[] bitmaps, ChunkedBitmap result) {
+        ChunkedBitmap first = bitmaps[0];
+        int[] positions = new int[bitmaps.length];
+        long[] words = null;
+        int total = 0;
+        chunks:
+        for (int c = 0; c < first.chunkCount; c++) {
+            char key = first.keys[c];
+            positions[0] = c;
+            for (int b = 1; b < bitmaps.length; b++) {
+                positions[b] = Arrays.binarySearch(bitmaps[b].keys, 0, bitmaps[b].chunkCount, key);
+                if (positions[b] < 0) {
+                    continue chunks;
+                }
+            }
+            // Chunk array terkecil menjadi kandidat, setiap nilainya dicek ke chunk lain
+            int smallest = -1;
+            for (int b = 0; b < bitmaps.length; b++) {
+                if (!(bitmaps[b].chunks[positions[b]] instanceof long[])
+                        && (smallest < 0 || bitmaps[b].sizes[positions[b]] < bitmaps[smallest].sizes[positions[smallest]])) {
+                    smallest = b;
+                }
+            }
+            if (smallest >= 0) {
+                total += intersectArrayChunk(bitmaps, positions, smallest, key, result);
+                continue;
+            }
+            if (words == null) {
+                words = new long[BITMAP_WORDS];
+            }
+            System.arraycopy((long[]) first.chunks[c], 0, words, 0, BITMAP_WORDS);
+            for (int b = 1; b < bitmaps.length; b++) {
+                long[] other = (long[]) bitmaps[b].chunks[positions[b]];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    words[w] &= other[w];
+                }
+            }
+            int size = 0;
+            for (long word : words) {
+                size += Long.bitCount(word);
+            }
+            total += size;
+            if (result != null && size > 0) {
+                result.appendChunk(key, size > ARRAY_MAX ? words.clone() : toArray(words, size), size);
+            }
+        }
+        return total;
+    }
+
+    private static int intersectArrayChunk(ChunkedBitmap[] bitmaps, int[] positions, int smallest, char key,
+                                           ChunkedBitmap result) {
+        char[] candidates = (char[]) bitmaps[smallest].chunks[positions[smallest]];
+        int candidateCount = bitmaps[smallest].sizes[positions[smallest]];
+        char[] out = result == null ? null : new char[candidateCount];
+        int count = 0;
+        values:
+        for (int k = 0; k < candidateCount; k++) {
+            char value = candidates[k];
+            for (int b = 0; b < bitmaps.length; b++) {
+                if (b != smallest && !bitmaps[b].chunkContains(positions[b], value)) {
+                    continue values;
+                }
+            }
+            if (out != null) {
+                out[count] = value;
+            }
+            count++;
+        }
+        if (result != null && count > 0) {
+            result.appendChunk(key, Arrays.copyOf(out, count), count);
+        }
+        return count;
+    }
+
+    private boolean chunkContains(int index, char low) {
+        Object chunk = chunks[index];
+        if (chunk instanceof long[] bits) {
+            return (bits[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) chunk, 0, sizes[index], low) >= 0;
+    }
+
+    /**
+     * Memanggil consumer untuk setiap nilai secara menaik
+     */
+    void forEach(IntConsumer consumer) {
+        for (int i = 0; i < chunkCount; i++) {
+            int high = keys[i] << 16;
+            Object chunk = chunks[i];
+            if (chunk instanceof long[] bits) {
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long remaining = bits[word];
+                    while (remaining != 0) {
+                        consumer.accept(high | (word << 6) | Long.numberOfTrailingZeros(remaining));
+                        remaining &= remaining - 1;
+                    }
+                }
+            } else {
+                char[] values = (char[]) chunk;
+                for (int k = 0; k < sizes[i]; k++) {
+                    consumer.accept(high | values[k]);
+                }
+            }
+        }
+    }
+
+    private void appendChunk(char key, Object chunk, int size) {
+        insertChunk(chunkCount, key, chunk);
+        sizes[chunkCount - 1] = size;
+    }
+
+    private static long[] toBitmap(char[] values, int size) {
+        long[] bits = new long[BITMAP_WORDS];
+        for (int k = 0; k < size; k++) {
+            bits[values[k] >>> 6] |= 1L << values[k];
+        }
+        return bits;
+    }
+
+    private static char[] toArray(long[] bits, int size) {
+        char[] values = new char[size];
+        int count = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                values[count++] = (char) ((word << 6) | Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+        return values;
+    }
+
+    private void insertChunk(int index, char key, Object chunk) {
+        if (chunkCount == keys.length) {
+            int capacity = Math.max(4, chunkCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, chunkCount - index);
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        System.arraycopy(sizes, index, sizes, index + 1, chunkCount - index);
+        keys[index] = key;
+        chunks[index] = chunk;
+        sizes[index] = 0;
+        chunkCount++;
+    }
+
+    private void removeChunk(int index) {
+        System.arraycopy(keys, index + 1, keys, index, chunkCount - index - 1);
+        System.arraycopy(chunks, index + 1, chunks, index, chunkCount - index - 1);
+        System.arraycopy(sizes, index + 1, sizes, index, chunkCount - index - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+    }
+}
@@ -2,6 +2,12 @@ package com.siakad.repository;
 
 import com.siakad.model.Course;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Interface untuk akses data mata kuliah
  * Interface ini akan di-stub atau di-mock dalam unit testing
@@ -34,4 +40,51 @@ public interface CourseRepository {
      * @return true jika prasyarat terpenuhi, false jika tidak
      */
     boolean isPrerequisiteMet(String studentId, String courseCode);
-}
\ No newline at end of file
+
+    /**
+     * Mencari banyak mata kuliah sekaligus dalam satu panggilan
+     * Implementasi default memanggil findByCourseCode satu per satu,
+     * implementasi yang mendukung batch sebaiknya meng-override method ini
+     *
+     * @param courseCodes Kumpulan kode mata kuliah
+     * @return Map kode mata kuliah ke Course, kode yang tidak ditemukan tidak dimasukkan
+     */
+    default Map<String, Course> findByCourseCodes(Collection<String> courseCodes) {
+        Map<String, Course> courses = new LinkedHashMap<>();
+        for (String courseCode : courseCodes) {
+            Course course = findByCourseCode(courseCode);
+            if (course != null) {
+                courses.put(courseCode, course);
+            }
+        }
+        return courses;
+    }
+
+    /**
+     * Update banyak mata kuliah sekaligus dalam satu panggilan
+     *
+     * @param courses Kumpulan Course yang akan diupdate
+     */
+    default void updateAll(Collection<Course> courses) {
+        for (Course course : courses) {
+            update(course);
+        }
+    }
+
+    /**
+     * Mengecek prasyarat banyak mata kuliah sekaligus untuk satu mahasiswa
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCodes Kumpulan kode mata kuliah
+     * @return Kode mata kuliah yang prasyaratnya sudah terpenuhi
+     */
+    default Set<String> findCoursesWithPrerequisitesMet(String studentId, Collection<String> courseCodes) {
+        Set<String> met = new HashSet<>();
+        for (String courseCode : courseCodes) {
+            if (isPrerequisiteMet(studentId, courseCode)) {
+                met.add(courseCode);
+            }
+        }
+        return met;
+    }
+}
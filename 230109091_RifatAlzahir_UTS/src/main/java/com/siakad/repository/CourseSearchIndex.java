@@ -0,0 +1,422 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index pencarian mata kuliah untuk autocomplete saat registrasi
+ * Kode mata kuliah dan setiap kata pada nama mata kuliah disimpan di radix tree (trie dengan label
+ * edge yang dipadatkan), dengan posting berupa nomor urut (ordinal) mata kuliah. Pencarian prefix
+ * cukup menelusuri trie sepanjang query lalu menggabungkan posting subtree ke bitset
+ *
+ * Urutan hasil: kode sama persis, prefix kode, lalu nama yang setiap kata query-nya menjadi prefix
+ * salah satu kata nama. Di setiap kelompok mata kuliah yang masih punya kursi didahulukan, selebihnya
+ * mengikuti urutan pertama kali di-index. Sisa kursi dibaca langsung dari Course saat pencarian
+ */
+
+public class CourseSearchIndex {
+
+    private static final char[] EMPTY_LABEL = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_POSTINGS = new int[0];
+
+    /**
+     * Satu hasil pencarian
+     *
+     * @param course Mata kuliah yang cocok
+     * @param availableSeats Sisa kursi (capacity - enrolledCount, minimal 0) saat pencarian
+     */
+    public record Match(Course course, int availableSeats) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final RecordSlots<Course> courses = new RecordSlots<>();
+    private final List<String[]> indexedTerms = new ArrayList<>(); // [0] kode, sisanya kata nama
+    private final List<String> indexedNames = new ArrayList<>();
+    private final Node codeTrie = new Node(EMPTY_LABEL);
+    private final Node nameTrie = new Node(EMPTY_LABEL);
+
+    /**
+     * Menambahkan mata kuliah atau memperbarui term mata kuliah yang sudah di-index
+     * Hanya term yang berubah yang dihapus dan ditambahkan ke trie. Jika nama tidak berubah (misal
+     * hanya jumlah peserta), objek Course cukup diganti di bawah read lock
+     *
+     * @param course Mata kuliah yang akan di-index
+     * @throws IllegalArgumentException jika course atau courseCode null
+     */
+    public void index(Course course) {
+        if (course == null || course.getCourseCode() == null) {
+            throw new IllegalArgumentException("Course and courseCode must not be null");
+        }
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(course.getCourseCode());
+            if (ordinal != null && Objects.equals(indexedNames.get(ordinal), course.getCourseName())) {
+                courses.set(ordinal, course);
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        String[] terms = termsOf(course);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(course.getCourseCode());
+            if (ordinal == null) {
+                ordinal = courses.add(course);
+                ordinals.put(course.getCourseCode(), ordinal);
+                indexedTerms.add(null);
+                indexedNames.add(null);
+            }
+            String[] previous = indexedTerms.get(ordinal);
+            if (previous == null || !previous[0].equals(terms[0])) {
+                if (previous != null) {
+                    remove(codeTrie, previous[0], 0, ordinal);
+                }
+                insert(codeTrie, terms[0], ordinal);
+            }
+            Set<String> previousWords = previous == null
+                    ? Set.of() : Set.of(Arrays.copyOfRange(previous, 1, previous.length));
+            Set<String> words = Set.of(Arrays.copyOfRange(terms, 1, terms.length));
+            for (String word : previousWords) {
+                if (!words.contains(word)) {
+                    remove(nameTrie, word, 0, ordinal);
+                }
+            }
+            for (String word : words) {
+                if (!previousWords.contains(word)) {
+                    insert(nameTrie, word, ordinal);
+                }
+            }
+            indexedTerms.set(ordinal, terms);
+            indexedNames.set(ordinal, course.getCourseName());
+            courses.set(ordinal, course);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Mencari mata kuliah berdasarkan potongan kode atau nama, tidak membedakan huruf besar/kecil
+     *
+     * @param query Teks yang diketik, misal "IF2" atau "struk dat"
+     * @param limit Jumlah hasil maksimal
+     * @return Paling banyak limit hasil, kosong jika query tidak berisi huruf atau angka
+     * @throws IllegalArgumentException jika query null atau limit < 1
+     */
+    public List<Match> search(String query, int limit) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query must not be null");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        String[] tokens = tokenize(query);
+        List<Match> matches = new ArrayList<>(Math.min(limit, 16));
+        if (tokens.length == 0) {
+            return matches;
+        }
+        String code = String.join("", tokens);
+        lock.readLock().lock();
+        try {
+            long[] emitted = new long[words(courses.size())];
+            Node exact = find(codeTrie, code, true);
+            if (exact != null && emit(postingBits(exact, false), emitted, matches, limit)) {
+                return matches;
+            }
+            Node codePrefix = find(codeTrie, code, false);
+            if (codePrefix != null && emit(postingBits(codePrefix, true), emitted, matches, limit)) {
+                return matches;
+            }
+            long[] nameBits = null;
+            for (String token : tokens) {
+                Node node = find(nameTrie, token, false);
+                if (node == null) {
+                    return matches;
+                }
+                long[] bits = postingBits(node, true);
+                if (nameBits == null) {
+                    nameBits = bits;
+                } else {
+                    for (int i = 0; i < nameBits.length; i++) {
+                        nameBits[i] &= bits[i];
+                    }
+                }
+            }
+            emit(nameBits, emitted, matches, limit);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah mata kuliah yang di-index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return courses.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Menambahkan kelompok hasil, mata kuliah dengan kursi kosong lebih dulu
+     *
+     * @return true jika jumlah hasil sudah mencapai limit
+     */
+    private boolean emit(long[] bits, long[] emitted, List<Match> matches, int limit) {
+        for (int pass = 0; pass < 2; pass++) {
+            boolean wantOpen = pass == 0;
+            for (int word = 0; word < bits.length; word++) {
+                long remaining = bits[word] & ~emitted[word];
+                while (remaining != 0) {
+                    int ordinal = (word << 6) | Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    Course course = courses.get(ordinal);
+                    int available = Math.max(0, course.getCapacity() - course.getEnrolledCount());
+                    if ((available > 0) != wantOpen) {
+                        continue;
+                    }
+                    emitted[word] |= 1L << ordinal;
+                    matches.add(new Match(course, available));
+                    if (matches.size() == limit) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private long[] postingBits(Node node, boolean subtree) {
+        long[] bits = new long[words(courses.size())];
+        collect(node, bits, subtree);
+        return bits;
+    }
+
+    private static void collect(Node node, long[] bits, boolean subtree) {
+        for (int i = 0; i < node.postingCount; i++) {
+            int ordinal = node.postings[i];
+            bits[ordinal >>> 6] |= 1L << ordinal;
+        }
+        if (subtree) {
+            for (int i = 0; i < node.childCount; i++) {
+                collect(node.children[i], bits, true);
+            }
+        }
+    }
+
+    /**
+     * Menelusuri trie sepanjang term
+     *
+     * @param exact true jika term harus berakhir tepat di batas node
+     * @return Node yang mencakup semua term berawalan term (atau term itu sendiri jika exact), null jika tidak ada
+     */
+    private static Node find(Node root, String term, boolean exact) {
+        Node node = root;
+        int offset = 0;
+        while (offset < term.length()) {
+            Node child = node.child(term.charAt(offset));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, term, offset);
+            if (common < child.label.length) {
+                return !exact && offset + common == term.length() ? child : null;
+            }
+            offset += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private static void insert(Node root, String term, int ordinal) {
+        Node node = root;
+        int offset = 0;
+        while (offset < term.length()) {
+            int index = node.childIndex(term.charAt(offset));
+            if (index < 0) {
+                Node leaf = new Node(term.substring(offset).toCharArray());
+                node.insertChild(-index - 1, leaf);
+                node = leaf;
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, term, offset);
+            if (common < child.label.length) {
+                // Pecah edge: label yang sama menjadi node baru, sisa label menjadi anaknya
+                Node middle = new Node(Arrays.copyOf(child.label, common));
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                middle.insertChild(0, child);
+                node.children[index] = middle;
+                child = middle;
+            }
+            offset += common;
+            node = child;
+        }
+        node.addPosting(ordinal);
+    }
+
+    /**
+     * Menghapus posting dan memadatkan kembali node yang menjadi kosong atau hanya punya satu anak
+     *
+     * @return true jika node sudah tidak berisi posting maupun anak
+     */
+    private static boolean remove(Node node, String term, int offset, int ordinal) {
+        if (offset == term.length()) {
+            node.removePosting(ordinal);
+        } else {
+            int index = node.childIndex(term.charAt(offset));
+            if (index < 0) {
+                return false;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, term, offset);
+            if (common < child.label.length) {
+                return false;
+            }
+            if (remove(child, term, offset + common, ordinal)) {
+                node.removeChild(index);
+            } else if (child.postingCount == 0 && child.childCount == 1) {
+                Node grandchild = child.children[0];
+                char[] merged = Arrays.copyOf(child.label, child.label.length + grandchild.label.length);
+                System.arraycopy(grandchild.label, 0, merged, child.label.length, grandchild.label.length);
+                grandchild.label = merged;
+                node.children[index] = grandchild;
+            }
+        }
+        return node.postingCount == 0 && node.childCount == 0;
+    }
+
+    private static int commonPrefix(char[] label, String term, int offset) {
+        int max = Math.min(label.length, term.length() - offset);
+        int i = 0;
+        while (i < max && label[i] == term.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return Term mata kuliah: kode tanpa pemisah di indeks 0, diikuti kata-kata unik pada nama
+     */
+    private static String[] termsOf(Course course) {
+        Set<String> words = new LinkedHashSet<>(List.of(tokenize(course.getCourseName())));
+        String[] terms = new String[words.size() + 1];
+        terms[0] = String.join("", tokenize(course.getCourseCode()));
+        int i = 1;
+        for (String word : words) {
+            terms[i++] = word;
+        }
+        return terms;
+    }
+
+    /**
+     * Memecah teks menjadi kata huruf kecil, karakter selain huruf dan angka dianggap pemisah
+     */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Node radix tree, label adalah potongan term pada edge dari parent
+     * Anak diurutkan berdasarkan karakter pertama label sehingga bisa dicari dengan binary search
+     */
+    private static final class Node {
+        private char[] label;
+        private char[] childKeys = EMPTY_LABEL;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        private int[] postings = NO_POSTINGS;
+        private int postingCount;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        int childIndex(char key) {
+            return Arrays.binarySearch(childKeys, 0, childCount, key);
+        }
+
+        Node child(char key) {
+            int index = childIndex(key);
+            return index < 0 ? null : children[index];
+        }
+
+        void insertChild(int index, Node child) {
+            if (childCount == children.length) {
+                int capacity = Math.max(2, childCount * 2);
+                childKeys = Arrays.copyOf(childKeys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(childKeys, index, childKeys, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            childKeys[index] = child.label[0];
+            children[index] = child;
+            childCount++;
+        }
+
+        void removeChild(int index) {
+            System.arraycopy(childKeys, index + 1, childKeys, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        void addPosting(int ordinal) {
+            int position = Arrays.binarySearch(postings, 0, postingCount, ordinal);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (postingCount == postings.length) {
+                postings = Arrays.copyOf(postings, Math.max(1, postingCount * 2));
+            }
+            System.arraycopy(postings, position, postings, position + 1, postingCount - position);
+            postings[position] = ordinal;
+            postingCount++;
+        }
+
+        void removePosting(int ordinal) {
+            int position = Arrays.binarySearch(postings, 0, postingCount, ordinal);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(postings, position + 1, postings, position, postingCount - position - 1);
+            postingCount--;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.siakad.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Index enrollment aktif berdasarkan pasangan (mahasiswa, mata kuliah)
+ * ID mahasiswa dan kode mata kuliah dikodekan menjadi int rapat lewat StringDictionary, lalu
+ * pasangannya dipadatkan menjadi satu long dan disimpan di hash set open addressing (linear probing)
+ * tanpa boxing. Pengecekan, penambahan, dan penghapusan pasangan berjalan O(1)
+ *
+ * Hash set dibagi menjadi beberapa segment dengan lock masing-masing. Daftar mata kuliah per mahasiswa
+ * dan daftar mahasiswa per mata kuliah diperbarui di bawah lock segment pasangan yang sama, sehingga
+ * selalu konsisten dengan isi hash set
+ */
+
+public class EnrollmentIndex {
+    private static final int SEGMENT_BITS = 6;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+    // Kode mahasiswa disimpan +1 di 32 bit atas, sehingga key tidak pernah 0
+    private static final long EMPTY = 0L;
+
+    private final StringDictionary studentIds = new StringDictionary();
+    private final StringDictionary courseCodes = new StringDictionary();
+    private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+    // Daftar yang sudah kosong tidak dihapus, pasangan lain milik ID yang sama bisa ditambahkan
+    // dari segment berbeda pada saat bersamaan
+    private final Map<String, Postings> coursesByStudent = new ConcurrentHashMap<>();
+    private final Map<String, Postings> studentsByCourse = new ConcurrentHashMap<>();
+    private volatile boolean restored;
+
+    public EnrollmentIndex() {
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * Mencatat mahasiswa sebagai peserta mata kuliah
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika berhasil dicatat, false jika mahasiswa sudah terdaftar di mata kuliah tersebut
+     * @throws IllegalArgumentException jika studentId atau courseCode null
+     */
+    public boolean add(String studentId, String courseCode) {
+        requireIds(studentId, courseCode);
+        int student = studentIds.encode(studentId);
+        int course = courseCodes.encode(courseCode);
+        long key = pack(student, course);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            if (!segment.insert(key)) {
+                return false;
+            }
+            postingsOf(coursesByStudent, studentId).add(course);
+            postingsOf(studentsByCourse, courseCode).add(student);
+            return true;
+        }
+    }
+
+    /**
+     * Menghapus mahasiswa dari peserta mata kuliah
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika dihapus, false jika mahasiswa tidak terdaftar di mata kuliah tersebut
+     */
+    public boolean remove(String studentId, String courseCode) {
+        int student = studentIds.codeOf(studentId);
+        int course = courseCodes.codeOf(courseCode);
+        if (student == StringDictionary.NO_CODE || course == StringDictionary.NO_CODE) {
+            return false;
+        }
+        long key = pack(student, course);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            if (!segment.delete(key)) {
+                return false;
+            }
+            coursesByStudent.get(studentId).remove(course);
+            studentsByCourse.get(courseCode).remove(student);
+            return true;
+        }
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika mahasiswa terdaftar di mata kuliah tersebut
+     */
+    public boolean contains(String studentId, String courseCode) {
+        int student = studentIds.codeOf(studentId);
+        int course = courseCodes.codeOf(courseCode);
+        if (student == StringDictionary.NO_CODE || course == StringDictionary.NO_CODE) {
+            return false;
+        }
+        long key = pack(student, course);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.contains(key);
+        }
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Kode mata kuliah yang diambil mahasiswa, urutannya tidak dijamin
+     */
+    public List<String> getCourseCodes(String studentId) {
+        return decodeAll(coursesByStudent.get(studentId), courseCodes);
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return ID mahasiswa peserta mata kuliah, urutannya tidak dijamin
+     */
+    public List<String> getStudentIds(String courseCode) {
+        return decodeAll(studentsByCourse.get(courseCode), studentIds);
+    }
+
+    /**
+     * Menjalankan action untuk setiap pasangan yang tercatat, misal untuk RepositorySnapshot
+     * Pasangan yang ditambah atau dihapus bersamaan mungkin ikut atau tidak ikut terbaca
+     *
+     * @param action Menerima ID mahasiswa dan kode mata kuliah
+     */
+    public void forEach(BiConsumer<String, String> action) {
+        for (Map.Entry<String, Postings> entry : coursesByStudent.entrySet()) {
+            for (String courseCode : decodeAll(entry.getValue(), courseCodes)) {
+                action.accept(entry.getKey(), courseCode);
+            }
+        }
+    }
+
+    /**
+     * Menerapkan record journal sejak posisi tertentu: ENROLLED menambah pasangan, DROPPED menghapusnya
+     * Dipakai untuk membangun ulang index setelah restart (lihat RepositorySnapshot#restoreInto)
+     * atau ketika index diaktifkan pada sistem yang sudah memiliki enrollment
+     *
+     * @param journal Journal enrollment
+     * @param fromPosition Posisi awal, misal marker snapshot atau EnrollmentJournal#getStartPosition
+     * @throws IllegalArgumentException jika fromPosition sudah terpotong dari journal
+     */
+    public void replay(EnrollmentJournal journal, long fromPosition) {
+        journal.replay(fromPosition, record -> {
+            if (record.status() == EnrollmentJournal.Status.ENROLLED) {
+                add(record.studentId(), record.courseCode());
+            } else {
+                remove(record.studentId(), record.courseCode());
+            }
+        });
+    }
+
+    /**
+     * @return true jika index sudah dipulihkan dari RepositorySnapshot#restoreInto, walaupun hasilnya kosong
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    void markRestored() {
+        restored = true;
+    }
+
+    /**
+     * @return Jumlah pasangan (mahasiswa, mata kuliah) yang tercatat
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    private static void requireIds(String studentId, String courseCode) {
+        if (studentId == null || courseCode == null) {
+            throw new IllegalArgumentException("Student ID and course code must not be null");
+        }
+    }
+
+    private static long pack(int student, int course) {
+        return ((long) (student + 1) << 32) | (course & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Finalizer MurmurHash3, bit atas memilih segment dan bit bawah memilih slot
+     */
+    private static long mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private Segment segmentFor(long key) {
+        return segments[(int) (mix(key) >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    private static Postings postingsOf(Map<String, Postings> postings, String id) {
+        return postings.computeIfAbsent(id, k -> new Postings());
+    }
+
+    private static List<String> decodeAll(Postings postings, StringDictionary dictionary) {
+        if (postings == null) {
+            return List.of();
+        }
+        int[] codes = postings.toArray();
+        List<String> values = new ArrayList<>(codes.length);
+        for (int code : codes) {
+            values.add(dictionary.decode(code));
+        }
+        return values;
+    }
+
+    /**
+     * Satu bagian hash set, hanya diakses di bawah monitor segment itu sendiri
+     * Load factor dijaga maksimal 0.5, penghapusan memakai backward shift sehingga tidak ada tombstone
+     */
+    private static final class Segment {
+        private long[] keys = new long[INITIAL_SEGMENT_CAPACITY];
+        private int size;
+
+        boolean contains(long key) {
+            return keys[find(keys, key)] == key;
+        }
+
+        boolean insert(long key) {
+            int slot = find(keys, key);
+            if (keys[slot] == key) {
+                return false;
+            }
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return true;
+        }
+
+        boolean delete(long key) {
+            int hole = find(keys, key);
+            if (keys[hole] != key) {
+                return false;
+            }
+            int mask = keys.length - 1;
+            int slot = hole;
+            while (true) {
+                slot = (slot + 1) & mask;
+                long current = keys[slot];
+                if (current == EMPTY) {
+                    break;
+                }
+                // Geser mundur key yang slot idealnya tidak berada di antara hole dan posisinya sekarang
+                int ideal = (int) mix(current) & mask;
+                if (((slot - ideal) & mask) >= ((slot - hole) & mask)) {
+                    keys[hole] = current;
+                    hole = slot;
+                }
+            }
+            keys[hole] = EMPTY;
+            size--;
+            return true;
+        }
+
+        private void resize() {
+            long[] previous = keys;
+            long[] resized = new long[previous.length * 2];
+            for (long key : previous) {
+                if (key != EMPTY) {
+                    resized[find(resized, key)] = key;
+                }
+            }
+            keys = resized;
+        }
+
+        /**
+         * @return Slot berisi key, atau slot kosong tempat key seharusnya disisipkan
+         */
+        private static int find(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Daftar kode int tanpa urutan, penghapusan menukar elemen dengan elemen terakhir
+     * Posisi tiap kode disimpan di hash map int ke int (open addressing, linear probing), sehingga
+     * penghapusan tidak perlu memindai daftar
+     */
+    private static final class Postings {
+        private int[] values = new int[4];
+        private int size;
+        // Kode disimpan +1 agar 0 berarti slot kosong, posisi di positions sejajar dengan slot di codes
+        private int[] codes = new int[8];
+        private int[] positions = new int[8];
+
+        synchronized void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            if ((size + 1) * 2 > codes.length) {
+                rehash(codes.length * 2);
+            }
+            int slot = find(codes, value);
+            codes[slot] = value + 1;
+            positions[slot] = size++;
+        }
+
+        synchronized void remove(int value) {
+            int slot = find(codes, value);
+            if (codes[slot] == 0) {
+                return;
+            }
+            int position = positions[slot];
+            deleteSlot(slot);
+            int last = values[--size];
+            if (position != size) {
+                values[position] = last;
+                positions[find(codes, last)] = position;
+            }
+        }
+
+        synchronized int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        private void deleteSlot(int hole) {
+            int mask = codes.length - 1;
+            int slot = hole;
+            while (true) {
+                slot = (slot + 1) & mask;
+                int current = codes[slot];
+                if (current == 0) {
+                    break;
+                }
+                int ideal = hash(current - 1) & mask;
+                if (((slot - ideal) & mask) >= ((slot - hole) & mask)) {
+                    codes[hole] = current;
+                    positions[hole] = positions[slot];
+                    hole = slot;
+                }
+            }
+            codes[hole] = 0;
+        }
+
+        private void rehash(int capacity) {
+            int[] resizedCodes = new int[capacity];
+            int[] resizedPositions = new int[capacity];
+            for (int i = 0; i < codes.length; i++) {
+                if (codes[i] != 0) {
+                    int slot = find(resizedCodes, codes[i] - 1);
+                    resizedCodes[slot] = codes[i];
+                    resizedPositions[slot] = positions[i];
+                }
+            }
+            codes = resizedCodes;
+            positions = resizedPositions;
+        }
+
+        /**
+         * @return Slot berisi kode, atau slot kosong tempat kode seharusnya disisipkan
+         */
+        private static int find(int[] codes, int value) {
+            int mask = codes.length - 1;
+            int slot = hash(value) & mask;
+            while (codes[slot] != 0 && codes[slot] != value + 1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static int hash(int value) {
+            int h = value * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package com.siakad.repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead log enrollment yang append-only di atas file memory-mapped
+ *
+ * Format record (rata 8 byte):
+ * [int commitMarker][int length][int crc32c][byte status][long timestamp]
+ * [short len + bytes enrollmentId][short len + bytes studentId][short len + bytes courseCode]
+ *
+ * Append bersifat lock-free: posisi dipesan dengan satu getAndAdd, isi ditulis langsung ke mapping,
+ * lalu commitMarker ditulis terakhir (release). Thread flusher melakukan group commit: ia mencari
+ * prefix record yang sudah lengkap, memanggil force() sekali untuk semuanya, lalu membangunkan
+ * semua thread yang menunggu durabilitas. Saat recovery, log dibaca sampai record pertama yang
+ * belum di-commit atau CRC-nya tidak cocok (ekor yang robek karena crash)
+ *
+ * Journal terdiri dari segment berukuran capacity byte. Segment pertama adalah file path itu sendiri
+ * (sehingga journal satu file yang lama tetap terbaca), segment berikutnya bernama path.&lt;base&gt;.
+ * Posisi journal bersifat logis: base segment ditambah offset di dalamnya, dan base segment berikutnya
+ * selalu base + capacity segment sebelumnya, sehingga posisi dan marker snapshot tetap valid
+ * setelah rollover. Append yang tidak muat memindahkan journal ke segment baru, sisa segment lama
+ * dibiarkan kosong. Segment yang seluruhnya sebelum marker snapshot dihapus dengan truncateBefore
+ */
+
+public class EnrollmentJournal implements AutoCloseable {
+
+    /**
+     * Jenis record journal
+     */
+    public enum Status {
+        ENROLLED(1, 1),
+        DROPPED(2, -1);
+
+        private final byte code;
+        private final int seatDelta;
+
+        Status(int code, int seatDelta) {
+            this.code = (byte) code;
+            this.seatDelta = seatDelta;
+        }
+
+        static Status fromCode(byte code) {
+            for (Status status : values()) {
+                if (status.code == code) {
+                    return status;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Satu record hasil replay journal
+     */
+    public record JournalRecord(String enrollmentId, String studentId, String courseCode,
+                                long timestamp, Status status) {
+    }
+
+    private static final int COMMIT_MARKER = 0x454E524C; // "ENRL"
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 1 + 8;
+    private static final int ALIGNMENT = 8;
+    private static final long DEFAULT_FLUSH_INTERVAL_MICROS = 1_000;
+    private static final VarHandle INT_VIEW =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final ThreadLocal<CRC32C> CRC = ThreadLocal.withInitial(CRC32C::new);
+
+    private final Path path;
+    private final int capacity;
+    private final long flushIntervalNanos;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private volatile Segment active;
+    // Menjaga pembuatan dan penghapusan segment
+    private final ReentrantLock segmentLock = new ReentrantLock();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushed = flushLock.newCondition();
+    private volatile long durablePosition;
+    private long committedScan;
+    private volatile boolean running = true;
+    private final Thread flusher;
+
+    /**
+     * Membuka (atau membuat) journal dengan interval group commit default 1 ms
+     *
+     * @param path Lokasi file journal (segment pertama)
+     * @param capacity Ukuran satu segment dalam byte
+     * @throws UncheckedIOException jika file tidak bisa dibuka
+     */
+    public EnrollmentJournal(Path path, int capacity) {
+        this(path, capacity, DEFAULT_FLUSH_INTERVAL_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Membuka (atau membuat) journal, lalu memulihkan posisi tulis dari record yang valid
+     *
+     * @param path Lokasi file journal (segment pertama)
+     * @param capacity Ukuran segment baru dalam byte, segment yang sudah ada memakai ukuran filenya
+     * @param flushInterval Jeda maksimal antar group commit
+     * @param unit Satuan flushInterval
+     * @throws UncheckedIOException jika file tidak bisa dibuka
+     */
+    public EnrollmentJournal(Path path, int capacity, long flushInterval, TimeUnit unit) {
+        if (capacity < HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal capacity is too small");
+        }
+        this.path = path;
+        this.capacity = capacity;
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+
+        List<Long> bases = existingSegmentBases();
+        if (bases.isEmpty()) {
+            bases.add(0L);
+        }
+        for (long base : bases) {
+            Segment segment = openSegment(base);
+            long recovered = scan(segment, 0, segment.capacity, null);
+            // Bersihkan ekor yang robek agar sisa record lama tidak terbaca ulang
+            for (int i = (int) recovered; i < segment.capacity; i++) {
+                if (segment.mapped.get(i) != 0) {
+                    segment.mapped.put(i, (byte) 0);
+                }
+            }
+            segment.mapped.force();
+            segment.reserved.set(recovered);
+            segment.sealedAt.set(recovered);
+            segments.put(base, segment);
+        }
+        Segment last = segments.lastEntry().getValue();
+        last.sealedAt.set(Long.MAX_VALUE);
+        active = last;
+        long recovered = last.base + last.reserved.get();
+        durablePosition = recovered;
+        committedScan = recovered;
+
+        this.flusher = Thread.ofPlatform().daemon().name("enrollment-journal-flusher").start(this::runFlusher);
+    }
+
+    /**
+     * Menambahkan record ke journal tanpa menunggu fsync
+     * Jika segment aktif penuh, journal berpindah ke segment baru
+     *
+     * @return Posisi akhir record, untuk diberikan ke awaitDurable
+     * @throws IllegalArgumentException jika record lebih besar dari satu segment
+     * @throws IllegalStateException jika journal sudah ditutup
+     * @throws UncheckedIOException jika segment baru gagal dibuat
+     */
+    public long append(String enrollmentId, String studentId, String courseCode, long timestamp, Status status) {
+        if (!running) {
+            throw new IllegalStateException("Enrollment journal is closed");
+        }
+        byte[] id = bytes(enrollmentId);
+        byte[] student = bytes(studentId);
+        byte[] course = bytes(courseCode);
+        int bodyLength = 1 + 8 + 2 + id.length + 2 + student.length + 2 + course.length;
+        int length = align(12 + bodyLength);
+
+        while (true) {
+            Segment segment = active;
+            if (length > segment.capacity) {
+                throw new IllegalArgumentException("Journal record does not fit in a segment: " + length);
+            }
+            long start = segment.reserved.getAndAdd(length);
+            if (start + length > segment.capacity) {
+                // Posisi pesanan gagal terkecil adalah akhir data segment ini, dipakai flusher
+                segment.sealedAt.accumulateAndGet(start, Math::min);
+                roll(segment);
+                continue;
+            }
+            MappedByteBuffer mapped = segment.mapped;
+            int position = (int) start;
+
+            mapped.putInt(position + 4, length);
+            int body = position + 12;
+            mapped.put(body, status.code);
+            mapped.putLong(body + 1, timestamp);
+            int offset = putString(mapped, body + 9, id);
+            offset = putString(mapped, offset, student);
+            putString(mapped, offset, course);
+
+            CRC32C crc = CRC.get();
+            crc.reset();
+            crc.update(mapped.slice(body, bodyLength));
+            mapped.putInt(position + 8, (int) crc.getValue());
+
+            // Commit marker ditulis terakhir, terlihat oleh flusher hanya setelah seluruh isi record
+            INT_VIEW.setRelease(mapped, position, COMMIT_MARKER);
+            return segment.base + start + length;
+        }
+    }
+
+    /**
+     * Menambahkan record lalu menunggu sampai record tersebut sudah di-fsync (group commit)
+     *
+     * @return Posisi akhir record
+     */
+    public long appendDurably(String enrollmentId, String studentId, String courseCode,
+                              long timestamp, Status status) {
+        long position = append(enrollmentId, studentId, courseCode, timestamp, status);
+        awaitDurable(position);
+        return position;
+    }
+
+    /**
+     * Menunggu sampai semua record sampai posisi tertentu sudah di-fsync
+     *
+     * @param position Posisi yang dikembalikan append
+     */
+    public void awaitDurable(long position) {
+        if (durablePosition >= position) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushRequested.signal();
+            while (durablePosition < position) {
+                if (!running && !flusher.isAlive()) {
+                    throw new IllegalStateException("Enrollment journal is closed");
+                }
+                flushed.await(10, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for journal sync", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Membaca ulang semua record yang valid dari awal journal yang masih tersimpan
+     *
+     * @param consumer Penerima setiap record
+     */
+    public void replay(Consumer<JournalRecord> consumer) {
+        replay(getStartPosition(), consumer);
+    }
+
+    /**
+     * Membaca ulang record yang valid mulai dari posisi tertentu, misal marker sebuah snapshot
+     *
+     * @param fromPosition Posisi awal record (batas record yang dikembalikan append atau getWritePosition)
+     * @param consumer Penerima setiap record
+     * @throws IllegalArgumentException jika posisi tidak valid atau sudah dihapus dengan truncateBefore
+     */
+    public void replay(long fromPosition, Consumer<JournalRecord> consumer) {
+        if (fromPosition < 0 || fromPosition % ALIGNMENT != 0) {
+            throw new IllegalArgumentException("Invalid journal position: " + fromPosition);
+        }
+        if (fromPosition < getStartPosition()) {
+            throw new IllegalArgumentException("Journal position " + fromPosition + " has been truncated");
+        }
+        long limit = getWritePosition();
+        Long first = segments.floorKey(fromPosition);
+        for (Segment segment : segments.tailMap(first).values()) {
+            if (segment.base >= limit) {
+                break;
+            }
+            long from = Math.max(0, fromPosition - segment.base);
+            scan(segment, from, Math.min(segment.capacity, limit - segment.base), consumer);
+        }
+    }
+
+    /**
+     * Membangun ulang jumlah kursi terisi per mata kuliah dari journal (recovery setelah crash)
+     *
+     * @return Map kode mata kuliah ke jumlah enrollment bersih (ENROLLED - DROPPED)
+     */
+    public Map<String, Integer> rebuildSeatCounts() {
+        return rebuildSeatCounts(getStartPosition());
+    }
+
+    /**
+     * Menghitung perubahan jumlah kursi per mata kuliah sejak posisi tertentu
+     *
+     * @param fromPosition Posisi awal, misal marker snapshot
+     * @return Map kode mata kuliah ke perubahan kursi bersih (ENROLLED - DROPPED)
+     */
+    public Map<String, Integer> rebuildSeatCounts(long fromPosition) {
+        Map<String, Integer> seats = new HashMap<>();
+        replay(fromPosition, record -> seats.merge(record.courseCode(), record.status().seatDelta, Integer::sum));
+        return seats;
+    }
+
+    /**
+     * Menghapus segment yang seluruh isinya berada sebelum posisi tertentu
+     * Dipanggil setelah snapshot dengan marker tersebut selesai ditulis (RepositorySnapshot#writeTo),
+     * karena record sebelum marker tidak lagi dibutuhkan untuk recovery. Segment aktif dan segment
+     * yang belum di-fsync seluruhnya tidak pernah dihapus
+     *
+     * @param position Marker snapshot
+     * @return Jumlah segment yang dihapus
+     * @throws UncheckedIOException jika file segment gagal dihapus
+     */
+    public int truncateBefore(long position) {
+        segmentLock.lock();
+        try {
+            long limit = Math.min(position, durablePosition);
+            int deleted = 0;
+            for (Segment segment : segments.values()) {
+                if (segment == active || segment.base + segment.capacity > limit) {
+                    break;
+                }
+                segments.remove(segment.base);
+                try {
+                    segment.channel.close();
+                    Files.delete(segment.file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to delete journal segment: " + segment.file, e);
+                }
+                deleted++;
+            }
+            return deleted;
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    /**
+     * @return Posisi record tertua yang masih tersimpan (0 sampai truncateBefore menghapus segment)
+     */
+    public long getStartPosition() {
+        return segments.firstKey();
+    }
+
+    /**
+     * @return Posisi tulis saat ini (byte)
+     */
+    public long getWritePosition() {
+        Segment segment = active;
+        return segment.base + Math.min(segment.reserved.get(), segment.capacity);
+    }
+
+    /**
+     * @return Posisi sampai mana record sudah di-fsync
+     */
+    public long getDurablePosition() {
+        return durablePosition;
+    }
+
+    /**
+     * @return Jumlah segment yang masih tersimpan
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Menghentikan flusher setelah fsync terakhir lalu menutup file
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flushLock.lock();
+        try {
+            flushRequested.signal();
+        } finally {
+            flushLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segmentLock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close enrollment journal: " + path, e);
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            flushLock.lock();
+            try {
+                if (running && committedPrefix() == durablePosition) {
+                    flushRequested.awaitNanos(flushIntervalNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                flushLock.unlock();
+            }
+
+            long target = committedPrefix();
+            if (target > durablePosition) {
+                segmentAt(target).mapped.force();
+                flushLock.lock();
+                try {
+                    durablePosition = target;
+                    flushed.signalAll();
+                } finally {
+                    flushLock.unlock();
+                }
+            }
+            if (!running && committedPrefix() == durablePosition) {
+                flushLock.lock();
+                try {
+                    flushed.signalAll();
+                } finally {
+                    flushLock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Memajukan posisi prefix record yang sudah di-commit, hanya dipanggil oleh flusher
+     * Segment lama di-fsync sebelum prefix pindah ke segment berikutnya
+     */
+    private long committedPrefix() {
+        while (true) {
+            Segment segment = segmentAt(committedScan);
+            long limit = Math.min(segment.reserved.get(), segment.capacity);
+            long offset = committedScan - segment.base;
+            while (offset + 12 <= limit) {
+                int position = (int) offset;
+                if ((int) INT_VIEW.getAcquire(segment.mapped, position) != COMMIT_MARKER) {
+                    break;
+                }
+                offset += segment.mapped.getInt(position + 4);
+            }
+            committedScan = segment.base + offset;
+            // Segment yang sudah ditinggalkan selesai jika prefix mencapai pesanan gagal terkecil
+            if (segment == active || offset != segment.sealedAt.get()) {
+                return committedScan;
+            }
+            segment.mapped.force();
+            committedScan = segment.base + segment.capacity;
+        }
+    }
+
+    /**
+     * Membuat segment baru setelah segment penuh, dilewati jika thread lain sudah melakukannya
+     */
+    private void roll(Segment full) {
+        segmentLock.lock();
+        try {
+            if (active != full) {
+                return;
+            }
+            if (!running) {
+                throw new IllegalStateException("Enrollment journal is closed");
+            }
+            Segment next = openSegment(full.base + full.capacity);
+            segments.put(next.base, next);
+            active = next;
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private Segment segmentAt(long position) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+        return entry.getValue();
+    }
+
+    private Path segmentFile(long base) {
+        return base == 0 ? path : path.resolveSibling(path.getFileName() + "." + base);
+    }
+
+    private List<Long> existingSegmentBases() {
+        List<Long> bases = new ArrayList<>();
+        if (Files.exists(path)) {
+            bases.add(0L);
+        }
+        String prefix = path.getFileName() + ".";
+        Path directory = path.toAbsolutePath().getParent();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.length() > prefix.length()
+                            && name.substring(prefix.length()).chars().allMatch(Character::isDigit))
+                    .forEach(name -> bases.add(Long.parseLong(name.substring(prefix.length()))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list enrollment journal segments: " + path, e);
+        }
+        Collections.sort(bases);
+        return bases;
+    }
+
+    private Segment openSegment(long base) {
+        Path file = segmentFile(base);
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            int segmentCapacity = size >= HEADER_SIZE && size <= Integer.MAX_VALUE ? (int) size : capacity;
+            return new Segment(base, file, channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentCapacity), segmentCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open enrollment journal: " + file, e);
+        }
+    }
+
+    /**
+     * Membaca record valid berurutan dari offset from di dalam segment
+     *
+     * @return Offset setelah record valid terakhir
+     */
+    private long scan(Segment segment, long from, long limit, Consumer<JournalRecord> consumer) {
+        MappedByteBuffer mapped = segment.mapped;
+        long position = from;
+        CRC32C crc = new CRC32C();
+        while (position + HEADER_SIZE <= limit) {
+            int at = (int) position;
+            if (mapped.getInt(at) != COMMIT_MARKER) {
+                break;
+            }
+            int length = mapped.getInt(at + 4);
+            if (length < align(HEADER_SIZE) || length % ALIGNMENT != 0 || position + length > limit) {
+                break;
+            }
+            int body = at + 12;
+            int bodyLength = bodyLength(mapped, body, at + length);
+            if (bodyLength < 0) {
+                break;
+            }
+            crc.reset();
+            crc.update(mapped.slice(body, bodyLength));
+            if ((int) crc.getValue() != mapped.getInt(at + 8)) {
+                break;
+            }
+            Status status = Status.fromCode(mapped.get(body));
+            if (status == null) {
+                break;
+            }
+            if (consumer != null) {
+                int offset = body + 9;
+                String enrollmentId = getString(mapped, offset);
+                offset += 2 + mapped.getShort(offset);
+                String studentId = getString(mapped, offset);
+                offset += 2 + mapped.getShort(offset);
+                String courseCode = getString(mapped, offset);
+                consumer.accept(new JournalRecord(enrollmentId, studentId, courseCode,
+                        mapped.getLong(body + 1), status));
+            }
+            position += length;
+        }
+        return position;
+    }
+
+    /**
+     * Menghitung panjang body dari panjang string yang tersimpan, -1 jika melewati batas record
+     */
+    private static int bodyLength(MappedByteBuffer mapped, int body, int end) {
+        int offset = body + 9;
+        for (int i = 0; i < 3; i++) {
+            if (offset + 2 > end) {
+                return -1;
+            }
+            int length = mapped.getShort(offset);
+            if (length < 0) {
+                return -1;
+            }
+            offset += 2 + length;
+        }
+        return offset > end ? -1 : offset - body;
+    }
+
+    private static int putString(MappedByteBuffer mapped, int offset, byte[] value) {
+        mapped.putShort(offset, (short) value.length);
+        mapped.put(offset + 2, value);
+        return offset + 2 + value.length;
+    }
+
+    private static String getString(MappedByteBuffer mapped, int offset) {
+        byte[] value = new byte[mapped.getShort(offset)];
+        mapped.get(offset + 2, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        byte[] encoded = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        if (encoded.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal field is too long");
+        }
+        return encoded;
+    }
+
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Satu file segment journal
+     * reserved adalah offset pesanan berikutnya (bisa melewati capacity saat segment penuh),
+     * sealedAt adalah offset pesanan gagal terkecil, yaitu akhir data segment yang sudah ditinggalkan
+     */
+    private static final class Segment {
+        private final long base;
+        private final Path file;
+        private final FileChannel channel;
+        private final MappedByteBuffer mapped;
+        private final int capacity;
+        private final AtomicLong reserved = new AtomicLong();
+        private final AtomicLong sealedAt = new AtomicLong(Long.MAX_VALUE);
+
+        Segment(long base, Path file, FileChannel channel, MappedByteBuffer mapped, int capacity) {
+            this.base = base;
+            this.file = file;
+            this.channel = channel;
+            this.mapped = mapped;
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.siakad.repository;
+
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.model.Course;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Implementasi CourseRepository in-memory untuk deployment single-node
+ * Lookup O(1) menggunakan ConcurrentHashMap, update dilindungi striped lock
+ * sehingga updateAll terlihat atomik terhadap update lain pada mata kuliah yang sama
+ * Dosen dan SKS di-index dengan bitmap untuk query terfilter, kode dan nama di-index
+ * dengan CourseSearchIndex untuk pencarian prefix
+ */
+
+public class InMemoryCourseRepository implements CourseRepository {
+    private static final int DEFAULT_EXPECTED_COURSES = 8_192;
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ConcurrentHashMap<String, Course> courses;
+    private final LockStripes stripes;
+    private final StudentRepository studentRepository;
+    private final PrerequisiteIndex prerequisiteIndex = new PrerequisiteIndex();
+    private final BitmapIndex<Course> secondaryIndex = new BitmapIndex<>(Course::getCourseCode,
+            List.<Function<Course, ?>>of(Course::getLecturer, Course::getCredits));
+    private final CourseSearchIndex searchIndex = new CourseSearchIndex();
+
+    /**
+     * @param studentRepository Repository mahasiswa untuk membaca mata kuliah yang sudah diselesaikan
+     */
+    public InMemoryCourseRepository(StudentRepository studentRepository) {
+        this(studentRepository, DEFAULT_EXPECTED_COURSES, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param studentRepository Repository mahasiswa untuk membaca mata kuliah yang sudah diselesaikan
+     * @param expectedCourses Perkiraan jumlah mata kuliah, untuk menghindari resize
+     * @param stripeCount Jumlah stripe lock untuk update
+     */
+    public InMemoryCourseRepository(StudentRepository studentRepository, int expectedCourses, int stripeCount) {
+        this.studentRepository = studentRepository;
+        this.courses = new ConcurrentHashMap<>(expectedCourses);
+        this.stripes = new LockStripes(stripeCount);
+    }
+
+    /**
+     * Menyimpan mata kuliah baru atau mengganti data yang sudah ada
+     *
+     * @param course Course object yang akan disimpan
+     * @throws IllegalArgumentException jika course atau courseCode null, atau prasyaratnya membentuk siklus
+     */
+    public void save(Course course) {
+        requireCode(course);
+        ReentrantLock lock = stripes.lockFor(course.getCourseCode());
+        lock.lock();
+        try {
+            prerequisiteIndex.register(course);
+            courses.put(course.getCourseCode(), course);
+            secondaryIndex.index(course);
+            searchIndex.index(course);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        return courseCode == null ? null : courses.get(courseCode);
+    }
+
+    /**
+     * Update data mata kuliah yang sudah tersimpan
+     *
+     * @param course Course object yang akan diupdate
+     * @throws CourseNotFoundException jika mata kuliah belum tersimpan
+     * @throws IllegalArgumentException jika prasyarat yang diubah membentuk siklus
+     */
+    @Override
+    public void update(Course course) {
+        requireCode(course);
+        ReentrantLock lock = stripes.lockFor(course.getCourseCode());
+        lock.lock();
+        try {
+            replaceExisting(course);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Update banyak mata kuliah secara atomik terhadap update lain
+     * Semua mata kuliah harus sudah tersimpan, jika tidak tidak ada yang diubah
+     *
+     * @param batch Kumpulan Course yang akan diupdate
+     * @throws CourseNotFoundException jika salah satu mata kuliah belum tersimpan
+     * @throws IllegalArgumentException jika prasyarat yang diubah membentuk siklus
+     */
+    @Override
+    public void updateAll(Collection<Course> batch) {
+        List<String> codes = new ArrayList<>(batch.size());
+        for (Course course : batch) {
+            requireCode(course);
+            codes.add(course.getCourseCode());
+        }
+        int[] locked = stripes.lockAll(codes);
+        try {
+            for (String code : codes) {
+                if (!courses.containsKey(code)) {
+                    throw new CourseNotFoundException("Course not found: " + code);
+                }
+            }
+            // Siklus prasyarat ditolak sebelum ada mata kuliah yang diganti
+            for (Course course : batch) {
+                prerequisiteIndex.register(course);
+            }
+            for (Course course : batch) {
+                courses.put(course.getCourseCode(), course);
+                secondaryIndex.index(course);
+                searchIndex.index(course);
+            }
+        } finally {
+            stripes.unlockAll(locked);
+        }
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return prerequisiteIndex.isPrerequisiteMet(courseCode, studentRepository.getCompletedCourses(studentId));
+    }
+
+    @Override
+    public Set<String> findCoursesWithPrerequisitesMet(String studentId, Collection<String> courseCodes) {
+        return prerequisiteIndex.findPrerequisitesMet(courseCodes, studentRepository.getCompletedCourses(studentId));
+    }
+
+    /**
+     * Mengembalikan semua prasyarat transitif mata kuliah
+     *
+     * @param courseCode Kode mata kuliah
+     * @return Kode mata kuliah prasyarat (langsung dan tidak langsung)
+     */
+    public Set<String> getAllPrerequisites(String courseCode) {
+        return prerequisiteIndex.getAllPrerequisites(courseCode);
+    }
+
+    /**
+     * Mencari mata kuliah lewat index sekunder, parameter null berarti atribut tersebut tidak difilter
+     * Index mengikuti data terakhir yang disimpan lewat save, update, atau updateAll
+     *
+     * @param lecturer Dosen pengampu
+     * @param credits SKS
+     * @return Mata kuliah yang cocok dengan semua filter
+     */
+    public List<Course> findCourses(String lecturer, Integer credits) {
+        return secondaryIndex.find(lecturer, credits);
+    }
+
+    /**
+     * @return Jumlah mata kuliah yang cocok dengan filter, lihat findCourses
+     */
+    public int countCourses(String lecturer, Integer credits) {
+        return secondaryIndex.count(lecturer, credits);
+    }
+
+    /**
+     * Mencari mata kuliah berdasarkan potongan kode atau nama untuk autocomplete
+     * Index mengikuti data terakhir yang disimpan lewat save, update, atau updateAll
+     *
+     * @param query Teks yang diketik mahasiswa
+     * @param limit Jumlah hasil maksimal
+     * @return Hasil terurut beserta sisa kursi, lihat CourseSearchIndex
+     * @throws IllegalArgumentException jika query null atau limit < 1
+     */
+    public List<CourseSearchIndex.Match> searchCourses(String query, int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * @return Snapshot semua mata kuliah yang tersimpan
+     */
+    public List<Course> findAll() {
+        return new ArrayList<>(courses.values());
+    }
+
+    public int size() {
+        return courses.size();
+    }
+
+    private void replaceExisting(Course course) {
+        if (!courses.containsKey(course.getCourseCode())) {
+            throw new CourseNotFoundException("Course not found: " + course.getCourseCode());
+        }
+        prerequisiteIndex.register(course);
+        courses.put(course.getCourseCode(), course);
+        secondaryIndex.index(course);
+        searchIndex.index(course);
+    }
+
+    private static void requireCode(Course course) {
+        if (course == null || course.getCourseCode() == null) {
+            throw new IllegalArgumentException("Course and courseCode must not be null");
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.siakad.repository;
+
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Implementasi StudentRepository in-memory untuk deployment single-node
+ * Lookup O(1) menggunakan ConcurrentHashMap, update dilindungi striped lock
+ * Jurusan, semester, dan status akademik di-index dengan bitmap untuk query terfilter
+ */
+
+public class InMemoryStudentRepository implements StudentRepository {
+    private static final int DEFAULT_EXPECTED_STUDENTS = 65_536;
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ConcurrentHashMap<String, Student> students;
+    private final ConcurrentHashMap<String, List<Course>> completedCourses;
+    private final LockStripes stripes;
+    private final BitmapIndex<Student> secondaryIndex = new BitmapIndex<>(Student::getStudentId,
+            List.<Function<Student, ?>>of(Student::getMajor, Student::getSemester, Student::getAcademicStatus));
+
+    public InMemoryStudentRepository() {
+        this(DEFAULT_EXPECTED_STUDENTS, DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param expectedStudents Perkiraan jumlah mahasiswa, untuk menghindari resize
+     * @param stripeCount Jumlah stripe lock untuk update
+     */
+    public InMemoryStudentRepository(int expectedStudents, int stripeCount) {
+        this.students = new ConcurrentHashMap<>(expectedStudents);
+        this.completedCourses = new ConcurrentHashMap<>(expectedStudents);
+        this.stripes = new LockStripes(stripeCount);
+    }
+
+    /**
+     * Menyimpan mahasiswa baru atau mengganti data yang sudah ada
+     *
+     * @param student Student object yang akan disimpan
+     * @throws IllegalArgumentException jika student atau studentId null
+     */
+    public void save(Student student) {
+        if (student == null || student.getStudentId() == null) {
+            throw new IllegalArgumentException("Student and studentId must not be null");
+        }
+        ReentrantLock lock = stripes.lockFor(student.getStudentId());
+        lock.lock();
+        try {
+            students.put(student.getStudentId(), student);
+            secondaryIndex.index(student);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        return studentId == null ? null : students.get(studentId);
+    }
+
+    /**
+     * Update data mahasiswa yang sudah tersimpan
+     *
+     * @param student Student object yang akan diupdate
+     * @throws StudentNotFoundException jika mahasiswa belum tersimpan
+     */
+    @Override
+    public void update(Student student) {
+        if (student == null || student.getStudentId() == null) {
+            throw new IllegalArgumentException("Student and studentId must not be null");
+        }
+        ReentrantLock lock = stripes.lockFor(student.getStudentId());
+        lock.lock();
+        try {
+            if (!students.containsKey(student.getStudentId())) {
+                throw new StudentNotFoundException("Student not found: " + student.getStudentId());
+            }
+            students.put(student.getStudentId(), student);
+            secondaryIndex.index(student);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Update banyak mahasiswa secara atomik terhadap update lain
+     * Semua mahasiswa harus sudah tersimpan, jika tidak tidak ada yang diubah
+     *
+     * @param batch Kumpulan Student yang akan diupdate
+     * @throws StudentNotFoundException jika salah satu mahasiswa belum tersimpan
+     */
+    @Override
+    public void updateAll(Collection<Student> batch) {
+        List<String> ids = new ArrayList<>(batch.size());
+        for (Student student : batch) {
+            if (student == null || student.getStudentId() == null) {
+                throw new IllegalArgumentException("Student and studentId must not be null");
+            }
+            ids.add(student.getStudentId());
+        }
+        int[] locked = stripes.lockAll(ids);
+        try {
+            for (String id : ids) {
+                if (!students.containsKey(id)) {
+                    throw new StudentNotFoundException("Student not found: " + id);
+                }
+            }
+            for (Student student : batch) {
+                students.put(student.getStudentId(), student);
+                secondaryIndex.index(student);
+            }
+        } finally {
+            stripes.unlockAll(locked);
+        }
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        List<Course> completed = completedCourses.get(studentId);
+        return completed == null ? Collections.emptyList() : completed;
+    }
+
+    /**
+     * Menambahkan mata kuliah yang sudah diselesaikan mahasiswa
+     *
+     * @param studentId ID mahasiswa
+     * @param course Course yang sudah diselesaikan
+     * @throws StudentNotFoundException jika mahasiswa belum tersimpan
+     */
+    public void addCompletedCourse(String studentId, Course course) {
+        ReentrantLock lock = stripes.lockFor(studentId);
+        lock.lock();
+        try {
+            if (!students.containsKey(studentId)) {
+                throw new StudentNotFoundException("Student not found: " + studentId);
+            }
+            // Copy-on-write agar pembaca tidak pernah melihat list yang sedang diubah
+            List<Course> current = completedCourses.getOrDefault(studentId, Collections.emptyList());
+            List<Course> updated = new ArrayList<>(current.size() + 1);
+            updated.addAll(current);
+            updated.add(course);
+            completedCourses.put(studentId, Collections.unmodifiableList(updated));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Mencari mahasiswa lewat index sekunder, parameter null berarti atribut tersebut tidak difilter
+     * Index mengikuti data terakhir yang disimpan lewat save, update, atau updateAll
+     *
+     * @param major Jurusan
+     * @param semester Semester
+     * @param academicStatus Status akademik
+     * @return Mahasiswa yang cocok dengan semua filter
+     */
+    public List<Student> findStudents(String major, Integer semester, String academicStatus) {
+        return secondaryIndex.find(major, semester, academicStatus);
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang cocok dengan filter, lihat findStudents
+     */
+    public int countStudents(String major, Integer semester, String academicStatus) {
+        return secondaryIndex.count(major, semester, academicStatus);
+    }
+
+    /**
+     * @return Snapshot semua mahasiswa yang tersimpan
+     */
+    public List<Student> findAll() {
+        return new ArrayList<>(students.values());
+    }
+
+    public int size() {
+        return students.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.siakad.repository;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Kumpulan lock ter-stripe untuk update repository in-memory
+ * Setiap key dipetakan ke salah satu lock sehingga update pada key berbeda jarang saling menunggu
+ */
+
+class LockStripes {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * @param stripes Jumlah minimal stripe, dibulatkan ke pangkat dua
+     */
+    LockStripes(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    int indexFor(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    ReentrantLock lockFor(Object key) {
+        return locks[indexFor(key)];
+    }
+
+    /**
+     * Mengambil lock untuk semua key dengan urutan indeks yang tetap agar tidak terjadi deadlock
+     *
+     * @param keys Kumpulan key
+     * @return Indeks stripe yang sudah di-lock, untuk diberikan ke unlockAll
+     */
+    int[] lockAll(Collection<?> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Object key : keys) {
+            indexes.add(indexFor(key));
+        }
+        int[] locked = new int[indexes.size()];
+        int i = 0;
+        for (int index : indexes) {
+            locks[index].lock();
+            locked[i++] = index;
+        }
+        return locked;
+    }
+
+    void unlockAll(int[] locked) {
+        for (int i = locked.length - 1; i >= 0; i--) {
+            locks[locked[i]].unlock();
+        }
+    }
+}
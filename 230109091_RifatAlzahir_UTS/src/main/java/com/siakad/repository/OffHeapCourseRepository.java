@@ -0,0 +1,404 @@
+package com.siakad.repository;
+
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementasi CourseRepository yang menyimpan data mata kuliah di luar heap
+ * Setiap mata kuliah menempati satu slot 40 byte, enrolledCount diubah dengan CAS langsung
+ * di memori off-heap sehingga tryReserveSeat/releaseSeat pada view tetap lock-free
+ *
+ * Arena hanya bertambah, sehingga nama, prasyarat, dan jadwal hanya ditulis ulang jika nilainya berubah.
+ * Update dari objek Course lain tidak pernah menyalin enrolledCount, jumlah peserta hanya diubah lewat
+ * tryReserveSeat/releaseSeat agar reservasi yang berjalan bersamaan tidak tertimpa salinan lama
+ *
+ * Prasyarat disimpan sebagai kode kamus mata kuliah. Jika repository mahasiswa juga
+ * OffHeapStudentRepository, kamusnya dipakai bersama sehingga pengecekan prasyarat
+ * cukup membandingkan int tanpa membuat objek
+ */
+
+public class OffHeapCourseRepository implements CourseRepository {
+    private static final int DEFAULT_EXPECTED_COURSES = 8_192;
+
+    // Layout slot mata kuliah
+    private static final int CODE_REF = 0;
+    private static final int NAME_REF = 4;
+    private static final int LECTURER_CODE = 8;
+    private static final int CREDITS = 12;
+    private static final int CAPACITY = 16;
+    private static final int ENROLLED_COUNT = 20;
+    private static final int PREREQUISITES_VERSION = 24;
+    private static final int PREREQUISITES_REF = 28;
+    private static final int TIME_SLOTS_REF = 32; // Setiap pertemuan satu int: startUnit << 16 | endUnit
+    private static final int SLOT_BYTES = 40;
+
+    private final OffHeapSlab slab = new OffHeapSlab(SLOT_BYTES);
+    private final OffHeapStringArena arena = new OffHeapStringArena();
+    private final OffHeapIdIndex index;
+    private final StringDictionary lecturers = new StringDictionary();
+    private final StringDictionary courseCodes;
+    private final StudentRepository studentRepository;
+    private final OffHeapStudentRepository offHeapStudents;
+
+    /**
+     * @param studentRepository Repository mahasiswa untuk membaca mata kuliah yang sudah diselesaikan
+     */
+    public OffHeapCourseRepository(StudentRepository studentRepository) {
+        this(studentRepository, DEFAULT_EXPECTED_COURSES);
+    }
+
+    /**
+     * @param studentRepository Repository mahasiswa untuk membaca mata kuliah yang sudah diselesaikan
+     * @param expectedCourses Perkiraan jumlah mata kuliah, untuk menghindari resize index
+     */
+    public OffHeapCourseRepository(StudentRepository studentRepository, int expectedCourses) {
+        this.studentRepository = studentRepository;
+        this.offHeapStudents = studentRepository instanceof OffHeapStudentRepository offHeap ? offHeap : null;
+        this.courseCodes = offHeapStudents != null
+                ? offHeapStudents.courseCodeDictionary() : new StringDictionary();
+        this.index = new OffHeapIdIndex(slab, arena, CODE_REF, expectedCourses);
+    }
+
+    /**
+     * Menyimpan mata kuliah baru atau mengganti data yang sudah ada
+     *
+     * @param course Course object yang akan disimpan
+     * @throws IllegalArgumentException jika course atau courseCode null
+     */
+    public void save(Course course) {
+        requireCode(course);
+        synchronized (this) {
+            int slot = index.find(course.getCourseCode());
+            if (slot < 0) {
+                slot = slab.allocate();
+                slab.putInt(slot, CODE_REF, arena.putString(course.getCourseCode()));
+                slab.putIntVolatile(slot, ENROLLED_COUNT, course.getEnrolledCount());
+                write(slot, course);
+                index.insert(course.getCourseCode(), slot);
+            } else if (!isOwnView(course)) {
+                write(slot, course);
+            }
+        }
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        if (courseCode == null) {
+            return null;
+        }
+        int slot = index.find(courseCode);
+        return slot < 0 ? null : new CourseView(courseCode, slot);
+    }
+
+    /**
+     * Update data mata kuliah yang sudah tersimpan
+     * View dari repository ini sudah menulis langsung ke slot, sehingga tidak disalin ulang dan tidak
+     * mengambil lock. Objek Course lain disalin tanpa enrolledCount
+     *
+     * @param course Course object yang akan diupdate
+     * @throws CourseNotFoundException jika mata kuliah belum tersimpan
+     */
+    @Override
+    public void update(Course course) {
+        requireCode(course);
+        // Slot tidak pernah dihapus, sehingga hasil lookup tanpa lock tetap valid
+        int slot = index.find(course.getCourseCode());
+        if (slot < 0) {
+            throw new CourseNotFoundException("Course not found: " + course.getCourseCode());
+        }
+        if (!isOwnView(course)) {
+            synchronized (this) {
+                write(slot, course);
+            }
+        }
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        int slot = courseCode == null ? -1 : index.find(courseCode);
+        if (slot < 0) {
+            return false;
+        }
+        int ref = slab.getIntVolatile(slot, PREREQUISITES_REF);
+        int count = arena.intCount(ref);
+        if (count == 0) {
+            return true;
+        }
+        if (offHeapStudents != null) {
+            int studentSlot = offHeapStudents.slotOf(studentId);
+            if (studentSlot < 0) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if (!offHeapStudents.hasCompleted(studentSlot, arena.intAt(ref, i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        Set<String> completed = new HashSet<>();
+        for (Course course : studentRepository.getCompletedCourses(studentId)) {
+            completed.add(course.getCourseCode());
+        }
+        for (int i = 0; i < count; i++) {
+            if (!completed.contains(courseCodes.decode(arena.intAt(ref, i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return View semua mata kuliah yang tersimpan
+     */
+    public List<Course> findAll() {
+        int count = slab.size();
+        List<Course> all = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            all.add(new CourseView(arena.getString(slab.getInt(slot, CODE_REF)), slot));
+        }
+        return all;
+    }
+
+    public int size() {
+        return slab.size();
+    }
+
+    /**
+     * @return Jumlah byte off-heap yang sudah dialokasikan (slot, arena string, dan index)
+     */
+    public long getOffHeapBytes() {
+        return slab.bytesAllocated() + arena.bytesAllocated() + index.bytesAllocated();
+    }
+
+    private void write(int slot, Course course) {
+        writeName(slot, course.getCourseName());
+        slab.putInt(slot, LECTURER_CODE, lecturers.encode(course.getLecturer()));
+        slab.putInt(slot, CREDITS, course.getCredits());
+        slab.putIntVolatile(slot, CAPACITY, course.getCapacity());
+        writePrerequisites(slot, course.getPrerequisites());
+        writeTimeSlots(slot, course.getTimeSlots());
+    }
+
+    private void writeName(int slot, String courseName) {
+        if (!arena.matches(slab.getInt(slot, NAME_REF), courseName)) {
+            slab.putInt(slot, NAME_REF, arena.putString(courseName));
+        }
+    }
+
+    private void writePrerequisites(int slot, List<String> prerequisites) {
+        int[] codes = new int[prerequisites == null ? 0 : prerequisites.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = courseCodes.encode(prerequisites.get(i));
+        }
+        if (arena.matchesInts(slab.getIntVolatile(slot, PREREQUISITES_REF), codes)) {
+            return;
+        }
+        slab.putIntVolatile(slot, PREREQUISITES_REF,
+                codes.length == 0 ? OffHeapStringArena.NULL_REF : arena.putInts(codes));
+        slab.putIntVolatile(slot, PREREQUISITES_VERSION, slab.getInt(slot, PREREQUISITES_VERSION) + 1);
+    }
+
+    private void writeTimeSlots(int slot, List<TimeSlot> timeSlots) {
+        int[] units = new int[timeSlots == null ? 0 : timeSlots.size()];
+        for (int i = 0; i < units.length; i++) {
+            TimeSlot timeSlot = timeSlots.get(i);
+            units[i] = timeSlot.startUnit() << 16 | timeSlot.endUnit();
+        }
+        if (arena.matchesInts(slab.getIntVolatile(slot, TIME_SLOTS_REF), units)) {
+            return;
+        }
+        slab.putIntVolatile(slot, TIME_SLOTS_REF,
+                units.length == 0 ? OffHeapStringArena.NULL_REF : arena.putInts(units));
+    }
+
+    private boolean isOwnView(Course course) {
+        return course instanceof CourseView view && view.owner() == this;
+    }
+
+    private static void requireCode(Course course) {
+        if (course == null || course.getCourseCode() == null) {
+            throw new IllegalArgumentException("Course and courseCode must not be null");
+        }
+    }
+
+    /**
+     * View flyweight atas satu slot mata kuliah
+     */
+    private final class CourseView extends Course {
+        private final String courseCode;
+        private final int slot;
+
+        CourseView(String courseCode, int slot) {
+            this.courseCode = courseCode;
+            this.slot = slot;
+        }
+
+        OffHeapCourseRepository owner() {
+            return OffHeapCourseRepository.this;
+        }
+
+        @Override
+        public String getCourseCode() {
+            return courseCode;
+        }
+
+        @Override
+        public void setCourseCode(String courseCode) {
+            if (!this.courseCode.equals(courseCode)) {
+                throw new UnsupportedOperationException("Stored course code cannot be changed");
+            }
+        }
+
+        @Override
+        public String getCourseName() {
+            return arena.getString(slab.getInt(slot, NAME_REF));
+        }
+
+        @Override
+        public void setCourseName(String courseName) {
+            synchronized (OffHeapCourseRepository.this) {
+                writeName(slot, courseName);
+            }
+        }
+
+        @Override
+        public int getCredits() {
+            return slab.getInt(slot, CREDITS);
+        }
+
+        @Override
+        public void setCredits(int credits) {
+            slab.putInt(slot, CREDITS, credits);
+        }
+
+        @Override
+        public int getCapacity() {
+            return slab.getIntVolatile(slot, CAPACITY);
+        }
+
+        @Override
+        public void setCapacity(int capacity) {
+            slab.putIntVolatile(slot, CAPACITY, capacity);
+        }
+
+        @Override
+        public int getEnrolledCount() {
+            return slab.getIntVolatile(slot, ENROLLED_COUNT);
+        }
+
+        @Override
+        public void setEnrolledCount(int enrolledCount) {
+            slab.putIntVolatile(slot, ENROLLED_COUNT, enrolledCount);
+        }
+
+        @Override
+        public boolean tryReserveSeat() {
+            while (true) {
+                int current = slab.getIntVolatile(slot, ENROLLED_COUNT);
+                if (current >= getCapacity()) {
+                    return false;
+                }
+                if (slab.compareAndSetInt(slot, ENROLLED_COUNT, current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public boolean releaseSeat() {
+            while (true) {
+                int current = slab.getIntVolatile(slot, ENROLLED_COUNT);
+                if (current <= 0) {
+                    return false;
+                }
+                if (slab.compareAndSetInt(slot, ENROLLED_COUNT, current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public String getLecturer() {
+            return lecturers.decode(slab.getInt(slot, LECTURER_CODE));
+        }
+
+        @Override
+        public void setLecturer(String lecturer) {
+            slab.putInt(slot, LECTURER_CODE, lecturers.encode(lecturer));
+        }
+
+        /**
+         * @return Salinan daftar prasyarat, ubah lewat setPrerequisites atau addPrerequisite
+         */
+        @Override
+        public List<String> getPrerequisites() {
+            int ref = slab.getIntVolatile(slot, PREREQUISITES_REF);
+            int count = arena.intCount(ref);
+            List<String> prerequisites = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                prerequisites.add(courseCodes.decode(arena.intAt(ref, i)));
+            }
+            return Collections.unmodifiableList(prerequisites);
+        }
+
+        @Override
+        public void setPrerequisites(List<String> prerequisites) {
+            synchronized (OffHeapCourseRepository.this) {
+                writePrerequisites(slot, prerequisites);
+            }
+        }
+
+        @Override
+        public void addPrerequisite(String courseCode) {
+            synchronized (OffHeapCourseRepository.this) {
+                List<String> updated = new ArrayList<>(getPrerequisites());
+                updated.add(courseCode);
+                writePrerequisites(slot, updated);
+            }
+        }
+
+        @Override
+        public int getPrerequisitesVersion() {
+            return slab.getIntVolatile(slot, PREREQUISITES_VERSION);
+        }
+
+        /**
+         * @return Salinan jadwal pertemuan, ubah lewat setTimeSlots atau addTimeSlot
+         */
+        @Override
+        public List<TimeSlot> getTimeSlots() {
+            int ref = slab.getIntVolatile(slot, TIME_SLOTS_REF);
+            int count = arena.intCount(ref);
+            List<TimeSlot> timeSlots = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int units = arena.intAt(ref, i);
+                timeSlots.add(TimeSlot.ofUnits(units >>> 16, units & 0xFFFF));
+            }
+            return Collections.unmodifiableList(timeSlots);
+        }
+
+        @Override
+        public void setTimeSlots(List<TimeSlot> timeSlots) {
+            synchronized (OffHeapCourseRepository.this) {
+                writeTimeSlots(slot, timeSlots);
+            }
+        }
+
+        @Override
+        public void addTimeSlot(TimeSlot timeSlot) {
+            synchronized (OffHeapCourseRepository.this) {
+                List<TimeSlot> updated = new ArrayList<>(getTimeSlots());
+                updated.add(timeSlot);
+                writeTimeSlots(slot, updated);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.siakad.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Hash index open addressing di luar heap dari ID (String) ke nomor slot
+ * Setiap entri berisi [int hash][int slot + 1], ID aslinya tidak disalin karena dibandingkan
+ * langsung dengan string yang tersimpan di arena melalui field kunci slot
+ *
+ * Penulisan harus diserialisasi oleh pemanggil, pembacaan lock-free: slot ditulis dengan
+ * release setelah hash, dan tabel baru hasil resize dipublikasikan lewat field volatile
+ */
+
+class OffHeapIdIndex {
+    private static final int ENTRY_BYTES = 8;
+    private static final VarHandle INT_VIEW =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final OffHeapSlab slab;
+    private final OffHeapStringArena arena;
+    private final int keyField;
+    private volatile ByteBuffer table;
+    private int mask;
+    private int size;
+
+    /**
+     * @param slab Slab yang menyimpan record
+     * @param arena Arena tempat ID record disimpan
+     * @param keyField Offset field ref ID di dalam slot
+     * @param expectedSize Perkiraan jumlah entri
+     */
+    OffHeapIdIndex(OffHeapSlab slab, OffHeapStringArena arena, int keyField, int expectedSize) {
+        this.slab = slab;
+        this.arena = arena;
+        this.keyField = keyField;
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        this.table = allocate(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return Nomor slot untuk key, atau -1 jika tidak ada
+     */
+    int find(String key) {
+        int hash = spread(key.hashCode());
+        ByteBuffer current = table;
+        int tableMask = current.capacity() / ENTRY_BYTES - 1;
+        for (int i = hash & tableMask; ; i = (i + 1) & tableMask) {
+            int offset = i * ENTRY_BYTES;
+            int slotPlusOne = (int) INT_VIEW.getAcquire(current, offset + 4);
+            if (slotPlusOne == 0) {
+                return -1;
+            }
+            int slot = slotPlusOne - 1;
+            if (current.getInt(offset) == hash && arena.matches(slab.getInt(slot, keyField), key)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Menambahkan key yang belum ada, pemanggil harus memegang lock tulis
+     */
+    void insert(String key, int slot) {
+        if ((size + 1) * 2 > mask + 1) {
+            resize();
+        }
+        place(table, mask, spread(key.hashCode()), slot);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bytesAllocated() {
+        return table.capacity();
+    }
+
+    private void resize() {
+        ByteBuffer old = table;
+        int newCapacity = (mask + 1) * 2;
+        ByteBuffer grown = allocate(newCapacity);
+        for (int offset = 0; offset < old.capacity(); offset += ENTRY_BYTES) {
+            int slotPlusOne = old.getInt(offset + 4);
+            if (slotPlusOne != 0) {
+                place(grown, newCapacity - 1, old.getInt(offset), slotPlusOne - 1);
+            }
+        }
+        mask = newCapacity - 1;
+        table = grown;
+    }
+
+    private static void place(ByteBuffer target, int targetMask, int hash, int slot) {
+        int i = hash & targetMask;
+        while (target.getInt(i * ENTRY_BYTES + 4) != 0) {
+            i = (i + 1) & targetMask;
+        }
+        target.putInt(i * ENTRY_BYTES, hash);
+        INT_VIEW.setRelease(target, i * ENTRY_BYTES + 4, slot + 1);
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,102 @@
+package com.siakad.repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Kumpulan slot berukuran tetap di luar heap (direct ByteBuffer), dibagi per halaman
+ * Slot hanya bisa dialokasikan, tidak pernah dipindah, sehingga nomor slot stabil dan
+ * aman dipakai oleh view flyweight. Pembacaan tidak memakai lock, alokasi disinkronkan
+ */
+
+class OffHeapSlab {
+    private static final int PAGE_SHIFT = 12;
+    private static final int SLOTS_PER_PAGE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = SLOTS_PER_PAGE - 1;
+    private static final VarHandle INT_VIEW =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    private final int slotWidth;
+    private volatile ByteBuffer[] pages = new ByteBuffer[0];
+    private volatile int size;
+
+    /**
+     * @param slotWidth Lebar satu slot dalam byte, kelipatan 8 agar field long/double rata
+     */
+    OffHeapSlab(int slotWidth) {
+        if (slotWidth <= 0 || slotWidth % 8 != 0) {
+            throw new IllegalArgumentException("Slot width must be a positive multiple of 8");
+        }
+        this.slotWidth = slotWidth;
+    }
+
+    /**
+     * @return Nomor slot baru yang isinya nol
+     */
+    synchronized int allocate() {
+        int slot = size;
+        int page = slot >>> PAGE_SHIFT;
+        if (page == pages.length) {
+            ByteBuffer[] grown = Arrays.copyOf(pages, page + 1);
+            grown[page] = ByteBuffer.allocateDirect(SLOTS_PER_PAGE * slotWidth).order(ByteOrder.nativeOrder());
+            pages = grown;
+        }
+        size = slot + 1;
+        return slot;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long bytesAllocated() {
+        return (long) pages.length * SLOTS_PER_PAGE * slotWidth;
+    }
+
+    int getInt(int slot, int field) {
+        return page(slot).getInt(offset(slot, field));
+    }
+
+    void putInt(int slot, int field, int value) {
+        page(slot).putInt(offset(slot, field), value);
+    }
+
+    int getIntVolatile(int slot, int field) {
+        return (int) INT_VIEW.getVolatile(page(slot), offset(slot, field));
+    }
+
+    void putIntVolatile(int slot, int field, int value) {
+        INT_VIEW.setVolatile(page(slot), offset(slot, field), value);
+    }
+
+    boolean compareAndSetInt(int slot, int field, int expected, int value) {
+        return INT_VIEW.compareAndSet(page(slot), offset(slot, field), expected, value);
+    }
+
+    double getDouble(int slot, int field) {
+        return page(slot).getDouble(offset(slot, field));
+    }
+
+    void putDouble(int slot, int field, double value) {
+        page(slot).putDouble(offset(slot, field), value);
+    }
+
+    byte getByte(int slot, int field) {
+        return page(slot).get(offset(slot, field));
+    }
+
+    void putByte(int slot, int field, byte value) {
+        page(slot).put(offset(slot, field), value);
+    }
+
+    private ByteBuffer page(int slot) {
+        return pages[slot >>> PAGE_SHIFT];
+    }
+
+    private int offset(int slot, int field) {
+        return (slot & PAGE_MASK) * slotWidth + field;
+    }
+}
@@ -0,0 +1,147 @@
+package com.siakad.repository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Penyimpanan string dan array int append-only di luar heap
+ * Setiap nilai dirujuk dengan int ref (halaman << 20 | offset), NULL_REF untuk null
+ * Nilai lama yang diganti tidak dibebaskan, arena hanya tumbuh
+ */
+
+class OffHeapStringArena {
+    static final int NULL_REF = -1;
+
+    private static final int PAGE_SHIFT = 20;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int OFFSET_MASK = PAGE_SIZE - 1;
+    private static final int MAX_PAGES = 1 << (31 - PAGE_SHIFT);
+
+    private volatile ByteBuffer[] pages = new ByteBuffer[0];
+    private int position = PAGE_SIZE; // Memaksa alokasi halaman pertama
+
+    /**
+     * Menyimpan string sebagai [short panjang][byte UTF-8]
+     *
+     * @return Ref string, atau NULL_REF jika value null
+     * @throws IllegalArgumentException jika string lebih dari 32767 byte UTF-8
+     */
+    int putString(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String is too long for off-heap storage");
+        }
+        synchronized (this) {
+            int ref = reserve(2 + bytes.length);
+            ByteBuffer page = pages[ref >>> PAGE_SHIFT];
+            int offset = ref & OFFSET_MASK;
+            page.putShort(offset, (short) bytes.length);
+            page.put(offset + 2, bytes);
+            return ref;
+        }
+    }
+
+    String getString(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        ByteBuffer page = pages[ref >>> PAGE_SHIFT];
+        int offset = ref & OFFSET_MASK;
+        byte[] bytes = new byte[page.getShort(offset)];
+        page.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Membandingkan string tersimpan dengan value tanpa membuat String baru (untuk teks ASCII)
+     */
+    boolean matches(int ref, String value) {
+        if (ref == NULL_REF || value == null) {
+            return ref == NULL_REF && value == null;
+        }
+        ByteBuffer page = pages[ref >>> PAGE_SHIFT];
+        int offset = ref & OFFSET_MASK;
+        int length = page.getShort(offset);
+        if (length != value.length()) {
+            // Panjang byte berbeda dengan jumlah char berarti ada karakter non-ASCII
+            return value.equals(getString(ref));
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                return value.equals(getString(ref));
+            }
+            if (page.get(offset + 2 + i) != (byte) c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Menyimpan array int sebagai [short jumlah][int...]
+     *
+     * @return Ref array
+     */
+    int putInts(int[] values) {
+        if (values.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many values for off-heap storage");
+        }
+        synchronized (this) {
+            int ref = reserve(2 + values.length * 4);
+            ByteBuffer page = pages[ref >>> PAGE_SHIFT];
+            int offset = ref & OFFSET_MASK;
+            page.putShort(offset, (short) values.length);
+            for (int i = 0; i < values.length; i++) {
+                page.putInt(offset + 2 + i * 4, values[i]);
+            }
+            return ref;
+        }
+    }
+
+    /**
+     * @return true jika array int tersimpan sama isinya dengan values (NULL_REF sama dengan array kosong)
+     */
+    boolean matchesInts(int ref, int[] values) {
+        if (intCount(ref) != values.length) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (intAt(ref, i) != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int intCount(int ref) {
+        return ref == NULL_REF ? 0 : pages[ref >>> PAGE_SHIFT].getShort(ref & OFFSET_MASK);
+    }
+
+    int intAt(int ref, int index) {
+        return pages[ref >>> PAGE_SHIFT].getInt((ref & OFFSET_MASK) + 2 + index * 4);
+    }
+
+    long bytesAllocated() {
+        return (long) pages.length * PAGE_SIZE;
+    }
+
+    private int reserve(int length) {
+        if (position + length > PAGE_SIZE) {
+            if (pages.length == MAX_PAGES) {
+                throw new IllegalStateException("Off-heap string arena is full");
+            }
+            ByteBuffer[] grown = Arrays.copyOf(pages, pages.length + 1);
+            grown[pages.length] = ByteBuffer.allocateDirect(PAGE_SIZE);
+            pages = grown;
+            position = 0;
+        }
+        int ref = ((pages.length - 1) << PAGE_SHIFT) | position;
+        position += length;
+        return ref;
+    }
+}
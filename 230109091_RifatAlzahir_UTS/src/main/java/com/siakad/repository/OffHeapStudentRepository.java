@@ -0,0 +1,362 @@
+package com.siakad.repository;
+
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementasi StudentRepository yang menyimpan data mahasiswa di luar heap
+ * Setiap mahasiswa menempati satu slot 40 byte, ID/nama/email disimpan di arena string,
+ * jurusan dan status di-encode dengan kamus, sehingga heap hanya berisi nilai unik kamus
+ * dan GC tidak perlu menelusuri ratusan ribu objek Student
+ *
+ * findById mengembalikan view flyweight: getter membaca slot, setter langsung menulis ke slot.
+ * View tidak menyimpan state selain ID, sehingga aman dibuang setelah dipakai
+ */
+
+public class OffHeapStudentRepository implements StudentRepository {
+    private static final int DEFAULT_EXPECTED_STUDENTS = 65_536;
+
+    // Layout slot mahasiswa
+    private static final int ID_REF = 0;
+    private static final int NAME_REF = 4;
+    private static final int EMAIL_REF = 8;
+    private static final int MAJOR_CODE = 12;
+    private static final int SEMESTER = 16;
+    private static final int COMPLETED_REF = 20;
+    private static final int GPA = 24;
+    private static final int STATUS_CODE = 32;
+    private static final int SLOT_BYTES = 40;
+
+    private final OffHeapSlab slab = new OffHeapSlab(SLOT_BYTES);
+    private final OffHeapStringArena arena = new OffHeapStringArena();
+    private final OffHeapIdIndex index;
+    private final StringDictionary majors = new StringDictionary();
+    private final StringDictionary statuses = new StringDictionary();
+    private final StringDictionary courseCodes;
+
+    public OffHeapStudentRepository() {
+        this(DEFAULT_EXPECTED_STUDENTS);
+    }
+
+    /**
+     * @param expectedStudents Perkiraan jumlah mahasiswa, untuk menghindari resize index
+     */
+    public OffHeapStudentRepository(int expectedStudents) {
+        this(expectedStudents, new StringDictionary());
+    }
+
+    OffHeapStudentRepository(int expectedStudents, StringDictionary courseCodes) {
+        this.index = new OffHeapIdIndex(slab, arena, ID_REF, expectedStudents);
+        this.courseCodes = courseCodes;
+    }
+
+    /**
+     * Menyimpan mahasiswa baru atau mengganti data yang sudah ada
+     *
+     * @param student Student object yang akan disimpan
+     * @throws IllegalArgumentException jika student atau studentId null
+     */
+    public void save(Student student) {
+        requireId(student);
+        synchronized (this) {
+            int slot = index.find(student.getStudentId());
+            if (slot < 0) {
+                slot = slab.allocate();
+                slab.putInt(slot, ID_REF, arena.putString(student.getStudentId()));
+                slab.putInt(slot, COMPLETED_REF, OffHeapStringArena.NULL_REF);
+                write(slot, student);
+                index.insert(student.getStudentId(), slot);
+            } else {
+                write(slot, student);
+            }
+        }
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        if (studentId == null) {
+            return null;
+        }
+        int slot = index.find(studentId);
+        return slot < 0 ? null : new StudentView(studentId, slot);
+    }
+
+    /**
+     * Update data mahasiswa yang sudah tersimpan
+     * View dari repository ini sudah menulis langsung ke slot, sehingga tidak disalin ulang
+     *
+     * @param student Student object yang akan diupdate
+     * @throws StudentNotFoundException jika mahasiswa belum tersimpan
+     */
+    @Override
+    public void update(Student student) {
+        requireId(student);
+        synchronized (this) {
+            int slot = index.find(student.getStudentId());
+            if (slot < 0) {
+                throw new StudentNotFoundException("Student not found: " + student.getStudentId());
+            }
+            if (!isOwnView(student)) {
+                write(slot, student);
+            }
+        }
+    }
+
+    /**
+     * Update banyak mahasiswa di bawah satu lock tulis
+     * Semua mahasiswa harus sudah tersimpan, jika tidak tidak ada yang diubah
+     *
+     * @param batch Kumpulan Student yang akan diupdate
+     * @throws StudentNotFoundException jika salah satu mahasiswa belum tersimpan
+     */
+    @Override
+    public void updateAll(Collection<Student> batch) {
+        for (Student student : batch) {
+            requireId(student);
+        }
+        synchronized (this) {
+            int[] slots = new int[batch.size()];
+            int i = 0;
+            for (Student student : batch) {
+                slots[i] = index.find(student.getStudentId());
+                if (slots[i++] < 0) {
+                    throw new StudentNotFoundException("Student not found: " + student.getStudentId());
+                }
+            }
+            i = 0;
+            for (Student student : batch) {
+                int slot = slots[i++];
+                if (!isOwnView(student)) {
+                    write(slot, student);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mata kuliah yang sudah diselesaikan, hanya kode mata kuliah yang disimpan sehingga
+     * Course yang dikembalikan hanya berisi courseCode
+     */
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        int slot = studentId == null ? -1 : index.find(studentId);
+        if (slot < 0) {
+            return Collections.emptyList();
+        }
+        int ref = slab.getIntVolatile(slot, COMPLETED_REF);
+        int count = arena.intCount(ref);
+        List<Course> completed = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Course course = new Course();
+            course.setCourseCode(courseCodes.decode(arena.intAt(ref, i)));
+            completed.add(course);
+        }
+        return Collections.unmodifiableList(completed);
+    }
+
+    /**
+     * Menambahkan mata kuliah yang sudah diselesaikan mahasiswa
+     *
+     * @param studentId ID mahasiswa
+     * @param course Course yang sudah diselesaikan
+     * @throws StudentNotFoundException jika mahasiswa belum tersimpan
+     */
+    public void addCompletedCourse(String studentId, Course course) {
+        synchronized (this) {
+            int slot = studentId == null ? -1 : index.find(studentId);
+            if (slot < 0) {
+                throw new StudentNotFoundException("Student not found: " + studentId);
+            }
+            // Copy-on-write di arena, pembaca selalu melihat array lama atau baru secara utuh
+            int current = slab.getInt(slot, COMPLETED_REF);
+            int count = arena.intCount(current);
+            int[] codes = new int[count + 1];
+            for (int i = 0; i < count; i++) {
+                codes[i] = arena.intAt(current, i);
+            }
+            codes[count] = courseCodes.encode(course.getCourseCode());
+            slab.putIntVolatile(slot, COMPLETED_REF, arena.putInts(codes));
+        }
+    }
+
+    /**
+     * Mengecek apakah mahasiswa sudah menyelesaikan mata kuliah tanpa membuat objek
+     *
+     * @return true jika courseCode ada di daftar mata kuliah yang sudah diselesaikan
+     */
+    public boolean hasCompleted(String studentId, String courseCode) {
+        int slot = studentId == null ? -1 : index.find(studentId);
+        return slot >= 0 && hasCompleted(slot, courseCodes.codeOf(courseCode));
+    }
+
+    /**
+     * @return Slot mahasiswa, atau -1 jika tidak ada
+     */
+    int slotOf(String studentId) {
+        return studentId == null ? -1 : index.find(studentId);
+    }
+
+    boolean hasCompleted(int slot, int courseCode) {
+        if (courseCode == StringDictionary.NO_CODE) {
+            return false;
+        }
+        int ref = slab.getIntVolatile(slot, COMPLETED_REF);
+        int count = arena.intCount(ref);
+        for (int i = 0; i < count; i++) {
+            if (arena.intAt(ref, i) == courseCode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    StringDictionary courseCodeDictionary() {
+        return courseCodes;
+    }
+
+    /**
+     * @return View semua mahasiswa yang tersimpan
+     */
+    public List<Student> findAll() {
+        int count = slab.size();
+        List<Student> all = new ArrayList<>(count);
+        for (int slot = 0; slot < count; slot++) {
+            all.add(new StudentView(arena.getString(slab.getInt(slot, ID_REF)), slot));
+        }
+        return all;
+    }
+
+    public int size() {
+        return slab.size();
+    }
+
+    /**
+     * @return Jumlah byte off-heap yang sudah dialokasikan (slot, arena string, dan index)
+     */
+    public long getOffHeapBytes() {
+        return slab.bytesAllocated() + arena.bytesAllocated() + index.bytesAllocated();
+    }
+
+    private void write(int slot, Student student) {
+        slab.putInt(slot, NAME_REF, arena.putString(student.getName()));
+        slab.putInt(slot, EMAIL_REF, arena.putString(student.getEmail()));
+        slab.putInt(slot, MAJOR_CODE, majors.encode(student.getMajor()));
+        slab.putInt(slot, SEMESTER, student.getSemester());
+        slab.putDouble(slot, GPA, student.getGpa());
+        slab.putByte(slot, STATUS_CODE, encodeStatus(student.getAcademicStatus()));
+    }
+
+    private byte encodeStatus(String status) {
+        int code = statuses.encode(status);
+        if (code >= Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct academic statuses");
+        }
+        // 0 dicadangkan untuk null
+        return (byte) (code + 1);
+    }
+
+    private boolean isOwnView(Student student) {
+        return student instanceof StudentView view && view.owner() == this;
+    }
+
+    private static void requireId(Student student) {
+        if (student == null || student.getStudentId() == null) {
+            throw new IllegalArgumentException("Student and studentId must not be null");
+        }
+    }
+
+    /**
+     * View flyweight atas satu slot mahasiswa
+     */
+    private final class StudentView extends Student {
+        private final String studentId;
+        private final int slot;
+
+        StudentView(String studentId, int slot) {
+            this.studentId = studentId;
+            this.slot = slot;
+        }
+
+        OffHeapStudentRepository owner() {
+            return OffHeapStudentRepository.this;
+        }
+
+        @Override
+        public String getStudentId() {
+            return studentId;
+        }
+
+        @Override
+        public void setStudentId(String studentId) {
+            if (!this.studentId.equals(studentId)) {
+                throw new UnsupportedOperationException("Stored student id cannot be changed");
+            }
+        }
+
+        @Override
+        public String getName() {
+            return arena.getString(slab.getInt(slot, NAME_REF));
+        }
+
+        @Override
+        public void setName(String name) {
+            slab.putInt(slot, NAME_REF, arena.putString(name));
+        }
+
+        @Override
+        public String getEmail() {
+            return arena.getString(slab.getInt(slot, EMAIL_REF));
+        }
+
+        @Override
+        public void setEmail(String email) {
+            slab.putInt(slot, EMAIL_REF, arena.putString(email));
+        }
+
+        @Override
+        public String getMajor() {
+            return majors.decode(slab.getInt(slot, MAJOR_CODE));
+        }
+
+        @Override
+        public void setMajor(String major) {
+            slab.putInt(slot, MAJOR_CODE, majors.encode(major));
+        }
+
+        @Override
+        public int getSemester() {
+            return slab.getInt(slot, SEMESTER);
+        }
+
+        @Override
+        public void setSemester(int semester) {
+            slab.putInt(slot, SEMESTER, semester);
+        }
+
+        @Override
+        public double getGpa() {
+            return slab.getDouble(slot, GPA);
+        }
+
+        @Override
+        public void setGpa(double gpa) {
+            slab.putDouble(slot, GPA, gpa);
+        }
+
+        @Override
+        public String getAcademicStatus() {
+            return statuses.decode(slab.getByte(slot, STATUS_CODE) - 1);
+        }
+
+        @Override
+        public void setAcademicStatus(String academicStatus) {
+            slab.putByte(slot, STATUS_CODE, encodeStatus(academicStatus));
+        }
+    }
+}
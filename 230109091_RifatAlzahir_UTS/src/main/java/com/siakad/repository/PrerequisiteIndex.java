@@ -0,0 +1,289 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index prasyarat yang dikompilasi menjadi bitset
+ * Setiap mata kuliah mendapat ID integer yang rapat, prasyarat langsung dan transitif
+ * disimpan sebagai long[], sehingga pengecekan prasyarat cukup beberapa operasi AND per word
+ *
+ * Index dibangun ulang secara inkremental ketika versi prasyarat Course berubah
+ * (lihat Course#getPrerequisitesVersion), hanya untuk mata kuliah tersebut dan turunannya
+ *
+ * Siklus prasyarat hanya ditolak oleh register. Perubahan langsung pada Course yang terdeteksi saat
+ * pengecekan tetap dikompilasi tanpa exception: prasyarat langsung selalu tepat, closure dipotong
+ * di titik siklus
+ */
+
+public class PrerequisiteIndex {
+
+    private static final long[] NO_BITS = new long[0];
+
+    /**
+     * Hasil kompilasi satu mata kuliah, immutable sehingga aman dibaca tanpa lock
+     */
+    private record CompiledCourse(Course course, int version, long[] direct, long[] closure) {
+    }
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> codes = new ArrayList<>();
+    private final Map<String, CompiledCourse> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * Mendaftarkan atau mengkompilasi ulang mata kuliah
+     *
+     * @param course Course yang akan didaftarkan
+     * @throws IllegalArgumentException jika perubahan prasyarat membentuk siklus
+     */
+    public void register(Course course) {
+        compile(course, true);
+    }
+
+    /**
+     * Mengecek apakah mahasiswa sudah menyelesaikan semua prasyarat langsung mata kuliah
+     *
+     * @param courseCode Kode mata kuliah
+     * @param completedCourses Mata kuliah yang sudah diselesaikan mahasiswa
+     * @return true jika semua prasyarat terpenuhi, false jika tidak atau mata kuliah belum terdaftar
+     */
+    public boolean isPrerequisiteMet(String courseCode, List<Course> completedCourses) {
+        CompiledCourse course = fresh(courseCode);
+        return course != null && containsAll(completedBits(completedCourses), course.direct());
+    }
+
+    /**
+     * isPrerequisiteMet untuk banyak mata kuliah, bitset mata kuliah yang diselesaikan dibangun sekali
+     *
+     * @param courseCodes Kode mata kuliah yang dicek
+     * @param completedCourses Mata kuliah yang sudah diselesaikan mahasiswa
+     * @return Kode mata kuliah yang prasyaratnya terpenuhi
+     */
+    public Set<String> findPrerequisitesMet(Collection<String> courseCodes, List<Course> completedCourses) {
+        long[] completed = completedBits(completedCourses);
+        Set<String> met = new HashSet<>();
+        for (String courseCode : courseCodes) {
+            CompiledCourse course = fresh(courseCode);
+            if (course != null && containsAll(completed, course.direct())) {
+                met.add(courseCode);
+            }
+        }
+        return met;
+    }
+
+    /**
+     * Mengembalikan semua prasyarat transitif mata kuliah
+     *
+     * @param courseCode Kode mata kuliah
+     * @return Kode mata kuliah prasyarat (langsung dan tidak langsung)
+     */
+    public Set<String> getAllPrerequisites(String courseCode) {
+        CompiledCourse course = fresh(courseCode);
+        Set<String> result = new LinkedHashSet<>();
+        if (course == null) {
+            return result;
+        }
+        long[] closure = course.closure();
+        synchronized (this) {
+            for (int word = 0; word < closure.length; word++) {
+                long bits = closure[word];
+                while (bits != 0) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    result.add(codes.get(word * 64 + bit));
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Jumlah ID mata kuliah yang sudah dialokasikan
+     */
+    public synchronized int size() {
+        return codes.size();
+    }
+
+    private CompiledCourse fresh(String courseCode) {
+        CompiledCourse course = compiled.get(courseCode);
+        if (course != null && course.version() != course.course().getPrerequisitesVersion()) {
+            compile(course.course(), false);
+            course = compiled.get(courseCode);
+        }
+        return course;
+    }
+
+    private synchronized void compile(Course course, boolean rejectCycles) {
+        CompiledCourse current = compiled.get(course.getCourseCode());
+        if (current != null && current.course() == course
+                && current.version() == course.getPrerequisitesVersion()) {
+            return;
+        }
+        recompile(course, rejectCycles);
+    }
+
+    /**
+     * Bitset dibangun ulang setiap pemanggilan (beberapa word), sehingga perubahan list secara langsung
+     * selalu terlihat dan tidak ada cache per mahasiswa yang terus tumbuh
+     */
+    private long[] completedBits(List<Course> completedCourses) {
+        if (completedCourses == null || completedCourses.isEmpty()) {
+            return NO_BITS;
+        }
+        long[] bits = new long[words(ids.size())];
+        for (Course course : completedCourses) {
+            Integer id = ids.get(course.getCourseCode());
+            if (id != null && id >>> 6 < bits.length) {
+                set(bits, id);
+            }
+        }
+        return bits;
+    }
+
+    private void recompile(Course course, boolean rejectCycles) {
+        // Versi dibaca sebelum daftar prasyarat agar perubahan bersamaan terdeteksi pada pengecekan berikutnya
+        int version = course.getPrerequisitesVersion();
+        String code = course.getCourseCode();
+        int courseId = idFor(code);
+
+        List<String> prerequisites = course.getPrerequisites() == null ? List.of() : course.getPrerequisites();
+        int[] prerequisiteIds = new int[prerequisites.size()];
+        for (int i = 0; i < prerequisiteIds.length; i++) {
+            prerequisiteIds[i] = idFor(prerequisites.get(i));
+        }
+        long[] direct = new long[words(codes.size())];
+        for (int prerequisiteId : prerequisiteIds) {
+            set(direct, prerequisiteId);
+        }
+        direct = trim(direct);
+
+        // Mata kuliah yang closure-nya bergantung pada course ini juga harus dihitung ulang
+        Map<String, CompiledCourse> affected = new HashMap<>();
+        for (CompiledCourse other : compiled.values()) {
+            if (get(other.closure(), courseId)) {
+                affected.put(other.course().getCourseCode(), other);
+            }
+        }
+        affected.remove(code);
+
+        Map<String, long[]> closures = new HashMap<>();
+        Map<String, long[]> directs = new HashMap<>();
+        directs.put(code, direct);
+        for (CompiledCourse other : affected.values()) {
+            directs.put(other.course().getCourseCode(), other.direct());
+        }
+
+        long[] closure = computeClosure(code, directs, closures, new LinkedHashSet<>(), rejectCycles);
+        if (rejectCycles && get(closure, courseId)) {
+            throw new IllegalArgumentException("Prerequisite cycle detected at course: " + code);
+        }
+        for (String dependent : affected.keySet()) {
+            computeClosure(dependent, directs, closures, new LinkedHashSet<>(), rejectCycles);
+        }
+
+        compiled.put(code, new CompiledCourse(course, version, direct, closure));
+        for (CompiledCourse other : affected.values()) {
+            String otherCode = other.course().getCourseCode();
+            compiled.put(otherCode, new CompiledCourse(other.course(), other.version(),
+                    other.direct(), closures.get(otherCode)));
+        }
+    }
+
+    /**
+     * Menghitung closure transitif dengan DFS, memakai hasil kompilasi lama untuk mata kuliah
+     * yang tidak terpengaruh perubahan. Jika siklus tidak ditolak, DFS berhenti di titik siklus
+     */
+    private long[] computeClosure(String code, Map<String, long[]> directs,
+                                  Map<String, long[]> closures, Set<String> visiting, boolean rejectCycles) {
+        long[] done = closures.get(code);
+        if (done != null) {
+            return done;
+        }
+        long[] direct = directs.get(code);
+        if (direct == null) {
+            CompiledCourse existing = compiled.get(code);
+            return existing == null ? NO_BITS : existing.closure();
+        }
+        if (!visiting.add(code)) {
+            if (rejectCycles) {
+                throw new IllegalArgumentException("Prerequisite cycle detected at course: " + code);
+            }
+            return NO_BITS;
+        }
+
+        long[] closure = new long[words(codes.size())];
+        or(closure, direct);
+        for (int word = 0; word < direct.length; word++) {
+            long bits = direct[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                or(closure, computeClosure(codes.get(word * 64 + bit), directs, closures, visiting, rejectCycles));
+                bits &= bits - 1;
+            }
+        }
+        visiting.remove(code);
+        closure = trim(closure);
+        closures.put(code, closure);
+        return closure;
+    }
+
+    private int idFor(String code) {
+        Integer id = ids.get(code);
+        if (id == null) {
+            id = codes.size();
+            codes.add(code);
+            ids.put(code, id);
+        }
+        return id;
+    }
+
+    private static boolean containsAll(long[] available, long[] required) {
+        for (int i = 0; i < required.length; i++) {
+            long have = i < available.length ? available[i] : 0L;
+            if ((required[i] & ~have) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean get(long[] bits, int index) {
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    private static void or(long[] target, long[] source) {
+        for (int i = 0; i < source.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    private static long[] trim(long[] bits) {
+        int length = bits.length;
+        while (length > 0 && bits[length - 1] == 0) {
+            length--;
+        }
+        if (length == 0) {
+            return NO_BITS;
+        }
+        return length == bits.length ? bits : Arrays.copyOf(bits, length);
+    }
+}
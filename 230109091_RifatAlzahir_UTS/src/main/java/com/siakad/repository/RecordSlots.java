@@ -0,0 +1,43 @@
+package com.siakad.repository;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Daftar record per ordinal untuk index yang dijaga ReentrantReadWriteLock
+ * add hanya boleh dipanggil di bawah write lock. set boleh dipanggil di bawah read lock: slot ditulis
+ * secara volatile dan array tidak pernah diganti selama ada yang memegang read lock
+ *
+ * @param <T> Tipe record
+ */
+
+final class RecordSlots<T> {
+    private AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(16);
+    private int size;
+
+    /**
+     * @return Ordinal record yang ditambahkan
+     */
+    int add(T record) {
+        if (size == slots.length()) {
+            AtomicReferenceArray<T> resized = new AtomicReferenceArray<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                resized.setPlain(i, slots.getPlain(i));
+            }
+            slots = resized;
+        }
+        slots.set(size, record);
+        return size++;
+    }
+
+    T get(int ordinal) {
+        return slots.get(ordinal);
+    }
+
+    void set(int ordinal, T record) {
+        slots.set(ordinal, record);
+    }
+
+    int size() {
+        return size;
+    }
+}
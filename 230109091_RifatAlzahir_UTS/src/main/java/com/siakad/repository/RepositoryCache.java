@@ -0,0 +1,284 @@
+package com.siakad.repository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Cache LRU terbatas dengan TTL opsional untuk decorator repository
+ * Pembacaan dilayani dari ConcurrentHashMap tanpa lock. Urutan LRU disimpan terpisah di bawah lock,
+ * hit hanya memperbarui urutan jika lock sedang bebas (tryLock), sehingga hit tidak pernah menunggu
+ *
+ * Setiap load memasang penanda (placeholder) milik key tersebut sebelum membaca repository asli.
+ * Hasil load hanya dipasang jika penanda itu masih ada, update atau invalidasi key yang sama di tengah
+ * load menggantinya sehingga data lama tidak pernah dipasang. Key lain tidak terpengaruh
+ *
+ * Write-through ke repository asli dan ke cache dijalankan di bawah lock stripe milik key, sehingga
+ * urutan value di cache selalu sama dengan urutan tulis di repository asli
+ */
+
+class RepositoryCache<K, V> {
+    private static final int WRITE_LOCK_BITS = 6;
+
+    /**
+     * Entry cache, value null berarti penanda load yang sedang berjalan
+     * Sengaja bukan record: identitas objek membedakan load yang satu dengan yang lain
+     */
+    static final class Node<V> {
+        private final V value;
+        private final long expiresAtNanos;
+
+        private Node(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<K, Node<V>> entries = new ConcurrentHashMap<>();
+    // Urutan akses entry yang berisi value, dijaga lruLock
+    private final LinkedHashMap<K, Node<V>> lru;
+    private final ReentrantLock lruLock = new ReentrantLock();
+    // Lock write-through per stripe key, diambil berurutan indeks agar updateAll tidak deadlock
+    private final ReentrantLock[] writeLocks = new ReentrantLock[1 << WRITE_LOCK_BITS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param maxSize Jumlah maksimal entry (harus > 0)
+     * @param ttlNanos Umur maksimal entry dalam nanodetik, 0 berarti tanpa TTL
+     */
+    RepositoryCache(int maxSize, long ttlNanos) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ttlNanos < 0) {
+            throw new IllegalArgumentException("TTL must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        for (int i = 0; i < writeLocks.length; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+        this.lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Node<V>> eldest) {
+                if (size() > RepositoryCache.this.maxSize) {
+                    entries.remove(eldest.getKey(), eldest.getValue());
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Mengambil value dari cache, atau memuatnya dengan loader jika tidak ada
+     * Value null tidak disimpan di cache
+     */
+    V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Node<V> placeholder = beginLoad(key);
+        V loaded = null;
+        try {
+            loaded = loader.apply(key);
+        } finally {
+            completeLoad(key, placeholder, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Mengambil value dari cache tanpa memuat, statistik hit/miss tetap dicatat
+     */
+    V getIfPresent(K key) {
+        Node<V> node = key == null ? null : entries.get(key);
+        if (node != null && node.value != null) {
+            if (ttlNanos == 0 || System.nanoTime() - node.expiresAtNanos < 0) {
+                hits.increment();
+                touch(key);
+                return node.value;
+            }
+            expire(key, node);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Memasang penanda load untuk key, dipanggil sebelum membaca repository asli
+     *
+     * @return Penanda untuk completeLoad, atau null jika key sudah sedang dimuat atau sudah berisi value
+     *         (hasil load ini lalu tidak dipasang)
+     */
+    Node<V> beginLoad(K key) {
+        if (key == null) {
+            return null;
+        }
+        Node<V> placeholder = new Node<>(null, 0);
+        return entries.putIfAbsent(key, placeholder) == null ? placeholder : null;
+    }
+
+    /**
+     * Memasang hasil load hanya jika penanda dari beginLoad belum diganti update atau invalidasi
+     *
+     * @param placeholder Hasil beginLoad, boleh null
+     * @param value Hasil load, null berarti tidak ada yang dipasang
+     */
+    void completeLoad(K key, Node<V> placeholder, V value) {
+        if (placeholder == null) {
+            return;
+        }
+        if (value == null) {
+            entries.remove(key, placeholder);
+            return;
+        }
+        Node<V> node = newNode(value);
+        lruLock.lock();
+        try {
+            if (entries.replace(key, placeholder, node)) {
+                lru.put(key, node);
+            }
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    /**
+     * Menulis value ke repository asli lalu ke cache sebagai satu langkah terhadap write-through lain
+     * untuk key yang sama. Jika writer gagal, cache tidak diubah
+     *
+     * @param writer Penulisan ke repository asli
+     */
+    void writeThrough(K key, V value, Consumer<V> writer) {
+        ReentrantLock lock = writeLocks[stripeOf(key)];
+        lock.lock();
+        try {
+            writer.accept(value);
+            replace(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * writeThrough untuk banyak value dalam satu penulisan ke repository asli
+     *
+     * @param keyOf Key cache setiap value
+     * @param writer Penulisan semua value ke repository asli
+     */
+    <C extends Collection<V>> void writeAllThrough(C values, Function<V, K> keyOf, Consumer<C> writer) {
+        boolean[] stripes = new boolean[writeLocks.length];
+        for (V value : values) {
+            stripes[stripeOf(keyOf.apply(value))] = true;
+        }
+        int locked = 0;
+        try {
+            for (; locked < stripes.length; locked++) {
+                if (stripes[locked]) {
+                    writeLocks[locked].lock();
+                }
+            }
+            writer.accept(values);
+            for (V value : values) {
+                replace(keyOf.apply(value), value);
+            }
+        } finally {
+            while (--locked >= 0) {
+                if (stripes[locked]) {
+                    writeLocks[locked].unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Membatalkan load key ini yang sedang berjalan lalu memasang value terbaru
+     */
+    void replace(K key, V value) {
+        Node<V> node = newNode(value);
+        lruLock.lock();
+        try {
+            entries.put(key, node);
+            lru.put(key, node);
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    void invalidate(K key) {
+        lruLock.lock();
+        try {
+            entries.remove(key);
+            lru.remove(key);
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    void invalidateAll() {
+        lruLock.lock();
+        try {
+            entries.clear();
+            lru.clear();
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    CacheStats stats() {
+        lruLock.lock();
+        try {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), lru.size());
+        } finally {
+            lruLock.unlock();
+        }
+    }
+
+    private int stripeOf(K key) {
+        return (key.hashCode() * 0x9E3779B9) >>> (Integer.SIZE - WRITE_LOCK_BITS);
+    }
+
+    private Node<V> newNode(V value) {
+        return new Node<>(value, ttlNanos == 0 ? 0 : System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * Memperbarui urutan LRU tanpa menunggu, urutan yang terlewat saat lock sibuk hanya membuat
+     * eviction sedikit kurang tepat
+     */
+    private void touch(K key) {
+        if (lruLock.tryLock()) {
+            try {
+                lru.get(key);
+            } finally {
+                lruLock.unlock();
+            }
+        }
+    }
+
+    private void expire(K key, Node<V> node) {
+        lruLock.lock();
+        try {
+            if (entries.remove(key, node)) {
+                lru.remove(key, node);
+                expirations.increment();
+            }
+        } finally {
+            lruLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,594 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.model.TimeSlot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot biner katalog mata kuliah dan daftar mahasiswa untuk restart cepat
+ * Isi snapshot adalah salinan (bukan referensi) data repository pada satu titik waktu,
+ * ditandai dengan marker, misal posisi EnrollmentJournal saat snapshot diambil
+ *
+ * Format file (big endian):
+ * [int magic][short version][short reserved][long marker][long createdAt]
+ * [varint stringCount][string table][varint courseCount][courses]
+ * [varint studentCount][students][varint completedCount][completed courses][enrollments][int crc32c]
+ *
+ * Semua string disimpan sekali di string table lalu dirujuk dengan indeks varint (0 = null),
+ * sehingga jurusan, dosen, status, dan kode prasyarat yang berulang hanya memakan beberapa byte
+ *
+ * Sejak versi 2 setiap mata kuliah diikuti jadwalnya: [varint slotCount] lalu per pertemuan
+ * [varint startUnit][varint panjang dalam unit] (lihat TimeSlot#startUnit). Snapshot versi 1
+ * masih bisa dibaca, mata kuliahnya dipulihkan tanpa jadwal
+ *
+ * Sejak versi 3 snapshot menyimpan pasangan enrollment aktif dari EnrollmentIndex:
+ * [varint flag] lalu jika flag 1 [varint studentCount] dan per mahasiswa [studentId][varint courseCount]
+ * [kode mata kuliah], flag 0 berarti index tidak ikut di-capture. Pasangan ini harus ada di snapshot karena journal
+ * sebelum marker boleh dipotong (EnrollmentJournal#truncateBefore)
+ */
+
+public final class RepositorySnapshot {
+    public static final short FORMAT_VERSION = 3;
+    private static final short FIRST_VERSION_WITH_TIME_SLOTS = 2;
+    private static final short FIRST_VERSION_WITH_ENROLLMENTS = 3;
+
+    private static final int MAGIC = 0x534B534E; // "SKSN"
+    private static final int HEADER_SIZE = 4 + 2 + 2 + 8 + 8;
+
+    private final long marker;
+    private final long createdAt;
+    private final List<Course> courses;
+    private final List<Student> students;
+    private final Map<String, List<String>> completedCourses;
+    // null jika EnrollmentIndex tidak ikut di-capture
+    private final Map<String, List<String>> enrollments;
+
+    private RepositorySnapshot(long marker, long createdAt, List<Course> courses, List<Student> students,
+                               Map<String, List<String>> completedCourses, Map<String, List<String>> enrollments) {
+        this.marker = marker;
+        this.createdAt = createdAt;
+        this.courses = courses;
+        this.students = students;
+        this.completedCourses = completedCourses;
+        this.enrollments = enrollments;
+    }
+
+    /**
+     * Menyalin isi repository menjadi snapshot
+     * Pemanggil bertanggung jawab menahan perubahan selama capture agar marker konsisten
+     * dengan isi snapshot (lihat EnrollmentService#runQuiesced)
+     *
+     * @param studentRepository Repository mahasiswa
+     * @param courseRepository Repository mata kuliah
+     * @param marker Penanda titik waktu snapshot, misal EnrollmentJournal#getWritePosition
+     * @return Snapshot yang tidak berbagi objek dengan repository
+     */
+    public static RepositorySnapshot capture(InMemoryStudentRepository studentRepository,
+                                             InMemoryCourseRepository courseRepository, long marker) {
+        return capture(studentRepository, courseRepository, null, marker);
+    }
+
+    /**
+     * Menyalin isi repository beserta pasangan enrollment aktif menjadi snapshot
+     *
+     * @param studentRepository Repository mahasiswa
+     * @param courseRepository Repository mata kuliah
+     * @param enrollmentIndex Index enrollment aktif, null jika tidak ikut disimpan
+     * @param marker Penanda titik waktu snapshot, misal EnrollmentJournal#getWritePosition
+     * @return Snapshot yang tidak berbagi objek dengan repository
+     */
+    public static RepositorySnapshot capture(InMemoryStudentRepository studentRepository,
+                                             InMemoryCourseRepository courseRepository,
+                                             EnrollmentIndex enrollmentIndex, long marker) {
+        List<Course> courses = new ArrayList<>();
+        for (Course course : courseRepository.findAll()) {
+            courses.add(copyOf(course));
+        }
+        List<Student> students = new ArrayList<>();
+        Map<String, List<String>> completed = new LinkedHashMap<>();
+        for (Student student : studentRepository.findAll()) {
+            students.add(copyOf(student));
+            List<Course> done = studentRepository.getCompletedCourses(student.getStudentId());
+            if (!done.isEmpty()) {
+                List<String> codes = new ArrayList<>(done.size());
+                for (Course course : done) {
+                    codes.add(course.getCourseCode());
+                }
+                completed.put(student.getStudentId(), codes);
+            }
+        }
+        Map<String, List<String>> enrollments = null;
+        if (enrollmentIndex != null) {
+            Map<String, List<String>> pairs = new LinkedHashMap<>();
+            enrollmentIndex.forEach((studentId, courseCode) ->
+                    pairs.computeIfAbsent(studentId, id -> new ArrayList<>()).add(courseCode));
+            enrollments = pairs;
+        }
+        return new RepositorySnapshot(marker, System.currentTimeMillis(), courses, students, completed, enrollments);
+    }
+
+    /**
+     * Menulis snapshot ke file secara atomik (tulis ke file sementara, fsync, lalu rename)
+     *
+     * @param path Lokasi file snapshot
+     * @throws UncheckedIOException jika file gagal ditulis
+     */
+    public void writeTo(Path path) {
+        ByteBuffer buffer = encode();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write snapshot: " + path, e);
+        }
+    }
+
+    /**
+     * Membaca snapshot dengan satu pembacaan sekuensial lalu decode dari memori
+     *
+     * @param path Lokasi file snapshot
+     * @return Snapshot hasil decode
+     * @throws UncheckedIOException jika file gagal dibaca
+     * @throws IllegalStateException jika file bukan snapshot, versinya tidak didukung, atau rusak
+     */
+    public static RepositorySnapshot readFrom(Path path) {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + 4 || size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Invalid snapshot size: " + path);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // baca sampai buffer penuh
+            }
+            buffer.flip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read snapshot: " + path, e);
+        }
+        return decode(buffer, path);
+    }
+
+    /**
+     * Memuat isi snapshot ke repository kosong
+     * Setiap restore membuat objek baru, snapshot yang sama bisa dipulihkan berkali-kali
+     *
+     * @param studentRepository Repository mahasiswa tujuan
+     * @param courseRepository Repository mata kuliah tujuan
+     */
+    public void restoreInto(InMemoryStudentRepository studentRepository, InMemoryCourseRepository courseRepository) {
+        Map<String, Course> restored = new HashMap<>(courses.size() * 2);
+        for (Course course : courses) {
+            Course copy = copyOf(course);
+            restored.put(copy.getCourseCode(), copy);
+            courseRepository.save(copy);
+        }
+        for (Student student : students) {
+            studentRepository.save(copyOf(student));
+        }
+        for (Map.Entry<String, List<String>> entry : completedCourses.entrySet()) {
+            for (String courseCode : entry.getValue()) {
+                Course course = restored.get(courseCode);
+                if (course == null) {
+                    // Mata kuliah yang sudah dihapus dari katalog tetap tercatat sebagai riwayat
+                    course = new Course(courseCode, null, 0, 0, 0, null);
+                }
+                studentRepository.addCompletedCourse(entry.getKey(), course);
+            }
+        }
+    }
+
+    /**
+     * Memuat isi snapshot lalu menerapkan record journal setelah marker snapshot,
+     * sehingga jumlah kursi terisi sama dengan kondisi terakhir journal
+     *
+     * @param studentRepository Repository mahasiswa tujuan
+     * @param courseRepository Repository mata kuliah tujuan
+     * @param journal Journal yang posisinya dipakai sebagai marker saat snapshot diambil
+     * @throws IllegalStateException jika marker snapshot melewati akhir journal
+     */
+    public void restoreInto(InMemoryStudentRepository studentRepository, InMemoryCourseRepository courseRepository,
+                            EnrollmentJournal journal) {
+        if (marker > journal.getWritePosition()) {
+            throw new IllegalStateException("Snapshot marker " + marker + " is beyond the end of the journal");
+        }
+        restoreInto(studentRepository, courseRepository);
+        for (Map.Entry<String, Integer> entry : journal.rebuildSeatCounts(marker).entrySet()) {
+            Course course = courseRepository.findByCourseCode(entry.getKey());
+            if (course != null) {
+                course.setEnrolledCount(Math.max(0, course.getEnrolledCount() + entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Memuat isi snapshot dan pasangan enrollment aktif, lalu menerapkan record journal setelah marker
+     * ke jumlah kursi dan ke index. Jika snapshot tidak menyimpan enrollment (versi lama atau di-capture
+     * tanpa index), index dibangun dari seluruh journal
+     *
+     * @param studentRepository Repository mahasiswa tujuan
+     * @param courseRepository Repository mata kuliah tujuan
+     * @param enrollmentIndex Index kosong tujuan
+     * @param journal Journal yang posisinya dipakai sebagai marker saat snapshot diambil
+     * @throws IllegalStateException jika marker snapshot melewati akhir journal, atau snapshot tidak
+     *         menyimpan enrollment dan awal journal sudah dipotong
+     */
+    public void restoreInto(InMemoryStudentRepository studentRepository, InMemoryCourseRepository courseRepository,
+                            EnrollmentIndex enrollmentIndex, EnrollmentJournal journal) {
+        if (enrollments == null && journal.getStartPosition() > 0) {
+            throw new IllegalStateException("Snapshot has no enrollments and the journal was truncated at "
+                    + journal.getStartPosition());
+        }
+        restoreInto(studentRepository, courseRepository, journal);
+        if (enrollments == null) {
+            enrollmentIndex.replay(journal, journal.getStartPosition());
+        } else {
+            for (Map.Entry<String, List<String>> entry : enrollments.entrySet()) {
+                for (String courseCode : entry.getValue()) {
+                    enrollmentIndex.add(entry.getKey(), courseCode);
+                }
+            }
+            enrollmentIndex.replay(journal, marker);
+        }
+        enrollmentIndex.markRestored();
+    }
+
+    public long getMarker() {
+        return marker;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public List<Course> getCourses() {
+        return Collections.unmodifiableList(courses);
+    }
+
+    public List<Student> getStudents() {
+        return Collections.unmodifiableList(students);
+    }
+
+    /**
+     * @return Map ID mahasiswa ke kode mata kuliah yang sudah diselesaikan
+     */
+    public Map<String, List<String>> getCompletedCourses() {
+        return Collections.unmodifiableMap(completedCourses);
+    }
+
+    /**
+     * @return Map ID mahasiswa ke kode mata kuliah yang sedang diambil, null jika tidak ikut di-capture
+     */
+    public Map<String, List<String>> getEnrollments() {
+        return enrollments == null ? null : Collections.unmodifiableMap(enrollments);
+    }
+
+    private ByteBuffer encode() {
+        StringTable strings = new StringTable();
+        for (Course course : courses) {
+            strings.add(course.getCourseCode());
+            strings.add(course.getCourseName());
+            strings.add(course.getLecturer());
+            for (String prerequisite : prerequisitesOf(course)) {
+                strings.add(prerequisite);
+            }
+        }
+        for (Student student : students) {
+            strings.add(student.getStudentId());
+            strings.add(student.getName());
+            strings.add(student.getEmail());
+            strings.add(student.getMajor());
+            strings.add(student.getAcademicStatus());
+        }
+        for (Map.Entry<String, List<String>> entry : completedCourses.entrySet()) {
+            strings.add(entry.getKey());
+            for (String courseCode : entry.getValue()) {
+                strings.add(courseCode);
+            }
+        }
+        Map<String, List<String>> pairs = enrollments == null ? Map.of() : enrollments;
+        for (Map.Entry<String, List<String>> entry : pairs.entrySet()) {
+            strings.add(entry.getKey());
+            for (String courseCode : entry.getValue()) {
+                strings.add(courseCode);
+            }
+        }
+
+        Output out = new Output(HEADER_SIZE + strings.byteSize + courses.size() * 16 + students.size() * 24);
+        out.putInt(MAGIC);
+        out.putShort(FORMAT_VERSION);
+        out.putShort((short) 0);
+        out.putLong(marker);
+        out.putLong(createdAt);
+
+        out.putVarint(strings.values.size());
+        for (byte[] value : strings.values) {
+            out.putVarint(value.length);
+            out.put(value);
+        }
+
+        out.putVarint(courses.size());
+        for (Course course : courses) {
+            out.putVarint(strings.ref(course.getCourseCode()));
+            out.putVarint(strings.ref(course.getCourseName()));
+            out.putVarint(course.getCredits());
+            out.putVarint(course.getCapacity());
+            out.putVarint(course.getEnrolledCount());
+            out.putVarint(strings.ref(course.getLecturer()));
+            List<String> prerequisites = prerequisitesOf(course);
+            out.putVarint(prerequisites.size());
+            for (String prerequisite : prerequisites) {
+                out.putVarint(strings.ref(prerequisite));
+            }
+            List<TimeSlot> timeSlots = timeSlotsOf(course);
+            out.putVarint(timeSlots.size());
+            for (TimeSlot slot : timeSlots) {
+                out.putVarint(slot.startUnit());
+                out.putVarint(slot.endUnit() - slot.startUnit());
+            }
+        }
+
+        out.putVarint(students.size());
+        for (Student student : students) {
+            out.putVarint(strings.ref(student.getStudentId()));
+            out.putVarint(strings.ref(student.getName()));
+            out.putVarint(strings.ref(student.getEmail()));
+            out.putVarint(strings.ref(student.getMajor()));
+            out.putVarint(student.getSemester());
+            out.putLong(Double.doubleToRawLongBits(student.getGpa()));
+            out.putVarint(strings.ref(student.getAcademicStatus()));
+        }
+
+        putCourseLists(out, strings, completedCourses);
+        if (enrollments == null) {
+            out.putVarint(0);
+        } else {
+            out.putVarint(1);
+            putCourseLists(out, strings, enrollments);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(out.bytes, 0, out.size);
+        out.putInt((int) crc.getValue());
+        return ByteBuffer.wrap(out.bytes, 0, out.size);
+    }
+
+    private static RepositorySnapshot decode(ByteBuffer in, Path path) {
+        if (in.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a snapshot file: " + path);
+        }
+        short version = in.getShort(4);
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version " + version + ": " + path);
+        }
+        int bodyEnd = in.limit() - 4;
+        CRC32C crc = new CRC32C();
+        crc.update(in.slice(0, bodyEnd));
+        if ((int) crc.getValue() != in.getInt(bodyEnd)) {
+            throw new IllegalStateException("Snapshot checksum mismatch: " + path);
+        }
+
+        try {
+            in.position(8);
+            long marker = in.getLong();
+            long createdAt = in.getLong();
+
+            String[] strings = new String[varint(in)];
+            for (int i = 0; i < strings.length; i++) {
+                int length = varint(in);
+                strings[i] = new String(in.array(), in.arrayOffset() + in.position(), length,
+                        StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            }
+
+            int courseCount = varint(in);
+            List<Course> courses = new ArrayList<>(courseCount);
+            for (int i = 0; i < courseCount; i++) {
+                Course course = new Course(string(in, strings), string(in, strings), varint(in),
+                        varint(in), varint(in), string(in, strings));
+                String[] prerequisites = new String[varint(in)];
+                for (int p = 0; p < prerequisites.length; p++) {
+                    prerequisites[p] = string(in, strings);
+                }
+                course.setPrerequisites(new ArrayList<>(Arrays.asList(prerequisites)));
+                if (version >= FIRST_VERSION_WITH_TIME_SLOTS) {
+                    int slotCount = varint(in);
+                    for (int t = 0; t < slotCount; t++) {
+                        int startUnit = varint(in);
+                        course.addTimeSlot(TimeSlot.ofUnits(startUnit, startUnit + varint(in)));
+                    }
+                }
+                courses.add(course);
+            }
+
+            int studentCount = varint(in);
+            List<Student> students = new ArrayList<>(studentCount);
+            for (int i = 0; i < studentCount; i++) {
+                students.add(new Student(string(in, strings), string(in, strings), string(in, strings),
+                        string(in, strings), varint(in), Double.longBitsToDouble(in.getLong()),
+                        string(in, strings)));
+            }
+
+            Map<String, List<String>> completed = courseLists(in, strings);
+            Map<String, List<String>> enrollments = null;
+            if (version >= FIRST_VERSION_WITH_ENROLLMENTS && varint(in) != 0) {
+                enrollments = courseLists(in, strings);
+            }
+            if (in.position() != bodyEnd) {
+                throw new IllegalStateException("Unexpected trailing data in snapshot: " + path);
+            }
+            return new RepositorySnapshot(marker, createdAt, courses, students, completed, enrollments);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IllegalStateException("Corrupt snapshot: " + path, e);
+        }
+    }
+
+    /**
+     * [varint count] lalu per mahasiswa [studentId][varint courseCount][kode mata kuliah]
+     */
+    private static void putCourseLists(Output out, StringTable strings, Map<String, List<String>> lists) {
+        out.putVarint(lists.size());
+        for (Map.Entry<String, List<String>> entry : lists.entrySet()) {
+            out.putVarint(strings.ref(entry.getKey()));
+            out.putVarint(entry.getValue().size());
+            for (String courseCode : entry.getValue()) {
+                out.putVarint(strings.ref(courseCode));
+            }
+        }
+    }
+
+    private static Map<String, List<String>> courseLists(ByteBuffer in, String[] strings) {
+        int count = varint(in);
+        Map<String, List<String>> lists = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String studentId = string(in, strings);
+            String[] codes = new String[varint(in)];
+            for (int c = 0; c < codes.length; c++) {
+                codes[c] = string(in, strings);
+            }
+            lists.put(studentId, List.of(codes));
+        }
+        return lists;
+    }
+
+    private static int varint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static String string(ByteBuffer in, String[] strings) {
+        int ref = varint(in);
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private static List<String> prerequisitesOf(Course course) {
+        return course.getPrerequisites() == null ? List.of() : course.getPrerequisites();
+    }
+
+    private static List<TimeSlot> timeSlotsOf(Course course) {
+        return course.getTimeSlots() == null ? List.of() : course.getTimeSlots();
+    }
+
+    private static Course copyOf(Course course) {
+        Course copy = new Course(course.getCourseCode(), course.getCourseName(), course.getCredits(),
+                course.getCapacity(), course.getEnrolledCount(), course.getLecturer());
+        copy.setPrerequisites(new ArrayList<>(prerequisitesOf(course)));
+        // TimeSlot immutable, cukup salin daftarnya
+        copy.setTimeSlots(new ArrayList<>(timeSlotsOf(course)));
+        return copy;
+    }
+
+    private static Student copyOf(Student student) {
+        return new Student(student.getStudentId(), student.getName(), student.getEmail(), student.getMajor(),
+                student.getSemester(), student.getGpa(), student.getAcademicStatus());
+    }
+
+    /**
+     * String table dengan deduplikasi, indeks 1-based agar 0 bisa dipakai untuk null
+     */
+    private static class StringTable {
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int byteSize;
+
+        void add(String value) {
+            if (value != null && !refs.containsKey(value)) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                values.add(bytes);
+                refs.put(value, values.size());
+                byteSize += bytes.length + 5;
+            }
+        }
+
+        int ref(String value) {
+            return value == null ? 0 : refs.get(value);
+        }
+    }
+
+    /**
+     * Buffer tulis yang tumbuh otomatis
+     */
+    private static class Output {
+        private byte[] bytes;
+        private int size;
+
+        Output(int initialCapacity) {
+            this.bytes = new byte[Math.max(64, initialCapacity)];
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            ByteBuffer.wrap(bytes, size, 4).putInt(value);
+            size += 4;
+        }
+
+        void putShort(short value) {
+            ensure(2);
+            ByteBuffer.wrap(bytes, size, 2).putShort(value);
+            size += 2;
+        }
+
+        void putLong(long value) {
+            ensure(8);
+            ByteBuffer.wrap(bytes, size, 8).putLong(value);
+            size += 8;
+        }
+
+        void putVarint(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Negative value cannot be stored in snapshot: " + value);
+            }
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void put(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.siakad.repository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kamus string ke kode int yang rapat (0, 1, 2, ...) untuk nilai berkardinalitas rendah
+ * seperti jurusan, status, dosen, dan kode mata kuliah. Satu String per nilai unik disimpan
+ * di heap, record off-heap cukup menyimpan kodenya
+ */
+
+class StringDictionary {
+    static final int NO_CODE = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private int size;
+
+    /**
+     * @return Kode nilai, dibuat jika belum ada, atau NO_CODE jika value null
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        Integer code = codes.get(value);
+        return code != null ? code : register(value);
+    }
+
+    /**
+     * @return Kode nilai tanpa mendaftarkannya, NO_CODE jika belum pernah di-encode
+     */
+    int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NO_CODE : code;
+    }
+
+    String decode(int code) {
+        return code == NO_CODE ? null : values[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    private synchronized int register(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        int code = size;
+        String[] current = values;
+        if (code == current.length) {
+            current = Arrays.copyOf(current, code * 2);
+        }
+        current[code] = value;
+        // Nilai dipublikasikan lewat array volatile sebelum kodenya terlihat di map
+        values = current;
+        codes.put(value, code);
+        size = code + 1;
+        return code;
+    }
+}
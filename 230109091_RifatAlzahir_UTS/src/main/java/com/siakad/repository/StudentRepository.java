@@ -4,6 +4,7 @@ package com.siakad.repository;
 import com.siakad.model.Course;
 import com.siakad.model.Student;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -37,4 +38,17 @@ public interface StudentRepository {
      * @return List of Course yang sudah diselesaikan
      */
     List<Course> getCompletedCourses(String studentId);
-}
\ No newline at end of file
+
+    /**
+     * Update banyak mahasiswa sekaligus dalam satu panggilan
+     * Implementasi default memanggil update satu per satu,
+     * implementasi yang mendukung batch sebaiknya meng-override method ini
+     *
+     * @param students Kumpulan Student yang akan diupdate
+     */
+    default void updateAll(Collection<Student> students) {
+        for (Student student : students) {
+            update(student);
+        }
+    }
+}
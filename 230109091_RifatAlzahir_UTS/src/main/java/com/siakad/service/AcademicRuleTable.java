@@ -0,0 +1,249 @@
+package com.siakad.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Tabel aturan akademik (status dan batas SKS) yang sudah dikompilasi
+ * IPK dikuantisasi ke langkah 0.01 (401 nilai, 0.00 - 4.00) dan semester dipetakan ke band,
+ * sehingga setiap evaluasi cukup satu akses array. Objek immutable, aman dibagi antar thread
+ *
+ * Aturan dibaca dari Properties, contoh (sama dengan aturan default):
+ * <pre>
+ * status.bands=1-2,3-4,5+
+ * status.1-2=ACTIVE:2.00,PROBATION:0.00
+ * status.3-4=ACTIVE:2.25,PROBATION:2.00,SUSPENDED:0.00
+ * status.5+=ACTIVE:2.50,PROBATION:2.00,SUSPENDED:0.00
+ * credits=24:3.00,21:2.50,18:2.00,15:0.00
+ * </pre>
+ * Setiap aturan berbentuk HASIL:IPK_MINIMAL, aturan pertama yang IPK minimalnya terpenuhi dipakai.
+ * Band harus berurutan mulai semester 1 dan band terakhir terbuka (N+)
+ */
+
+public final class AcademicRuleTable {
+    private static final int GPA_STEPS = 401; // 0.00, 0.01, ..., 4.00
+    private static final double[] GRID = new double[GPA_STEPS];
+
+    static {
+        for (int i = 0; i < GPA_STEPS; i++) {
+            // i / 100.0 menghasilkan double yang sama dengan literal, misal 225 / 100.0 == 2.25
+            GRID[i] = i / 100.0;
+        }
+    }
+
+    private static final AcademicRuleTable DEFAULTS = fromProperties(defaultProperties());
+
+    private final byte[] bandBySemester; // Indeks 0 tidak dipakai, semester >= length memakai band terakhir
+    private final String[] statusTable; // [band * GPA_STEPS + indeks IPK]
+    private final int[] creditTable;
+
+    private AcademicRuleTable(byte[] bandBySemester, String[] statusTable, int[] creditTable) {
+        this.bandBySemester = bandBySemester;
+        this.statusTable = statusTable;
+        this.creditTable = creditTable;
+    }
+
+    /**
+     * @return Tabel dengan aturan bawaan (hasilnya sama dengan aturan GradeCalculator sebelumnya)
+     */
+    public static AcademicRuleTable defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Membaca dan mengkompilasi aturan dari file properties (UTF-8)
+     *
+     * @param file Lokasi file aturan
+     * @return Tabel aturan
+     * @throws IllegalArgumentException jika aturan tidak valid
+     * @throws UncheckedIOException jika file gagal dibaca
+     */
+    public static AcademicRuleTable load(Path file) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read academic rules " + file, e);
+        }
+        return fromProperties(properties);
+    }
+
+    /**
+     * Mengkompilasi aturan dari Properties
+     *
+     * @param properties Aturan dengan format seperti pada dokumentasi class
+     * @return Tabel aturan
+     * @throws IllegalArgumentException jika aturan tidak lengkap atau tidak valid
+     */
+    public static AcademicRuleTable fromProperties(Properties properties) {
+        String[] bands = split(required(properties, "status.bands"));
+        if (bands.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many semester bands");
+        }
+        List<Integer> bandStarts = new ArrayList<>();
+        String[] statusTable = new String[bands.length * GPA_STEPS];
+        int nextSemester = 1;
+        for (int band = 0; band < bands.length; band++) {
+            String name = bands[band];
+            boolean last = band == bands.length - 1;
+            int start;
+            int end;
+            try {
+                if (name.endsWith("+")) {
+                    start = Integer.parseInt(name.substring(0, name.length() - 1));
+                    end = Integer.MAX_VALUE;
+                } else {
+                    int dash = name.indexOf('-');
+                    start = Integer.parseInt(dash < 0 ? name : name.substring(0, dash));
+                    end = dash < 0 ? start : Integer.parseInt(name.substring(dash + 1));
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid semester band: " + name, e);
+            }
+            if (start != nextSemester || end < start || last != (end == Integer.MAX_VALUE)) {
+                throw new IllegalArgumentException("Semester bands must be contiguous from 1 and end with N+: "
+                        + name);
+            }
+            bandStarts.add(start);
+            nextSemester = last ? nextSemester : end + 1;
+            String[] compiled = compile(required(properties, "status." + name), "status." + name,
+                    String[]::new, value -> value);
+            System.arraycopy(compiled, 0, statusTable, band * GPA_STEPS, GPA_STEPS);
+        }
+
+        byte[] bandBySemester = new byte[bandStarts.get(bandStarts.size() - 1) + 1];
+        for (int semester = 1, band = 0; semester < bandBySemester.length; semester++) {
+            if (band + 1 < bandStarts.size() && semester >= bandStarts.get(band + 1)) {
+                band++;
+            }
+            bandBySemester[semester] = (byte) band;
+        }
+
+        Integer[] credits = compile(required(properties, "credits"), "credits", Integer[]::new, value -> {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid credit limit: " + value, e);
+            }
+        });
+        int[] creditTable = new int[GPA_STEPS];
+        for (int i = 0; i < GPA_STEPS; i++) {
+            creditTable[i] = credits[i];
+        }
+        return new AcademicRuleTable(bandBySemester, statusTable, creditTable);
+    }
+
+    /**
+     * @param gpa IPK yang sudah divalidasi pemanggil (0.0 - 4.0)
+     * @param semester Semester yang sudah divalidasi pemanggil (harus > 0)
+     * @return Status akademik
+     */
+    public String statusFor(double gpa, int semester) {
+        int band = semester < bandBySemester.length
+                ? bandBySemester[semester] : bandBySemester[bandBySemester.length - 1];
+        return statusTable[band * GPA_STEPS + quantize(gpa)];
+    }
+
+    /**
+     * @param gpa IPK yang sudah divalidasi pemanggil (0.0 - 4.0)
+     * @return Batas SKS
+     */
+    public int maxCreditsFor(double gpa) {
+        return creditTable[quantize(gpa)];
+    }
+
+    /**
+     * Indeks langkah 0.01 terbesar yang tidak melebihi gpa
+     * Perkalian floating point bisa meleset satu langkah di sekitar batas (misal 0.29 * 100 = 28.99...),
+     * sehingga hasilnya dikoreksi dengan membandingkan langsung ke GRID. Dengan begitu gpa >= batas
+     * berlaku persis seperti perbandingan double pada aturan if/else
+     */
+    static int quantize(double gpa) {
+        int index = (int) (gpa * 100.0);
+        if (index < 0 || index >= GPA_STEPS) {
+            // NaN menjadi 0, sama seperti semua perbandingan >= yang bernilai false
+            return index < 0 ? 0 : GPA_STEPS - 1;
+        }
+        if (index + 1 < GPA_STEPS && gpa >= GRID[index + 1]) {
+            return index + 1;
+        }
+        if (index > 0 && gpa < GRID[index]) {
+            return index - 1;
+        }
+        return index;
+    }
+
+    private static <T> T[] compile(String rules, String key, IntFunction<T[]> arrayFactory,
+                                   Function<String, T> parser) {
+        T[] table = arrayFactory.apply(GPA_STEPS);
+        int previous = GPA_STEPS;
+        for (String rule : split(rules)) {
+            int colon = rule.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Rule must be RESULT:MIN_GPA in " + key + ": " + rule);
+            }
+            T result = parser.apply(rule.substring(0, colon).trim());
+            int threshold = gpaIndex(rule.substring(colon + 1).trim(), key);
+            if (threshold >= previous) {
+                throw new IllegalArgumentException("Rules must be ordered by descending GPA in " + key);
+            }
+            Arrays.fill(table, threshold, previous, result);
+            previous = threshold;
+        }
+        if (previous != 0) {
+            throw new IllegalArgumentException("Rules must cover GPA 0.00 in " + key);
+        }
+        return table;
+    }
+
+    private static int gpaIndex(String value, String key) {
+        double gpa;
+        try {
+            gpa = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid GPA in " + key + ": " + value, e);
+        }
+        int index = (int) Math.round(gpa * 100.0);
+        if (gpa < 0 || gpa > 4.0 || GRID[index] != gpa) {
+            throw new IllegalArgumentException("GPA threshold must be 0.00 - 4.00 in 0.01 steps in " + key
+                    + ": " + value);
+        }
+        return index;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing academic rule: " + key);
+        }
+        return value;
+    }
+
+    private static String[] split(String value) {
+        String[] parts = value.split(",");
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+        return parts;
+    }
+
+    private static Properties defaultProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("status.bands", "1-2,3-4,5+");
+        properties.setProperty("status.1-2", "ACTIVE:2.00,PROBATION:0.00");
+        properties.setProperty("status.3-4", "ACTIVE:2.25,PROBATION:2.00,SUSPENDED:0.00");
+        properties.setProperty("status.5+", "ACTIVE:2.50,PROBATION:2.00,SUSPENDED:0.00");
+        properties.setProperty("credits", "24:3.00,21:2.50,18:2.00,15:0.00");
+        return properties;
+    }
+}
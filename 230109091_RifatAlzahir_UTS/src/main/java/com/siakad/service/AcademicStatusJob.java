@@ -0,0 +1,403 @@
+package com.siakad.service;
+
+import com.siakad.model.Student;
+import com.siakad.repository.StudentRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Job akhir semester untuk menghitung ulang status akademik dan batas SKS seluruh mahasiswa
+ * Roster dibagi menjadi batch berukuran tetap yang diproses paralel dengan fork-join,
+ * mahasiswa yang statusnya berubah ditulis kembali per batch lewat StudentRepository#updateAll
+ * sebagai salinan dengan status baru. Objek roster tidak pernah diubah, sehingga batch yang gagal
+ * ditulis tidak meninggalkan perubahan dan dihitung ulang utuh saat dijalankan lagi
+ *
+ * Jika checkpoint file diset, batch yang sudah ditulis dicatat di file tersebut sehingga
+ * job yang terhenti (crash) bisa dijalankan ulang dan hanya menulis batch yang belum selesai.
+ * Perhitungan status bersifat deterministik, jadi mengulang batch yang belum tercatat selalu aman
+ *
+ * Roster bisa diberikan sebagai List, atau sebagai RosterSource yang dibaca per halaman seukuran batch
+ * (misal query database dengan offset/limit), sehingga seluruh roster tidak perlu ada di memori
+ */
+
+public class AcademicStatusJob {
+    private static final int DEFAULT_BATCH_SIZE = 1_024;
+    private static final int CHECKPOINT_MAGIC = 0x534B4350; // "SKCP"
+
+    /**
+     * Callback progres, dipanggil dari thread worker setelah setiap batch selesai
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long processed, long total);
+    }
+
+    /**
+     * Sumber roster yang dibaca per halaman, dipanggil dari thread worker secara paralel
+     */
+    @FunctionalInterface
+    public interface RosterSource {
+        /**
+         * @param offset Indeks mahasiswa pertama di roster
+         * @param limit Jumlah mahasiswa yang diminta
+         * @return Tepat limit mahasiswa mulai dari offset, urutan roster harus sama di setiap pemanggilan
+         */
+        List<? extends Student> page(int offset, int limit);
+    }
+
+    private final StudentRepository studentRepository;
+    private final GradeCalculator gradeCalculator;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private Path checkpointFile;
+    private ProgressListener progressListener = (processed, total) -> { };
+
+    public AcademicStatusJob(StudentRepository studentRepository, GradeCalculator gradeCalculator) {
+        this(studentRepository, gradeCalculator, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param pool ForkJoinPool yang dipakai untuk perhitungan paralel
+     * @param batchSize Jumlah mahasiswa per batch update dan per checkpoint (harus > 0)
+     * @throws IllegalArgumentException jika batchSize tidak positif
+     */
+    public AcademicStatusJob(StudentRepository studentRepository, GradeCalculator gradeCalculator,
+                             ForkJoinPool pool, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.studentRepository = studentRepository;
+        this.gradeCalculator = gradeCalculator;
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Mengaktifkan checkpoint, null untuk menonaktifkan
+     * File dihapus setelah job selesai tanpa error
+     *
+     * @param checkpointFile Lokasi file checkpoint
+     */
+    public void setCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener == null ? (processed, total) -> { } : progressListener;
+    }
+
+    /**
+     * Menjalankan job atas roster
+     * Untuk melanjutkan job yang terhenti, roster harus memiliki isi dan urutan yang sama
+     *
+     * @param roster Seluruh mahasiswa, urutannya menentukan pembagian batch
+     * @return Ringkasan hasil job
+     * @throws IllegalStateException jika checkpoint tidak cocok dengan roster atau rusak
+     * @throws UncheckedIOException jika checkpoint gagal dibaca atau ditulis
+     */
+    public Result run(List<? extends Student> roster) {
+        return run(roster.size(), (offset, limit) -> roster.subList(offset, offset + limit));
+    }
+
+    /**
+     * Menjalankan job atas roster yang dibaca per halaman seukuran batch
+     * Hanya halaman yang sedang diproses yang perlu ada di memori
+     *
+     * @param rosterSize Jumlah mahasiswa di roster
+     * @param source Sumber halaman roster
+     * @return Ringkasan hasil job
+     * @throws IllegalArgumentException jika rosterSize negatif atau source null
+     * @throws IllegalStateException jika checkpoint tidak cocok dengan roster atau rusak,
+     *         atau source mengembalikan jumlah mahasiswa yang berbeda dari yang diminta
+     * @throws UncheckedIOException jika checkpoint gagal dibaca atau ditulis
+     */
+    public Result run(int rosterSize, RosterSource source) {
+        if (rosterSize < 0 || source == null) {
+            throw new IllegalArgumentException("Roster size must not be negative and source must not be null");
+        }
+        int batchCount = (rosterSize + batchSize - 1) / batchSize;
+        Checkpoint checkpoint = checkpointFile == null
+                ? new Checkpoint(null, rosterSize, batchSize)
+                : Checkpoint.load(checkpointFile, rosterSize, batchSize);
+        Run run = new Run(rosterSize, source, checkpoint);
+        if (batchCount > 0) {
+            pool.invoke(new BatchTask(run, 0, batchCount));
+        }
+        checkpoint.delete();
+        return run.toResult();
+    }
+
+    /**
+     * State satu kali eksekusi, dibagi oleh semua task
+     */
+    private final class Run {
+        private final int rosterSize;
+        private final RosterSource source;
+        private final Checkpoint checkpoint;
+        private final int[] maxCredits;
+        private final AtomicLong processed = new AtomicLong();
+        private final LongAdder updated = new LongAdder();
+        private final LongAdder resumedBatches = new LongAdder();
+        private final Map<String, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<String> failed = new ConcurrentLinkedQueue<>();
+
+        Run(int rosterSize, RosterSource source, Checkpoint checkpoint) {
+            this.rosterSize = rosterSize;
+            this.source = source;
+            this.checkpoint = checkpoint;
+            this.maxCredits = new int[rosterSize];
+        }
+
+        void processBatch(int batch) {
+            int from = batch * batchSize;
+            int to = Math.min(rosterSize, from + batchSize);
+            List<? extends Student> page = source.page(from, to - from);
+            if (page.size() != to - from) {
+                throw new IllegalStateException("Roster source returned " + page.size()
+                        + " students for offset " + from + ", expected " + (to - from));
+            }
+            boolean alreadyWritten = checkpoint.isDone(batch);
+            List<Student> changed = new ArrayList<>();
+            Map<String, Long> counts = new HashMap<>();
+            for (int i = from; i < to; i++) {
+                Student student = page.get(i - from);
+                String status;
+                try {
+                    status = gradeCalculator.determineAcademicStatus(student.getGpa(), student.getSemester());
+                    maxCredits[i] = gradeCalculator.calculateMaxCredits(student.getGpa());
+                } catch (IllegalArgumentException e) {
+                    failed.add(student.getStudentId());
+                    continue;
+                }
+                counts.merge(status, 1L, Long::sum);
+                if (!alreadyWritten && !status.equals(student.getAcademicStatus())) {
+                    changed.add(withStatus(student, status));
+                }
+            }
+            if (alreadyWritten) {
+                resumedBatches.increment();
+            } else {
+                if (!changed.isEmpty()) {
+                    studentRepository.updateAll(changed);
+                    updated.add(changed.size());
+                }
+                checkpoint.markDone(batch);
+            }
+            counts.forEach((status, count) ->
+                    statusCounts.computeIfAbsent(status, key -> new LongAdder()).add(count));
+            progressListener.onProgress(processed.addAndGet(to - from), rosterSize);
+        }
+
+        private Student withStatus(Student student, String status) {
+            return new Student(student.getStudentId(), student.getName(), student.getEmail(), student.getMajor(),
+                    student.getSemester(), student.getGpa(), status);
+        }
+
+        Result toResult() {
+            Map<String, Long> counts = new TreeMap<>();
+            statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+            return new Result(processed.get(), updated.sum(), resumedBatches.sum(), counts,
+                    new ArrayList<>(failed), maxCredits);
+        }
+    }
+
+    private final class BatchTask extends RecursiveAction {
+        private final Run run;
+        private final int fromBatch;
+        private final int toBatch;
+
+        BatchTask(Run run, int fromBatch, int toBatch) {
+            this.run = run;
+            this.fromBatch = fromBatch;
+            this.toBatch = toBatch;
+        }
+
+        @Override
+        protected void compute() {
+            if (toBatch - fromBatch == 1) {
+                run.processBatch(fromBatch);
+                return;
+            }
+            int mid = (fromBatch + toBatch) >>> 1;
+            invokeAll(new BatchTask(run, fromBatch, mid), new BatchTask(run, mid, toBatch));
+        }
+    }
+
+    /**
+     * Bitset batch yang sudah ditulis, disimpan sebagai
+     * [int magic][int rosterSize][int batchSize][long words...]
+     * File diganti secara atomik (tulis file sementara, fsync, lalu rename) setiap ada batch selesai
+     */
+    private static final class Checkpoint {
+        private final Path file;
+        private final int rosterSize;
+        private final int batchSize;
+        private final long[] done;
+
+        Checkpoint(Path file, int rosterSize, int batchSize) {
+            this(file, rosterSize, batchSize,
+                    new long[((rosterSize + batchSize - 1) / batchSize + 63) >>> 6]);
+        }
+
+        private Checkpoint(Path file, int rosterSize, int batchSize, long[] done) {
+            this.file = file;
+            this.rosterSize = rosterSize;
+            this.batchSize = batchSize;
+            this.done = done;
+        }
+
+        static Checkpoint load(Path file, int rosterSize, int batchSize) {
+            Checkpoint fresh = new Checkpoint(file, rosterSize, batchSize);
+            if (!Files.exists(file)) {
+                return fresh;
+            }
+            ByteBuffer buffer;
+            try {
+                buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read checkpoint " + file, e);
+            }
+            if (buffer.remaining() != 12 + fresh.done.length * 8 || buffer.getInt() != CHECKPOINT_MAGIC) {
+                throw new IllegalStateException("Corrupt checkpoint: " + file);
+            }
+            if (buffer.getInt() != rosterSize || buffer.getInt() != batchSize) {
+                throw new IllegalStateException("Checkpoint does not match roster: " + file);
+            }
+            for (int i = 0; i < fresh.done.length; i++) {
+                fresh.done[i] = buffer.getLong();
+            }
+            return fresh;
+        }
+
+        synchronized boolean isDone(int batch) {
+            return (done[batch >>> 6] & (1L << batch)) != 0;
+        }
+
+        synchronized void markDone(int batch) {
+            done[batch >>> 6] |= 1L << batch;
+            if (file != null) {
+                write();
+            }
+        }
+
+        void delete() {
+            if (file == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete checkpoint " + file, e);
+            }
+        }
+
+        private void write() {
+            ByteBuffer buffer = ByteBuffer.allocate(12 + done.length * 8);
+            buffer.putInt(CHECKPOINT_MAGIC).putInt(rosterSize).putInt(batchSize);
+            for (long word : done) {
+                buffer.putLong(word);
+            }
+            buffer.flip();
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                // Tanpa fsync, rename bisa tersimpan sebelum isi file sehingga checkpoint kosong setelah crash
+                channel.force(true);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write checkpoint " + file, e);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write checkpoint " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Ringkasan hasil job
+     */
+    public static final class Result {
+        private final long processed;
+        private final long updated;
+        private final long resumedBatches;
+        private final Map<String, Long> statusCounts;
+        private final List<String> failedStudentIds;
+        private final int[] maxCredits;
+
+        private Result(long processed, long updated, long resumedBatches, Map<String, Long> statusCounts,
+                       List<String> failedStudentIds, int[] maxCredits) {
+            this.processed = processed;
+            this.updated = updated;
+            this.resumedBatches = resumedBatches;
+            this.statusCounts = Collections.unmodifiableMap(statusCounts);
+            this.failedStudentIds = Collections.unmodifiableList(failedStudentIds);
+            this.maxCredits = maxCredits;
+        }
+
+        /**
+         * @return Jumlah mahasiswa yang diperiksa, termasuk batch yang dilewati karena checkpoint
+         */
+        public long getProcessed() {
+            return processed;
+        }
+
+        /**
+         * @return Jumlah mahasiswa yang statusnya berubah dan ditulis ke repository
+         */
+        public long getUpdated() {
+            return updated;
+        }
+
+        /**
+         * @return Jumlah batch yang sudah tercatat di checkpoint sehingga tidak ditulis ulang
+         */
+        public long getResumedBatches() {
+            return resumedBatches;
+        }
+
+        /**
+         * @return Jumlah mahasiswa per status akademik hasil perhitungan
+         */
+        public Map<String, Long> getStatusCounts() {
+            return statusCounts;
+        }
+
+        /**
+         * @return ID mahasiswa dengan IPK atau semester invalid, status mereka tidak diubah
+         */
+        public List<String> getFailedStudentIds() {
+            return failedStudentIds;
+        }
+
+        /**
+         * @param rosterIndex Indeks mahasiswa di roster yang diberikan ke run
+         * @return Batas SKS mahasiswa, 0 jika datanya invalid
+         */
+        public int getMaxCredits(int rosterIndex) {
+            return maxCredits[rosterIndex];
+        }
+    }
+}
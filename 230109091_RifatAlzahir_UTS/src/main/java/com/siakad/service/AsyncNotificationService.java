@@ -0,0 +1,447 @@
+package com.siakad.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * NotificationService asinkron yang membungkus NotificationService lain
+ * Pesan dimasukkan ke antrian in-memory terbatas lalu dikirim secara batch oleh
+ * worker virtual thread, sehingga latensi server email tidak menambah latensi enrollment
+ *
+ * Dengan SPILL_TO_DISK, file spill dibuka sekali dan record ditambahkan di posisi tulis. Worker membaca
+ * paling banyak batchSize record spill setelah setiap batch antrian, sehingga pesan spill tetap terkirim
+ * walaupun antrian tidak pernah kosong. Setelah semua record terbaca, file dipotong dan dipakai ulang.
+ * Sisa spill dari proses sebelumnya dikirim ulang saat start, record rusak (misal terpotong karena crash)
+ * disalin ke file karantina dan tidak menghentikan worker
+ */
+
+public class AsyncNotificationService implements NotificationService, AutoCloseable {
+
+    /**
+     * Perilaku ketika antrian penuh
+     */
+    public enum BackpressurePolicy {
+        /** Pesan dibuang dan dihitung pada droppedCount */
+        DROP,
+        /** Pemanggil menunggu sampai antrian memiliki tempat */
+        BLOCK,
+        /** Pesan ditulis ke file spill dan dikirim ulang bergantian dengan pesan di antrian */
+        SPILL_TO_DISK
+    }
+
+    private static final byte CHANNEL_EMAIL = 0;
+    private static final byte CHANNEL_SMS = 1;
+    private static final long POLL_INTERVAL_MS = 50;
+    // Lebih besar dari satu record terbesar (1 byte channel + 3 string writeUTF)
+    private static final int MAX_SPILL_READ_BYTES = 256 * 1024;
+
+    private record Notification(byte channel, String recipient, String subject, String message) {
+    }
+
+    private final NotificationService delegate;
+    private final BlockingQueue<Notification> queue;
+    private final int batchSize;
+    private final BackpressurePolicy policy;
+    private final Path spillFile;
+    private final ReentrantLock spillLock = new ReentrantLock();
+    // Dijaga spillLock, null jika file spill tidak bisa dibuka ulang setelah karantina
+    private FileChannel spillChannel;
+    private long spillReadPosition;
+    private long spillWritePosition;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final LongAdder enqueuedCount = new LongAdder();
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder spilledCount = new LongAdder();
+    private final AtomicLong pendingSpillCount = new AtomicLong();
+    private final LongAdder spillErrorCount = new LongAdder();
+    private final LongAdder totalSendLatencyNanos = new LongAdder();
+    private final AtomicLong maxSendLatencyNanos = new AtomicLong();
+
+    /**
+     * @param delegate NotificationService yang benar-benar mengirim pesan (misal SMTP)
+     * @param queueCapacity Kapasitas antrian in-memory (harus > 0)
+     * @param workerCount Jumlah worker virtual thread (harus > 0)
+     * @param batchSize Jumlah maksimal pesan yang diambil dari antrian per batch (harus > 0)
+     * @param policy Perilaku ketika antrian penuh
+     * @param spillFile File spill, wajib jika policy SPILL_TO_DISK. Isi yang sudah ada dikirim ulang
+     * @throws IllegalArgumentException jika parameter invalid
+     * @throws UncheckedIOException jika file spill tidak bisa dibuka
+     */
+    public AsyncNotificationService(NotificationService delegate, int queueCapacity, int workerCount,
+                                    int batchSize, BackpressurePolicy policy, Path spillFile) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate must not be null");
+        }
+        if (queueCapacity < 1 || workerCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Queue capacity, worker count and batch size must be positive");
+        }
+        if (policy == BackpressurePolicy.SPILL_TO_DISK && spillFile == null) {
+            throw new IllegalArgumentException("Spill file is required for SPILL_TO_DISK");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.policy = policy;
+        this.spillFile = spillFile;
+        if (policy == BackpressurePolicy.SPILL_TO_DISK) {
+            openSpill();
+        }
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("notification-worker-" + i).start(this::runWorker));
+        }
+    }
+
+    /**
+     * Membuat AsyncNotificationService tanpa file spill
+     *
+     * @param delegate NotificationService yang benar-benar mengirim pesan
+     * @param queueCapacity Kapasitas antrian in-memory
+     * @param workerCount Jumlah worker virtual thread
+     * @param batchSize Jumlah maksimal pesan per batch
+     * @param policy DROP atau BLOCK
+     */
+    public AsyncNotificationService(NotificationService delegate, int queueCapacity, int workerCount,
+                                    int batchSize, BackpressurePolicy policy) {
+        this(delegate, queueCapacity, workerCount, batchSize, policy, null);
+    }
+
+    @Override
+    public void sendEmail(String email, String subject, String message) {
+        enqueue(new Notification(CHANNEL_EMAIL, email, subject, message));
+    }
+
+    @Override
+    public void sendSMS(String phone, String message) {
+        enqueue(new Notification(CHANNEL_SMS, phone, "", message));
+    }
+
+    private void enqueue(Notification notification) {
+        if (!running) {
+            throw new IllegalStateException("Notification service is closed");
+        }
+        if (queue.offer(notification)) {
+            enqueuedCount.increment();
+            return;
+        }
+
+        switch (policy) {
+            case DROP -> droppedCount.increment();
+            case BLOCK -> {
+                try {
+                    queue.put(notification);
+                    enqueuedCount.increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount.increment();
+                }
+            }
+            case SPILL_TO_DISK -> spill(notification);
+        }
+    }
+
+    private void runWorker() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        while (true) {
+            try {
+                // Satu chunk spill dikirim setelah setiap batch antrian, tanpa menunggu antrian kosong
+                boolean spillPending = pendingSpillCount.get() > 0;
+                Notification first = spillPending
+                        ? queue.poll()
+                        : queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    deliver(batch);
+                    batch.clear();
+                }
+                if (spillPending) {
+                    deliver(readSpillChunk());
+                } else if (first == null && !running) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Worker tidak boleh berhenti, producer BLOCK akan menunggu selamanya
+                failedCount.increment();
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<Notification> batch) {
+        for (Notification notification : batch) {
+            long start = System.nanoTime();
+            try {
+                if (notification.channel() == CHANNEL_SMS) {
+                    delegate.sendSMS(notification.recipient(), notification.message());
+                } else {
+                    delegate.sendEmail(notification.recipient(), notification.subject(), notification.message());
+                }
+                sentCount.increment();
+            } catch (RuntimeException e) {
+                failedCount.increment();
+            }
+            long latency = System.nanoTime() - start;
+            totalSendLatencyNanos.add(latency);
+            maxSendLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+    }
+
+    private void spill(Notification notification) {
+        ByteBuffer record;
+        try {
+            record = ByteBuffer.wrap(encode(notification));
+        } catch (IOException e) {
+            // Pesan terlalu panjang untuk writeUTF
+            droppedCount.increment();
+            return;
+        }
+        spillLock.lock();
+        try {
+            if (spillChannel == null) {
+                droppedCount.increment();
+                return;
+            }
+            long position = spillWritePosition;
+            while (record.hasRemaining()) {
+                position += spillChannel.write(record, position);
+            }
+            // Record yang gagal ditulis sebagian ditimpa oleh record berikutnya
+            spillWritePosition = position;
+            spilledCount.increment();
+            pendingSpillCount.incrementAndGet();
+        } catch (IOException e) {
+            droppedCount.increment();
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * @return Paling banyak batchSize record spill berikutnya, kosong jika tidak ada atau file dikarantina
+     */
+    private List<Notification> readSpillChunk() {
+        List<Notification> chunk = new ArrayList<>(batchSize);
+        spillLock.lock();
+        try {
+            if (spillChannel == null || spillReadPosition == spillWritePosition) {
+                return chunk;
+            }
+            try {
+                spillReadPosition += readSpillRecords(spillReadPosition, batchSize, chunk);
+                pendingSpillCount.addAndGet(-chunk.size());
+                if (spillReadPosition == spillWritePosition) {
+                    spillChannel.truncate(0);
+                    spillReadPosition = 0;
+                    spillWritePosition = 0;
+                }
+            } catch (IOException e) {
+                quarantineSpill();
+            }
+            return chunk;
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * Membaca record spill yang lengkap mulai dari position sampai posisi tulis
+     *
+     * @param maxRecords Jumlah maksimal record yang dibaca
+     * @param out Tujuan record yang terbaca
+     * @return Jumlah byte yang dikonsumsi
+     * @throws IOException jika file tidak bisa dibaca atau berisi record rusak/terpotong
+     */
+    private int readSpillRecords(long position, int maxRecords, List<Notification> out) throws IOException {
+        int length = (int) Math.min(spillWritePosition - position, MAX_SPILL_READ_BYTES);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (spillChannel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Spill file shorter than expected: " + spillFile);
+            }
+        }
+        ByteArrayInputStream bytes = new ByteArrayInputStream(buffer.array());
+        DataInputStream in = new DataInputStream(bytes);
+        int consumed = 0;
+        while (out.size() < maxRecords && consumed < length) {
+            try {
+                byte channel = in.readByte();
+                if (channel != CHANNEL_EMAIL && channel != CHANNEL_SMS) {
+                    throw new IOException("Corrupt spill record at " + (position + consumed));
+                }
+                out.add(new Notification(channel, in.readUTF(), in.readUTF(), in.readUTF()));
+            } catch (EOFException e) {
+                break;
+            }
+            consumed = length - bytes.available();
+        }
+        if (consumed == 0 && length > 0 && out.size() < maxRecords) {
+            throw new IOException("Truncated spill record at " + position);
+        }
+        return consumed;
+    }
+
+    private static byte[] encode(Notification notification) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(notification.channel());
+        out.writeUTF(notification.recipient());
+        out.writeUTF(notification.subject());
+        out.writeUTF(notification.message());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Membuka file spill dan menghitung record sisa proses sebelumnya
+     * Record rusak di akhir file (misal terpotong karena crash) disalin ke file karantina lalu dipotong
+     */
+    private void openSpill() {
+        try {
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            spillWritePosition = spillChannel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open spill file: " + spillFile, e);
+        }
+        long position = 0;
+        List<Notification> scratch = new ArrayList<>();
+        try {
+            while (position < spillWritePosition) {
+                scratch.clear();
+                position += readSpillRecords(position, Integer.MAX_VALUE, scratch);
+                pendingSpillCount.addAndGet(scratch.size());
+            }
+        } catch (IOException e) {
+            spillErrorCount.increment();
+            try {
+                Files.copy(spillFile, quarantinePath());
+                spillChannel.truncate(position);
+                spillWritePosition = position;
+            } catch (IOException copyFailure) {
+                throw new UncheckedIOException("Failed to quarantine spill file: " + spillFile, copyFailure);
+            }
+        }
+    }
+
+    /**
+     * Memindahkan file spill yang tidak bisa dibaca ke file karantina dan memulai file spill baru
+     * Pesan yang belum terkirim di file tersebut dihitung sebagai dropped
+     */
+    private void quarantineSpill() {
+        spillErrorCount.increment();
+        droppedCount.add(pendingSpillCount.getAndSet(0));
+        spillReadPosition = 0;
+        spillWritePosition = 0;
+        try {
+            spillChannel.close();
+            Files.move(spillFile, quarantinePath());
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            // Pesan berikutnya yang tidak muat di antrian dihitung sebagai dropped
+            spillChannel = null;
+        }
+    }
+
+    private Path quarantinePath() {
+        return spillFile.resolveSibling(spillFile.getFileName() + ".corrupt-"
+                + System.currentTimeMillis() + "-" + spillErrorCount.sum());
+    }
+
+    /**
+     * Berhenti menerima pesan baru lalu menunggu semua pesan di antrian dan file spill terkirim
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        spillLock.lock();
+        try {
+            if (spillChannel != null) {
+                spillChannel.close();
+                spillChannel = null;
+            }
+        } catch (IOException e) {
+            // Semua record spill sudah terkirim, tidak ada yang hilang
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    // Metrics
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueuedCount.sum();
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    public long getPendingSpillCount() {
+        return pendingSpillCount.get();
+    }
+
+    /**
+     * @return Jumlah file spill yang dikarantina karena berisi record rusak atau tidak bisa dibaca
+     */
+    public long getSpillErrorCount() {
+        return spillErrorCount.sum();
+    }
+
+    public long getMaxSendLatencyNanos() {
+        return maxSendLatencyNanos.get();
+    }
+
+    public double getAverageSendLatencyNanos() {
+        long attempts = sentCount.sum() + failedCount.sum();
+        return attempts == 0 ? 0.0 : (double) totalSendLatencyNanos.sum() / attempts;
+    }
+}
@@ -0,0 +1,227 @@
+package com.siakad.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perhitungan IPK massal untuk seluruh angkatan (akhir semester)
+ * Nilai diterima dalam bentuk kolom primitif (indeks mahasiswa, SKS, grade point)
+ * dan diagregasi dalam satu kali pass secara paralel dengan fork-join
+ *
+ * Hasil per mahasiswa identik dengan GradeCalculator.calculateGPA atas nilai mahasiswa tersebut,
+ * karena memakai penjumlahan fixed-point dan pembulatan yang sama
+ */
+
+public class CohortGpaCalculator {
+    private static final int MIN_ROWS_PER_TASK = 1 << 16;
+    private static final int STUDENTS_PER_MERGE_TASK = 1 << 14;
+
+    private final ForkJoinPool pool;
+
+    public CohortGpaCalculator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool ForkJoinPool yang dipakai untuk perhitungan paralel
+     */
+    public CohortGpaCalculator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Menghitung IPK semua mahasiswa sekaligus
+     * Baris ke-i berarti mahasiswa studentIndex[i] mendapat gradePoints[i] untuk mata kuliah dengan credits[i] SKS
+     * Urutan baris bebas. Memori tambahan per potongan baris sebanding dengan jumlah barisnya,
+     * data yang terurut per mahasiswa hanya lebih cepat karena tidak perlu diurutkan per potongan
+     *
+     * @param studentCount Jumlah mahasiswa, indeks valid 0 sampai studentCount - 1
+     * @param studentIndex Kolom indeks mahasiswa
+     * @param credits Kolom SKS
+     * @param gradePoints Kolom grade point (0.0 - 4.0)
+     * @return Array IPK per indeks mahasiswa, 0.0 untuk mahasiswa tanpa nilai
+     * @throws IllegalArgumentException jika panjang kolom berbeda, indeks mahasiswa atau grade point invalid
+     */
+    public double[] calculateGPAs(int studentCount, int[] studentIndex, int[] credits, double[] gradePoints) {
+        if (studentCount < 0) {
+            throw new IllegalArgumentException("Student count must not be negative");
+        }
+        if (studentIndex.length != credits.length || credits.length != gradePoints.length) {
+            throw new IllegalArgumentException("Column lengths must be equal");
+        }
+
+        int rows = studentIndex.length;
+        int leafCount = Math.max(1, Math.min(pool.getParallelism() * 4, rows / MIN_ROWS_PER_TASK));
+        List<AggregateTask> leaves = new ArrayList<>(leafCount);
+        for (int i = 0; i < leafCount; i++) {
+            int from = (int) ((long) rows * i / leafCount);
+            int to = (int) ((long) rows * (i + 1) / leafCount);
+            leaves.add(new AggregateTask(studentCount, studentIndex, credits, gradePoints, from, to));
+        }
+
+        double[] gpa = new double[studentCount];
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<Partial> partials = new ArrayList<>(leafCount);
+                for (AggregateTask leaf : ForkJoinTask.invokeAll(leaves)) {
+                    Partial partial = leaf.join();
+                    if (partial != null) {
+                        partials.add(partial);
+                    }
+                }
+                new MergeTask(partials, gpa, 0, studentCount).invoke();
+            }
+        });
+        return gpa;
+    }
+
+    /**
+     * Total poin dan SKS per mahasiswa dari satu potongan baris
+     * Jika students null, slot ke-i milik mahasiswa firstStudent + i (padat), jika tidak slot ke-i milik
+     * mahasiswa students[i] yang terurut naik (jarang)
+     */
+    private record Partial(int firstStudent, int[] students, long[] points, long[] credits) {
+
+        int studentAt(int slot) {
+            return students == null ? firstStudent + slot : students[slot];
+        }
+
+        /**
+         * @return Slot pertama dengan indeks mahasiswa >= student
+         */
+        int slotOf(int student) {
+            if (students == null) {
+                return Math.min(points.length, Math.max(0, student - firstStudent));
+            }
+            int slot = Arrays.binarySearch(students, student);
+            return slot >= 0 ? slot : -slot - 1;
+        }
+    }
+
+    /**
+     * Agregasi satu potongan baris
+     * Jika rentang indeks mahasiswa yang muncul tidak lebih dari dua kali jumlah baris (data terurut),
+     * array lokal padat mencakup rentang tersebut. Jika tidak (data acak), baris diurutkan per mahasiswa
+     * dan hasilnya disimpan jarang, sehingga tidak ada array seukuran seluruh angkatan per potongan
+     */
+    private static class AggregateTask extends RecursiveTask<Partial> {
+        private final int studentCount;
+        private final int[] studentIndex;
+        private final int[] credits;
+        private final double[] gradePoints;
+        private final int from;
+        private final int to;
+
+        AggregateTask(int studentCount, int[] studentIndex, int[] credits, double[] gradePoints, int from, int to) {
+            this.studentCount = studentCount;
+            this.studentIndex = studentIndex;
+            this.credits = credits;
+            this.gradePoints = gradePoints;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (from >= to) {
+                return null;
+            }
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int row = from; row < to; row++) {
+                int student = studentIndex[row];
+                if (student < 0 || student >= studentCount) {
+                    throw new IllegalArgumentException("Invalid student index at row " + row + ": " + student);
+                }
+                min = Math.min(min, student);
+                max = Math.max(max, student);
+            }
+
+            if ((long) max - min + 1 > 2L * (to - from)) {
+                return sparse();
+            }
+            long[] points = new long[max - min + 1];
+            long[] totalCredits = new long[max - min + 1];
+            for (int row = from; row < to; row++) {
+                int slot = studentIndex[row] - min;
+                points[slot] += GradeCalculator.scaledPoints(gradePoints[row], credits[row]);
+                totalCredits[slot] += credits[row];
+            }
+            return new Partial(min, null, points, totalCredits);
+        }
+
+        private Partial sparse() {
+            // Indeks mahasiswa di 32 bit atas dan nomor baris di 32 bit bawah, urut per mahasiswa
+            long[] order = new long[to - from];
+            for (int row = from; row < to; row++) {
+                order[row - from] = ((long) studentIndex[row] << 32) | row;
+            }
+            Arrays.sort(order);
+
+            int[] students = new int[order.length];
+            long[] points = new long[order.length];
+            long[] totalCredits = new long[order.length];
+            int slot = -1;
+            for (long entry : order) {
+                int student = (int) (entry >>> 32);
+                int row = (int) entry;
+                if (slot < 0 || students[slot] != student) {
+                    students[++slot] = student;
+                }
+                points[slot] += GradeCalculator.scaledPoints(gradePoints[row], credits[row]);
+                totalCredits[slot] += credits[row];
+            }
+            int size = slot + 1;
+            return new Partial(students[0], Arrays.copyOf(students, size),
+                    Arrays.copyOf(points, size), Arrays.copyOf(totalCredits, size));
+        }
+    }
+
+    /**
+     * Menggabungkan hasil parsial per rentang mahasiswa, rentang yang berbeda tidak pernah bertabrakan
+     */
+    private static class MergeTask extends RecursiveAction {
+        private final List<Partial> partials;
+        private final double[] gpa;
+        private final int from;
+        private final int to;
+
+        MergeTask(List<Partial> partials, double[] gpa, int from, int to) {
+            this.partials = partials;
+            this.gpa = gpa;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > STUDENTS_PER_MERGE_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new MergeTask(partials, gpa, from, mid), new MergeTask(partials, gpa, mid, to));
+                return;
+            }
+
+            long[] points = new long[to - from];
+            long[] credits = new long[to - from];
+            for (Partial partial : partials) {
+                for (int slot = partial.slotOf(from); slot < partial.points().length; slot++) {
+                    int student = partial.studentAt(slot);
+                    if (student >= to) {
+                        break;
+                    }
+                    points[student - from] += partial.points()[slot];
+                    credits[student - from] += partial.credits()[slot];
+                }
+            }
+            for (int i = 0; i < points.length; i++) {
+                gpa[from + i] = GradeCalculator.toGpa(points[i], credits[i]);
+            }
+        }
+    }
+}
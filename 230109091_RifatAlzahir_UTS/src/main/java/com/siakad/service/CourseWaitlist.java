@@ -0,0 +1,179 @@
+package com.siakad.service;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Daftar tunggu (waitlist) FIFO per mata kuliah
+ * Setiap mata kuliah memiliki antrian lock-free sendiri, sehingga join dan promosi pada
+ * mata kuliah berbeda tidak saling menunggu
+ *
+ * Seorang mahasiswa hanya bisa mengantri sekali per mata kuliah. Keluar dari antrian (leave)
+ * hanya menandai entri, entri tersebut dilewati ketika gilirannya tiba. Posisi dihitung hanya saat
+ * diminta lewat {@link #position}, join tidak menelusuri antrian
+ */
+
+public class CourseWaitlist {
+
+    /**
+     * Satu entri antrian, sengaja bukan record: identitas objek membedakan join ulang setelah leave
+     */
+    private static final class Entry {
+        private final String studentId;
+
+        Entry(String studentId) {
+            this.studentId = studentId;
+        }
+
+        String studentId() {
+            return studentId;
+        }
+    }
+
+    private static final class CourseQueue {
+        private final Deque<Entry> entries = new ConcurrentLinkedDeque<>();
+        private final Map<String, Entry> members = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+    }
+
+    private final Map<String, CourseQueue> queues = new ConcurrentHashMap<>();
+    private final int maxPerCourse;
+
+    public CourseWaitlist() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxPerCourse Panjang maksimal antrian per mata kuliah (harus > 0)
+     * @throws IllegalArgumentException jika maxPerCourse tidak positif
+     */
+    public CourseWaitlist(int maxPerCourse) {
+        if (maxPerCourse < 1) {
+            throw new IllegalArgumentException("Waitlist size must be positive");
+        }
+        this.maxPerCourse = maxPerCourse;
+    }
+
+    /**
+     * Memasukkan mahasiswa ke akhir antrian mata kuliah
+     *
+     * @param courseCode Kode mata kuliah
+     * @param studentId ID mahasiswa
+     * @return Posisi mahasiswa di antrian (mulai dari 1), posisi lama jika sudah mengantri,
+     *         atau -1 jika antrian sudah penuh
+     */
+    public int join(String courseCode, String studentId) {
+        CourseQueue queue = queues.computeIfAbsent(courseCode, code -> new CourseQueue());
+        Entry entry = new Entry(studentId);
+        if (queue.members.putIfAbsent(studentId, entry) != null) {
+            return position(courseCode, studentId);
+        }
+        if (queue.size.incrementAndGet() > maxPerCourse) {
+            queue.size.decrementAndGet();
+            queue.members.remove(studentId, entry);
+            return -1;
+        }
+        queue.entries.offerLast(entry);
+        // Entri baru berada di akhir antrian, posisinya sama dengan jumlah anggota saat ini
+        return queue.size.get();
+    }
+
+    /**
+     * Mengembalikan mahasiswa ke depan antrian, misal ketika promosinya dibatalkan
+     * Batas panjang antrian tidak diperiksa karena mahasiswa hanya mendapatkan kembali tempatnya
+     *
+     * @param courseCode Kode mata kuliah
+     * @param studentId ID mahasiswa
+     * @return true jika dikembalikan, false jika mahasiswa sudah mengantri lagi
+     */
+    public boolean requeueFirst(String courseCode, String studentId) {
+        CourseQueue queue = queues.computeIfAbsent(courseCode, code -> new CourseQueue());
+        Entry entry = new Entry(studentId);
+        if (queue.members.putIfAbsent(studentId, entry) != null) {
+            return false;
+        }
+        queue.size.incrementAndGet();
+        queue.entries.offerFirst(entry);
+        return true;
+    }
+
+    /**
+     * Mengeluarkan mahasiswa dari antrian
+     *
+     * @return true jika mahasiswa sebelumnya mengantri
+     */
+    public boolean leave(String courseCode, String studentId) {
+        CourseQueue queue = queues.get(courseCode);
+        if (queue == null || queue.members.remove(studentId) == null) {
+            return false;
+        }
+        queue.size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Mengambil mahasiswa terdepan dari antrian
+     *
+     * @param courseCode Kode mata kuliah
+     * @return ID mahasiswa, atau null jika antrian kosong
+     */
+    public String poll(String courseCode) {
+        CourseQueue queue = queues.get(courseCode);
+        if (queue == null) {
+            return null;
+        }
+        Entry entry;
+        while ((entry = queue.entries.pollFirst()) != null) {
+            // Entri yang sudah leave tidak lagi terdaftar sebagai member
+            if (queue.members.remove(entry.studentId(), entry)) {
+                queue.size.decrementAndGet();
+                return entry.studentId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Posisi mahasiswa di antrian (mulai dari 1), atau -1 jika tidak mengantri
+     */
+    public int position(String courseCode, String studentId) {
+        CourseQueue queue = queues.get(courseCode);
+        if (queue == null) {
+            return -1;
+        }
+        Entry target = queue.members.get(studentId);
+        if (target == null) {
+            return -1;
+        }
+        int position = 0;
+        for (Entry entry : queue.entries) {
+            if (queue.members.get(entry.studentId()) == entry) {
+                position++;
+            }
+            if (entry == target) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(String courseCode, String studentId) {
+        CourseQueue queue = queues.get(courseCode);
+        return queue != null && queue.members.containsKey(studentId);
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang sedang mengantri di mata kuliah
+     */
+    public int size(String courseCode) {
+        CourseQueue queue = queues.get(courseCode);
+        return queue == null ? 0 : queue.size.get();
+    }
+
+    public boolean isEmpty(String courseCode) {
+        return size(courseCode) == 0;
+    }
+}
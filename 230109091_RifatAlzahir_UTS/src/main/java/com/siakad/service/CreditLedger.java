@@ -0,0 +1,123 @@
+package com.siakad.service;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Total SKS yang sedang diambil setiap mahasiswa
+ * Setiap mahasiswa memiliki satu akun dengan lock sendiri. Pengecekan batas dan penambahan SKS dilakukan
+ * dalam satu langkah di bawah lock akun, sehingga request paralel dari mahasiswa yang sama (misal beberapa
+ * tab browser) tidak bisa bersama-sama melewati batas
+ *
+ * SKS yang dibebankan dicatat per mata kuliah. Release hanya mengembalikan SKS yang memang pernah
+ * dibebankan untuk mata kuliah tersebut, sebesar nilai saat dibebankan, walaupun SKS mata kuliah
+ * sudah berubah sesudahnya
+ */
+
+public class CreditLedger {
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Membebankan SKS mata kuliah jika total baru tidak melebihi batas
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah yang diambil
+     * @param credits SKS mata kuliah (tidak negatif)
+     * @param maxCredits Batas SKS mahasiswa
+     * @return true jika SKS berhasil dicatat, false jika melebihi batas
+     * @throws IllegalArgumentException jika credits negatif
+     */
+    public boolean tryCharge(String studentId, String courseCode, int credits, int maxCredits) {
+        requireNonNegative(credits);
+        return accountOf(studentId).charge(courseCode, credits, maxCredits);
+    }
+
+    /**
+     * Mengembalikan SKS yang dibebankan untuk mata kuliah tersebut
+     * Jika mata kuliah yang sama dibebankan lebih dari sekali, setiap release mengembalikan satu beban
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah yang di-drop
+     * @return SKS yang dikembalikan, 0 jika tidak ada beban untuk mata kuliah tersebut
+     */
+    public int release(String studentId, String courseCode) {
+        Account account = accounts.get(studentId);
+        return account == null ? 0 : account.refund(courseCode);
+    }
+
+    /**
+     * Mencatat beban SKS tanpa pengecekan batas, untuk membangun ulang ledger dari enrollment
+     * yang sudah ada (misal hasil replay journal)
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @param credits SKS mata kuliah (tidak negatif)
+     * @throws IllegalArgumentException jika credits negatif
+     */
+    public void restoreCharge(String studentId, String courseCode, int credits) {
+        requireNonNegative(credits);
+        accountOf(studentId).charge(courseCode, credits, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Menghapus seluruh beban SKS, dipakai sebelum ledger dibangun ulang dengan restoreCharge
+     */
+    public void clear() {
+        accounts.clear();
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Total SKS yang sedang diambil
+     */
+    public int getCredits(String studentId) {
+        Account account = accounts.get(studentId);
+        return account == null ? 0 : account.total();
+    }
+
+    private Account accountOf(String studentId) {
+        return accounts.computeIfAbsent(studentId, id -> new Account());
+    }
+
+    private static void requireNonNegative(int credits) {
+        if (credits < 0) {
+            throw new IllegalArgumentException("Credits must not be negative");
+        }
+    }
+
+    /**
+     * Beban SKS satu mahasiswa, per mata kuliah disimpan antrian SKS yang dibebankan
+     */
+    private static final class Account {
+        private final Map<String, ArrayDeque<Integer>> charges = new HashMap<>();
+        private int total;
+
+        synchronized boolean charge(String courseCode, int credits, int maxCredits) {
+            if ((long) total + credits > maxCredits) {
+                return false;
+            }
+            charges.computeIfAbsent(courseCode, code -> new ArrayDeque<>(1)).addLast(credits);
+            total += credits;
+            return true;
+        }
+
+        synchronized int refund(String courseCode) {
+            ArrayDeque<Integer> charged = charges.get(courseCode);
+            if (charged == null) {
+                return 0;
+            }
+            int credits = charged.removeFirst();
+            if (charged.isEmpty()) {
+                charges.remove(courseCode);
+            }
+            total -= credits;
+            return credits;
+        }
+
+        synchronized int total() {
+            return total;
+        }
+    }
+}
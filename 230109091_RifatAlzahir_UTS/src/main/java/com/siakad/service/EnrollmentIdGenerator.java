@@ -0,0 +1,129 @@
+package com.siakad.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generator ID enrollment yang unik, terurut waktu, dan lock-free
+ * Format long: 41 bit milidetik sejak EPOCH_MILLIS | 10 bit node ID | 12 bit sequence per milidetik
+ * ID dirender sebagai "ENR-" + 13 karakter Crockford base32 dengan lebar tetap,
+ * sehingga urutan string sama dengan urutan waktu dan bisa dipakai untuk range-scan
+ *
+ * Jika jam mundur atau sequence habis dalam satu milidetik, generator memakai milidetik berikutnya
+ * secara logis, sehingga ID per node selalu naik monoton
+ */
+
+public class EnrollmentIdGenerator {
+    public static final String PREFIX = "ENR-";
+
+    // 2024-01-01T00:00:00Z
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final long MAX_TIMESTAMP = (1L << 41) - 1;
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (milidetik logis << SEQUENCE_BITS) | sequence terakhir
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * @param nodeId ID node (0 - 1023), harus unik per instance service
+     * @throws IllegalArgumentException jika nodeId di luar rentang
+     */
+    public EnrollmentIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    /**
+     * @param nodeId ID node (0 - 1023), harus unik per instance service
+     * @param clock Sumber waktu dalam milidetik epoch
+     * @throws IllegalArgumentException jika nodeId di luar rentang
+     */
+    public EnrollmentIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * @return ID unik berikutnya dalam bentuk long
+     * @throws IllegalStateException jika timestamp melewati batas 41 bit
+     */
+    public long nextId() {
+        while (true) {
+            long previous = state.get();
+            long previousMillis = previous >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+
+            long next;
+            if (now > previousMillis) {
+                next = now << SEQUENCE_BITS;
+            } else if ((previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // Milidetik yang sama atau jam mundur: lanjutkan sequence
+                next = previous + 1;
+            } else {
+                // Sequence habis: pinjam milidetik berikutnya secara logis
+                next = (previousMillis + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(previous, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                if (millis > MAX_TIMESTAMP) {
+                    throw new IllegalStateException("Enrollment ID timestamp overflow");
+                }
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * @return ID unik berikutnya dalam bentuk string, misal "ENR-01HMZ3K4T0A2B"
+     */
+    public String nextEnrollmentId() {
+        return format(nextId());
+    }
+
+    /**
+     * Merender ID long menjadi string dengan lebar tetap yang terurut sama seperti nilai long-nya
+     *
+     * @param id ID dalam bentuk long (tidak negatif)
+     * @return String ID
+     */
+    public static String format(long id) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Mengembalikan waktu pembuatan (milidetik epoch) dari ID long
+     *
+     * @param id ID dalam bentuk long
+     * @return Milidetik epoch
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    /**
+     * ID long terkecil yang mungkin dibuat pada milidetik tertentu, berguna sebagai batas range-scan
+     *
+     * @param epochMillis Milidetik epoch
+     * @return Batas bawah ID
+     */
+    public static long lowerBoundAt(long epochMillis) {
+        return Math.max(0, epochMillis - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS);
+    }
+}
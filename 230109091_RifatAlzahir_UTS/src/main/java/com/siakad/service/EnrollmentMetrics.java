@@ -0,0 +1,161 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.CreditLimitExceededException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.exception.ScheduleConflictException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.metrics.Counter;
+import com.siakad.metrics.LatencyRecorder;
+import com.siakad.metrics.MetricsRegistry;
+import com.siakad.model.RejectionReason;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Recorder dan counter EnrollmentService yang sudah di-resolve dari MetricsRegistry
+ * Counter dihitung untuk setiap operasi, sedangkan latensi hanya diukur pada sampel operasi
+ * (1 dari latencySampleRate) karena System.nanoTime per tahap jauh lebih mahal dari increment counter.
+ * Jika operasi tidak terpilih sebagai sampel, semua tahapnya bernilai NOT_TIMED dan tidak memanggil nanoTime
+ */
+
+final class EnrollmentMetrics {
+    static final EnrollmentMetrics DISABLED = new EnrollmentMetrics(MetricsRegistry.NOOP, 0);
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final String STAGE = "enrollment.stage.";
+    private static final String OUTCOME = "enrollment.outcome.";
+
+    private final boolean enabled;
+    private final int sampleMask;
+
+    final LatencyRecorder studentLookup;
+    final LatencyRecorder courseLookup;
+    final LatencyRecorder prerequisiteCheck;
+    final LatencyRecorder courseUpdate;
+    final LatencyRecorder journalAppend;
+    final LatencyRecorder notification;
+    final LatencyRecorder enrollTotal;
+    final LatencyRecorder dropTotal;
+
+    final Counter enrolled;
+    final Counter waitlisted;
+    final Counter dropped;
+    final Counter studentNotFound;
+    final Counter studentSuspended;
+    final Counter courseNotFound;
+    final Counter courseFull;
+    final Counter prerequisiteNotMet;
+    final Counter scheduleConflict;
+    final Counter creditLimitExceeded;
+    final Counter enrollmentRejected;
+    final Counter failed;
+
+    /**
+     * @param registry Registry tujuan
+     * @param latencySampleRate Latensi diukur pada 1 dari sekian operasi, dibulatkan ke pangkat dua;
+     *                          0 untuk menonaktifkan pengukuran latensi
+     */
+    EnrollmentMetrics(MetricsRegistry registry, int latencySampleRate) {
+        if (latencySampleRate < 0) {
+            throw new IllegalArgumentException("Latency sample rate must not be negative");
+        }
+        this.enabled = latencySampleRate > 0;
+        this.sampleMask = enabled ? Integer.highestOneBit(latencySampleRate) - 1 : 0;
+        studentLookup = registry.latency(STAGE + "student_lookup");
+        courseLookup = registry.latency(STAGE + "course_lookup");
+        prerequisiteCheck = registry.latency(STAGE + "prerequisite_check");
+        courseUpdate = registry.latency(STAGE + "course_update");
+        journalAppend = registry.latency(STAGE + "journal_append");
+        notification = registry.latency(STAGE + "notification");
+        enrollTotal = registry.latency("enrollment.enroll");
+        dropTotal = registry.latency("enrollment.drop");
+
+        enrolled = registry.counter(OUTCOME + "enrolled");
+        waitlisted = registry.counter(OUTCOME + "waitlisted");
+        dropped = registry.counter(OUTCOME + "dropped");
+        studentNotFound = registry.counter(OUTCOME + "student_not_found");
+        studentSuspended = registry.counter(OUTCOME + "student_suspended");
+        courseNotFound = registry.counter(OUTCOME + "course_not_found");
+        courseFull = registry.counter(OUTCOME + "course_full");
+        prerequisiteNotMet = registry.counter(OUTCOME + "prerequisite_not_met");
+        scheduleConflict = registry.counter(OUTCOME + "schedule_conflict");
+        creditLimitExceeded = registry.counter(OUTCOME + "credit_limit_exceeded");
+        enrollmentRejected = registry.counter(OUTCOME + "enrollment_rejected");
+        failed = registry.counter(OUTCOME + "failed");
+    }
+
+    /**
+     * Menentukan apakah operasi ini diukur latensinya
+     *
+     * @return Waktu mulai operasi, atau NOT_TIMED jika operasi tidak menjadi sampel
+     */
+    long begin() {
+        if (!enabled || (sampleMask != 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) != 0)) {
+            return NOT_TIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Memulai ulang pengukuran tahap dalam operasi yang sama
+     *
+     * @param previous Nilai begin, restart, atau lap sebelumnya dari operasi ini
+     */
+    long restart(long previous) {
+        return previous == NOT_TIMED ? NOT_TIMED : System.nanoTime();
+    }
+
+    /**
+     * Mencatat durasi sejak start ke stage lalu mengembalikan waktu sekarang sebagai awal stage berikutnya
+     */
+    long lap(LatencyRecorder stage, long start) {
+        if (start == NOT_TIMED) {
+            return NOT_TIMED;
+        }
+        long now = System.nanoTime();
+        stage.record(now - start);
+        return now;
+    }
+
+    /**
+     * Menghitung penolakan berdasarkan alasannya
+     */
+    void countRejection(RejectionReason reason) {
+        switch (reason) {
+            case STUDENT_NOT_FOUND -> studentNotFound.increment();
+            case STUDENT_SUSPENDED -> studentSuspended.increment();
+            case COURSE_NOT_FOUND -> courseNotFound.increment();
+            case COURSE_FULL -> courseFull.increment();
+            case PREREQUISITE_NOT_MET -> prerequisiteNotMet.increment();
+            case SCHEDULE_CONFLICT -> scheduleConflict.increment();
+            case CREDIT_LIMIT_EXCEEDED -> creditLimitExceeded.increment();
+            case ALREADY_ENROLLED, DUPLICATE_REQUEST -> enrollmentRejected.increment();
+        }
+    }
+
+    /**
+     * Menghitung kegagalan berdasarkan jenis exception
+     */
+    void countFailure(RuntimeException e) {
+        if (e instanceof StudentNotFoundException) {
+            studentNotFound.increment();
+        } else if (e instanceof CourseNotFoundException) {
+            courseNotFound.increment();
+        } else if (e instanceof CourseFullException) {
+            courseFull.increment();
+        } else if (e instanceof PrerequisiteNotMetException) {
+            prerequisiteNotMet.increment();
+        } else if (e instanceof ScheduleConflictException) {
+            scheduleConflict.increment();
+        } else if (e instanceof CreditLimitExceededException) {
+            creditLimitExceeded.increment();
+        } else if (e instanceof EnrollmentException) {
+            enrollmentRejected.increment();
+        } else {
+            failed.increment();
+        }
+    }
+}
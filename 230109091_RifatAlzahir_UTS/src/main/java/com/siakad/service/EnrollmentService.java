@@ -1,24 +1,58 @@
 package com.siakad.service;
 
 import com.siakad.exception.*;
+import com.siakad.metrics.MetricsRegistry;
 import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentResult;
+import com.siakad.model.RejectionReason;
 import com.siakad.model.Student;
 import com.siakad.repository.CourseRepository;
+import com.siakad.repository.EnrollmentIndex;
+import com.siakad.repository.EnrollmentJournal;
+import com.siakad.repository.EnrollmentJournal.JournalRecord;
 import com.siakad.repository.StudentRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 
 /**
  * Service untuk mengelola enrollment (pendaftaran mata kuliah)
  * Class ini akan diuji dengan STUB dan MOCK
+ *
+ * Kursi dipesan dengan CAS pada objek Course (tryReserveSeat/releaseSeat), sehingga anti-oversell hanya
+ * berlaku jika semua pemanggil untuk satu kode mata kuliah memegang instance yang sama, seperti pada
+ * InMemoryCourseRepository. Repository yang mengembalikan salinan, atau CachingCourseRepository yang memuat
+ * ulang entry setelah TTL habis atau di-evict, bisa memiliki dua instance hidup yang masing-masing menerima
+ * sampai kapasitas. Untuk repository seperti itu, pesanan kursi harus dilakukan di penyimpanannya,
+ * seperti OffHeapCourseRepository yang view-nya melakukan CAS langsung pada slot off-heap
  */
 
 public class EnrollmentService {
+    private static final int DEFAULT_LATENCY_SAMPLE_RATE = 16;
+
     private StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private com.siakad.service.NotificationService notificationService;
     private com.siakad.service.GradeCalculator gradeCalculator;
+    private EnrollmentIdGenerator enrollmentIdGenerator = new EnrollmentIdGenerator(0);
+    private EnrollmentJournal enrollmentJournal;
+    private CourseWaitlist courseWaitlist;
+    private StudentTimetable studentTimetable;
+    private CreditLedger creditLedger;
+    private EnrollmentIndex enrollmentIndex;
+    private IdempotencyCache idempotencyCache;
+    private EnrollmentMetrics metrics = EnrollmentMetrics.DISABLED;
+    // Perubahan kursi memegang read lock, runQuiesced memegang write lock
+    private final ReentrantReadWriteLock mutationBarrier = new ReentrantReadWriteLock();
 
 
     public EnrollmentService(StudentRepository studentRepository,
@@ -31,6 +65,180 @@ public class EnrollmentService {
         this.gradeCalculator = gradeCalculator;
     }
 
+    /**
+     * Mengganti generator ID enrollment, misal untuk memberi node ID unik per instance service
+     *
+     * @param enrollmentIdGenerator Generator ID enrollment
+     */
+    public void setEnrollmentIdGenerator(EnrollmentIdGenerator enrollmentIdGenerator) {
+        this.enrollmentIdGenerator = enrollmentIdGenerator;
+    }
+
+    /**
+     * Mengaktifkan write-ahead log enrollment
+     * Setiap enroll dan drop yang berhasil dicatat secara durable (group commit) sebelum method selesai
+     *
+     * @param enrollmentJournal Journal enrollment, null untuk menonaktifkan
+     */
+    public void setEnrollmentJournal(EnrollmentJournal enrollmentJournal) {
+        this.enrollmentJournal = enrollmentJournal;
+    }
+
+    /**
+     * Mengaktifkan waitlist untuk mata kuliah yang penuh
+     * Kursi yang dilepas dropCourse langsung dipindahkan ke mahasiswa terdepan yang masih memenuhi syarat
+     *
+     * @param courseWaitlist Waitlist mata kuliah, null untuk menonaktifkan
+     */
+    public void setCourseWaitlist(CourseWaitlist courseWaitlist) {
+        this.courseWaitlist = courseWaitlist;
+    }
+
+    /**
+     * Mengaktifkan pengecekan bentrok jadwal
+     * Jadwal mata kuliah dipesan di timetable mahasiswa setiap enroll dan dilepas saat drop
+     *
+     * Timetable yang diaktifkan pada sistem yang sudah memiliki enrollment diisi lewat rebuildEnrollmentState
+     *
+     * @param studentTimetable Jadwal mingguan mahasiswa, null untuk menonaktifkan
+     */
+    public void setStudentTimetable(StudentTimetable studentTimetable) {
+        this.studentTimetable = studentTimetable;
+    }
+
+    /**
+     * Mengaktifkan batas SKS pada jalur enrollment
+     * SKS mata kuliah dicatat di ledger setiap enroll dan dikembalikan saat drop sebesar SKS yang dibebankan,
+     * drop mata kuliah yang tidak pernah dibebankan tidak mengembalikan apa pun. Enroll yang membuat
+     * total melebihi GradeCalculator#calculateMaxCredits ditolak secara atomik. Ledger yang diaktifkan
+     * pada sistem yang sudah memiliki enrollment diisi lewat rebuildEnrollmentState
+     *
+     * @param creditLedger Ledger SKS mahasiswa, null untuk menonaktifkan
+     */
+    public void setCreditLedger(CreditLedger creditLedger) {
+        this.creditLedger = creditLedger;
+    }
+
+    /**
+     * Mengaktifkan index enrollment aktif
+     * Enroll ke mata kuliah yang sudah diambil ditolak dengan ALREADY_ENROLLED, dan drop hanya melepas
+     * kursi jika mahasiswa memang terdaftar di mata kuliah tersebut. Setelah restart index dipulihkan
+     * dengan RepositorySnapshot#restoreInto, index kosong pada sistem yang sudah berjalan diisi lewat
+     * rebuildEnrollmentState
+     *
+     * @param enrollmentIndex Index pasangan (mahasiswa, mata kuliah), null untuk menonaktifkan
+     */
+    public void setEnrollmentIndex(EnrollmentIndex enrollmentIndex) {
+        this.enrollmentIndex = enrollmentIndex;
+    }
+
+    /**
+     * Mengaktifkan enrollment idempoten untuk enrollCourse dengan request key
+     *
+     * @param idempotencyCache Cache request key, null untuk menonaktifkan
+     */
+    public void setIdempotencyCache(IdempotencyCache idempotencyCache) {
+        this.idempotencyCache = idempotencyCache;
+    }
+
+    /**
+     * Mengaktifkan metrics latensi per tahap (lookup, prasyarat, update, journal, notifikasi)
+     * dan counter per hasil enrollment, latensi diukur pada 1 dari 16 operasi
+     *
+     * @param metricsRegistry Registry tujuan, null untuk menonaktifkan
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        setMetricsRegistry(metricsRegistry, DEFAULT_LATENCY_SAMPLE_RATE);
+    }
+
+    /**
+     * Mengaktifkan metrics dengan laju sampling latensi tertentu
+     * Counter hasil selalu dihitung untuk setiap operasi
+     *
+     * @param metricsRegistry Registry tujuan, null untuk menonaktifkan
+     * @param latencySampleRate Latensi diukur pada 1 dari sekian operasi (1 = semua, 0 = tidak pernah)
+     * @throws IllegalArgumentException jika latencySampleRate negatif
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry, int latencySampleRate) {
+        this.metrics = metricsRegistry == null
+                ? EnrollmentMetrics.DISABLED
+                : new EnrollmentMetrics(metricsRegistry, latencySampleRate);
+    }
+
+    /**
+     * Menjalankan action ketika tidak ada enroll atau drop yang sedang mengubah kursi
+     * Enroll dan drop baru menunggu sampai action selesai, sehingga jumlah kursi dan posisi journal
+     * yang dibaca di dalam action konsisten satu sama lain (misal untuk RepositorySnapshot)
+     *
+     * @param action Action yang dijalankan, sebaiknya singkat
+     * @return Hasil action
+     */
+    public <T> T runQuiesced(Supplier<T> action) {
+        mutationBarrier.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            mutationBarrier.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Membangun ulang state enrollment setelah recovery atau ketika fitur diaktifkan pada sistem
+     * yang sudah memiliki enrollment. Dijalankan di bawah runQuiesced
+     * Index yang masih kosong dan belum dipulihkan dari snapshot diisi dari replay journal. Pasangan
+     * enrollment dari index (atau dari replay journal jika index tidak aktif) lalu dipakai untuk mengisi
+     * ulang CreditLedger dan StudentTimetable dari awal
+     *
+     * Replay hanya lengkap jika journal belum pernah dipotong. Setelah EnrollmentJournal#truncateBefore,
+     * index harus dipulihkan dulu dengan RepositorySnapshot#restoreInto
+     *
+     * SKS dibebankan sebesar SKS mata kuliah saat ini karena SKS saat enroll tidak dicatat di journal.
+     * Mata kuliah yang sudah tidak ada di katalog dilewati, begitu juga jadwal yang kini bentrok
+     *
+     * @throws IllegalStateException jika index tidak aktif dan journal juga tidak aktif, atau index perlu
+     *         diisi dari journal yang awalnya sudah dipotong
+     */
+    public void rebuildEnrollmentState() {
+        runQuiesced(() -> {
+            EnrollmentJournal journal = enrollmentJournal;
+            EnrollmentIndex index = enrollmentIndex;
+            if (index == null) {
+                if (journal == null) {
+                    throw new IllegalStateException("Enrollment index or journal is required to rebuild state");
+                }
+                index = new EnrollmentIndex();
+            }
+            if (!index.isRestored() && index.size() == 0 && journal != null) {
+                if (journal.getStartPosition() > 0) {
+                    throw new IllegalStateException("Journal was truncated at " + journal.getStartPosition()
+                            + ", restore the enrollment index from a RepositorySnapshot first");
+                }
+                index.replay(journal, journal.getStartPosition());
+            }
+            CreditLedger ledger = creditLedger;
+            StudentTimetable timetable = studentTimetable;
+            if (ledger != null) {
+                ledger.clear();
+            }
+            if (timetable != null) {
+                timetable.clear();
+            }
+            index.forEach((studentId, courseCode) -> {
+                Course course = courseRepository.findByCourseCode(courseCode);
+                if (course == null) {
+                    return;
+                }
+                if (ledger != null) {
+                    ledger.restoreCharge(studentId, courseCode, course.getCredits());
+                }
+                if (timetable != null) {
+                    timetable.reserve(studentId, course);
+                }
+            });
+            return null;
+        });
+    }
+
     /**
      * Mendaftarkan mahasiswa ke mata kuliah
      * Method ini akan diuji dengan MOCK
@@ -43,61 +251,448 @@ public class EnrollmentService {
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
      * @throws CourseFullException jika mata kuliah sudah penuh
      * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
+     * @throws ScheduleConflictException jika jadwal bentrok (hanya jika timetable diaktifkan)
+     * @throws CreditLimitExceededException jika batas SKS terlampaui (hanya jika ledger diaktifkan)
+     * @throws EnrollmentException jika mahasiswa sudah terdaftar (hanya jika index diaktifkan)
      */
     public Enrollment enrollCourse(String studentId, String courseCode) {
+        return switch (tryEnrollCourse(studentId, courseCode)) {
+            case EnrollmentResult.Success success -> success.enrollment();
+            case EnrollmentResult.Rejected rejected -> throw rejected.toException(true);
+            case EnrollmentResult.Waitlisted waitlisted ->
+                    throw new IllegalStateException("Unexpected waitlist result for: " + courseCode);
+        };
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke mata kuliah secara idempoten, untuk request yang bisa di-retry
+     * Retry dengan requestKey yang sama mengembalikan Enrollment pertama tanpa mengakses repository
+     * atau mengirim notifikasi lagi. Request yang gagal tidak disimpan, sehingga retry-nya dijalankan ulang
+     * dan melempar exception yang sama seperti enrollCourse(studentId, courseCode)
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @param requestKey Key unik per request dari pemanggil, null berarti tanpa idempotensi
+     * @return Enrollment object jika berhasil
+     * @throws IllegalArgumentException jika requestKey sudah dipakai untuk mahasiswa atau mata kuliah lain
+     */
+    public Enrollment enrollCourse(String studentId, String courseCode, String requestKey) {
+        IdempotencyCache cache = idempotencyCache;
+        if (cache == null || requestKey == null) {
+            return enrollCourse(studentId, courseCode);
+        }
+        Enrollment enrollment = cache.getOrCompute(requestKey, () -> enrollCourse(studentId, courseCode));
+        if (!enrollment.getStudentId().equals(studentId) || !enrollment.getCourseCode().equals(courseCode)) {
+            throw new IllegalArgumentException("Request key already used for another enrollment: " + requestKey);
+        }
+        return enrollment;
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke mata kuliah tanpa exception untuk penolakan
+     * Urutan pengecekan sama dengan enrollCourse, namun setiap penolakan dikembalikan sebagai
+     * EnrollmentResult.Rejected sehingga tidak ada exception (dan stack trace) yang dibuat
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Success berisi Enrollment, atau Rejected dengan alasan STUDENT_NOT_FOUND, STUDENT_SUSPENDED,
+     *         COURSE_NOT_FOUND, COURSE_FULL, PREREQUISITE_NOT_MET, ALREADY_ENROLLED,
+     *         CREDIT_LIMIT_EXCEEDED, atau SCHEDULE_CONFLICT
+     * @throws EnrollmentException jika enrollment gagal dicatat ke journal
+     */
+    public EnrollmentResult tryEnrollCourse(String studentId, String courseCode) {
+        EnrollmentMetrics metrics = this.metrics;
+        long start = metrics.begin();
+        try {
+            EnrollmentResult result = enroll(studentId, courseCode, metrics, start);
+            if (result instanceof EnrollmentResult.Rejected rejected) {
+                metrics.countRejection(rejected.reason());
+            } else {
+                metrics.enrolled.increment();
+                metrics.lap(metrics.enrollTotal, start);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            metrics.countFailure(e);
+            throw e;
+        }
+    }
+
+    private EnrollmentResult enroll(String studentId, String courseCode, EnrollmentMetrics metrics, long start) {
         // Validate student
         Student student = studentRepository.findById(studentId);
+        long stage = metrics.lap(metrics.studentLookup, start);
         if (student == null) {
-            throw new StudentNotFoundException("Student not found: " + studentId);
+            return new EnrollmentResult.Rejected(courseCode, RejectionReason.STUDENT_NOT_FOUND,
+                    "Student not found: " + studentId);
         }
 
         // Check academic status
         if ("SUSPENDED".equals(student.getAcademicStatus())) {
-            throw new EnrollmentException("Student is suspended");
+            return new EnrollmentResult.Rejected(courseCode, RejectionReason.STUDENT_SUSPENDED,
+                    "Student is suspended");
         }
 
         // Validate course
         Course course = courseRepository.findByCourseCode(courseCode);
+        stage = metrics.lap(metrics.courseLookup, stage);
         if (course == null) {
-            throw new CourseNotFoundException("Course not found: " + courseCode);
+            return new EnrollmentResult.Rejected(courseCode, RejectionReason.COURSE_NOT_FOUND,
+                    "Course not found: " + courseCode);
         }
 
-        // Check capacity
+        // Check capacity (fast-fail sebelum cek prasyarat)
         if (course.getEnrolledCount() >= course.getCapacity()) {
-            throw new CourseFullException("Course is full");
+            return new EnrollmentResult.Rejected(courseCode, RejectionReason.COURSE_FULL, "Course is full");
         }
 
         // Check prerequisites
-        if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
-            throw new PrerequisiteNotMetException("Prerequisites not met");
+        boolean prerequisiteMet = courseRepository.isPrerequisiteMet(studentId, courseCode);
+        metrics.lap(metrics.prerequisiteCheck, stage);
+        if (!prerequisiteMet) {
+            return new EnrollmentResult.Rejected(courseCode, RejectionReason.PREREQUISITE_NOT_MET,
+                    "Prerequisites not met");
         }
 
-        // Create enrollment
-        Enrollment enrollment = new Enrollment();
-        enrollment.setEnrollmentId(generateEnrollmentId());
-        enrollment.setStudentId(studentId);
-        enrollment.setCourseCode(courseCode);
-        enrollment.setEnrollmentDate(LocalDateTime.now());
-        enrollment.setStatus("APPROVED");
+        Enrollment enrollment;
+        mutationBarrier.readLock().lock();
+        try {
+            // Pasangan enrollment, SKS, dan jadwal dipesan sebelum kursi, sehingga request paralel mahasiswa yang sama
+            // tidak bisa sama-sama lolos
+            EnrollmentResult.Rejected studentRejection = reserveForStudent(studentId, student, course);
+            if (studentRejection != null) {
+                return studentRejection;
+            }
+
+            // Reserve seat atomically (capacity check + increment dalam satu CAS)
+            if (!course.tryReserveSeat()) {
+                releaseForStudent(studentId, course);
+                return new EnrollmentResult.Rejected(courseCode, RejectionReason.COURSE_FULL, "Course is full");
+            }
+            stage = metrics.restart(stage);
+            try {
+                courseRepository.update(course);
+            } catch (RuntimeException e) {
+                course.releaseSeat();
+                releaseForStudent(studentId, course);
+                throw e;
+            }
+            metrics.lap(metrics.courseUpdate, stage);
 
-        // Update course enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() + 1);
-        courseRepository.update(course);
+            // Create enrollment
+            enrollment = createEnrollment(studentId, courseCode);
+
+            // Record enrollment in journal
+            if (enrollmentJournal != null) {
+                try {
+                    stage = metrics.restart(stage);
+                    recordDurably(enrollmentJournal, List.of(new JournalRecord(enrollment.getEnrollmentId(),
+                            studentId, courseCode, System.currentTimeMillis(), EnrollmentJournal.Status.ENROLLED)));
+                    metrics.lap(metrics.journalAppend, stage);
+                } catch (RuntimeException e) {
+                    course.releaseSeat();
+                    courseRepository.update(course);
+                    releaseForStudent(studentId, course);
+                    throw new EnrollmentException("Failed to record enrollment", e);
+                }
+            }
+        } finally {
+            mutationBarrier.readLock().unlock();
+        }
 
         // Send notification
+        stage = metrics.restart(stage);
         notificationService.sendEmail(student.getEmail(),
                 "Enrollment Confirmation",
                 "You have been enrolled in: " + course.getCourseName());
+        metrics.lap(metrics.notification, stage);
 
-        return enrollment;
+        return new EnrollmentResult.Success(enrollment);
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke mata kuliah, atau memasukkannya ke waitlist jika mata kuliah penuh
+     * Jika waitlist mata kuliah tidak kosong, mahasiswa baru langsung mengantri di belakang
+     * agar urutan FIFO terjaga
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Success jika langsung terdaftar, Waitlisted jika masuk antrian,
+     *         atau Rejected (COURSE_FULL) jika waitlist juga penuh
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend
+     * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws CourseFullException jika mata kuliah penuh dan waitlist tidak diaktifkan
+     * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
+     * @throws ScheduleConflictException jika jadwal bentrok (hanya jika timetable diaktifkan)
+     * @throws CreditLimitExceededException jika batas SKS terlampaui (hanya jika ledger diaktifkan)
+     * @throws EnrollmentException jika mahasiswa sudah terdaftar (hanya jika index diaktifkan)
+     */
+    public EnrollmentResult enrollOrWaitlist(String studentId, String courseCode) {
+        CourseWaitlist waitlist = courseWaitlist;
+        if (waitlist == null || waitlist.isEmpty(courseCode)) {
+            EnrollmentResult result = tryEnrollCourse(studentId, courseCode);
+            if (result instanceof EnrollmentResult.Rejected rejected
+                    && (waitlist == null || rejected.reason() != RejectionReason.COURSE_FULL)) {
+                throw rejected.toException(true);
+            }
+            if (result.isSuccess()) {
+                return result;
+            }
+        }
+
+        // Syarat yang sama dengan enrollCourse, dicek sebelum mengantri
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+            throw new EnrollmentException("Student is suspended");
+        }
+        Course course = courseRepository.findByCourseCode(courseCode);
+        if (course == null) {
+            throw new CourseNotFoundException("Course not found: " + courseCode);
+        }
+        if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
+            throw new PrerequisiteNotMetException("Prerequisites not met");
+        }
+        EnrollmentIndex index = enrollmentIndex;
+        if (index != null && index.contains(studentId, courseCode)) {
+            throw new EnrollmentException("Student is already enrolled in course: " + courseCode);
+        }
+        CreditLedger ledger = creditLedger;
+        if (ledger != null && ledger.getCredits(studentId) + course.getCredits()
+                > gradeCalculator.calculateMaxCredits(student.getGpa())) {
+            throw new CreditLimitExceededException("Credit limit exceeded");
+        }
+        StudentTimetable timetable = studentTimetable;
+        String conflict = timetable == null ? null : timetable.findConflict(studentId, course);
+        if (conflict != null) {
+            throw new ScheduleConflictException("Schedule conflicts with: " + conflict);
+        }
+
+        int position = waitlist.join(courseCode, studentId);
+        if (position < 0) {
+            return new EnrollmentResult.Rejected(courseCode, RejectionReason.COURSE_FULL,
+                    "Course and waitlist are full");
+        }
+        // Kursi bisa saja dilepas tepat sebelum join, isi kembali dari antrian
+        List<Enrollment> promoted = promoteWaitlisted(courseCode);
+        for (Enrollment enrollment : promoted) {
+            if (enrollment.getStudentId().equals(studentId)) {
+                return new EnrollmentResult.Success(enrollment);
+            }
+        }
+        metrics.waitlisted.increment();
+        // Posisi hanya dihitung ulang jika ada mahasiswa di depan yang baru dipromosikan
+        int current = promoted.isEmpty() ? position : waitlist.position(courseCode, studentId);
+        return new EnrollmentResult.Waitlisted(courseCode, studentId, current > 0 ? current : position);
+    }
+
+    /**
+     * Mengisi kursi kosong mata kuliah dari waitlist, misal setelah kapasitas dinaikkan
+     *
+     * @param courseCode Kode mata kuliah
+     * @return Enrollment untuk setiap mahasiswa yang dipromosikan
+     */
+    public List<Enrollment> promoteWaitlisted(String courseCode) {
+        CourseWaitlist waitlist = courseWaitlist;
+        Course course = courseRepository.findByCourseCode(courseCode);
+        if (waitlist == null || course == null) {
+            return List.of();
+        }
+
+        List<Enrollment> promoted = new ArrayList<>();
+        List<Student> students = new ArrayList<>();
+        mutationBarrier.readLock().lock();
+        try {
+            // Kursi dipesan dulu sebelum mengambil antrian, sehingga tidak bisa diambil pendaftar baru
+            while (!waitlist.isEmpty(courseCode) && course.tryReserveSeat()) {
+                Student student = pollEligible(waitlist, course);
+                if (student == null) {
+                    course.releaseSeat();
+                    break;
+                }
+                courseRepository.update(course);
+                Enrollment enrollment = createEnrollment(student.getStudentId(), courseCode);
+                if (enrollmentJournal != null) {
+                    try {
+                        recordDurably(enrollmentJournal, List.of(new JournalRecord(enrollment.getEnrollmentId(),
+                                student.getStudentId(), courseCode, System.currentTimeMillis(),
+                                EnrollmentJournal.Status.ENROLLED)));
+                    } catch (RuntimeException e) {
+                        course.releaseSeat();
+                        courseRepository.update(course);
+                        releaseForStudent(student.getStudentId(), course);
+                        waitlist.requeueFirst(courseCode, student.getStudentId());
+                        throw new EnrollmentException("Failed to record enrollment", e);
+                    }
+                }
+                promoted.add(enrollment);
+                students.add(student);
+            }
+        } finally {
+            mutationBarrier.readLock().unlock();
+        }
+
+        for (Student student : students) {
+            notifyPromotion(student, course);
+        }
+        return promoted;
+    }
+
+    /**
+     * Mendaftarkan mahasiswa ke banyak mata kuliah sekaligus (KRS)
+     * Mahasiswa dimuat sekali, semua mata kuliah diambil dalam satu panggilan,
+     * prasyarat dicek secara bulk, dan semua perubahan kursi ditulis dalam satu batch update
+     * Jika ledger atau timetable aktif, mata kuliah yang melampaui batas SKS atau bentrok dengan jadwal
+     * mahasiswa (termasuk mata kuliah sebelumnya dalam request yang sama) ditolak dengan
+     * CREDIT_LIMIT_EXCEEDED atau SCHEDULE_CONFLICT. Jika index aktif, mata kuliah yang sudah diambil
+     * ditolak dengan ALREADY_ENROLLED
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCodes Daftar kode mata kuliah yang diminta
+     * @return Hasil per mata kuliah, dengan urutan yang sama seperti courseCodes
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend
+     */
+    public List<EnrollmentResult> enrollCourses(String studentId, List<String> courseCodes) {
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+
+        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+            throw new EnrollmentException("Student is suspended");
+        }
+
+        Set<String> uniqueCodes = new LinkedHashSet<>(courseCodes);
+        Map<String, Course> courses = courseRepository.findByCourseCodes(uniqueCodes);
+
+        // Hanya mata kuliah yang ada dan belum penuh yang perlu dicek prasyaratnya
+        List<String> candidates = new ArrayList<>();
+        for (Course course : courses.values()) {
+            if (course.getEnrolledCount() < course.getCapacity()) {
+                candidates.add(course.getCourseCode());
+            }
+        }
+        Set<String> prerequisitesMet = candidates.isEmpty()
+                ? Set.of()
+                : courseRepository.findCoursesWithPrerequisitesMet(studentId, candidates);
+
+        List<EnrollmentResult> results = new ArrayList<>(courseCodes.size());
+        List<Course> reserved = new ArrayList<>();
+        mutationBarrier.readLock().lock();
+        try {
+            List<Enrollment> enrollments = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (String courseCode : courseCodes) {
+                if (!seen.add(courseCode)) {
+                    results.add(new EnrollmentResult.Rejected(courseCode,
+                            RejectionReason.DUPLICATE_REQUEST, "Duplicate course in request"));
+                    continue;
+                }
+                Course course = courses.get(courseCode);
+                if (course == null) {
+                    results.add(new EnrollmentResult.Rejected(courseCode,
+                            RejectionReason.COURSE_NOT_FOUND, "Course not found: " + courseCode));
+                } else if (course.getEnrolledCount() >= course.getCapacity()) {
+                    results.add(new EnrollmentResult.Rejected(courseCode,
+                            RejectionReason.COURSE_FULL, "Course is full"));
+                } else if (!prerequisitesMet.contains(courseCode)) {
+                    results.add(new EnrollmentResult.Rejected(courseCode,
+                            RejectionReason.PREREQUISITE_NOT_MET, "Prerequisites not met"));
+                } else {
+                    EnrollmentResult.Rejected studentRejection = reserveForStudent(studentId, student, course);
+                    if (studentRejection != null) {
+                        results.add(studentRejection);
+                    } else if (!course.tryReserveSeat()) {
+                        releaseForStudent(studentId, course);
+                        results.add(new EnrollmentResult.Rejected(courseCode,
+                                RejectionReason.COURSE_FULL, "Course is full"));
+                    } else {
+                        Enrollment enrollment = createEnrollment(studentId, courseCode);
+                        reserved.add(course);
+                        enrollments.add(enrollment);
+                        results.add(new EnrollmentResult.Success(enrollment));
+                    }
+                }
+            }
+
+            if (reserved.isEmpty()) {
+                return results;
+            }
+
+            try {
+                courseRepository.updateAll(reserved);
+            } catch (RuntimeException e) {
+                for (Course course : reserved) {
+                    course.releaseSeat();
+                    releaseForStudent(studentId, course);
+                }
+                throw e;
+            }
+
+            // Satu group commit untuk semua enrollment dalam batch
+            if (enrollmentJournal != null) {
+                try {
+                    long timestamp = System.currentTimeMillis();
+                    List<JournalRecord> records = new ArrayList<>(enrollments.size());
+                    for (Enrollment enrollment : enrollments) {
+                        records.add(new JournalRecord(enrollment.getEnrollmentId(), studentId,
+                                enrollment.getCourseCode(), timestamp, EnrollmentJournal.Status.ENROLLED));
+                    }
+                    recordDurably(enrollmentJournal, records);
+                } catch (RuntimeException e) {
+                    for (Course course : reserved) {
+                        course.releaseSeat();
+                        releaseForStudent(studentId, course);
+                    }
+                    courseRepository.updateAll(reserved);
+                    throw new EnrollmentException("Failed to record enrollment", e);
+                }
+            }
+        } finally {
+            mutationBarrier.readLock().unlock();
+        }
+
+        StringBuilder message = new StringBuilder("You have been enrolled in:");
+        for (Course course : reserved) {
+            message.append("\n- ").append(course.getCourseName());
+        }
+        notificationService.sendEmail(student.getEmail(), "Enrollment Confirmation", message.toString());
+
+        return results;
+    }
+
+    /**
+     * Mencari mata kuliah yang jadwalnya tidak bentrok dengan jadwal mahasiswa
+     * Bisa dipakai untuk seluruh katalog, setiap mata kuliah dicek dengan beberapa operasi AND
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCodes Kumpulan kode mata kuliah
+     * @return Kode mata kuliah yang ada dan jadwalnya cocok, semua yang ada jika timetable tidak diaktifkan
+     */
+    public Set<String> findCoursesFittingSchedule(String studentId, Collection<String> courseCodes) {
+        Map<String, Course> courses = courseRepository.findByCourseCodes(courseCodes);
+        StudentTimetable timetable = studentTimetable;
+        if (timetable == null) {
+            return new LinkedHashSet<>(courses.keySet());
+        }
+        Set<String> fitting = new LinkedHashSet<>();
+        for (Course course : timetable.findFitting(studentId, courses.values())) {
+            fitting.add(course.getCourseCode());
+        }
+        return fitting;
     }
 
     /**
      * Validasi batas SKS yang boleh diambil mahasiswa
      * Method ini akan diuji dengan STUB
+     * Jika ledger aktif, SKS yang sedang diambil mahasiswa ikut dihitung
      *
      * @param studentId ID mahasiswa
-     * @param requestedCredits Jumlah SKS yang diminta
+     * @param requestedCredits Jumlah SKS yang diminta (tambahan terhadap SKS yang sudah diambil)
      * @return true jika SKS masih dalam batas, false jika melebihi
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
      */
@@ -108,37 +703,251 @@ public class EnrollmentService {
         }
 
         int maxCredits = gradeCalculator.calculateMaxCredits(student.getGpa());
-        return requestedCredits <= maxCredits;
+        CreditLedger ledger = creditLedger;
+        int enrolledCredits = ledger == null ? 0 : ledger.getCredits(studentId);
+        return enrolledCredits + requestedCredits <= maxCredits;
     }
 
     /**
      * Drop (membatalkan) mata kuliah yang sudah didaftarkan
      * Method ini akan diuji dengan STUB
+     * Jika waitlist aktif, kursi yang dilepas langsung diberikan ke mahasiswa terdepan yang memenuhi syarat
      *
      * @param studentId ID mahasiswa
      * @param courseCode Kode mata kuliah
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws EnrollmentException jika mata kuliah tidak memiliki peserta, atau mahasiswa tidak terdaftar
+     *         di mata kuliah tersebut (hanya jika index diaktifkan)
      */
     public void dropCourse(String studentId, String courseCode) {
+        EnrollmentMetrics metrics = this.metrics;
+        long start = metrics.begin();
+        try {
+            drop(studentId, courseCode, metrics, start);
+            metrics.dropped.increment();
+            metrics.lap(metrics.dropTotal, start);
+        } catch (RuntimeException e) {
+            metrics.countFailure(e);
+            throw e;
+        }
+    }
+
+    private void drop(String studentId, String courseCode, EnrollmentMetrics metrics, long start) {
         Student student = studentRepository.findById(studentId);
+        long stage = metrics.lap(metrics.studentLookup, start);
         if (student == null) {
             throw new StudentNotFoundException("Student not found");
         }
 
         Course course = courseRepository.findByCourseCode(courseCode);
+        metrics.lap(metrics.courseLookup, stage);
         if (course == null) {
             throw new CourseNotFoundException("Course not found");
         }
 
-        // Update enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() - 1);
-        courseRepository.update(course);
+        CourseWaitlist waitlist = courseWaitlist;
+        EnrollmentIndex index = enrollmentIndex;
+        boolean unindexed = false;
+        Student promoted = null;
+        Enrollment promotion = null;
+        mutationBarrier.readLock().lock();
+        try {
+            // Validasi dan penghapusan pasangan dalam satu langkah, sehingga drop ganda yang paralel
+            // hanya melepas satu kursi
+            if (index != null) {
+                if (!index.remove(studentId, courseCode)) {
+                    throw new EnrollmentException("Student is not enrolled in course: " + courseCode);
+                }
+                unindexed = true;
+            }
+
+            if (waitlist != null && !waitlist.isEmpty(courseCode)) {
+                if (course.getEnrolledCount() <= 0) {
+                    throw new EnrollmentException("No enrolled seat to release in course: " + courseCode);
+                }
+                promoted = pollEligible(waitlist, course);
+            }
+
+            if (promoted != null) {
+                // Kursi dipindahkan langsung ke mahasiswa waitlist, enrolledCount tidak berubah
+                promotion = createEnrollment(promoted.getStudentId(), courseCode);
+            } else if (!course.releaseSeat()) {
+                // Release seat atomically, enrolledCount tidak pernah negatif
+                throw new EnrollmentException("No enrolled seat to release in course: " + courseCode);
+            }
+            stage = metrics.restart(stage);
+            courseRepository.update(course);
+            metrics.lap(metrics.courseUpdate, stage);
+
+            // Record drop (dan promosi) in journal
+            if (enrollmentJournal != null) {
+                try {
+                    stage = metrics.restart(stage);
+                    long timestamp = System.currentTimeMillis();
+                    List<JournalRecord> records = new ArrayList<>(2);
+                    records.add(new JournalRecord(null, studentId, courseCode,
+                            timestamp, EnrollmentJournal.Status.DROPPED));
+                    if (promotion != null) {
+                        records.add(new JournalRecord(promotion.getEnrollmentId(), promoted.getStudentId(),
+                                courseCode, timestamp, EnrollmentJournal.Status.ENROLLED));
+                    }
+                    recordDurably(enrollmentJournal, records);
+                    metrics.lap(metrics.journalAppend, stage);
+                } catch (RuntimeException e) {
+                    if (promotion != null) {
+                        releaseForStudent(promoted.getStudentId(), course);
+                        waitlist.requeueFirst(courseCode, promoted.getStudentId());
+                    } else {
+                        course.tryReserveSeat();
+                        courseRepository.update(course);
+                    }
+                    throw new EnrollmentException("Failed to record drop", e);
+                }
+            }
+            releaseForStudent(studentId, course);
+        } catch (RuntimeException e) {
+            if (unindexed) {
+                index.add(studentId, courseCode);
+            }
+            throw e;
+        } finally {
+            mutationBarrier.readLock().unlock();
+        }
 
         // Send notification
+        stage = metrics.restart(stage);
         notificationService.sendEmail(student.getEmail(),
                 "Course Drop Confirmation",
                 "You have dropped: " + course.getCourseName());
+        metrics.lap(metrics.notification, stage);
+        if (promoted != null) {
+            notifyPromotion(promoted, course);
+        }
+    }
+
+    /**
+     * Mengambil mahasiswa terdepan di waitlist yang masih memenuhi syarat
+     * Mahasiswa yang sudah di-suspend, tidak lagi memenuhi prasyarat, sudah terdaftar, melampaui batas SKS,
+     * atau jadwalnya sudah bentrok dikeluarkan dari antrian. Pasangan enrollment, SKS, dan jadwal mahasiswa
+     * yang dipromosikan langsung dipesan
+     *
+     * @return Student yang dipromosikan, atau null jika tidak ada yang memenuhi syarat
+     */
+    private Student pollEligible(CourseWaitlist waitlist, Course course) {
+        String courseCode = course.getCourseCode();
+        String candidateId;
+        while ((candidateId = waitlist.poll(courseCode)) != null) {
+            Student candidate = studentRepository.findById(candidateId);
+            if (candidate != null && !"SUSPENDED".equals(candidate.getAcademicStatus())
+                    && courseRepository.isPrerequisiteMet(candidateId, courseCode)
+                    && reserveForStudent(candidateId, candidate, course) == null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mencatat pasangan di index, lalu memesan SKS di ledger dan jadwal di timetable
+     * (masing-masing jika diaktifkan)
+     *
+     * @return Penolakan ALREADY_ENROLLED, CREDIT_LIMIT_EXCEEDED, atau SCHEDULE_CONFLICT, atau null jika berhasil
+     */
+    private EnrollmentResult.Rejected reserveForStudent(String studentId, Student student, Course course) {
+        EnrollmentIndex index = enrollmentIndex;
+        if (index != null && !index.add(studentId, course.getCourseCode())) {
+            return new EnrollmentResult.Rejected(course.getCourseCode(), RejectionReason.ALREADY_ENROLLED,
+                    "Student is already enrolled in course: " + course.getCourseCode());
+        }
+        CreditLedger ledger = creditLedger;
+        if (ledger != null && !ledger.tryCharge(studentId, course.getCourseCode(), course.getCredits(),
+                gradeCalculator.calculateMaxCredits(student.getGpa()))) {
+            if (index != null) {
+                index.remove(studentId, course.getCourseCode());
+            }
+            return new EnrollmentResult.Rejected(course.getCourseCode(), RejectionReason.CREDIT_LIMIT_EXCEEDED,
+                    "Credit limit exceeded");
+        }
+        StudentTimetable timetable = studentTimetable;
+        String conflict = timetable == null ? null : timetable.reserve(studentId, course);
+        if (conflict != null) {
+            if (ledger != null) {
+                ledger.release(studentId, course.getCourseCode());
+            }
+            if (index != null) {
+                index.remove(studentId, course.getCourseCode());
+            }
+            return new EnrollmentResult.Rejected(course.getCourseCode(), RejectionReason.SCHEDULE_CONFLICT,
+                    "Schedule conflicts with: " + conflict);
+        }
+        return null;
+    }
+
+    /**
+     * Melepas pasangan enrollment, SKS, dan jadwal yang dipesan reserveForStudent
+     */
+    private void releaseForStudent(String studentId, Course course) {
+        EnrollmentIndex index = enrollmentIndex;
+        if (index != null) {
+            index.remove(studentId, course.getCourseCode());
+        }
+        CreditLedger ledger = creditLedger;
+        if (ledger != null) {
+            ledger.release(studentId, course.getCourseCode());
+        }
+        StudentTimetable timetable = studentTimetable;
+        if (timetable != null) {
+            timetable.release(studentId, course.getCourseCode());
+        }
+    }
+
+    /**
+     * Mencatat record ke journal lalu menunggu fsync (satu group commit)
+     * Record yang sudah di-append tetap disimpan flusher walaupun penantian gagal, misal karena
+     * interrupt, sehingga record kebalikannya ditambahkan sebelum exception diteruskan. Dengan begitu
+     * replay sesuai dengan rollback yang dilakukan pemanggil
+     */
+    private static void recordDurably(EnrollmentJournal journal, List<JournalRecord> records) {
+        int appended = 0;
+        try {
+            long position = 0;
+            for (JournalRecord record : records) {
+                position = journal.append(record.enrollmentId(), record.studentId(), record.courseCode(),
+                        record.timestamp(), record.status());
+                appended++;
+            }
+            journal.awaitDurable(position);
+        } catch (RuntimeException e) {
+            for (int i = appended - 1; i >= 0; i--) {
+                JournalRecord record = records.get(i);
+                EnrollmentJournal.Status reverse = record.status() == EnrollmentJournal.Status.ENROLLED
+                        ? EnrollmentJournal.Status.DROPPED : EnrollmentJournal.Status.ENROLLED;
+                try {
+                    journal.append(record.enrollmentId(), record.studentId(), record.courseCode(),
+                            record.timestamp(), reverse);
+                } catch (RuntimeException compensation) {
+                    e.addSuppressed(compensation);
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void notifyPromotion(Student student, Course course) {
+        notificationService.sendEmail(student.getEmail(),
+                "Waitlist Promotion",
+                "You have been enrolled from the waitlist in: " + course.getCourseName());
+    }
+
+    private Enrollment createEnrollment(String studentId, String courseCode) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentId(generateEnrollmentId());
+        enrollment.setStudentId(studentId);
+        enrollment.setCourseCode(courseCode);
+        enrollment.setEnrollmentDate(LocalDateTime.now());
+        enrollment.setStatus("APPROVED");
+        return enrollment;
     }
 
     /**
@@ -146,6 +955,6 @@ public class EnrollmentService {
      * @return Enrollment ID
      */
     private String generateEnrollmentId() {
-        return "ENR-" + System.currentTimeMillis();
+        return enrollmentIdGenerator.nextEnrollmentId();
     }
 }
\ No newline at end of file
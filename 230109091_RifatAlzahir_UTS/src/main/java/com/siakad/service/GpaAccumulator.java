@@ -0,0 +1,83 @@
+package com.siakad.service;
+
+/**
+ * Akumulator IPK inkremental untuk satu mahasiswa
+ * Menyimpan total (Grade Point × SKS) dan total SKS sebagai primitif, sehingga penambahan,
+ * penghapusan, dan penggantian nilai (mengulang mata kuliah) cukup O(1) tanpa memuat ulang transkrip
+ *
+ * Hasil getGpa() sama persis dengan GradeCalculator.calculateGPA untuk kumpulan nilai yang sama,
+ * karena keduanya memakai penjumlahan fixed-point dan pembulatan yang sama
+ */
+
+public class GpaAccumulator {
+    private long totalScaledPoints;
+    private long totalCredits;
+    private int gradeCount;
+
+    /**
+     * Menambahkan satu nilai mata kuliah
+     *
+     * @param credits SKS mata kuliah
+     * @param gradePoint Grade point (0.0 - 4.0)
+     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
+     */
+    public synchronized void add(int credits, double gradePoint) {
+        totalScaledPoints += GradeCalculator.scaledPoints(gradePoint, credits);
+        totalCredits += credits;
+        gradeCount++;
+    }
+
+    /**
+     * Menghapus satu nilai mata kuliah yang sebelumnya ditambahkan
+     *
+     * @param credits SKS mata kuliah
+     * @param gradePoint Grade point yang dulu ditambahkan
+     * @throws IllegalArgumentException jika grade point invalid atau tidak ada nilai yang bisa dihapus
+     */
+    public synchronized void remove(int credits, double gradePoint) {
+        long scaled = GradeCalculator.scaledPoints(gradePoint, credits);
+        if (gradeCount == 0) {
+            throw new IllegalArgumentException("No grade to remove");
+        }
+        totalScaledPoints -= scaled;
+        totalCredits -= credits;
+        gradeCount--;
+    }
+
+    /**
+     * Mengganti satu nilai, misal ketika mahasiswa mengulang mata kuliah
+     *
+     * @param oldCredits SKS nilai lama
+     * @param oldGradePoint Grade point lama
+     * @param newCredits SKS nilai baru
+     * @param newGradePoint Grade point baru
+     * @throws IllegalArgumentException jika grade point invalid atau tidak ada nilai yang bisa diganti
+     */
+    public synchronized void replace(int oldCredits, double oldGradePoint, int newCredits, double newGradePoint) {
+        long oldScaled = GradeCalculator.scaledPoints(oldGradePoint, oldCredits);
+        long newScaled = GradeCalculator.scaledPoints(newGradePoint, newCredits);
+        if (gradeCount == 0) {
+            throw new IllegalArgumentException("No grade to replace");
+        }
+        totalScaledPoints += newScaled - oldScaled;
+        totalCredits += newCredits - oldCredits;
+    }
+
+    /**
+     * @return IPK dengan pembulatan 2 desimal, 0.0 jika belum ada nilai
+     */
+    public synchronized double getGpa() {
+        if (gradeCount == 0) {
+            return 0.0;
+        }
+        return GradeCalculator.toGpa(totalScaledPoints, totalCredits);
+    }
+
+    public synchronized long getTotalCredits() {
+        return totalCredits;
+    }
+
+    public synchronized int getGradeCount() {
+        return gradeCount;
+    }
+}
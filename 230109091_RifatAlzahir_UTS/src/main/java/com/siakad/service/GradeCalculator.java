@@ -10,6 +10,44 @@ import java.util.List;
 
 public class GradeCalculator {
 
+    // Grade point disimpan sebagai fixed-point 6 desimal saat dijumlahkan
+    static final long GRADE_POINT_SCALE = 1_000_000L;
+
+    private volatile AcademicRuleTable rules;
+
+    public GradeCalculator() {
+        this(AcademicRuleTable.defaults());
+    }
+
+    /**
+     * @param rules Aturan status akademik dan batas SKS
+     * @throws IllegalArgumentException jika rules null
+     */
+    public GradeCalculator(AcademicRuleTable rules) {
+        this.rules = requireRules(rules);
+    }
+
+    /**
+     * Mengganti aturan secara atomik, pemanggilan yang sedang berjalan tetap memakai aturan lama
+     *
+     * @param rules Aturan baru
+     * @throws IllegalArgumentException jika rules null
+     */
+    public void reloadRules(AcademicRuleTable rules) {
+        this.rules = requireRules(rules);
+    }
+
+    private static AcademicRuleTable requireRules(AcademicRuleTable rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Academic rules must not be null");
+        }
+        return rules;
+    }
+
+    public AcademicRuleTable getRules() {
+        return rules;
+    }
+
     /**
      * Menghitung IPK (Indeks Prestasi Kumulatif) mahasiswa
      * Formula: Total (Grade Point × SKS) / Total SKS
@@ -23,29 +61,68 @@ public class GradeCalculator {
             return 0.0;
         }
 
-        double totalPoints = 0.0;
+        long totalPoints = 0;
         int totalCredits = 0;
 
         for (CourseGrade grade : grades) {
-            if (grade.getGradePoint() < 0 || grade.getGradePoint() > 4.0) {
-                throw new IllegalArgumentException("Invalid grade point: " + grade.getGradePoint());
-            }
-            totalPoints += grade.getGradePoint() * grade.getCredits();
+            totalPoints += scaledPoints(grade.getGradePoint(), grade.getCredits());
             totalCredits += grade.getCredits();
         }
 
+        return toGpa(totalPoints, totalCredits);
+    }
+
+    /**
+     * Membuat akumulator IPK inkremental yang diisi dengan nilai awal
+     *
+     * @param grades List of CourseGrade awal, boleh null atau kosong
+     * @return GpaAccumulator dengan hasil yang sama seperti calculateGPA(grades)
+     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
+     */
+    public GpaAccumulator newAccumulator(List<CourseGrade> grades) {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        if (grades != null) {
+            for (CourseGrade grade : grades) {
+                accumulator.add(grade.getCredits(), grade.getGradePoint());
+            }
+        }
+        return accumulator;
+    }
+
+    /**
+     * Menghitung Grade Point × SKS dalam fixed-point (skala GRADE_POINT_SCALE)
+     * Penjumlahan integer bersifat eksak dan tidak bergantung urutan, sehingga total bisa
+     * ditambah dan dikurangi secara inkremental tanpa galat pembulatan
+     *
+     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
+     */
+    static long scaledPoints(double gradePoint, int credits) {
+        if (gradePoint < 0 || gradePoint > 4.0) {
+            throw new IllegalArgumentException("Invalid grade point: " + gradePoint);
+        }
+        return Math.round(gradePoint * GRADE_POINT_SCALE) * credits;
+    }
+
+    /**
+     * Mengubah total poin fixed-point dan total SKS menjadi IPK dengan pembulatan 2 desimal
+     * Pembulatan half-up dihitung eksak dengan integer, rata-rata yang tepat di batas .xx5 selalu
+     * dibulatkan ke atas (pembagian double bisa menghasilkan .xx4999... dan membulatkannya ke bawah)
+     */
+    static double toGpa(long totalScaledPoints, long totalCredits) {
         if (totalCredits == 0) {
             return 0.0;
         }
 
-        // Pembulatan ke 2 desimal
-        return Math.round((totalPoints / totalCredits) * 100.0) / 100.0;
+        // Pembulatan ke 2 desimal: floor(total / sks * 100 + 0.5)
+        long hundredths = Math.floorDiv(totalScaledPoints * 100 + totalCredits * (GRADE_POINT_SCALE / 2),
+                totalCredits * GRADE_POINT_SCALE);
+        return hundredths / 100.0;
     }
 
     /**
      * Menentukan status akademik mahasiswa berdasarkan IPK dan semester
      *
-     * Aturan:
+     * Aturan default (lihat AcademicRuleTable untuk aturan yang bisa dikonfigurasi):
      * - Semester 1-2: IPK >= 2.0 → ACTIVE, IPK < 2.0 → PROBATION
      * - Semester 3-4: IPK >= 2.25 → ACTIVE, IPK 2.0-2.24 → PROBATION, IPK < 2.0 → SUSPENDED
      * - Semester 5+: IPK >= 2.5 → ACTIVE, IPK 2.0-2.49 → PROBATION, IPK < 2.0 → SUSPENDED
@@ -64,29 +141,14 @@ public class GradeCalculator {
             throw new IllegalArgumentException("Semester must be positive");
         }
 
-        // Semester 1-2: minimal IPK 2.0
-        if (semester <= 2) {
-            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
-        }
-
-        // Semester 3-4: minimal IPK 2.25
-        if (semester <= 4) {
-            if (gpa >= 2.25) return "ACTIVE";
-            if (gpa >= 2.0) return "PROBATION";
-            return "SUSPENDED";
-        }
-
-        // Semester 5+: minimal IPK 2.5
-        if (gpa >= 2.5) return "ACTIVE";
-        if (gpa >= 2.0) return "PROBATION";
-        return "SUSPENDED";
+        return rules.statusFor(gpa, semester);
     }
 
     /**
      * Menghitung jumlah SKS maksimal yang boleh diambil mahasiswa
      * berdasarkan IPK
      *
-     * Aturan:
+     * Aturan default (lihat AcademicRuleTable untuk aturan yang bisa dikonfigurasi):
      * - IPK >= 3.0: maksimal 24 SKS
      * - IPK 2.5-2.99: maksimal 21 SKS
      * - IPK 2.0-2.49: maksimal 18 SKS
@@ -101,9 +163,6 @@ public class GradeCalculator {
             throw new IllegalArgumentException("GPA must be between 0 and 4.0");
         }
 
-        if (gpa >= 3.0) return 24;
-        if (gpa >= 2.5) return 21;
-        if (gpa >= 2.0) return 18;
-        return 15;
+        return rules.maxCreditsFor(gpa);
     }
 }
@@ -0,0 +1,178 @@
+package com.siakad.service;
+
+import com.siakad.model.Enrollment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache request key untuk enrollment yang idempoten
+ * Retry dengan key yang sama mendapat Enrollment dari eksekusi pertama tanpa menjalankan ulang
+ * enrollment. Retry yang datang ketika eksekusi pertama masih berjalan menunggu hasilnya
+ *
+ * Key disimpan dalam dua generasi (current dan previous). Generasi diputar ketika current berumur
+ * satu TTL atau berisi setengah dari maxEntries, generasi previous lalu dibuang seluruhnya. Tidak ada
+ * LRU atau sweep per entry, sehingga biaya per request tetap dua lookup ConcurrentHashMap di bawah read lock
+ * dan memori dibatasi sekitar maxEntries key. Jika jumlah key per TTL melebihi maxEntries, key disimpan
+ * lebih singkat dari TTL
+ *
+ * Hanya hasil yang berhasil disimpan. Jika eksekusi gagal, key dilepas sehingga retry berikutnya
+ * menjalankan enrollment lagi
+ */
+
+public class IdempotencyCache {
+
+    private static final class Entry {
+        private final CompletableFuture<Enrollment> result = new CompletableFuture<>();
+        private final long createdAtNanos;
+
+        Entry(long createdAtNanos) {
+            this.createdAtNanos = createdAtNanos;
+        }
+    }
+
+    private static final class Generation {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final long createdAtNanos;
+
+        Generation(long createdAtNanos) {
+            this.createdAtNanos = createdAtNanos;
+        }
+    }
+
+    private final int maxEntriesPerGeneration;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    // Lookup dan penyisipan key memegang read lock, rotasi generasi memegang write lock
+    private final ReentrantReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    /**
+     * @param maxEntries Jumlah maksimal key yang disimpan (harus > 0)
+     * @param ttl Lama minimal key disimpan selama maxEntries belum terlampaui (harus positif)
+     * @throws IllegalArgumentException jika maxEntries atau ttl tidak valid
+     */
+    public IdempotencyCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param maxEntries Jumlah maksimal key yang disimpan (harus > 0)
+     * @param ttl Lama minimal key disimpan selama maxEntries belum terlampaui (harus positif)
+     * @param clock Sumber waktu dalam nanodetik (monotonik)
+     * @throws IllegalArgumentException jika maxEntries atau ttl tidak valid
+     */
+    public IdempotencyCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        this.maxEntriesPerGeneration = Math.max(1, maxEntries / 2);
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.current = new Generation(now);
+        this.previous = new Generation(now);
+    }
+
+    /**
+     * Mengembalikan hasil request dengan key yang sama, atau menjalankan action jika key belum ada
+     *
+     * @param requestKey Key request dari pemanggil
+     * @param action Enrollment yang dijalankan paling banyak sekali per key yang berhasil
+     * @return Enrollment dari eksekusi pertama untuk key tersebut
+     * @throws IllegalArgumentException jika requestKey null
+     * @throws RuntimeException exception dari action, juga dilempar ke request yang menunggu hasilnya
+     */
+    public Enrollment getOrCompute(String requestKey, Supplier<Enrollment> action) {
+        if (requestKey == null) {
+            throw new IllegalArgumentException("Request key must not be null");
+        }
+        long now = clock.getAsLong();
+        rotateIfNeeded(now);
+
+        Entry entry = new Entry(now);
+        Entry existing;
+        Generation generation;
+        rotationLock.readLock().lock();
+        try {
+            generation = current;
+            existing = previous.entries.get(requestKey);
+            if (existing == null || !isAlive(existing, now)) {
+                existing = generation.entries.putIfAbsent(requestKey, entry);
+            }
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        if (existing != null) {
+            return await(existing);
+        }
+        generation.size.incrementAndGet();
+
+        try {
+            Enrollment enrollment = action.get();
+            entry.result.complete(enrollment);
+            return enrollment;
+        } catch (RuntimeException | Error e) {
+            generation.entries.remove(requestKey, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return Perkiraan jumlah key yang sedang disimpan
+     */
+    public int size() {
+        return current.entries.size() + previous.entries.size();
+    }
+
+    private void rotateIfNeeded(long now) {
+        if (!needsRotation(current, now)) {
+            return;
+        }
+        rotationLock.writeLock().lock();
+        try {
+            Generation generation = current;
+            if (needsRotation(generation, now)) {
+                previous = generation;
+                current = new Generation(now);
+            }
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+    }
+
+    private boolean needsRotation(Generation generation, long now) {
+        return now - generation.createdAtNanos >= ttlNanos || generation.size.get() >= maxEntriesPerGeneration;
+    }
+
+    private boolean isAlive(Entry entry, long now) {
+        return now - entry.createdAtNanos < ttlNanos;
+    }
+
+    private static Enrollment await(Entry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jadwal mingguan setiap mahasiswa dalam bentuk bitmap
+ * Satu minggu dibagi menjadi unit 5 menit (TimeSlot.UNITS_PER_WEEK bit, 32 long). Pengecekan bentrok
+ * satu pertemuan cukup meng-AND 1-2 word bitmap dengan mask rentang pertemuan, berapa pun jumlah
+ * mata kuliah yang sudah diambil mahasiswa
+ *
+ * Bitmap hanya dibuat untuk mahasiswa yang sudah memesan jadwal. Pemesanan dan pelepasan satu
+ * mahasiswa disinkronkan per mahasiswa, mahasiswa berbeda tidak saling menunggu
+ */
+
+public class StudentTimetable {
+    private static final int WORDS = (TimeSlot.UNITS_PER_WEEK + 63) >>> 6;
+
+    private static final class Schedule {
+        private final long[] bits = new long[WORDS];
+        private final Map<String, List<TimeSlot>> courses = new LinkedHashMap<>(); // Jadwal saat dipesan
+    }
+
+    private final Map<String, Schedule> schedules = new ConcurrentHashMap<>();
+
+    /**
+     * Memesan jadwal mata kuliah untuk mahasiswa jika tidak bentrok
+     * Pengecekan dan pemesanan dilakukan secara atomik terhadap pemesanan lain mahasiswa yang sama
+     *
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah yang akan diambil
+     * @return null jika berhasil, atau kode mata kuliah yang bentrok
+     */
+    public String reserve(String studentId, Course course) {
+        List<TimeSlot> slots = List.copyOf(slotsOf(course));
+        Schedule schedule = schedules.computeIfAbsent(studentId, id -> new Schedule());
+        synchronized (schedule) {
+            String conflict = conflictIn(schedule, slots);
+            if (conflict != null) {
+                return conflict;
+            }
+            for (TimeSlot slot : slots) {
+                setRange(schedule.bits, slot.startUnit(), slot.endUnit(), true);
+            }
+            schedule.courses.put(course.getCourseCode(), slots);
+            return null;
+        }
+    }
+
+    /**
+     * Melepas jadwal mata kuliah yang sudah dipesan, tidak melakukan apa-apa jika belum dipesan
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     */
+    public void release(String studentId, String courseCode) {
+        Schedule schedule = schedules.get(studentId);
+        if (schedule == null) {
+            return;
+        }
+        synchronized (schedule) {
+            // Jadwal yang dipesan tidak saling beririsan, sehingga rentangnya bisa dihapus langsung
+            List<TimeSlot> slots = schedule.courses.remove(courseCode);
+            if (slots != null) {
+                for (TimeSlot slot : slots) {
+                    setRange(schedule.bits, slot.startUnit(), slot.endUnit(), false);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah yang akan dicek
+     * @return Kode mata kuliah yang bentrok, atau null jika jadwalnya cocok
+     */
+    public String findConflict(String studentId, Course course) {
+        Schedule schedule = schedules.get(studentId);
+        if (schedule == null) {
+            return null;
+        }
+        List<TimeSlot> slots = slotsOf(course);
+        synchronized (schedule) {
+            return conflictIn(schedule, slots);
+        }
+    }
+
+    /**
+     * Mencari mata kuliah yang jadwalnya tidak bentrok dengan jadwal mahasiswa, misal seluruh katalog
+     * Bitmap mahasiswa disalin sekali, setiap mata kuliah lalu dicek tanpa lock
+     *
+     * @param studentId ID mahasiswa
+     * @param courses Mata kuliah yang akan dicek
+     * @return Mata kuliah yang cocok, dengan urutan yang sama seperti courses
+     */
+    public List<Course> findFitting(String studentId, Collection<Course> courses) {
+        long[] bits;
+        Schedule schedule = schedules.get(studentId);
+        if (schedule == null) {
+            bits = new long[WORDS];
+        } else {
+            synchronized (schedule) {
+                bits = schedule.bits.clone();
+            }
+        }
+        List<Course> fitting = new ArrayList<>();
+        for (Course course : courses) {
+            if (!intersects(bits, slotsOf(course))) {
+                fitting.add(course);
+            }
+        }
+        return fitting;
+    }
+
+    /**
+     * Menghapus seluruh jadwal yang dipesan, dipakai sebelum timetable dibangun ulang dengan reserve
+     */
+    public void clear() {
+        schedules.clear();
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Kode mata kuliah yang jadwalnya sedang dipesan mahasiswa
+     */
+    public Set<String> getCourseCodes(String studentId) {
+        Schedule schedule = schedules.get(studentId);
+        if (schedule == null) {
+            return Set.of();
+        }
+        synchronized (schedule) {
+            return Set.copyOf(schedule.courses.keySet());
+        }
+    }
+
+    private static String conflictIn(Schedule schedule, List<TimeSlot> slots) {
+        if (!intersects(schedule.bits, slots)) {
+            return null;
+        }
+        // Jalur lambat, hanya ketika bentrok: cari mata kuliah pemilik rentang tersebut
+        for (Map.Entry<String, List<TimeSlot>> entry : schedule.courses.entrySet()) {
+            for (TimeSlot reserved : entry.getValue()) {
+                for (TimeSlot slot : slots) {
+                    if (reserved.overlaps(slot)) {
+                        return entry.getKey();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean intersects(long[] bits, List<TimeSlot> slots) {
+        for (TimeSlot slot : slots) {
+            if (intersectsRange(bits, slot.startUnit(), slot.endUnit())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true jika ada bit di rentang [from, to) yang terisi
+     */
+    private static boolean intersectsRange(long[] bits, int from, int to) {
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            return (bits[first] & firstMask & lastMask) != 0;
+        }
+        if ((bits[first] & firstMask) != 0 || (bits[last] & lastMask) != 0) {
+            return true;
+        }
+        for (int word = first + 1; word < last; word++) {
+            if (bits[word] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void setRange(long[] bits, int from, int to, boolean value) {
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        for (int word = first; word <= last; word++) {
+            long mask = -1L;
+            if (word == first) {
+                mask &= -1L << from;
+            }
+            if (word == last) {
+                mask &= -1L >>> -to;
+            }
+            bits[word] = value ? bits[word] | mask : bits[word] & ~mask;
+        }
+    }
+
+    private static List<TimeSlot> slotsOf(Course course) {
+        List<TimeSlot> slots = course.getTimeSlots();
+        return slots == null ? List.of() : slots;
+    }
+}
@@ -0,0 +1,330 @@
+package com.siakad.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Importer transkrip streaming untuk file CSV hasil ekspor registrar
+ * Format baris: studentId,courseCode,credits,gradePoint (delimiter bisa diganti)
+ *
+ * File dibaca lewat memory-mapped window, field diparse langsung dari byte tanpa membuat String
+ * per field, dan nilai dijumlahkan dengan fixed-point yang sama seperti GradeCalculator.calculateGPA.
+ * Hanya agregat satu mahasiswa yang disimpan, sehingga memori konstan berapa pun ukuran file.
+ * Baris harus dikelompokkan per mahasiswa; mahasiswa yang muncul lagi setelah mahasiswa lain
+ * dilaporkan sebagai agregat terpisah
+ */
+
+public class TranscriptImporter {
+    private static final int DEFAULT_WINDOW_BYTES = 64 << 20;
+    private static final int MAX_FRACTION_DIGITS = 6; // Sesuai GradeCalculator.GRADE_POINT_SCALE
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+    private static final long MAX_SCALED_GRADE_POINT = 4 * GradeCalculator.GRADE_POINT_SCALE;
+
+    /**
+     * Penerima agregat per mahasiswa, dipanggil sekali untuk setiap kelompok baris mahasiswa
+     */
+    @FunctionalInterface
+    public interface StudentGpaSink {
+        void accept(String studentId, double gpa, long totalCredits, int gradeCount);
+    }
+
+    private final byte delimiter;
+    private final boolean hasHeader;
+    private final int windowBytes;
+
+    public TranscriptImporter() {
+        this(',', true);
+    }
+
+    /**
+     * @param delimiter Pemisah field, harus karakter ASCII
+     * @param hasHeader true jika baris pertama adalah header dan harus dilewati
+     * @throws IllegalArgumentException jika delimiter bukan ASCII atau merupakan digit/titik
+     */
+    public TranscriptImporter(char delimiter, boolean hasHeader) {
+        this(delimiter, hasHeader, DEFAULT_WINDOW_BYTES);
+    }
+
+    TranscriptImporter(char delimiter, boolean hasHeader, int windowBytes) {
+        if (delimiter >= 0x80 || delimiter == '.' || delimiter == '\n' || delimiter == '\r'
+                || (delimiter >= '0' && delimiter <= '9')) {
+            throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+        }
+        this.delimiter = (byte) delimiter;
+        this.hasHeader = hasHeader;
+        this.windowBytes = windowBytes;
+    }
+
+    /**
+     * Membaca file transkrip dan mengirim IPK setiap mahasiswa ke sink
+     *
+     * @param file File CSV
+     * @param sink Penerima agregat per mahasiswa
+     * @return Ringkasan import
+     * @throws IllegalArgumentException jika ada baris tidak valid (termasuk grade point < 0 atau > 4.0)
+     * @throws UncheckedIOException jika file gagal dibaca
+     */
+    public ImportSummary importFile(Path file, StudentGpaSink sink) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Parser parser = new Parser(sink);
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(windowBytes, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int consumed = parser.parse(window, position + length == size);
+                if (consumed == 0) {
+                    throw new IllegalArgumentException("Line " + (parser.line + 1) + " exceeds "
+                            + windowBytes + " bytes");
+                }
+                position += consumed;
+            }
+            parser.flush();
+            return new ImportSummary(parser.rows, parser.students);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read transcript " + file, e);
+        }
+    }
+
+    /**
+     * State parsing yang dibawa antar window
+     */
+    private final class Parser {
+        private final StudentGpaSink sink;
+        private byte[] currentId = new byte[32];
+        private int currentIdLength = -1;
+        private long totalScaledPoints;
+        private long totalCredits;
+        private int gradeCount;
+        private long line;
+        private long rows;
+        private long students;
+
+        Parser(StudentGpaSink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * @return Jumlah byte baris lengkap yang sudah diproses dari window
+         */
+        int parse(MappedByteBuffer window, boolean endOfFile) {
+            int limit = window.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = indexOf(window, (byte) '\n', lineStart, limit);
+                if (lineEnd < 0) {
+                    if (!endOfFile) {
+                        return lineStart;
+                    }
+                    lineEnd = limit;
+                }
+                line++;
+                parseLine(window, lineStart, lineEnd);
+                lineStart = lineEnd + 1;
+            }
+            return limit;
+        }
+
+        private void parseLine(MappedByteBuffer buffer, int start, int end) {
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (end == start || (hasHeader && line == 1)) {
+                return;
+            }
+            int idEnd = field(buffer, start, end);
+            int codeEnd = field(buffer, idEnd + 1, end);
+            int creditsEnd = field(buffer, codeEnd + 1, end);
+            if (idEnd == start || codeEnd == idEnd + 1 || creditsEnd >= end) {
+                throw invalid("expected studentId, courseCode, credits and gradePoint");
+            }
+            int credits = parseCredits(buffer, codeEnd + 1, creditsEnd);
+            long scaled = parseScaledGradePoint(buffer, creditsEnd + 1, end);
+
+            if (!isCurrentStudent(buffer, start, idEnd)) {
+                flush();
+                startStudent(buffer, start, idEnd);
+            }
+            totalScaledPoints += scaled * credits;
+            totalCredits += credits;
+            gradeCount++;
+            rows++;
+        }
+
+        void flush() {
+            if (currentIdLength < 0) {
+                return;
+            }
+            String studentId = new String(currentId, 0, currentIdLength, StandardCharsets.UTF_8);
+            sink.accept(studentId, GradeCalculator.toGpa(totalScaledPoints, totalCredits), totalCredits, gradeCount);
+            students++;
+            currentIdLength = -1;
+        }
+
+        private int parseCredits(MappedByteBuffer buffer, int start, int end) {
+            if (start == end || end - start > 9) {
+                throw invalid("invalid credits");
+            }
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw invalid("invalid credits");
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        /**
+         * Mengubah desimal menjadi grade point fixed-point, sama dengan
+         * Math.round(Double.parseDouble(text) * GRADE_POINT_SCALE) untuk maksimal 6 digit desimal
+         */
+        private long parseScaledGradePoint(MappedByteBuffer buffer, int start, int end) {
+            int i = start;
+            boolean negative = i < end && buffer.get(i) == '-';
+            if (negative) {
+                i++;
+            }
+            long integer = 0;
+            int integerDigits = 0;
+            while (i < end && isDigit(buffer.get(i))) {
+                if (++integerDigits > 9) {
+                    throw invalidGradePoint(buffer, start, end);
+                }
+                integer = integer * 10 + (buffer.get(i++) - '0');
+            }
+            long fraction = 0;
+            int fractionDigits = 0;
+            boolean exceedsScale = false;
+            if (i < end && buffer.get(i) == '.') {
+                i++;
+                while (i < end && isDigit(buffer.get(i))) {
+                    if (fractionDigits < MAX_FRACTION_DIGITS) {
+                        fraction = fraction * 10 + (buffer.get(i) - '0');
+                        fractionDigits++;
+                    } else if (buffer.get(i) != '0') {
+                        exceedsScale = true;
+                    }
+                    i++;
+                }
+            }
+            if (i != end || integerDigits + fractionDigits == 0) {
+                throw invalid("invalid gradePoint");
+            }
+            if (exceedsScale) {
+                // Lebih presisi dari skala fixed-point, bulatkan lewat double seperti calculateGPA
+                return parsePreciseGradePoint(buffer, start, end);
+            }
+            long scaled = integer * GradeCalculator.GRADE_POINT_SCALE
+                    + fraction * POWERS_OF_TEN[MAX_FRACTION_DIGITS - fractionDigits];
+            return checkRange(negative ? -scaled : scaled, buffer, start, end);
+        }
+
+        private long parsePreciseGradePoint(MappedByteBuffer buffer, int start, int end) {
+            double gradePoint = Double.parseDouble(text(buffer, start, end));
+            if (gradePoint < 0 || gradePoint > 4.0) {
+                throw invalidGradePoint(buffer, start, end);
+            }
+            return Math.round(gradePoint * GradeCalculator.GRADE_POINT_SCALE);
+        }
+
+        private long checkRange(long scaled, MappedByteBuffer buffer, int start, int end) {
+            if (scaled < 0 || scaled > MAX_SCALED_GRADE_POINT) {
+                throw invalidGradePoint(buffer, start, end);
+            }
+            return scaled;
+        }
+
+        private boolean isCurrentStudent(MappedByteBuffer buffer, int start, int end) {
+            if (end - start != currentIdLength) {
+                return false;
+            }
+            for (int i = 0; i < currentIdLength; i++) {
+                if (buffer.get(start + i) != currentId[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void startStudent(MappedByteBuffer buffer, int start, int end) {
+            int length = end - start;
+            if (length > currentId.length) {
+                currentId = Arrays.copyOf(currentId, Math.max(length, currentId.length * 2));
+            }
+            buffer.get(start, currentId, 0, length);
+            currentIdLength = length;
+            totalScaledPoints = 0;
+            totalCredits = 0;
+            gradeCount = 0;
+        }
+
+        private int field(MappedByteBuffer buffer, int start, int end) {
+            int index = indexOf(buffer, delimiter, start, end);
+            return index < 0 ? end : index;
+        }
+
+        private IllegalArgumentException invalidGradePoint(MappedByteBuffer buffer, int start, int end) {
+            // Pesan sama dengan GradeCalculator.scaledPoints
+            return new IllegalArgumentException("Invalid grade point: " + text(buffer, start, end)
+                    + " at line " + line);
+        }
+
+        private IllegalArgumentException invalid(String reason) {
+            return new IllegalArgumentException("Invalid transcript row at line " + line + ": " + reason);
+        }
+    }
+
+    private static int indexOf(MappedByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(byte value) {
+        return value >= '0' && value <= '9';
+    }
+
+    private static String text(MappedByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Ringkasan hasil import
+     */
+    public static final class ImportSummary {
+        private final long rows;
+        private final long students;
+
+        private ImportSummary(long rows, long students) {
+            this.rows = rows;
+            this.students = students;
+        }
+
+        /**
+         * @return Jumlah baris nilai yang diproses (tanpa header dan baris kosong)
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * @return Jumlah agregat mahasiswa yang dikirim ke sink
+         */
+        public long getStudents() {
+            return students;
+        }
+    }
+}
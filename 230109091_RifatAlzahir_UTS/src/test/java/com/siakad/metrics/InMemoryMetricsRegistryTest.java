@@ -0,0 +1,39 @@
+package com.siakad.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk InMemoryMetricsRegistry.
+ */
+class InMemoryMetricsRegistryTest {
+
+    @Test
+    void testSameNameReturnsSameInstance() {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+
+        assertSame(registry.latency("a.b"), registry.latency("a.b"));
+        assertSame(registry.counter("c"), registry.counter("c"));
+        assertNull(registry.getHistogram("missing"));
+        assertEquals(0, registry.getCount("missing"));
+    }
+
+    @Test
+    void testScrapeAndDump() {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        registry.counter("enrollment.outcome.enrolled").increment();
+        registry.counter("enrollment.outcome.enrolled").increment();
+        registry.latency("enrollment.stage.student_lookup").record(2_000);
+
+        String scrape = registry.scrape();
+        assertTrue(scrape.contains("# TYPE enrollment_outcome_enrolled_total counter"));
+        assertTrue(scrape.contains("enrollment_outcome_enrolled_total 2"));
+        assertTrue(scrape.contains("enrollment_stage_student_lookup_seconds{quantile=\"0.99\"} 2.0E-6"));
+        assertTrue(scrape.contains("enrollment_stage_student_lookup_seconds_count 1"));
+
+        String dump = registry.dump();
+        assertTrue(dump.contains("enrollment.outcome.enrolled count=2"));
+        assertTrue(dump.contains("enrollment.stage.student_lookup count=1 p50=2000ns"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.siakad.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk LatencyHistogram.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void testEmptyHistogram() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getValueAtPercentile(99.0));
+        assertEquals(0.0, snapshot.getMeanNanos());
+    }
+
+    @Test
+    void testPercentiles_WithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(100_000_000, snapshot.getMaxNanos());
+        assertEquals(50_000_000, snapshot.getValueAtPercentile(50.0), 50_000_000 * 0.035);
+        assertEquals(99_000_000, snapshot.getValueAtPercentile(99.0), 99_000_000 * 0.035);
+        assertEquals(99_900_000, snapshot.getValueAtPercentile(99.9), 99_900_000 * 0.035);
+        assertEquals(100_000_000, snapshot.getValueAtPercentile(100.0));
+        assertEquals(50_000_500.0, snapshot.getMeanNanos(), 1.0);
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(17);
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getValueAtPercentile(0.0));
+        assertEquals(3, snapshot.getValueAtPercentile(50.0));
+        assertEquals(17, snapshot.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    void testBucketBoundaries() {
+        for (long value : new long[]{31, 32, 33, 63, 64, 1_000, 123_456_789, 1L << 36, (1L << 37) - 1}) {
+            int index = LatencyHistogram.indexFor(value);
+            assertTrue(LatencyHistogram.highestValueFor(index) >= value, "value " + value);
+            assertTrue(index == 0 || LatencyHistogram.highestValueFor(index - 1) < value, "value " + value);
+        }
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.indexFor(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testInvalidPercentile() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(100.1));
+    }
+
+    @Test
+    void testConcurrentRecords() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(500 + i % 100);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, histogram.snapshot().getCount());
+        assertEquals(599, histogram.snapshot().getMaxNanos());
+    }
+}
@@ -1,8 +1,15 @@
 package com.siakad.model;
 
 import org.junit.jupiter.api.Test;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -107,4 +114,105 @@ class CourseTest {
         course.addPrerequisite(TEST_CODE);
         assertEquals(2, course.getPrerequisites().size(), "Ukuran list harus 2");
     }
-}
\ No newline at end of file
+
+    /**
+     * Menguji method addTimeSlot dan setTimeSlots.
+     */
+    @Test
+    void testTimeSlots() {
+        Course course = new Course();
+        TimeSlot monday = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(7, 30), LocalTime.of(9, 10));
+
+        course.addTimeSlot(monday);
+        assertEquals(List.of(monday), course.getTimeSlots());
+
+        course.setTimeSlots(null);
+        course.addTimeSlot(monday);
+        assertEquals(1, course.getTimeSlots().size(), "List dibuat ulang jika null");
+    }
+
+    /**
+     * Menguji tryReserveSeat dan releaseSeat pada batas kapasitas.
+     */
+    @Test
+    void testReserveAndReleaseSeat_Boundaries() {
+        Course course = new Course(TEST_CODE, TEST_NAME, TEST_CREDITS, 2, 1, TEST_LECTURER);
+
+        assertTrue(course.tryReserveSeat(), "Kursi terakhir harus bisa dipesan");
+        assertFalse(course.tryReserveSeat(), "Mata kuliah penuh tidak boleh dipesan");
+        assertEquals(2, course.getEnrolledCount());
+
+        assertTrue(course.releaseSeat());
+        assertTrue(course.releaseSeat());
+        assertFalse(course.releaseSeat(), "enrolledCount tidak boleh negatif");
+        assertEquals(0, course.getEnrolledCount());
+    }
+
+    /**
+     * Stress test: banyak thread memesan kursi pada satu mata kuliah populer.
+     * Jumlah kursi yang berhasil dipesan harus tepat sama dengan kapasitas (tanpa oversell).
+     */
+    @Test
+    void testTryReserveSeat_ConcurrentNoOversell() throws InterruptedException {
+        final int capacity = 10_000;
+        final int threads = 16;
+        final int attemptsPerThread = 5_000;
+        Course course = new Course(TEST_CODE, TEST_NAME, TEST_CREDITS, capacity, 0, TEST_LECTURER);
+
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (course.tryReserveSeat()) {
+                        reserved.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(capacity, reserved.get(), "Jumlah kursi terpesan harus sama dengan kapasitas");
+        assertEquals(capacity, course.getEnrolledCount(), "Tidak boleh terjadi oversell");
+    }
+
+    /**
+     * Stress test: reserve dan release bersamaan tidak boleh membuat enrolledCount negatif
+     * atau melebihi kapasitas.
+     */
+    @Test
+    void testReserveAndRelease_ConcurrentStaysInRange() throws InterruptedException {
+        final int capacity = 50;
+        Course course = new Course(TEST_CODE, TEST_NAME, TEST_CREDITS, capacity, 0, TEST_LECTURER);
+
+        AtomicInteger netReserved = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            final boolean reserver = t % 2 == 0;
+            pool.execute(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    if (reserver) {
+                        if (course.tryReserveSeat()) netReserved.incrementAndGet();
+                    } else {
+                        if (course.releaseSeat()) netReserved.decrementAndGet();
+                    }
+                    int count = course.getEnrolledCount();
+                    assertTrue(count >= 0 && count <= capacity);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(netReserved.get(), course.getEnrolledCount());
+    }
+}
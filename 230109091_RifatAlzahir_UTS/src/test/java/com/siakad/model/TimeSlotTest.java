@@ -0,0 +1,50 @@
+package com.siakad.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk TimeSlot.
+ */
+class TimeSlotTest {
+
+    @Test
+    void testUnits_CountedFromMondayMidnight() {
+        TimeSlot monday = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(0, 0), LocalTime.of(1, 0));
+        TimeSlot sunday = new TimeSlot(DayOfWeek.SUNDAY, LocalTime.of(22, 0), LocalTime.of(23, 55));
+
+        assertEquals(0, monday.startUnit());
+        assertEquals(12, monday.endUnit());
+        assertEquals(TimeSlot.UNITS_PER_WEEK - 1, sunday.endUnit());
+        assertEquals(sunday, TimeSlot.ofUnits(sunday.startUnit(), sunday.endUnit()));
+    }
+
+    @Test
+    void testOverlaps_EndIsExclusive() {
+        TimeSlot first = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(7, 30), LocalTime.of(9, 10));
+        TimeSlot next = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(9, 10), LocalTime.of(10, 50));
+        TimeSlot inside = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(8, 30));
+        TimeSlot tuesday = new TimeSlot(DayOfWeek.TUESDAY, LocalTime.of(7, 30), LocalTime.of(9, 10));
+
+        assertFalse(first.overlaps(next));
+        assertTrue(first.overlaps(inside));
+        assertTrue(inside.overlaps(first));
+        assertFalse(first.overlaps(tuesday));
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidSlots() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeSlot(null, LocalTime.of(7, 0), LocalTime.of(8, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(8, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(7, 2), LocalTime.of(8, 0)));
+        assertThrows(IllegalArgumentException.class, () -> TimeSlot.ofUnits(280, 290),
+                "Rentang melewati tengah malam");
+    }
+}
@@ -0,0 +1,63 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk CachingCourseRepository dengan repository asli di-mock.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingCourseRepositoryTest {
+
+    @Mock
+    private CourseRepository delegate;
+
+    @Test
+    void testFindByCourseCodes_OnlyMissesGoToDelegate() {
+        Course basic = new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A");
+        Course data = new Course("CS201", "Struktur Data", 3, 40, 0, "B");
+        when(delegate.findByCourseCode("CS101")).thenReturn(basic);
+        when(delegate.findByCourseCodes(List.of("CS201", "MK999"))).thenReturn(Map.of("CS201", data));
+        CachingCourseRepository repository = new CachingCourseRepository(delegate, 10, null);
+
+        repository.findByCourseCode("CS101");
+        Map<String, Course> found = repository.findByCourseCodes(List.of("CS201", "CS101", "MK999"));
+
+        assertEquals(List.of("CS201", "CS101"), List.copyOf(found.keySet()));
+        assertSame(data, repository.findByCourseCode("CS201"));
+        verify(delegate, times(1)).findByCourseCodes(any());
+        verify(delegate, never()).findByCourseCode("CS201");
+    }
+
+    @Test
+    void testUpdateAll_WriteThrough() {
+        Course basic = new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A");
+        CachingCourseRepository repository = new CachingCourseRepository(delegate, 10, null);
+
+        repository.updateAll(List.of(basic));
+
+        verify(delegate).updateAll(List.of(basic));
+        assertSame(basic, repository.findByCourseCode("CS101"));
+        verify(delegate, never()).findByCourseCode(anyString());
+    }
+
+    @Test
+    void testPrerequisiteChecksPassThrough() {
+        when(delegate.isPrerequisiteMet("S1", "CS101")).thenReturn(true);
+        CachingCourseRepository repository = new CachingCourseRepository(delegate, 10, null);
+
+        assertTrue(repository.isPrerequisiteMet("S1", "CS101"));
+        repository.findCoursesWithPrerequisitesMet("S1", List.of("CS101"));
+
+        verify(delegate).findCoursesWithPrerequisitesMet("S1", List.of("CS101"));
+    }
+}
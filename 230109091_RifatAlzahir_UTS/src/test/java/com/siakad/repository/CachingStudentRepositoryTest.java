@@ -0,0 +1,217 @@
+package com.siakad.repository;
+
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk CachingStudentRepository dengan repository asli di-mock.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingStudentRepositoryTest {
+
+    @Mock
+    private StudentRepository delegate;
+
+    private Student active;
+
+    @BeforeEach
+    void setUp() {
+        active = new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE");
+    }
+
+    @Test
+    void testFindById_ReadThroughThenHit() {
+        when(delegate.findById("S1")).thenReturn(active);
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 10, null);
+
+        assertSame(active, repository.findById("S1"));
+        assertSame(active, repository.findById("S1"));
+        assertSame(active, repository.findById("S1"));
+
+        verify(delegate, times(1)).findById("S1");
+        CacheStats stats = repository.getStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(2.0 / 3.0, stats.hitRate(), 0.0001);
+    }
+
+    @Test
+    void testFindById_NullNotCached() {
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 10, null);
+
+        assertNull(repository.findById("S999"));
+        assertNull(repository.findById("S999"));
+        assertNull(repository.findById(null));
+
+        verify(delegate, times(2)).findById("S999");
+    }
+
+    @Test
+    void testLruEviction() {
+        when(delegate.findById(anyString())).thenAnswer(inv ->
+                new Student(inv.getArgument(0), "X", "x@mail.com", "IF", 1, 3.0, "ACTIVE"));
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 2, null);
+
+        repository.findById("S1");
+        repository.findById("S2");
+        repository.findById("S1"); // S1 menjadi paling baru dipakai
+        repository.findById("S3"); // S2 dibuang
+
+        repository.findById("S1");
+        repository.findById("S2");
+
+        verify(delegate, times(1)).findById("S1");
+        verify(delegate, times(2)).findById("S2");
+        assertEquals(2, repository.getStats().evictions());
+    }
+
+    @Test
+    void testTtlExpiration() throws InterruptedException {
+        when(delegate.findById("S1")).thenReturn(active);
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 10, Duration.ofMillis(20));
+
+        repository.findById("S1");
+        Thread.sleep(40);
+        repository.findById("S1");
+
+        verify(delegate, times(2)).findById("S1");
+        assertEquals(1, repository.getStats().expirations());
+    }
+
+    @Test
+    void testUpdate_WriteThrough() {
+        when(delegate.findById("S1")).thenReturn(active);
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 10, null);
+        repository.findById("S1");
+
+        Student suspended = new Student("S1", "Budi", "budi@mail.com", "IF", 3, 1.5, "SUSPENDED");
+        repository.update(suspended);
+
+        verify(delegate).update(suspended);
+        assertEquals("SUSPENDED", repository.findById("S1").getAcademicStatus());
+        verify(delegate, times(1)).findById("S1");
+    }
+
+    @Test
+    void testInvalidate() {
+        when(delegate.findById("S1")).thenReturn(active);
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 10, null);
+
+        repository.findById("S1");
+        repository.invalidate("S1");
+        repository.findById("S1");
+        repository.invalidateAll();
+        repository.findById("S1");
+
+        verify(delegate, times(3)).findById("S1");
+    }
+
+    /**
+     * Load yang dimulai sebelum update tidak boleh memasang data lama ke cache.
+     */
+    @Test
+    void testConcurrentLoadDuringUpdate_NeverCachesStaleStatus() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        Student stale = new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE");
+        when(delegate.findById("S1")).thenAnswer(inv -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return stale;
+        });
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 10, null);
+
+        CompletableFuture<Student> slowRead = CompletableFuture.supplyAsync(() -> repository.findById("S1"));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        Student suspended = new Student("S1", "Budi", "budi@mail.com", "IF", 3, 1.5, "SUSPENDED");
+        repository.update(suspended);
+        releaseLoad.countDown();
+        slowRead.get(5, TimeUnit.SECONDS);
+
+        assertEquals("SUSPENDED", repository.findById("S1").getAcademicStatus());
+    }
+
+    /**
+     * Invalidasi key lain di tengah load tidak boleh membuang hasil load tersebut.
+     */
+    @Test
+    void testConcurrentLoad_InvalidatingOtherKeyStillCachesResult() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(delegate.findById("S1")).thenAnswer(inv -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return active;
+        });
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 10, null);
+
+        CompletableFuture<Student> slowRead = CompletableFuture.supplyAsync(() -> repository.findById("S1"));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        repository.invalidate("S2");
+        repository.update(new Student("S3", "Ani", "ani@mail.com", "IF", 1, 3.0, "ACTIVE"));
+        releaseLoad.countDown();
+        slowRead.get(5, TimeUnit.SECONDS);
+
+        assertSame(active, repository.findById("S1"));
+        verify(delegate, times(1)).findById("S1");
+    }
+
+    /**
+     * Update kedua yang selesai di antara tulis ke repository asli dan ke cache milik update pertama
+     * tidak boleh tertimpa value update pertama di cache.
+     */
+    @Test
+    void testConcurrentUpdates_CacheMatchesLastDelegateWrite() throws Exception {
+        Student first = new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE");
+        Student second = new Student("S1", "Budi", "budi@mail.com", "IF", 3, 1.5, "SUSPENDED");
+        AtomicReference<Student> lastWritten = new AtomicReference<>();
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        doAnswer(inv -> {
+            lastWritten.set(inv.getArgument(0));
+            if (inv.getArgument(0) == first) {
+                firstWritten.countDown();
+                // Tanpa urutan per key, update kedua selesai seluruhnya di sini
+                secondDone.await(300, TimeUnit.MILLISECONDS);
+            }
+            return null;
+        }).when(delegate).update(any(Student.class));
+        CachingStudentRepository repository = new CachingStudentRepository(delegate, 10, null);
+
+        CompletableFuture<Void> firstUpdate = CompletableFuture.runAsync(() -> repository.update(first));
+        assertTrue(firstWritten.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Void> secondUpdate = CompletableFuture.runAsync(() -> {
+            repository.update(second);
+            secondDone.countDown();
+        });
+        firstUpdate.get(5, TimeUnit.SECONDS);
+        secondUpdate.get(5, TimeUnit.SECONDS);
+
+        assertSame(lastWritten.get(), repository.findById("S1"));
+        assertEquals("SUSPENDED", repository.findById("S1").getAcademicStatus());
+        verify(delegate, never()).findById("S1");
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingStudentRepository(null, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> new CachingStudentRepository(delegate, 0, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                new CachingStudentRepository(delegate, 10, Duration.ofSeconds(-1)));
+    }
+}
@@ -0,0 +1,119 @@
+package com.siakad.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk ChunkedBitmap, dibandingkan dengan java.util.BitSet.
+ */
+class ChunkedBitmapTest {
+
+    @Test
+    void testAddRemoveContains() {
+        ChunkedBitmap bitmap = new ChunkedBitmap();
+        bitmap.add(5);
+        bitmap.add(70_000);
+        bitmap.add(5);
+
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(6));
+        assertEquals(2, bitmap.cardinality());
+
+        bitmap.remove(5);
+        bitmap.remove(6);
+        assertFalse(bitmap.contains(5));
+        assertEquals(List.of(70_000), values(bitmap));
+
+        bitmap.remove(70_000);
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    void testDenseChunkConvertsAndConvertsBack() {
+        ChunkedBitmap bitmap = new ChunkedBitmap();
+        for (int i = 0; i < 10_000; i++) {
+            bitmap.add(i * 3);
+        }
+        assertEquals(10_000, bitmap.cardinality());
+        assertTrue(bitmap.contains(29_997));
+
+        for (int i = 0; i < 9_000; i++) {
+            bitmap.remove(i * 3);
+        }
+        assertEquals(1_000, bitmap.cardinality());
+        assertEquals(27_000, values(bitmap).get(0));
+        assertFalse(bitmap.contains(26_997));
+    }
+
+    @Test
+    void testRandomOperationsMatchBitSet() {
+        Random random = new Random(3);
+        ChunkedBitmap left = new ChunkedBitmap();
+        ChunkedBitmap right = new ChunkedBitmap();
+        BitSet expectedLeft = new BitSet();
+        BitSet expectedRight = new BitSet();
+        for (int i = 0; i < 200_000; i++) {
+            // Nilai kecil padat (chunk bitmap), nilai besar jarang (chunk array)
+            int value = random.nextBoolean() ? random.nextInt(20_000) : random.nextInt(1 << 22);
+            if (random.nextInt(4) == 0) {
+                left.remove(value);
+                expectedLeft.clear(value);
+            } else {
+                left.add(value);
+                expectedLeft.set(value);
+            }
+            int other = random.nextBoolean() ? random.nextInt(20_000) : random.nextInt(1 << 22);
+            right.add(other);
+            expectedRight.set(other);
+        }
+
+        assertEquals(expectedLeft.cardinality(), left.cardinality());
+        assertEquals(expectedLeft.stream().boxed().toList(), values(left));
+
+        BitSet expectedAnd = (BitSet) expectedLeft.clone();
+        expectedAnd.and(expectedRight);
+        ChunkedBitmap and = ChunkedBitmap.and(left, right);
+        assertEquals(expectedAnd.stream().boxed().toList(), values(and));
+        assertEquals(expectedAnd.cardinality(), and.cardinality());
+        assertEquals(expectedAnd.cardinality(), ChunkedBitmap.andCardinality(right, left));
+    }
+
+    @Test
+    void testThreeWayIntersectionMixesArrayAndBitmapChunks() {
+        ChunkedBitmap multiplesOfTwo = new ChunkedBitmap();
+        ChunkedBitmap multiplesOfThree = new ChunkedBitmap();
+        ChunkedBitmap sparse = new ChunkedBitmap();
+        for (int i = 0; i < 200_000; i++) {
+            if (i % 2 == 0) {
+                multiplesOfTwo.add(i);
+            }
+            if (i % 3 == 0) {
+                multiplesOfThree.add(i);
+            }
+            if (i % 1_000 == 0) {
+                sparse.add(i);
+            }
+        }
+
+        ChunkedBitmap all = ChunkedBitmap.and(multiplesOfTwo, multiplesOfThree, sparse);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200_000; i += 3_000) {
+            expected.add(i);
+        }
+        assertEquals(expected, values(all));
+        assertEquals(200_000 / 6 + 1, ChunkedBitmap.andCardinality(multiplesOfTwo, multiplesOfThree));
+    }
+
+    private static List<Integer> values(ChunkedBitmap bitmap) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        return values;
+    }
+}
@@ -0,0 +1,125 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk CourseSearchIndex.
+ */
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseSearchIndex();
+        index.index(new Course("IF201", "Struktur Data", 3, 40, 10, "A"));
+        index.index(new Course("IF202", "Basis Data", 3, 30, 30, "B"));
+        index.index(new Course("IF2", "Pengantar Informatika", 2, 50, 0, "C"));
+        index.index(new Course("MA101", "Kalkulus Dasar", 3, 60, 0, "D"));
+        index.index(new Course("IF301", "Data Mining", 3, 25, 5, "A"));
+    }
+
+    @Test
+    void testSearch_RanksExactCodeThenCodePrefixThenName() {
+        assertEquals(List.of("IF2", "IF201", "IF202"), codes(index.search("if2", 10)));
+        assertEquals(List.of("IF201"), codes(index.search("IF-201", 10)));
+        assertEquals(List.of("MA101", "IF301"), codes(index.search("m", 10)),
+                "Prefix kode didahulukan dari kata pada nama");
+    }
+
+    @Test
+    void testSearch_NameWordsAreAndedPrefixes() {
+        assertEquals(List.of("IF201", "IF301", "IF202"), codes(index.search("data", 10)),
+                "Mata kuliah penuh ditempatkan setelah yang masih punya kursi");
+        assertEquals(List.of("IF201"), codes(index.search("dat str", 10)));
+        assertEquals(List.of("MA101"), codes(index.search("DASAR kalk", 10)));
+        assertTrue(index.search("data kalkulus", 10).isEmpty());
+        assertTrue(index.search("xyz", 10).isEmpty());
+        assertTrue(index.search("  --  ", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_ReportsSeatsAndRespectsLimit() {
+        List<CourseSearchIndex.Match> found = index.search("data", 2);
+
+        assertEquals(2, found.size());
+        assertEquals(30, found.get(0).availableSeats());
+        assertEquals(20, found.get(1).availableSeats());
+        assertEquals(0, index.search("basis", 1).get(0).availableSeats());
+    }
+
+    @Test
+    void testIndex_UpdatesChangedTermsOnly() {
+        Course course = new Course("IF201", "Struktur Data", 3, 40, 10, "A");
+        course.setCourseName("Algoritma Pemrograman");
+        index.index(course);
+
+        assertEquals(List.of("IF301", "IF202"), codes(index.search("data", 10)));
+        assertEquals(List.of("IF201"), codes(index.search("algo", 10)));
+        assertEquals(5, index.size());
+
+        course.setCourseCode("IF201");
+        course.setCourseName("Algoritma");
+        index.index(course);
+        assertTrue(index.search("pemrograman", 10).isEmpty());
+    }
+
+    @Test
+    void testSearch_RejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> index.search(null, 5));
+        assertThrows(IllegalArgumentException.class, () -> index.search("if", 0));
+        assertThrows(IllegalArgumentException.class, () -> index.index(new Course()));
+    }
+
+    @Test
+    void testSearch_MatchesLinearScanAfterRandomUpdates() {
+        String[] vocabulary = {"data", "dasar", "database", "desain", "sistem", "sinyal", "statistik", "struktur"};
+        Random random = new Random(7);
+        CourseSearchIndex randomIndex = new CourseSearchIndex();
+        List<Course> catalog = new ArrayList<>();
+        for (int round = 0; round < 2_000; round++) {
+            int id = random.nextInt(300);
+            String name = vocabulary[random.nextInt(vocabulary.length)] + " "
+                    + vocabulary[random.nextInt(vocabulary.length)];
+            Course course = new Course("MK" + id, name, 3, 10, 0, "A");
+            randomIndex.index(course);
+            catalog.removeIf(existing -> existing.getCourseCode().equals(course.getCourseCode()));
+            catalog.add(course);
+        }
+
+        for (String query : new String[]{"d", "da", "dat", "s", "si", "st", "struktur", "sistem dat", "mk1"}) {
+            long expected = catalog.stream().filter(course -> matches(course, query)).count();
+            assertEquals(expected, randomIndex.search(query, 1_000).size(), query);
+        }
+    }
+
+    private static boolean matches(Course course, String query) {
+        String[] tokens = query.split(" ");
+        if (course.getCourseCode().toLowerCase(Locale.ROOT).startsWith(String.join("", tokens))) {
+            return true;
+        }
+        for (String token : tokens) {
+            boolean found = false;
+            for (String word : course.getCourseName().split(" ")) {
+                found |= word.startsWith(token);
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> codes(List<CourseSearchIndex.Match> matches) {
+        return matches.stream().map(match -> match.course().getCourseCode()).toList();
+    }
+}
@@ -0,0 +1,182 @@
+package com.siakad.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk EnrollmentIndex.
+ */
+class EnrollmentIndexTest {
+
+    private final EnrollmentIndex index = new EnrollmentIndex();
+
+    @Test
+    void testAdd_RejectsDuplicatePair() {
+        assertTrue(index.add("S1", "IF101"));
+        assertFalse(index.add("S1", "IF101"));
+        assertTrue(index.add("S1", "IF102"));
+        assertTrue(index.add("S2", "IF101"));
+
+        assertEquals(3, index.size());
+        assertTrue(index.contains("S1", "IF101"));
+        assertFalse(index.contains("S2", "IF102"));
+    }
+
+    @Test
+    void testRemove_OnlyRemovesExistingPair() {
+        index.add("S1", "IF101");
+
+        assertFalse(index.remove("S1", "IF102"));
+        assertFalse(index.remove("S9", "IF101"));
+        assertTrue(index.remove("S1", "IF101"));
+        assertFalse(index.remove("S1", "IF101"));
+        assertFalse(index.contains("S1", "IF101"));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testListings_FollowAddAndRemove() {
+        index.add("S1", "IF101");
+        index.add("S1", "IF102");
+        index.add("S1", "IF103");
+        index.add("S2", "IF102");
+        index.remove("S1", "IF102");
+
+        assertEquals(Set.of("IF101", "IF103"), Set.copyOf(index.getCourseCodes("S1")));
+        assertEquals(List.of("S2"), index.getStudentIds("IF102"));
+        assertEquals(List.of(), index.getCourseCodes("S9"));
+        assertEquals(List.of(), index.getStudentIds("IF999"));
+    }
+
+    /**
+     * Menghapus sebagian besar peserta dari satu mata kuliah besar harus menyisakan daftar yang tepat.
+     */
+    @Test
+    void testRemove_LargeCourseKeepsListingConsistent() {
+        for (int i = 0; i < 100_000; i++) {
+            index.add("S" + i, "MKU101");
+        }
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 3 == 0) {
+                expected.add("S" + i);
+            } else {
+                assertTrue(index.remove("S" + i, "MKU101"));
+            }
+        }
+
+        List<String> listed = index.getStudentIds("MKU101");
+        assertEquals(expected.size(), listed.size());
+        assertEquals(expected, Set.copyOf(listed));
+    }
+
+    @Test
+    void testAdd_NullIdThrows() {
+        assertThrows(IllegalArgumentException.class, () -> index.add(null, "IF101"));
+        assertThrows(IllegalArgumentException.class, () -> index.add("S1", null));
+        assertFalse(index.contains(null, "IF101"));
+    }
+
+    /**
+     * Banyak penambahan dan penghapusan acak (melewati beberapa resize dan backward shift)
+     * harus selalu sama dengan HashSet biasa.
+     */
+    @Test
+    void testRandomOperations_MatchReferenceSet() {
+        Random random = new Random(24);
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            String student = "S" + random.nextInt(2_000);
+            String course = "MK" + random.nextInt(100);
+            String pair = student + "/" + course;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(pair), index.remove(student, course));
+            } else {
+                assertEquals(expected.add(pair), index.add(student, course));
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (int s = 0; s < 2_000; s += 7) {
+            for (int c = 0; c < 100; c++) {
+                String student = "S" + s;
+                String course = "MK" + c;
+                assertEquals(expected.contains(student + "/" + course), index.contains(student, course));
+            }
+        }
+        Set<String> listed = new HashSet<>();
+        for (int c = 0; c < 100; c++) {
+            for (String student : index.getStudentIds("MK" + c)) {
+                assertTrue(listed.add(student + "/MK" + c));
+            }
+        }
+        assertEquals(expected, listed);
+    }
+
+    @Test
+    void testReplay_AppliesJournalFromPosition(@TempDir Path tempDir) {
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), 1 << 16)) {
+            journal.append("E1", "S1", "IF101", 0, EnrollmentJournal.Status.ENROLLED);
+            long marker = journal.append("E2", "S2", "IF101", 0, EnrollmentJournal.Status.ENROLLED);
+            journal.append("E3", "S1", "IF102", 0, EnrollmentJournal.Status.ENROLLED);
+            journal.appendDurably("E4", "S2", "IF101", 0, EnrollmentJournal.Status.DROPPED);
+
+            index.replay(journal, journal.getStartPosition());
+            EnrollmentIndex tail = new EnrollmentIndex();
+            tail.add("S2", "IF101");
+            tail.replay(journal, marker);
+
+            assertEquals(Set.of("IF101", "IF102"), new HashSet<>(index.getCourseCodes("S1")));
+            assertFalse(index.contains("S2", "IF101"));
+            assertEquals(2, index.size());
+            assertEquals(List.of("IF102"), tail.getCourseCodes("S1"));
+            assertEquals(1, tail.size());
+        }
+    }
+
+    @Test
+    void testForEach_VisitsEveryPair() {
+        index.add("S1", "IF101");
+        index.add("S1", "IF102");
+        index.add("S2", "IF101");
+        index.remove("S1", "IF101");
+
+        Map<String, Set<String>> visited = new HashMap<>();
+        index.forEach((student, course) -> visited.computeIfAbsent(student, s -> new HashSet<>()).add(course));
+
+        assertEquals(Map.of("S1", Set.of("IF102"), "S2", Set.of("IF101")), visited);
+    }
+
+    @Test
+    void testAdd_ConcurrentSamePairOnlyOneSucceeds() throws InterruptedException {
+        AtomicInteger added = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 64; i++) {
+            pool.execute(() -> {
+                if (index.add("S1", "IF101")) {
+                    added.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1, added.get());
+        assertEquals(List.of("IF101"), index.getCourseCodes("S1"));
+        assertEquals(List.of("S1"), index.getStudentIds("IF101"));
+    }
+}
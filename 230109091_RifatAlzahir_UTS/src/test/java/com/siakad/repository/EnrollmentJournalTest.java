@@ -0,0 +1,198 @@
+package com.siakad.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk EnrollmentJournal.
+ */
+class EnrollmentJournalTest {
+
+    private static final int CAPACITY = 1 << 20;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAppendAndReplay() {
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), CAPACITY)) {
+            long first = journal.appendDurably("ENR-1", "S1", "CS101", 1000L, EnrollmentJournal.Status.ENROLLED);
+            journal.appendDurably(null, "S1", "CS101", 2000L, EnrollmentJournal.Status.DROPPED);
+
+            assertTrue(journal.getDurablePosition() > first);
+            List<EnrollmentJournal.JournalRecord> records = new ArrayList<>();
+            journal.replay(records::add);
+
+            assertEquals(2, records.size());
+            assertEquals(new EnrollmentJournal.JournalRecord("ENR-1", "S1", "CS101", 1000L,
+                    EnrollmentJournal.Status.ENROLLED), records.get(0));
+            assertEquals("", records.get(1).enrollmentId());
+            assertEquals(EnrollmentJournal.Status.DROPPED, records.get(1).status());
+        }
+    }
+
+    @Test
+    void testRecovery_RebuildsSeatCountsAfterReopen() {
+        Path file = tempDir.resolve("enrollment.wal");
+        try (EnrollmentJournal journal = new EnrollmentJournal(file, CAPACITY)) {
+            journal.append("ENR-1", "S1", "CS101", 1L, EnrollmentJournal.Status.ENROLLED);
+            journal.append("ENR-2", "S2", "CS101", 2L, EnrollmentJournal.Status.ENROLLED);
+            journal.append("ENR-3", "S1", "MA101", 3L, EnrollmentJournal.Status.ENROLLED);
+            journal.append(null, "S2", "CS101", 4L, EnrollmentJournal.Status.DROPPED);
+        }
+
+        try (EnrollmentJournal reopened = new EnrollmentJournal(file, CAPACITY)) {
+            Map<String, Integer> seats = reopened.rebuildSeatCounts();
+            assertEquals(1, seats.get("CS101"));
+            assertEquals(1, seats.get("MA101"));
+
+            // Append berikutnya dilanjutkan setelah record yang dipulihkan
+            reopened.appendDurably("ENR-4", "S3", "MA101", 5L, EnrollmentJournal.Status.ENROLLED);
+            assertEquals(2, reopened.rebuildSeatCounts().get("MA101"));
+        }
+    }
+
+    /**
+     * Record terakhir yang robek (CRC tidak cocok) diabaikan saat recovery.
+     */
+    @Test
+    void testRecovery_IgnoresTornTail() throws IOException {
+        Path file = tempDir.resolve("enrollment.wal");
+        long tornAt;
+        try (EnrollmentJournal journal = new EnrollmentJournal(file, CAPACITY)) {
+            tornAt = journal.append("ENR-1", "S1", "CS101", 1L, EnrollmentJournal.Status.ENROLLED);
+            journal.appendDurably("ENR-2", "S2", "CS101", 2L, EnrollmentJournal.Status.ENROLLED);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // Rusak byte terakhir studentId pada record kedua
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), tornAt + 12 + 1 + 8 + 2 + 5 + 2 + 1);
+        }
+
+        try (EnrollmentJournal reopened = new EnrollmentJournal(file, CAPACITY)) {
+            List<EnrollmentJournal.JournalRecord> records = new ArrayList<>();
+            reopened.replay(records::add);
+
+            assertEquals(1, records.size());
+            assertEquals(tornAt, reopened.getWritePosition());
+        }
+    }
+
+    @Test
+    void testAppend_RollsOverToNewSegmentWhenFull() {
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("small.wal"), 64)) {
+            long first = journal.append("ENR-1", "S1", "CS101", 1L, EnrollmentJournal.Status.ENROLLED);
+            long second = journal.appendDurably("ENR-2", "S2", "CS101", 2L, EnrollmentJournal.Status.ENROLLED);
+
+            assertEquals(2, journal.getSegmentCount());
+            assertEquals(64 + first, second, "Posisi segment kedua dimulai dari base + capacity");
+            assertEquals(2, journal.rebuildSeatCounts().get("CS101"));
+            assertThrows(IllegalArgumentException.class, () ->
+                    journal.append("ENR-3", "S3".repeat(20), "CS101", 3L, EnrollmentJournal.Status.ENROLLED));
+        }
+    }
+
+    /**
+     * Journal yang melewati banyak segment harus terbaca utuh setelah dibuka ulang, dan segment
+     * sebelum marker snapshot bisa dihapus tanpa mengubah hasil replay sejak marker.
+     */
+    @Test
+    void testSegments_ReopenAndTruncateBeforeMarker() {
+        Path file = tempDir.resolve("segmented.wal");
+        long marker;
+        try (EnrollmentJournal journal = new EnrollmentJournal(file, 1024)) {
+            for (int i = 0; i < 200; i++) {
+                journal.append("ENR-" + i, "S" + i, "CS" + (i % 5), i, EnrollmentJournal.Status.ENROLLED);
+            }
+            marker = journal.getWritePosition();
+            for (int i = 0; i < 50; i++) {
+                journal.appendDurably(null, "S" + i, "CS0", i, EnrollmentJournal.Status.DROPPED);
+            }
+            assertTrue(journal.getSegmentCount() > 10);
+        }
+
+        try (EnrollmentJournal reopened = new EnrollmentJournal(file, 1024)) {
+            Map<String, Integer> seats = reopened.rebuildSeatCounts();
+            assertEquals(40 - 50, seats.get("CS0"));
+            assertEquals(40, seats.get("CS1"));
+            assertEquals(Map.of("CS0", -50), reopened.rebuildSeatCounts(marker));
+
+            int before = reopened.getSegmentCount();
+            int deleted = reopened.truncateBefore(marker);
+            assertTrue(deleted > 0);
+            assertEquals(before - deleted, reopened.getSegmentCount());
+            assertTrue(reopened.getStartPosition() <= marker);
+            assertEquals(Map.of("CS0", -50), reopened.rebuildSeatCounts(marker));
+            assertThrows(IllegalArgumentException.class, () -> reopened.replay(0, record -> { }));
+
+            reopened.appendDurably("ENR-X", "S9", "CS0", 1L, EnrollmentJournal.Status.ENROLLED);
+        }
+
+        try (EnrollmentJournal reopened = new EnrollmentJournal(file, 1024)) {
+            assertEquals(Map.of("CS0", -49), reopened.rebuildSeatCounts(marker));
+        }
+    }
+
+    @Test
+    void testClosedJournalRejectsAppend() {
+        EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("closed.wal"), CAPACITY);
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () ->
+                journal.append("ENR-1", "S1", "CS101", 1L, EnrollmentJournal.Status.ENROLLED));
+    }
+
+    /**
+     * Banyak thread menulis dan menunggu fsync bersamaan (group commit), semua record harus terbaca ulang.
+     */
+    @Test
+    void testConcurrentDurableAppends() throws InterruptedException {
+        assertConcurrentDurableAppends(tempDir.resolve("concurrent.wal"), 8 << 20);
+    }
+
+    /**
+     * Sama seperti di atas, tetapi segment kecil sehingga rollover terjadi di tengah group commit.
+     */
+    @Test
+    void testConcurrentDurableAppends_AcrossSegments() throws InterruptedException {
+        assertConcurrentDurableAppends(tempDir.resolve("rolling.wal"), 4096);
+    }
+
+    private static void assertConcurrentDurableAppends(Path file, int capacity) throws InterruptedException {
+        int threads = 8;
+        int perThread = 500;
+        try (EnrollmentJournal journal = new EnrollmentJournal(file, capacity, 200, TimeUnit.MICROSECONDS)) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                pool.execute(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.appendDurably("ENR-" + thread + "-" + i, "S" + thread, "CS" + (i % 10),
+                                i, EnrollmentJournal.Status.ENROLLED);
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+            assertEquals(journal.getWritePosition(), journal.getDurablePosition());
+        }
+
+        try (EnrollmentJournal reopened = new EnrollmentJournal(file, capacity)) {
+            int total = reopened.rebuildSeatCounts().values().stream().mapToInt(Integer::intValue).sum();
+            assertEquals(threads * perThread, total);
+        }
+    }
+}
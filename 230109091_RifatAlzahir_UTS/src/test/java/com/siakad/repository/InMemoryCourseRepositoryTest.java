@@ -0,0 +1,146 @@
+package com.siakad.repository;
+
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk InMemoryCourseRepository.
+ */
+class InMemoryCourseRepositoryTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository repository;
+    private Course basic;
+    private Course advanced;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        studentRepository.save(new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE"));
+        repository = new InMemoryCourseRepository(studentRepository);
+
+        basic = new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A");
+        advanced = new Course("CS201", "Struktur Data", 3, 40, 0, "B");
+        advanced.addPrerequisite("CS101");
+        repository.save(basic);
+        repository.save(advanced);
+    }
+
+    @Test
+    void testFindByCourseCode() {
+        assertSame(basic, repository.findByCourseCode("CS101"));
+        assertNull(repository.findByCourseCode("MK999"));
+        assertNull(repository.findByCourseCode(null));
+        assertEquals(2, repository.size());
+    }
+
+    @Test
+    void testFindByCourseCodes_SkipsMissing() {
+        Map<String, Course> found = repository.findByCourseCodes(List.of("CS101", "MK999", "CS201"));
+
+        assertEquals(2, found.size());
+        assertSame(advanced, found.get("CS201"));
+    }
+
+    @Test
+    void testUpdate_ThrowsWhenMissing() {
+        assertThrows(CourseNotFoundException.class, () ->
+                repository.update(new Course("MK999", "X", 2, 10, 0, "X")));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Course()));
+    }
+
+    @Test
+    void testUpdateAll_IsAllOrNothing() {
+        Course replacement = new Course("CS101", "Pemrograman Dasar (Baru)", 3, 40, 0, "A");
+        Course missing = new Course("MK999", "X", 2, 10, 0, "X");
+
+        assertThrows(CourseNotFoundException.class, () -> repository.updateAll(List.of(replacement, missing)));
+        assertSame(basic, repository.findByCourseCode("CS101"));
+
+        repository.updateAll(List.of(replacement));
+        assertSame(replacement, repository.findByCourseCode("CS101"));
+    }
+
+    @Test
+    void testFindCourses_ByLecturerAndCredits() {
+        repository.save(new Course("CS301", "Basis Data", 4, 40, 0, "A"));
+
+        assertEquals(List.of("CS101", "CS301"), codes(repository.findCourses("A", null)));
+        assertEquals(List.of("CS101"), codes(repository.findCourses("A", 3)));
+        assertEquals(2, repository.countCourses(null, 3));
+        assertTrue(repository.findCourses("Z", null).isEmpty());
+
+        repository.update(new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "B"));
+        assertEquals(List.of("CS301"), codes(repository.findCourses("A", null)));
+        assertEquals(List.of("CS101", "CS201"), codes(repository.findCourses("B", 3)));
+    }
+
+    @Test
+    void testSearchCourses_FollowsUpdates() {
+        assertEquals(List.of("CS201"), repository.searchCourses("struk", 5).stream()
+                .map(match -> match.course().getCourseCode()).toList());
+
+        repository.update(new Course("CS201", "Algoritma Lanjut", 3, 40, 40, "B"));
+
+        assertTrue(repository.searchCourses("struk", 5).isEmpty());
+        List<CourseSearchIndex.Match> found = repository.searchCourses("algo", 5);
+        assertEquals(1, found.size());
+        assertEquals(0, found.get(0).availableSeats());
+    }
+
+    /**
+     * Update yang hanya mengubah jumlah peserta tidak mengubah term, tetapi index tetap
+     * harus mengembalikan objek Course terbaru.
+     */
+    @Test
+    void testSeatOnlyUpdate_IndexesReturnLatestCourse() {
+        Course seatUpdate = new Course("CS201", "Struktur Data", 3, 40, 40, "B");
+        repository.update(seatUpdate);
+
+        assertSame(seatUpdate, repository.findCourses("B", 3).get(0));
+        List<CourseSearchIndex.Match> found = repository.searchCourses("struk", 5);
+        assertSame(seatUpdate, found.get(0).course());
+        assertEquals(0, found.get(0).availableSeats());
+    }
+
+    private static List<String> codes(List<Course> courses) {
+        return courses.stream().map(Course::getCourseCode).toList();
+    }
+
+    @Test
+    void testIsPrerequisiteMet() {
+        assertTrue(repository.isPrerequisiteMet("S1", "CS101"));
+        assertFalse(repository.isPrerequisiteMet("S1", "CS201"));
+        assertFalse(repository.isPrerequisiteMet("S1", "MK999"));
+
+        studentRepository.addCompletedCourse("S1", basic);
+        assertTrue(repository.isPrerequisiteMet("S1", "CS201"));
+    }
+
+    @Test
+    void testFindCoursesWithPrerequisitesMet() {
+        Set<String> met = repository.findCoursesWithPrerequisitesMet("S1", List.of("CS101", "CS201", "MK999"));
+
+        assertEquals(Set.of("CS101"), met);
+    }
+
+    @Test
+    void testCatalogChange_PrerequisiteAddedAfterSave() {
+        studentRepository.addCompletedCourse("S1", basic);
+        assertTrue(repository.isPrerequisiteMet("S1", "CS201"));
+
+        advanced.addPrerequisite("MA101");
+
+        assertFalse(repository.isPrerequisiteMet("S1", "CS201"));
+        assertEquals(Set.of("CS101", "MA101"), repository.getAllPrerequisites("CS201"));
+    }
+}
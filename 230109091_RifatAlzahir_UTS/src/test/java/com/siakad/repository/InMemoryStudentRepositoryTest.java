@@ -0,0 +1,130 @@
+package com.siakad.repository;
+
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk InMemoryStudentRepository.
+ */
+class InMemoryStudentRepositoryTest {
+
+    private InMemoryStudentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryStudentRepository();
+        repository.save(new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE"));
+    }
+
+    @Test
+    void testSaveAndFindById() {
+        assertEquals("Budi", repository.findById("S1").getName());
+        assertNull(repository.findById("S999"));
+        assertNull(repository.findById(null));
+        assertEquals(1, repository.size());
+        assertEquals(1, repository.findAll().size());
+    }
+
+    @Test
+    void testUpdate_ReplacesStoredStudent() {
+        Student updated = new Student("S1", "Budi", "budi@mail.com", "IF", 3, 1.8, "SUSPENDED");
+        repository.update(updated);
+
+        assertEquals("SUSPENDED", repository.findById("S1").getAcademicStatus());
+    }
+
+    @Test
+    void testUpdate_ThrowsWhenMissing() {
+        assertThrows(StudentNotFoundException.class, () ->
+                repository.update(new Student("S999", "X", "x@mail.com", "IF", 1, 3.0, "ACTIVE")));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Student()));
+        assertThrows(IllegalArgumentException.class, () -> repository.save(null));
+    }
+
+    @Test
+    void testUpdateAll_IsAllOrNothing() {
+        repository.save(new Student("S2", "Ani", "ani@mail.com", "IF", 2, 3.1, "ACTIVE"));
+        Student replacement = new Student("S2", "Ani", "ani@mail.com", "IF", 2, 1.5, "PROBATION");
+        Student missing = new Student("S999", "X", "x@mail.com", "IF", 1, 3.0, "ACTIVE");
+
+        assertThrows(StudentNotFoundException.class, () -> repository.updateAll(List.of(replacement, missing)));
+        assertEquals("ACTIVE", repository.findById("S2").getAcademicStatus());
+
+        repository.updateAll(List.of(replacement));
+        assertSame(replacement, repository.findById("S2"));
+    }
+
+    @Test
+    void testFindStudents_CompoundFilters() {
+        repository.save(new Student("S2", "Ani", "ani@mail.com", "IF", 5, 2.1, "PROBATION"));
+        repository.save(new Student("S3", "Citra", "citra@mail.com", "IF", 5, 3.2, "ACTIVE"));
+        repository.save(new Student("S4", "Dodi", "dodi@mail.com", "SI", 5, 2.2, "PROBATION"));
+
+        assertEquals(List.of("S2"), ids(repository.findStudents("IF", 5, "PROBATION")));
+        assertEquals(List.of("S2", "S4"), ids(repository.findStudents(null, 5, "PROBATION")));
+        assertEquals(3, repository.countStudents("IF", null, null));
+        assertEquals(4, repository.countStudents(null, null, null));
+        assertTrue(repository.findStudents("TI", null, null).isEmpty());
+    }
+
+    @Test
+    void testFindStudents_FollowsUpdates() {
+        Student student = repository.findById("S1");
+        student.setAcademicStatus("PROBATION");
+        student.setSemester(4);
+        repository.update(student);
+
+        assertEquals(List.of("S1"), ids(repository.findStudents("IF", 4, "PROBATION")));
+        assertEquals(0, repository.countStudents(null, 3, null));
+        assertEquals(0, repository.countStudents(null, null, "ACTIVE"));
+
+        repository.updateAll(List.of(new Student("S1", "Budi", "budi@mail.com", "SI", 4, 3.5, "ACTIVE")));
+        assertEquals(List.of("S1"), ids(repository.findStudents("SI", 4, "ACTIVE")));
+        assertEquals(0, repository.countStudents("IF", null, null));
+    }
+
+    private static List<String> ids(List<Student> students) {
+        return students.stream().map(Student::getStudentId).toList();
+    }
+
+    @Test
+    void testCompletedCourses() {
+        assertTrue(repository.getCompletedCourses("S1").isEmpty());
+
+        repository.addCompletedCourse("S1", new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A"));
+        repository.addCompletedCourse("S1", new Course("MA101", "Kalkulus", 3, 40, 0, "B"));
+
+        assertEquals(2, repository.getCompletedCourses("S1").size());
+        assertThrows(UnsupportedOperationException.class, () ->
+                repository.getCompletedCourses("S1").add(new Course()));
+        assertThrows(StudentNotFoundException.class, () ->
+                repository.addCompletedCourse("S999", new Course()));
+    }
+
+    @Test
+    void testConcurrentCompletedCourses_NoLostUpdates() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            final int thread = t;
+            pool.execute(() -> {
+                for (int i = 0; i < 250; i++) {
+                    repository.addCompletedCourse("S1", new Course("MK" + thread + "-" + i, "MK", 2, 40, 0, "A"));
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(2_000, repository.getCompletedCourses("S1").size());
+    }
+}
@@ -0,0 +1,206 @@
+package com.siakad.repository;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.model.TimeSlot;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test untuk OffHeapCourseRepository.
+ */
+class OffHeapCourseRepositoryTest {
+
+    private OffHeapStudentRepository studentRepository;
+    private OffHeapCourseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new OffHeapStudentRepository();
+        studentRepository.save(new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE"));
+        repository = new OffHeapCourseRepository(studentRepository);
+
+        Course advanced = new Course("CS201", "Struktur Data", 3, 40, 0, "B");
+        advanced.addPrerequisite("CS101");
+        repository.save(new Course("CS101", "Pemrograman Dasar", 3, 2, 0, "A"));
+        repository.save(advanced);
+    }
+
+    @Test
+    void testFindByCourseCode_ReadsStoredFields() {
+        Course found = repository.findByCourseCode("CS201");
+
+        assertEquals("CS201", found.getCourseCode());
+        assertEquals("Struktur Data", found.getCourseName());
+        assertEquals(3, found.getCredits());
+        assertEquals(40, found.getCapacity());
+        assertEquals(0, found.getEnrolledCount());
+        assertEquals("B", found.getLecturer());
+        assertEquals(List.of("CS101"), found.getPrerequisites());
+        assertNull(repository.findByCourseCode("MK999"));
+        assertNull(repository.findByCourseCode(null));
+        assertEquals(2, repository.size());
+    }
+
+    @Test
+    void testTimeSlots_StoredOffHeap() {
+        TimeSlot monday = new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(7, 30), LocalTime.of(9, 10));
+        TimeSlot sunday = new TimeSlot(DayOfWeek.SUNDAY, LocalTime.of(21, 0), LocalTime.of(23, 55));
+        Course course = new Course("CS301", "Basis Data", 3, 40, 0, "C");
+        course.addTimeSlot(monday);
+        repository.save(course);
+
+        Course found = repository.findByCourseCode("CS301");
+        assertEquals(List.of(monday), found.getTimeSlots());
+        found.addTimeSlot(sunday);
+        assertEquals(List.of(monday, sunday), repository.findByCourseCode("CS301").getTimeSlots());
+        found.setTimeSlots(List.of());
+        assertTrue(repository.findByCourseCode("CS301").getTimeSlots().isEmpty());
+        assertTrue(repository.findByCourseCode("CS101").getTimeSlots().isEmpty());
+    }
+
+    @Test
+    void testUpdate_ThrowsWhenMissing() {
+        assertThrows(CourseNotFoundException.class, () ->
+                repository.update(new Course("MK999", "X", 2, 10, 0, "X")));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Course()));
+    }
+
+    @Test
+    void testUpdate_CopiesForeignCourse() {
+        assertTrue(repository.findByCourseCode("CS101").tryReserveSeat());
+        repository.update(new Course("CS101", "Pemrograman Dasar (Baru)", 4, 60, 5, "C"));
+
+        Course found = repository.findByCourseCode("CS101");
+        assertEquals("Pemrograman Dasar (Baru)", found.getCourseName());
+        assertEquals(60, found.getCapacity());
+        assertEquals(1, found.getEnrolledCount(), "Jumlah peserta hanya diubah lewat reservasi kursi");
+        assertEquals("C", found.getLecturer());
+    }
+
+    /**
+     * Update berulang dengan nama, prasyarat, dan jadwal yang sama tidak boleh mengisi arena.
+     */
+    @Test
+    void testUpdate_UnchangedFieldsDoNotGrowArena() {
+        Course course = new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A");
+        course.addPrerequisite("MA101");
+        course.addTimeSlot(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(7, 30), LocalTime.of(9, 10)));
+        repository.update(course);
+        long bytes = repository.getOffHeapBytes();
+
+        for (int i = 0; i < 200_000; i++) {
+            course.setCapacity(40 + i % 10);
+            repository.update(course);
+        }
+
+        assertEquals(bytes, repository.getOffHeapBytes());
+        assertEquals(List.of("MA101"), repository.findByCourseCode("CS101").getPrerequisites());
+    }
+
+    @Test
+    void testReserveAndReleaseSeat() {
+        Course view = repository.findByCourseCode("CS101");
+
+        assertTrue(view.tryReserveSeat());
+        assertTrue(repository.findByCourseCode("CS101").tryReserveSeat());
+        assertFalse(view.tryReserveSeat());
+        assertEquals(2, repository.findByCourseCode("CS101").getEnrolledCount());
+
+        assertTrue(view.releaseSeat());
+        assertTrue(view.releaseSeat());
+        assertFalse(view.releaseSeat());
+        assertEquals(0, view.getEnrolledCount());
+    }
+
+    @Test
+    void testTryReserveSeat_ConcurrentNeverOverbooks() throws InterruptedException {
+        repository.save(new Course("CS300", "Kapasitas Terbatas", 3, 100, 0, "A"));
+        AtomicInteger reserved = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (repository.findByCourseCode("CS300").tryReserveSeat()) {
+                        reserved.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, reserved.get());
+        assertEquals(100, repository.findByCourseCode("CS300").getEnrolledCount());
+    }
+
+    @Test
+    void testIsPrerequisiteMet() {
+        assertTrue(repository.isPrerequisiteMet("S1", "CS101"));
+        assertFalse(repository.isPrerequisiteMet("S1", "CS201"));
+        assertFalse(repository.isPrerequisiteMet("S1", "MK999"));
+        assertFalse(repository.isPrerequisiteMet("S999", "CS201"));
+
+        studentRepository.addCompletedCourse("S1", new Course("CS101", null, 0, 0, 0, null));
+        assertTrue(repository.isPrerequisiteMet("S1", "CS201"));
+    }
+
+    @Test
+    void testIsPrerequisiteMet_WithOnHeapStudentRepository() {
+        InMemoryStudentRepository students = new InMemoryStudentRepository();
+        students.save(new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE"));
+        OffHeapCourseRepository courses = new OffHeapCourseRepository(students);
+        Course advanced = new Course("CS201", "Struktur Data", 3, 40, 0, "B");
+        advanced.addPrerequisite("CS101");
+        courses.save(advanced);
+
+        assertFalse(courses.isPrerequisiteMet("S1", "CS201"));
+        students.addCompletedCourse("S1", new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A"));
+        assertTrue(courses.isPrerequisiteMet("S1", "CS201"));
+    }
+
+    @Test
+    void testAddPrerequisite_BumpsVersion() {
+        Course view = repository.findByCourseCode("CS201");
+        int version = view.getPrerequisitesVersion();
+
+        view.addPrerequisite("CS102");
+
+        assertEquals(version + 1, view.getPrerequisitesVersion());
+        assertEquals(List.of("CS101", "CS102"), repository.findByCourseCode("CS201").getPrerequisites());
+        assertThrows(UnsupportedOperationException.class, () -> view.getPrerequisites().add("CS103"));
+    }
+
+    @Test
+    void testEnrollmentServiceWithOffHeapStore() {
+        EnrollmentService service = new EnrollmentService(studentRepository, repository,
+                mock(NotificationService.class), new GradeCalculator());
+        studentRepository.save(new Student("S2", "Ani", "ani@mail.com", "IF", 3, 3.2, "ACTIVE"));
+        studentRepository.save(new Student("S3", "Citra", "citra@mail.com", "IF", 3, 3.1, "ACTIVE"));
+
+        service.enrollCourse("S1", "CS101");
+        service.enrollCourse("S2", "CS101");
+        assertThrows(CourseFullException.class, () -> service.enrollCourse("S3", "CS101"));
+        assertEquals(2, repository.findByCourseCode("CS101").getEnrolledCount());
+
+        service.dropCourse("S1", "CS101");
+        assertEquals(1, repository.findByCourseCode("CS101").getEnrolledCount());
+    }
+}
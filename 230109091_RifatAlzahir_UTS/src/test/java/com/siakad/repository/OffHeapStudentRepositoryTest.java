@@ -0,0 +1,113 @@
+package com.siakad.repository;
+
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk OffHeapStudentRepository.
+ */
+class OffHeapStudentRepositoryTest {
+
+    private OffHeapStudentRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapStudentRepository(4);
+        repository.save(new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE"));
+    }
+
+    @Test
+    void testFindById_ReadsStoredFields() {
+        Student found = repository.findById("S1");
+
+        assertEquals("S1", found.getStudentId());
+        assertEquals("Budi", found.getName());
+        assertEquals("budi@mail.com", found.getEmail());
+        assertEquals("IF", found.getMajor());
+        assertEquals(3, found.getSemester());
+        assertEquals(3.5, found.getGpa());
+        assertEquals("ACTIVE", found.getAcademicStatus());
+        assertNull(repository.findById("S999"));
+        assertNull(repository.findById(null));
+    }
+
+    @Test
+    void testSave_NullFieldsAndNonAsciiRoundTrip() {
+        repository.save(new Student("S2", "Đặng Thị Ánh", null, null, 1, 0.0, null));
+
+        Student found = repository.findById("S2");
+        assertEquals("Đặng Thị Ánh", found.getName());
+        assertNull(found.getEmail());
+        assertNull(found.getMajor());
+        assertNull(found.getAcademicStatus());
+        assertEquals(2, repository.size());
+    }
+
+    @Test
+    void testView_WritesThroughToStore() {
+        Student view = repository.findById("S1");
+        view.setAcademicStatus("PROBATION");
+        view.setGpa(1.75);
+        view.setName("Budi Santoso");
+        repository.update(view);
+
+        Student reloaded = repository.findById("S1");
+        assertEquals("PROBATION", reloaded.getAcademicStatus());
+        assertEquals(1.75, reloaded.getGpa());
+        assertEquals("Budi Santoso", reloaded.getName());
+        assertThrows(UnsupportedOperationException.class, () -> view.setStudentId("S2"));
+    }
+
+    @Test
+    void testSave_ReplacesExistingRecord() {
+        repository.save(new Student("S1", "Budi", "baru@mail.com", "SI", 5, 3.9, "ACTIVE"));
+
+        assertEquals(1, repository.size());
+        assertEquals("baru@mail.com", repository.findById("S1").getEmail());
+        assertEquals("SI", repository.findById("S1").getMajor());
+    }
+
+    @Test
+    void testUpdate_ThrowsWhenMissing() {
+        assertThrows(StudentNotFoundException.class, () ->
+                repository.update(new Student("S999", "X", null, null, 1, 0.0, null)));
+        assertThrows(IllegalArgumentException.class, () -> repository.update(new Student()));
+    }
+
+    @Test
+    void testCompletedCourses() {
+        assertTrue(repository.getCompletedCourses("S1").isEmpty());
+        assertThrows(StudentNotFoundException.class, () ->
+                repository.addCompletedCourse("S999", new Course("CS101", "X", 3, 40, 0, "A")));
+
+        repository.addCompletedCourse("S1", new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A"));
+        repository.addCompletedCourse("S1", new Course("CS102", "Logika", 2, 40, 0, "B"));
+
+        List<Course> completed = repository.getCompletedCourses("S1");
+        assertEquals(List.of("CS101", "CS102"), completed.stream().map(Course::getCourseCode).toList());
+        assertTrue(repository.hasCompleted("S1", "CS102"));
+        assertFalse(repository.hasCompleted("S1", "CS201"));
+        assertFalse(repository.hasCompleted("S999", "CS101"));
+    }
+
+    @Test
+    void testIndexGrowsBeyondExpectedSize() {
+        for (int i = 0; i < 10_000; i++) {
+            repository.save(new Student("N" + i, "Mahasiswa " + i, null, "IF", 1, 3.0, "ACTIVE"));
+        }
+
+        assertEquals(10_001, repository.size());
+        for (int i = 0; i < 10_000; i += 997) {
+            assertEquals("Mahasiswa " + i, repository.findById("N" + i).getName());
+        }
+        assertEquals(10_001, repository.findAll().size());
+        assertTrue(repository.getOffHeapBytes() > 0);
+    }
+}
@@ -0,0 +1,139 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk PrerequisiteIndex.
+ */
+class PrerequisiteIndexTest {
+
+    private PrerequisiteIndex index;
+    private Course intro;
+    private Course dataStructures;
+    private Course algorithms;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrerequisiteIndex();
+        intro = new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A");
+        dataStructures = new Course("CS201", "Struktur Data", 3, 40, 0, "B");
+        dataStructures.addPrerequisite("CS101");
+        algorithms = new Course("CS301", "Algoritma", 3, 40, 0, "C");
+        algorithms.addPrerequisite("CS201");
+        algorithms.addPrerequisite("MA101");
+
+        index.register(algorithms);
+        index.register(dataStructures);
+        index.register(intro);
+    }
+
+    @Test
+    void testIsPrerequisiteMet_DirectPrerequisites() {
+        List<Course> none = List.of();
+        List<Course> introOnly = List.of(intro);
+        List<Course> both = List.of(dataStructures, new Course("MA101", "Kalkulus", 3, 40, 0, "D"));
+
+        assertTrue(index.isPrerequisiteMet("CS101", none));
+        assertFalse(index.isPrerequisiteMet("CS201", none));
+        assertTrue(index.isPrerequisiteMet("CS201", introOnly));
+        assertFalse(index.isPrerequisiteMet("CS301", introOnly));
+        assertTrue(index.isPrerequisiteMet("CS301", both));
+        assertFalse(index.isPrerequisiteMet("MK999", both), "Mata kuliah tidak terdaftar");
+    }
+
+    @Test
+    void testGetAllPrerequisites_Transitive() {
+        assertEquals(Set.of("CS201", "CS101", "MA101"), index.getAllPrerequisites("CS301"));
+        assertEquals(Set.of("CS101"), index.getAllPrerequisites("CS201"));
+        assertTrue(index.getAllPrerequisites("CS101").isEmpty());
+        assertTrue(index.getAllPrerequisites("MK999").isEmpty());
+    }
+
+    /**
+     * Perubahan prasyarat lewat addPrerequisite terdeteksi tanpa register ulang,
+     * dan closure turunan ikut diperbarui.
+     */
+    @Test
+    void testAddPrerequisite_RebuildsIncrementally() {
+        intro.addPrerequisite("MA100");
+
+        assertFalse(index.isPrerequisiteMet("CS101", List.of()));
+        assertEquals(Set.of("CS201", "CS101", "MA101", "MA100"), index.getAllPrerequisites("CS301"));
+    }
+
+    @Test
+    void testCycleDetection() {
+        Course cyclic = new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A");
+        cyclic.addPrerequisite("CS301");
+
+        assertThrows(IllegalArgumentException.class, () -> index.register(cyclic));
+        // Index lama tetap berlaku
+        assertTrue(index.isPrerequisiteMet("CS101", List.of()));
+
+        Course self = new Course("MK1", "Self", 2, 10, 0, "X");
+        self.addPrerequisite("MK1");
+        assertThrows(IllegalArgumentException.class, () -> index.register(self));
+    }
+
+    @Test
+    void testCompletedBitsFollowListChanges() {
+        List<Course> completed = new ArrayList<>();
+        assertFalse(index.isPrerequisiteMet("CS201", completed));
+
+        // Repository copy-on-write memberikan instance list baru setelah perubahan
+        List<Course> updated = new ArrayList<>(completed);
+        updated.add(intro);
+        assertTrue(index.isPrerequisiteMet("CS201", updated));
+
+        // List yang sama diubah langsung juga harus terlihat
+        completed.add(intro);
+        assertTrue(index.isPrerequisiteMet("CS201", completed));
+        assertEquals(Set.of("CS201"), index.findPrerequisitesMet(List.of("CS201", "CS301"), completed));
+    }
+
+    /**
+     * Siklus yang dibentuk lewat addPrerequisite tidak membuat pengecekan prasyarat melempar exception,
+     * tetapi register tetap menolaknya.
+     */
+    @Test
+    void testCycleFromInPlaceChange_ReadPathDoesNotThrow() {
+        intro.addPrerequisite("CS301");
+
+        assertFalse(index.isPrerequisiteMet("CS101", List.of(dataStructures)));
+        assertTrue(index.isPrerequisiteMet("CS101", List.of(algorithms)));
+        assertTrue(index.getAllPrerequisites("CS301").contains("CS101"));
+
+        Course cyclic = new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A");
+        cyclic.addPrerequisite("CS301");
+        assertThrows(IllegalArgumentException.class, () -> index.register(cyclic));
+    }
+
+    @Test
+    void testManyCourses_CrossesWordBoundaries() {
+        PrerequisiteIndex large = new PrerequisiteIndex();
+        List<Course> completed = new ArrayList<>();
+        Course previous = null;
+        for (int i = 0; i < 300; i++) {
+            Course course = new Course("MK" + i, "MK " + i, 2, 10, 0, "X");
+            if (previous != null) {
+                course.addPrerequisite(previous.getCourseCode());
+            }
+            large.register(course);
+            completed.add(course);
+            previous = course;
+        }
+
+        assertTrue(large.isPrerequisiteMet("MK299", completed));
+        assertFalse(large.isPrerequisiteMet("MK299", completed.subList(0, 200)));
+        assertEquals(299, large.getAllPrerequisites("MK299").size());
+        assertEquals(300, large.size());
+    }
+}
@@ -0,0 +1,242 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.model.TimeSlot;
+import com.siakad.service.CreditLedger;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test untuk RepositorySnapshot.
+ */
+class RepositorySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+
+        Course basic = new Course("CS101", "Pemrograman Dasar", 3, 40, 12, "Dr. Andi");
+        Course advanced = new Course("CS201", "Struktur Data", 3, 30, 5, "Dr. Andi");
+        advanced.addPrerequisite("CS101");
+        Course noLecturer = new Course("MA101", "Kalkulus", 4, 50, 0, null);
+        courseRepository.save(basic);
+        courseRepository.save(advanced);
+        courseRepository.save(noLecturer);
+
+        studentRepository.save(new Student("S1", "Budi", "budi@mail.com", "Informatika", 3, 3.25, "ACTIVE"));
+        studentRepository.save(new Student("S2", "Sari", null, "Informatika", 5, 1.75, "PROBATION"));
+        studentRepository.addCompletedCourse("S1", basic);
+    }
+
+    @Test
+    void testWriteAndReadRoundTrip() {
+        Path file = tempDir.resolve("catalog.snap");
+        RepositorySnapshot.capture(studentRepository, courseRepository, 4096).writeTo(file);
+
+        RepositorySnapshot snapshot = RepositorySnapshot.readFrom(file);
+
+        assertEquals(4096, snapshot.getMarker());
+        assertEquals(3, snapshot.getCourses().size());
+        assertEquals(2, snapshot.getStudents().size());
+        assertEquals(List.of("CS101"), snapshot.getCompletedCourses().get("S1"));
+
+        Course advanced = snapshot.getCourses().stream()
+                .filter(c -> c.getCourseCode().equals("CS201")).findFirst().orElseThrow();
+        assertEquals("Struktur Data", advanced.getCourseName());
+        assertEquals(5, advanced.getEnrolledCount());
+        assertEquals(List.of("CS101"), advanced.getPrerequisites());
+
+        Student sari = snapshot.getStudents().stream()
+                .filter(s -> s.getStudentId().equals("S2")).findFirst().orElseThrow();
+        assertNull(sari.getEmail());
+        assertEquals(1.75, sari.getGpa());
+        assertEquals("PROBATION", sari.getAcademicStatus());
+    }
+
+    @Test
+    void testWriteAndReadRoundTrip_PreservesTimeSlots() {
+        Course advanced = courseRepository.findByCourseCode("CS201");
+        advanced.addTimeSlot(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(7, 30), LocalTime.of(9, 10)));
+        advanced.addTimeSlot(new TimeSlot(DayOfWeek.SUNDAY, LocalTime.of(22, 0), LocalTime.MIDNIGHT.minusMinutes(5)));
+        Path file = tempDir.resolve("catalog.snap");
+        RepositorySnapshot.capture(studentRepository, courseRepository, 0).writeTo(file);
+
+        InMemoryStudentRepository restoredStudents = new InMemoryStudentRepository();
+        InMemoryCourseRepository restoredCourses = new InMemoryCourseRepository(restoredStudents);
+        RepositorySnapshot.readFrom(file).restoreInto(restoredStudents, restoredCourses);
+
+        assertEquals(advanced.getTimeSlots(), restoredCourses.findByCourseCode("CS201").getTimeSlots());
+        assertEquals(List.of(), restoredCourses.findByCourseCode("CS101").getTimeSlots());
+    }
+
+    @Test
+    void testCapture_IsIndependentOfLiveObjects() {
+        RepositorySnapshot snapshot = RepositorySnapshot.capture(studentRepository, courseRepository, 0);
+        courseRepository.findByCourseCode("CS101").tryReserveSeat();
+
+        Course captured = snapshot.getCourses().stream()
+                .filter(c -> c.getCourseCode().equals("CS101")).findFirst().orElseThrow();
+        assertEquals(12, captured.getEnrolledCount());
+    }
+
+    @Test
+    void testRestoreInto_RebuildsWorkingRepositories() {
+        Path file = tempDir.resolve("catalog.snap");
+        RepositorySnapshot.capture(studentRepository, courseRepository, 0).writeTo(file);
+
+        InMemoryStudentRepository students = new InMemoryStudentRepository();
+        InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+        RepositorySnapshot.readFrom(file).restoreInto(students, courses);
+
+        assertEquals(3, courses.size());
+        assertEquals(2, students.size());
+        assertEquals(12, courses.findByCourseCode("CS101").getEnrolledCount());
+        assertNull(courses.findByCourseCode("MA101").getLecturer());
+        assertTrue(courses.isPrerequisiteMet("S1", "CS201"));
+        assertFalse(courses.isPrerequisiteMet("S2", "CS201"));
+        assertSame(courses.findByCourseCode("CS101"), students.getCompletedCourses("S1").get(0));
+    }
+
+    /**
+     * Pasangan enrollment disimpan di snapshot, record journal setelah marker diterapkan ke index,
+     * dan journal sebelum marker boleh sudah dipotong.
+     */
+    @Test
+    void testRestoreInto_RebuildsEnrollmentIndexAfterTruncation() {
+        Path file = tempDir.resolve("catalog.snap");
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), 4096)) {
+            EnrollmentIndex live = new EnrollmentIndex();
+            for (int i = 0; i < 200; i++) {
+                journal.append("E" + i, "S" + i, "CS101", 0, EnrollmentJournal.Status.ENROLLED);
+                live.add("S" + i, "CS101");
+            }
+            journal.awaitDurable(journal.getWritePosition());
+            RepositorySnapshot.capture(studentRepository, courseRepository, live, journal.getWritePosition())
+                    .writeTo(file);
+            assertTrue(journal.truncateBefore(journal.getWritePosition()) > 0);
+            journal.appendDurably("D1", "S1", "CS101", 0, EnrollmentJournal.Status.DROPPED);
+            journal.appendDurably("E2", "S2", "CS201", 0, EnrollmentJournal.Status.ENROLLED);
+
+            InMemoryStudentRepository students = new InMemoryStudentRepository();
+            InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+            EnrollmentIndex restored = new EnrollmentIndex();
+            RepositorySnapshot snapshot = RepositorySnapshot.readFrom(file);
+            snapshot.restoreInto(students, courses, restored, journal);
+
+            assertEquals(200, snapshot.getEnrollments().size());
+            assertEquals(200, restored.size());
+            assertFalse(restored.contains("S1", "CS101"));
+            assertTrue(restored.contains("S0", "CS101"));
+            assertTrue(restored.contains("S2", "CS201"));
+            assertTrue(restored.isRestored());
+
+            // Index hasil restore dipakai apa adanya walaupun journal sudah dipotong
+            EnrollmentService service = new EnrollmentService(students, courses,
+                    mock(NotificationService.class), new GradeCalculator());
+            CreditLedger ledger = new CreditLedger();
+            service.setEnrollmentJournal(journal);
+            service.setEnrollmentIndex(restored);
+            service.setCreditLedger(ledger);
+            service.rebuildEnrollmentState();
+            assertEquals(3, ledger.getCredits("S0"));
+            assertEquals(0, ledger.getCredits("S1"));
+            assertEquals(6, ledger.getCredits("S2"));
+
+            RepositorySnapshot.capture(studentRepository, courseRepository, 0).writeTo(file);
+            RepositorySnapshot withoutIndex = RepositorySnapshot.readFrom(file);
+            assertNull(withoutIndex.getEnrollments());
+            assertThrows(IllegalStateException.class, () -> withoutIndex.restoreInto(new InMemoryStudentRepository(),
+                    new InMemoryCourseRepository(new InMemoryStudentRepository()), new EnrollmentIndex(), journal));
+        }
+    }
+
+    @Test
+    void testReadFrom_CorruptFile() throws IOException {
+        Path file = tempDir.resolve("catalog.snap");
+        RepositorySnapshot.capture(studentRepository, courseRepository, 0).writeTo(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> RepositorySnapshot.readFrom(file));
+        assertTrue(e.getMessage().contains("checksum"));
+    }
+
+    @Test
+    void testReadFrom_NotASnapshot() throws IOException {
+        Path file = tempDir.resolve("other.bin");
+        Files.write(file, new byte[64]);
+
+        assertThrows(IllegalStateException.class, () -> RepositorySnapshot.readFrom(file));
+    }
+
+    /**
+     * Snapshot diambil saat enrollment berjalan bersamaan, restore + replay journal setelah marker
+     * harus menghasilkan jumlah kursi yang sama persis dengan kondisi akhir
+     */
+    @Test
+    void testSnapshotDuringConcurrentEnrollments_RestoresExactSeatCounts() throws InterruptedException {
+        Course hot = new Course("HOT", "Kelas Populer", 2, 400, 0, "Dr. Rina");
+        courseRepository.save(hot);
+        for (int i = 0; i < 400; i++) {
+            studentRepository.save(new Student("M" + i, "Mhs " + i, "m" + i + "@mail.com", "IF", 1, 3.0, "ACTIVE"));
+        }
+        Path file = tempDir.resolve("catalog.snap");
+
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), 1 << 20)) {
+            EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                    mock(NotificationService.class), new GradeCalculator());
+            service.setEnrollmentJournal(journal);
+
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 400; i++) {
+                String studentId = "M" + i;
+                pool.execute(() -> service.enrollCourse(studentId, "HOT"));
+            }
+            List<RepositorySnapshot> snapshots = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                snapshots.add(service.runQuiesced(() ->
+                        RepositorySnapshot.capture(studentRepository, courseRepository, journal.getWritePosition())));
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+            for (RepositorySnapshot snapshot : snapshots) {
+                snapshot.writeTo(file);
+                InMemoryStudentRepository students = new InMemoryStudentRepository();
+                InMemoryCourseRepository courses = new InMemoryCourseRepository(students);
+                RepositorySnapshot.readFrom(file).restoreInto(students, courses, journal);
+
+                assertEquals(400, courses.findByCourseCode("HOT").getEnrolledCount());
+                assertEquals(12, courses.findByCourseCode("CS101").getEnrolledCount());
+            }
+        }
+    }
+}
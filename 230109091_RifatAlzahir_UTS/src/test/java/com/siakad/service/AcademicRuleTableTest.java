@@ -0,0 +1,146 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk AcademicRuleTable, tabel default dibandingkan dengan aturan if/else lama.
+ */
+class AcademicRuleTableTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String legacyStatus(double gpa, int semester) {
+        if (semester <= 2) {
+            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
+        }
+        if (semester <= 4) {
+            if (gpa >= 2.25) return "ACTIVE";
+            if (gpa >= 2.0) return "PROBATION";
+            return "SUSPENDED";
+        }
+        if (gpa >= 2.5) return "ACTIVE";
+        if (gpa >= 2.0) return "PROBATION";
+        return "SUSPENDED";
+    }
+
+    private static int legacyMaxCredits(double gpa) {
+        if (gpa >= 3.0) return 24;
+        if (gpa >= 2.5) return 21;
+        if (gpa >= 2.0) return 18;
+        return 15;
+    }
+
+    @Test
+    void testDefaults_ReproduceLegacyRulesAroundEveryStep() {
+        AcademicRuleTable rules = AcademicRuleTable.defaults();
+        for (int step = 0; step <= 400; step++) {
+            double grid = step / 100.0;
+            for (double gpa : new double[]{Math.nextDown(grid), grid, Math.nextUp(grid), grid + 0.005}) {
+                if (gpa < 0 || gpa > 4.0) {
+                    continue;
+                }
+                assertEquals(legacyMaxCredits(gpa), rules.maxCreditsFor(gpa), "gpa " + gpa);
+                for (int semester = 1; semester <= 14; semester++) {
+                    assertEquals(legacyStatus(gpa, semester), rules.statusFor(gpa, semester),
+                            "gpa " + gpa + " semester " + semester);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testQuantize_CorrectsFloatingPointProducts() {
+        // 0.29 * 100 = 28.999999999999996
+        assertEquals(29, AcademicRuleTable.quantize(0.29));
+        assertEquals(28, AcademicRuleTable.quantize(Math.nextDown(0.29)));
+        assertEquals(400, AcademicRuleTable.quantize(4.0));
+        assertEquals(0, AcademicRuleTable.quantize(Double.NaN));
+    }
+
+    @Test
+    void testFromProperties_CustomFacultyRules() {
+        Properties properties = new Properties();
+        properties.setProperty("status.bands", "1, 2-6, 7+");
+        properties.setProperty("status.1", "ACTIVE:0.00");
+        properties.setProperty("status.2-6", "ACTIVE:2.75, PROBATION:2.00, SUSPENDED:0.00");
+        properties.setProperty("status.7+", "ACTIVE:3.00, SUSPENDED:0.00");
+        properties.setProperty("credits", "22:3.50, 20:0.00");
+
+        AcademicRuleTable rules = AcademicRuleTable.fromProperties(properties);
+
+        assertEquals("ACTIVE", rules.statusFor(0.5, 1));
+        assertEquals("PROBATION", rules.statusFor(2.74, 6));
+        assertEquals("ACTIVE", rules.statusFor(2.75, 2));
+        assertEquals("SUSPENDED", rules.statusFor(2.99, 7));
+        assertEquals("ACTIVE", rules.statusFor(3.0, 20));
+        assertEquals(22, rules.maxCreditsFor(3.5));
+        assertEquals(20, rules.maxCreditsFor(3.49));
+    }
+
+    @Test
+    void testFromProperties_RejectsInvalidRules() {
+        assertInvalid("status.bands", "2-4,5+");
+        assertInvalid("status.bands", "1-2,3-4");
+        assertInvalid("status.bands", "1-2,4+");
+        assertInvalid("status.1-2", "ACTIVE:2.00");
+        assertInvalid("status.1-2", "PROBATION:0.00,ACTIVE:2.00");
+        assertInvalid("status.3-4", "ACTIVE:2.255,SUSPENDED:0.00");
+        assertInvalid("credits", "24:4.50,15:0.00");
+        assertInvalid("credits", "many:3.00,15:0.00");
+        assertInvalid("credits", "");
+    }
+
+    @Test
+    void testLoad_ReadsPropertiesFile() throws Exception {
+        Path file = tempDir.resolve("rules.properties");
+        Files.writeString(file, String.join("\n",
+                "status.bands=1+",
+                "status.1+=ACTIVE:1.00,PROBATION:0.00",
+                "credits=18:0.00"));
+
+        AcademicRuleTable rules = AcademicRuleTable.load(file);
+
+        assertEquals("PROBATION", rules.statusFor(0.99, 9));
+        assertEquals(18, rules.maxCreditsFor(4.0));
+        assertThrows(UncheckedIOException.class, () -> AcademicRuleTable.load(tempDir.resolve("missing")));
+    }
+
+    @Test
+    void testGradeCalculator_ReloadRulesAtomically() {
+        GradeCalculator calculator = new GradeCalculator();
+        assertEquals("PROBATION", calculator.determineAcademicStatus(2.1, 5));
+        assertSame(AcademicRuleTable.defaults(), calculator.getRules());
+
+        Properties properties = new Properties();
+        properties.setProperty("status.bands", "1+");
+        properties.setProperty("status.1+", "ACTIVE:2.00,SUSPENDED:0.00");
+        properties.setProperty("credits", "20:0.00");
+        calculator.reloadRules(AcademicRuleTable.fromProperties(properties));
+
+        assertEquals("ACTIVE", calculator.determineAcademicStatus(2.1, 5));
+        assertEquals(20, calculator.calculateMaxCredits(3.9));
+        assertThrows(IllegalArgumentException.class, () -> calculator.determineAcademicStatus(4.1, 5));
+        assertThrows(IllegalArgumentException.class, () -> calculator.reloadRules(null));
+    }
+
+    private static void assertInvalid(String key, String value) {
+        Properties properties = new Properties();
+        properties.setProperty("status.bands", "1-2,3-4,5+");
+        properties.setProperty("status.1-2", "ACTIVE:2.00,PROBATION:0.00");
+        properties.setProperty("status.3-4", "ACTIVE:2.25,PROBATION:2.00,SUSPENDED:0.00");
+        properties.setProperty("status.5+", "ACTIVE:2.50,PROBATION:2.00,SUSPENDED:0.00");
+        properties.setProperty("credits", "24:3.00,21:2.50,18:2.00,15:0.00");
+        properties.setProperty(key, value);
+        assertThrows(IllegalArgumentException.class, () -> AcademicRuleTable.fromProperties(properties),
+                key + "=" + value);
+    }
+}
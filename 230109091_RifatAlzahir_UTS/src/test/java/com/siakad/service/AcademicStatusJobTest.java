@@ -0,0 +1,253 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk AcademicStatusJob, membandingkan hasil paralel dengan perhitungan satu per satu.
+ */
+class AcademicStatusJobTest {
+
+    private static final double[] GPAS = {0.0, 1.5, 1.99, 2.0, 2.1, 2.25, 2.49, 2.5, 2.99, 3.0, 3.5, 4.0};
+
+    @TempDir
+    Path tempDir;
+
+    private final GradeCalculator calculator = new GradeCalculator();
+    private ForkJoinPool pool;
+    private InMemoryStudentRepository repository;
+    private List<Student> roster;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        repository = new InMemoryStudentRepository();
+        roster = new ArrayList<>();
+        Random random = new Random(17);
+        for (int i = 0; i < 5_000; i++) {
+            Student student = new Student("S" + i, "Mahasiswa " + i, null, "IF",
+                    1 + random.nextInt(8), GPAS[random.nextInt(GPAS.length)], "ACTIVE");
+            repository.save(student);
+            roster.add(student);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testRun_MatchesSequentialCalculation() {
+        AcademicStatusJob job = new AcademicStatusJob(repository, calculator, pool, 100);
+
+        AcademicStatusJob.Result result = job.run(roster);
+
+        long changed = 0;
+        for (int i = 0; i < roster.size(); i++) {
+            Student student = repository.findById("S" + i);
+            String expected = calculator.determineAcademicStatus(student.getGpa(), student.getSemester());
+            assertEquals(expected, student.getAcademicStatus());
+            assertEquals(calculator.calculateMaxCredits(student.getGpa()), result.getMaxCredits(i));
+            if (!"ACTIVE".equals(expected)) {
+                changed++;
+            }
+        }
+        assertEquals(5_000, result.getProcessed());
+        assertEquals(changed, result.getUpdated());
+        assertEquals(5_000L, result.getStatusCounts().values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(0, result.getResumedBatches());
+        assertTrue(result.getFailedStudentIds().isEmpty());
+    }
+
+    /**
+     * Roster yang dibaca per halaman harus memberi hasil yang sama tanpa meminta lebih dari satu batch.
+     */
+    @Test
+    void testRun_PagedSourceReadsOneBatchPerPage() {
+        AcademicStatusJob job = new AcademicStatusJob(repository, calculator, pool, 100);
+        AtomicInteger pages = new AtomicInteger();
+
+        AcademicStatusJob.Result result = job.run(roster.size(), (offset, limit) -> {
+            pages.incrementAndGet();
+            assertTrue(limit <= 100);
+            List<Student> page = new ArrayList<>(limit);
+            for (int i = offset; i < offset + limit; i++) {
+                page.add(repository.findById("S" + i));
+            }
+            return page;
+        });
+
+        assertEquals(50, pages.get());
+        assertEquals(5_000, result.getProcessed());
+        for (int i = 0; i < roster.size(); i++) {
+            Student student = repository.findById("S" + i);
+            assertEquals(calculator.determineAcademicStatus(student.getGpa(), student.getSemester()),
+                    student.getAcademicStatus());
+        }
+    }
+
+    @Test
+    void testRun_PagedSourceWithWrongPageSizeFails() {
+        AcademicStatusJob job = new AcademicStatusJob(repository, calculator, pool, 100);
+
+        assertThrows(IllegalStateException.class, () -> job.run(150, (offset, limit) -> roster.subList(0, 100)));
+        assertThrows(IllegalArgumentException.class, () -> job.run(-1, (offset, limit) -> List.of()));
+    }
+
+    @Test
+    void testRun_InvalidStudentIsReportedAndSkipped() {
+        Student invalid = new Student("BAD", "Invalid", null, "IF", 0, 3.0, "ACTIVE");
+        repository.save(invalid);
+        roster.add(invalid);
+
+        AcademicStatusJob.Result result = new AcademicStatusJob(repository, calculator, pool, 100).run(roster);
+
+        assertEquals(List.of("BAD"), result.getFailedStudentIds());
+        assertEquals("ACTIVE", repository.findById("BAD").getAcademicStatus());
+        assertEquals(0, result.getMaxCredits(roster.size() - 1));
+    }
+
+    @Test
+    void testRun_ReportsProgressUpToTotal() {
+        AcademicStatusJob job = new AcademicStatusJob(repository, calculator, pool, 100);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong highest = new AtomicLong();
+        job.setProgressListener((processed, total) -> {
+            calls.incrementAndGet();
+            highest.accumulateAndGet(processed, Math::max);
+            assertEquals(5_000, total);
+        });
+
+        job.run(roster);
+
+        assertEquals(50, calls.get());
+        assertEquals(5_000, highest.get());
+    }
+
+    @Test
+    void testRun_ResumesFromCheckpointAfterCrash() {
+        Path checkpoint = tempDir.resolve("status.ckpt");
+        CrashingRepository crashing = new CrashingRepository(repository, 3);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            AcademicStatusJob first = new AcademicStatusJob(crashing, calculator, single, 100);
+            first.setCheckpointFile(checkpoint);
+            assertThrows(IllegalStateException.class, () -> first.run(roster));
+            assertTrue(Files.exists(checkpoint));
+
+            AcademicStatusJob second = new AcademicStatusJob(repository, calculator, single, 100);
+            second.setCheckpointFile(checkpoint);
+            AcademicStatusJob.Result result = second.run(roster);
+
+            assertEquals(3, result.getResumedBatches());
+            assertEquals(5_000, result.getProcessed());
+            assertFalse(Files.exists(checkpoint));
+            for (Student student : roster) {
+                assertEquals(calculator.determineAcademicStatus(student.getGpa(), student.getSemester()),
+                        repository.findById(student.getStudentId()).getAcademicStatus());
+            }
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    /**
+     * updateAll yang gagal tidak boleh meninggalkan status baru di repository, dan batch tersebut
+     * harus ditulis utuh saat job dijalankan ulang.
+     */
+    @Test
+    void testRun_FailedUpdateAllLeavesNoChangesAndIsRewrittenOnResume() {
+        Path checkpoint = tempDir.resolve("status.ckpt");
+        CrashingRepository crashing = new CrashingRepository(repository, 0);
+        AcademicStatusJob job = new AcademicStatusJob(crashing, calculator, pool, 5_000);
+        job.setCheckpointFile(checkpoint);
+
+        assertThrows(IllegalStateException.class, () -> job.run(roster));
+        for (Student student : roster) {
+            assertEquals("ACTIVE", repository.findById(student.getStudentId()).getAcademicStatus());
+        }
+
+        crashing.remaining.set(1);
+        AcademicStatusJob.Result result = job.run(roster);
+
+        long expectedChanges = 0;
+        for (Student student : roster) {
+            String expected = calculator.determineAcademicStatus(student.getGpa(), student.getSemester());
+            assertEquals(expected, repository.findById(student.getStudentId()).getAcademicStatus());
+            if (!"ACTIVE".equals(expected)) {
+                expectedChanges++;
+            }
+        }
+        assertTrue(expectedChanges > 0);
+        assertEquals(expectedChanges, result.getUpdated());
+        assertEquals(0, result.getResumedBatches());
+    }
+
+    @Test
+    void testRun_RejectsCheckpointForDifferentRoster() {
+        Path checkpoint = tempDir.resolve("status.ckpt");
+        AcademicStatusJob first = new AcademicStatusJob(new CrashingRepository(repository, 1), calculator, pool, 100);
+        first.setCheckpointFile(checkpoint);
+        assertThrows(IllegalStateException.class, () -> first.run(roster));
+
+        AcademicStatusJob second = new AcademicStatusJob(repository, calculator, pool, 100);
+        second.setCheckpointFile(checkpoint);
+        assertThrows(IllegalStateException.class, () -> second.run(roster.subList(0, 10)));
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new AcademicStatusJob(repository, calculator, pool, 0));
+    }
+
+    /**
+     * Repository yang gagal setelah sejumlah batch, mensimulasikan crash di tengah job
+     */
+    private static final class CrashingRepository implements StudentRepository {
+        private final StudentRepository delegate;
+        private final AtomicInteger remaining;
+
+        CrashingRepository(StudentRepository delegate, int successfulBatches) {
+            this.delegate = delegate;
+            this.remaining = new AtomicInteger(successfulBatches);
+        }
+
+        @Override
+        public void update(Student student) {
+            delegate.update(student);
+        }
+
+        @Override
+        public void updateAll(Collection<Student> students) {
+            if (remaining.getAndDecrement() <= 0) {
+                throw new IllegalStateException("Simulated crash");
+            }
+            delegate.updateAll(students);
+        }
+
+        @Override
+        public List<Course> getCompletedCourses(String studentId) {
+            return delegate.getCompletedCourses(studentId);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test untuk AsyncNotificationService menggunakan fake SMTP sink lokal.
+ */
+class AsyncNotificationServiceTest {
+
+    /**
+     * Fake SMTP sink: mencatat setiap pesan dan mensimulasikan relay email yang lambat.
+     */
+    static class FakeSmtpSink implements NotificationService {
+        final List<String> delivered = new CopyOnWriteArrayList<>();
+        final long latencyMs;
+        final CountDownLatch gate;
+
+        FakeSmtpSink(long latencyMs, CountDownLatch gate) {
+            this.latencyMs = latencyMs;
+            this.gate = gate;
+        }
+
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+            await();
+            delivered.add(email + "|" + subject + "|" + message);
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+            await();
+            delivered.add(phone + "|" + message);
+        }
+
+        private void await() {
+            try {
+                if (gate != null) {
+                    gate.await();
+                }
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Test
+    void testAllMessagesDeliveredOnClose() {
+        FakeSmtpSink sink = new FakeSmtpSink(1, null);
+        AsyncNotificationService service = new AsyncNotificationService(sink, 100, 4, 10,
+                AsyncNotificationService.BackpressurePolicy.BLOCK);
+
+        for (int i = 0; i < 50; i++) {
+            service.sendEmail("s" + i + "@mail.com", "Subject", "Message " + i);
+        }
+        service.sendSMS("0812", "Halo");
+        service.close();
+
+        assertEquals(51, sink.delivered.size());
+        assertEquals(51, service.getSentCount());
+        assertEquals(0, service.getQueueDepth());
+        assertTrue(service.getMaxSendLatencyNanos() > 0);
+        assertTrue(service.getAverageSendLatencyNanos() > 0);
+        assertThrows(IllegalStateException.class, () -> service.sendEmail("a@mail.com", "s", "m"));
+    }
+
+    /**
+     * Latensi enrollCourse tidak boleh bergantung pada latensi relay email.
+     */
+    @Test
+    void testEnrollmentLatencyIndependentOfMailChannel() {
+        FakeSmtpSink slowSink = new FakeSmtpSink(2_000, null);
+        AsyncNotificationService notifications = new AsyncNotificationService(slowSink, 100, 1, 10,
+                AsyncNotificationService.BackpressurePolicy.DROP);
+
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        when(studentRepository.findById("S1")).thenReturn(
+                new Student("S1", "Budi", "budi@mail.com", "IF", 3, 3.5, "ACTIVE"));
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(
+                new Course("CS101", "Pemrograman Dasar", 3, 40, 0, "A"));
+        when(courseRepository.isPrerequisiteMet("S1", "CS101")).thenReturn(true);
+        EnrollmentService enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                notifications, new GradeCalculator());
+
+        long start = System.nanoTime();
+        enrollmentService.enrollCourse("S1", "CS101");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 1_000, "Enrollment must not wait for the mail relay");
+        assertEquals(1, notifications.getEnqueuedCount());
+        notifications.close();
+        assertEquals(1, slowSink.delivered.size());
+    }
+
+    @Test
+    void testDropPolicy_DiscardsWhenQueueFull() {
+        CountDownLatch gate = new CountDownLatch(1);
+        FakeSmtpSink sink = new FakeSmtpSink(0, gate);
+        AsyncNotificationService service = new AsyncNotificationService(sink, 2, 1, 1,
+                AsyncNotificationService.BackpressurePolicy.DROP);
+
+        // 1 pesan ditahan worker, 2 mengisi antrian, sisanya dibuang
+        for (int i = 0; i < 10; i++) {
+            service.sendEmail("s@mail.com", "Subject", "Message " + i);
+        }
+        gate.countDown();
+        service.close();
+
+        assertTrue(service.getDroppedCount() > 0);
+        assertEquals(10, service.getSentCount() + service.getDroppedCount());
+        assertEquals(service.getSentCount(), sink.delivered.size());
+    }
+
+    @Test
+    void testSpillToDiskPolicy_ReplaysSpilledMessages(@TempDir Path tempDir) {
+        CountDownLatch gate = new CountDownLatch(1);
+        FakeSmtpSink sink = new FakeSmtpSink(0, gate);
+        AsyncNotificationService service = new AsyncNotificationService(sink, 2, 1, 1,
+                AsyncNotificationService.BackpressurePolicy.SPILL_TO_DISK, tempDir.resolve("spill.bin"));
+
+        for (int i = 0; i < 10; i++) {
+            service.sendEmail("s@mail.com", "Subject", "Message " + i);
+        }
+        assertTrue(service.getSpilledCount() > 0);
+        gate.countDown();
+        service.close();
+
+        assertEquals(0, service.getDroppedCount());
+        assertEquals(0, service.getPendingSpillCount());
+        assertEquals(10, sink.delivered.size());
+    }
+
+    /**
+     * Pesan spill harus tetap terkirim walaupun antrian terus terisi pesan baru.
+     */
+    @Test
+    void testSpillToDiskPolicy_ReplaysUnderSustainedLoad(@TempDir Path tempDir) throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        FakeSmtpSink sink = new FakeSmtpSink(0, gate);
+        AsyncNotificationService service = new AsyncNotificationService(sink, 4, 1, 2,
+                AsyncNotificationService.BackpressurePolicy.SPILL_TO_DISK, tempDir.resolve("spill.bin"));
+        for (int i = 0; i < 20; i++) {
+            service.sendEmail("early@mail.com", "Subject", "Message " + i);
+        }
+        assertTrue(service.getSpilledCount() > 0);
+        gate.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sink.delivered.stream().filter(m -> m.startsWith("early@")).count() < 20
+                && System.nanoTime() < deadline) {
+            service.sendEmail("live@mail.com", "Subject", "Live");
+            Thread.sleep(1);
+        }
+        assertEquals(20, sink.delivered.stream().filter(m -> m.startsWith("early@")).count(),
+                "Pesan spill tidak boleh menunggu antrian kosong");
+        service.close();
+        assertEquals(service.getEnqueuedCount() + service.getSpilledCount(), sink.delivered.size());
+    }
+
+    /**
+     * Sisa spill dari proses yang crash dikirim ulang, record terakhir yang terpotong dikarantina.
+     */
+    @Test
+    void testSpillToDiskPolicy_TornRecordAfterCrashIsQuarantined(@TempDir Path tempDir) throws Exception {
+        Path spillFile = tempDir.resolve("spill.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(spillFile))) {
+            for (int i = 0; i < 2; i++) {
+                out.writeByte(0);
+                out.writeUTF("s" + i + "@mail.com");
+                out.writeUTF("Subject");
+                out.writeUTF("Message");
+            }
+            out.writeByte(0);
+            out.writeShort(40); // Panjang string tanpa isi, record terpotong
+        }
+        FakeSmtpSink sink = new FakeSmtpSink(0, null);
+
+        AsyncNotificationService service = new AsyncNotificationService(sink, 4, 1, 2,
+                AsyncNotificationService.BackpressurePolicy.SPILL_TO_DISK, spillFile);
+        service.close();
+
+        assertEquals(List.of("s0@mail.com|Subject|Message", "s1@mail.com|Subject|Message"), sink.delivered);
+        assertEquals(1, service.getSpillErrorCount());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.filter(f -> f.getFileName().toString().startsWith("spill.bin.corrupt-")).count());
+        }
+    }
+
+    /**
+     * File spill yang rusak saat berjalan dikarantina, worker tetap hidup dan producer BLOCK tidak macet.
+     */
+    @Test
+    void testSpillToDiskPolicy_CorruptSpillDoesNotKillWorker(@TempDir Path tempDir) throws Exception {
+        Path spillFile = tempDir.resolve("spill.bin");
+        CountDownLatch gate = new CountDownLatch(1);
+        FakeSmtpSink sink = new FakeSmtpSink(0, gate);
+        AsyncNotificationService service = new AsyncNotificationService(sink, 1, 1, 1,
+                AsyncNotificationService.BackpressurePolicy.SPILL_TO_DISK, spillFile);
+        for (int i = 0; i < 5; i++) {
+            service.sendEmail("s@mail.com", "Subject", "Message " + i);
+        }
+        long spilled = service.getSpilledCount();
+        assertTrue(spilled > 0);
+        try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{7}), 0); // Channel tidak dikenal
+        }
+
+        gate.countDown();
+        service.close();
+
+        assertEquals(1, service.getSpillErrorCount());
+        assertEquals(spilled, service.getDroppedCount());
+        assertEquals(0, service.getPendingSpillCount());
+        assertEquals(5 - spilled, sink.delivered.size());
+    }
+
+    @Test
+    void testDelegateFailureIsCountedAndDoesNotStopWorker() {
+        NotificationService failing = mock(NotificationService.class);
+        doThrow(new RuntimeException("SMTP down")).doNothing()
+                .when(failing).sendEmail(anyString(), anyString(), anyString());
+        AsyncNotificationService service = new AsyncNotificationService(failing, 10, 1, 5,
+                AsyncNotificationService.BackpressurePolicy.BLOCK);
+
+        service.sendEmail("a@mail.com", "s", "m1");
+        service.sendEmail("b@mail.com", "s", "m2");
+        service.close();
+
+        assertEquals(1, service.getFailedCount());
+        assertEquals(1, service.getSentCount());
+    }
+
+    @Test
+    void testConstructor_InvalidArguments() {
+        NotificationService delegate = mock(NotificationService.class);
+        assertThrows(IllegalArgumentException.class, () -> new AsyncNotificationService(null, 1, 1, 1,
+                AsyncNotificationService.BackpressurePolicy.DROP));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncNotificationService(delegate, 0, 1, 1,
+                AsyncNotificationService.BackpressurePolicy.DROP));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncNotificationService(delegate, 1, 1, 1,
+                AsyncNotificationService.BackpressurePolicy.SPILL_TO_DISK));
+    }
+}
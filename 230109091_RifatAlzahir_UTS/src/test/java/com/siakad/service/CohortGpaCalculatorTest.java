@@ -0,0 +1,126 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk CohortGpaCalculator, membandingkan hasil massal dengan GradeCalculator.calculateGPA.
+ */
+class CohortGpaCalculatorTest {
+
+    private static final double[] GRADE_POINTS = {0.0, 1.0, 1.7, 2.0, 2.3, 2.7, 3.0, 3.3, 3.7, 4.0};
+
+    private final GradeCalculator calculator = new GradeCalculator();
+
+    @Test
+    void testSmallCohort() {
+        int[] students = {0, 0, 2};
+        int[] credits = {3, 2, 4};
+        double[] gradePoints = {4.0, 3.0, 2.0};
+
+        double[] gpa = new CohortGpaCalculator().calculateGPAs(3, students, credits, gradePoints);
+
+        assertArrayEquals(new double[]{3.60, 0.0, 2.0}, gpa);
+    }
+
+    @Test
+    void testEmptyInput() {
+        double[] gpa = new CohortGpaCalculator().calculateGPAs(2, new int[0], new int[0], new double[0]);
+
+        assertArrayEquals(new double[]{0.0, 0.0}, gpa);
+    }
+
+    /**
+     * Data acak dalam jumlah besar (terurut maupun tidak) harus identik dengan calculateGPA per mahasiswa.
+     */
+    @Test
+    void testLargeCohort_IdenticalToCalculateGPA() {
+        int studentCount = 5_000;
+        int rows = 300_000;
+        Random random = new Random(7L);
+        int[] students = new int[rows];
+        int[] credits = new int[rows];
+        double[] gradePoints = new double[rows];
+        List<List<CourseGrade>> transcripts = new ArrayList<>();
+        for (int s = 0; s < studentCount; s++) {
+            transcripts.add(new ArrayList<>());
+        }
+        for (int row = 0; row < rows; row++) {
+            // Separuh pertama terurut per mahasiswa, separuh kedua acak
+            students[row] = row < rows / 2 ? (int) ((long) row * studentCount / (rows / 2)) : random.nextInt(studentCount);
+            credits[row] = 1 + random.nextInt(4);
+            gradePoints[row] = GRADE_POINTS[random.nextInt(GRADE_POINTS.length)];
+            transcripts.get(students[row]).add(new CourseGrade("MK" + row, credits[row], gradePoints[row]));
+        }
+
+        assertIdenticalToCalculateGPA(studentCount, students, credits, gradePoints, transcripts);
+    }
+
+    /**
+     * Angkatan besar dengan sedikit baris acak: setiap potongan memakai hasil jarang,
+     * bukan array seukuran seluruh angkatan.
+     */
+    @Test
+    void testUnsortedSparseRows_IdenticalToCalculateGPA() {
+        int studentCount = 2_000_000;
+        int rows = 270_000;
+        Random random = new Random(11L);
+        int[] students = new int[rows];
+        int[] credits = new int[rows];
+        double[] gradePoints = new double[rows];
+        List<List<CourseGrade>> transcripts = new ArrayList<>();
+        for (int s = 0; s < studentCount; s++) {
+            transcripts.add(null);
+        }
+        for (int row = 0; row < rows; row++) {
+            // Satu dari tiga baris jatuh ke 1000 mahasiswa pertama agar ada mahasiswa di beberapa potongan
+            students[row] = row % 3 == 0 ? random.nextInt(1_000) : random.nextInt(studentCount);
+            credits[row] = 1 + random.nextInt(4);
+            gradePoints[row] = GRADE_POINTS[random.nextInt(GRADE_POINTS.length)];
+            if (transcripts.get(students[row]) == null) {
+                transcripts.set(students[row], new ArrayList<>());
+            }
+            transcripts.get(students[row]).add(new CourseGrade("MK" + row, credits[row], gradePoints[row]));
+        }
+
+        assertIdenticalToCalculateGPA(studentCount, students, credits, gradePoints, transcripts);
+    }
+
+    private void assertIdenticalToCalculateGPA(int studentCount, int[] students, int[] credits, double[] gradePoints,
+                                               List<List<CourseGrade>> transcripts) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        double[] gpa;
+        try {
+            gpa = new CohortGpaCalculator(pool).calculateGPAs(studentCount, students, credits, gradePoints);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int s = 0; s < studentCount; s++) {
+            List<CourseGrade> transcript = transcripts.get(s);
+            double expected = transcript == null ? 0.0 : calculator.calculateGPA(transcript);
+            assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(gpa[s]), "IPK mahasiswa " + s);
+        }
+    }
+
+    @Test
+    void testInvalidInput() {
+        CohortGpaCalculator cohort = new CohortGpaCalculator();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                cohort.calculateGPAs(1, new int[]{0}, new int[]{3}, new double[]{4.5}));
+        assertThrows(IllegalArgumentException.class, () ->
+                cohort.calculateGPAs(1, new int[]{1}, new int[]{3}, new double[]{3.0}));
+        assertThrows(IllegalArgumentException.class, () ->
+                cohort.calculateGPAs(1, new int[]{0}, new int[]{3, 2}, new double[]{3.0}));
+        assertThrows(IllegalArgumentException.class, () ->
+                cohort.calculateGPAs(-1, new int[0], new int[0], new double[0]));
+    }
+}
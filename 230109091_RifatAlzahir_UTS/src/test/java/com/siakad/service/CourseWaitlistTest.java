@@ -0,0 +1,115 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk CourseWaitlist.
+ */
+class CourseWaitlistTest {
+
+    @Test
+    void testJoinAndPoll_FifoOrder() {
+        CourseWaitlist waitlist = new CourseWaitlist();
+
+        assertEquals(1, waitlist.join("CS101", "S1"));
+        assertEquals(2, waitlist.join("CS101", "S2"));
+        assertEquals(1, waitlist.join("MA101", "S3"));
+
+        assertEquals("S1", waitlist.poll("CS101"));
+        assertEquals("S2", waitlist.poll("CS101"));
+        assertNull(waitlist.poll("CS101"));
+        assertEquals(1, waitlist.size("MA101"));
+    }
+
+    @Test
+    void testJoinTwice_KeepsOriginalPosition() {
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.join("CS101", "S1");
+        waitlist.join("CS101", "S2");
+
+        assertEquals(1, waitlist.join("CS101", "S1"));
+        assertEquals(2, waitlist.size("CS101"));
+    }
+
+    @Test
+    void testLeave_SkippedWhenPolled() {
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.join("CS101", "S1");
+        waitlist.join("CS101", "S2");
+        waitlist.join("CS101", "S3");
+
+        assertTrue(waitlist.leave("CS101", "S1"));
+        assertFalse(waitlist.leave("CS101", "S1"));
+        assertEquals(1, waitlist.position("CS101", "S2"));
+        assertEquals(-1, waitlist.position("CS101", "S1"));
+
+        // Join ulang setelah leave masuk ke belakang antrian
+        assertEquals(3, waitlist.join("CS101", "S1"));
+        assertEquals("S2", waitlist.poll("CS101"));
+        assertEquals("S3", waitlist.poll("CS101"));
+        assertEquals("S1", waitlist.poll("CS101"));
+        assertTrue(waitlist.isEmpty("CS101"));
+    }
+
+    @Test
+    void testRequeueFirst_RestoresPlaceAtHead() {
+        CourseWaitlist waitlist = new CourseWaitlist(2);
+        waitlist.join("CS101", "S1");
+        waitlist.join("CS101", "S2");
+        assertEquals("S1", waitlist.poll("CS101"));
+        waitlist.join("CS101", "S3");
+
+        assertTrue(waitlist.requeueFirst("CS101", "S1"));
+        assertFalse(waitlist.requeueFirst("CS101", "S2"));
+        assertEquals(1, waitlist.position("CS101", "S1"));
+        assertEquals(3, waitlist.position("CS101", "S3"));
+        assertEquals(3, waitlist.size("CS101"));
+        assertEquals("S1", waitlist.poll("CS101"));
+        assertEquals("S2", waitlist.poll("CS101"));
+    }
+
+    @Test
+    void testJoin_RejectedWhenWaitlistFull() {
+        CourseWaitlist waitlist = new CourseWaitlist(2);
+        waitlist.join("CS101", "S1");
+        waitlist.join("CS101", "S2");
+
+        assertEquals(-1, waitlist.join("CS101", "S3"));
+        assertFalse(waitlist.contains("CS101", "S3"));
+        assertThrows(IllegalArgumentException.class, () -> new CourseWaitlist(0));
+    }
+
+    @Test
+    void testConcurrentJoinAndPoll_EveryStudentPromotedOnce() throws InterruptedException {
+        CourseWaitlist waitlist = new CourseWaitlist();
+        Set<String> polled = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 2_000; i++) {
+            String studentId = "S" + i;
+            pool.execute(() -> {
+                waitlist.join("CS101", studentId);
+                String next = waitlist.poll("CS101");
+                if (next != null) {
+                    assertTrue(polled.add(next));
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        String rest;
+        while ((rest = waitlist.poll("CS101")) != null) {
+            assertTrue(polled.add(rest));
+        }
+
+        assertEquals(2_000, polled.size());
+        assertEquals(0, waitlist.size("CS101"));
+    }
+}
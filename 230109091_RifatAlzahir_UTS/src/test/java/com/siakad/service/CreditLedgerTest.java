@@ -0,0 +1,92 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk CreditLedger.
+ */
+class CreditLedgerTest {
+
+    @Test
+    void testTryCharge_EnforcesLimit() {
+        CreditLedger ledger = new CreditLedger();
+
+        assertTrue(ledger.tryCharge("S1", "IF101", 3, 6));
+        assertTrue(ledger.tryCharge("S1", "IF102", 3, 6));
+        assertFalse(ledger.tryCharge("S1", "IF103", 1, 6));
+        assertEquals(6, ledger.getCredits("S1"));
+        assertEquals(0, ledger.getCredits("S2"));
+    }
+
+    @Test
+    void testRelease_OnlyRefundsChargedCourse() {
+        CreditLedger ledger = new CreditLedger();
+        ledger.restoreCharge("S1", "IF101", 4);
+
+        assertEquals(0, ledger.release("S1", "IF102"));
+        assertEquals(4, ledger.getCredits("S1"));
+        assertEquals(4, ledger.release("S1", "IF101"));
+        assertEquals(0, ledger.getCredits("S1"));
+        assertEquals(0, ledger.release("S1", "IF101"));
+        assertEquals(0, ledger.release("S9", "IF101"));
+        assertEquals(0, ledger.getCredits("S9"));
+    }
+
+    /**
+     * Perubahan SKS mata kuliah setelah enroll tidak boleh mengubah jumlah yang dikembalikan.
+     */
+    @Test
+    void testRelease_RefundsChargedAmount() {
+        CreditLedger ledger = new CreditLedger();
+        assertTrue(ledger.tryCharge("S1", "IF101", 3, 24));
+        assertTrue(ledger.tryCharge("S1", "IF101", 4, 24));
+        assertTrue(ledger.tryCharge("S1", "IF102", 2, 24));
+
+        assertEquals(3, ledger.release("S1", "IF101"));
+        assertEquals(4, ledger.release("S1", "IF101"));
+        assertEquals(2, ledger.getCredits("S1"));
+    }
+
+    @Test
+    void testRejectsNegativeCredits() {
+        CreditLedger ledger = new CreditLedger();
+
+        assertThrows(IllegalArgumentException.class, () -> ledger.tryCharge("S1", "IF101", -1, 24));
+        assertThrows(IllegalArgumentException.class, () -> ledger.restoreCharge("S1", "IF101", -1));
+    }
+
+    @Test
+    void testTryCharge_ConcurrentRequestsNeverExceedLimit() throws InterruptedException {
+        CreditLedger ledger = new CreditLedger();
+        int threads = 8;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (ledger.tryCharge("S1", "MK" + thread + "-" + i, 3, 24)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8, accepted.get());
+        assertEquals(24, ledger.getCredits("S1"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk EnrollmentIdGenerator.
+ */
+class EnrollmentIdGeneratorTest {
+
+    private static final long NOW = 1_760_000_000_000L;
+
+    @Test
+    void testSameMillisecond_UniqueAndIncreasing() {
+        EnrollmentIdGenerator generator = new EnrollmentIdGenerator(7, () -> NOW);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+        assertEquals(NOW, EnrollmentIdGenerator.timestampOf(first));
+        assertEquals(7, (first >>> EnrollmentIdGenerator.SEQUENCE_BITS) & EnrollmentIdGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    void testClockMovesBackwards_StaysMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        EnrollmentIdGenerator generator = new EnrollmentIdGenerator(1, clock::get);
+
+        long beforeJump = generator.nextId();
+        clock.set(NOW - 5_000);
+        long afterJump = generator.nextId();
+        clock.set(NOW + 1);
+        long recovered = generator.nextId();
+
+        assertTrue(afterJump > beforeJump);
+        assertTrue(recovered > afterJump);
+    }
+
+    @Test
+    void testSequenceExhausted_BorrowsNextMillisecond() {
+        EnrollmentIdGenerator generator = new EnrollmentIdGenerator(0, () -> NOW);
+
+        long previous = -1;
+        for (int i = 0; i <= EnrollmentIdGenerator.SEQUENCE_MASK + 10; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(NOW + 1, EnrollmentIdGenerator.timestampOf(previous));
+    }
+
+    @Test
+    void testFormat_FixedWidthAndSortable() {
+        EnrollmentIdGenerator generator = new EnrollmentIdGenerator(3, () -> NOW);
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(generator.nextEnrollmentId());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i).startsWith(EnrollmentIdGenerator.PREFIX));
+            assertEquals(ids.get(0).length(), ids.get(i).length());
+            assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0, "String ID harus terurut");
+        }
+        assertEquals("ENR-0000000000000", EnrollmentIdGenerator.format(0));
+        assertTrue(EnrollmentIdGenerator.format(Long.MAX_VALUE).compareTo(EnrollmentIdGenerator.format(1L << 40)) > 0);
+    }
+
+    @Test
+    void testLowerBoundAt_RangeScan() {
+        EnrollmentIdGenerator generator = new EnrollmentIdGenerator(1023, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertTrue(id >= EnrollmentIdGenerator.lowerBoundAt(NOW));
+        assertTrue(id < EnrollmentIdGenerator.lowerBoundAt(NOW + 1));
+    }
+
+    @Test
+    void testInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new EnrollmentIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new EnrollmentIdGenerator(1024));
+    }
+
+    /**
+     * Banyak thread membuat ID bersamaan tanpa duplikat.
+     */
+    @Test
+    void testConcurrentGeneration_NoDuplicates() throws InterruptedException {
+        EnrollmentIdGenerator generator = new EnrollmentIdGenerator(5);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 50_000;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                long previous = -1;
+                for (int i = 0; i < perThread; i++) {
+                    long id = generator.nextId();
+                    assertTrue(id > previous, "ID per thread harus naik");
+                    previous = id;
+                    ids.add(id);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, ids.size());
+    }
+}
@@ -1,18 +1,40 @@
 package com.siakad.service;
 
 import com.siakad.exception.*;
+import com.siakad.metrics.InMemoryMetricsRegistry;
 import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentResult;
+import com.siakad.model.RejectionReason;
 import com.siakad.model.Student;
+import com.siakad.model.TimeSlot;
 import com.siakad.repository.CourseRepository;
+import com.siakad.repository.EnrollmentIndex;
+import com.siakad.repository.EnrollmentJournal;
 import com.siakad.repository.StudentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -79,6 +101,167 @@ class EnrollmentServiceTest {
         verify(notificationService, times(1)).sendEmail(anyString(), anyString(), anyString());
     }
 
+    @Test
+    void testEnrollCourse_SameMillisecond_UniqueEnrollmentIds() {
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+        enrollmentService.setEnrollmentIdGenerator(new EnrollmentIdGenerator(1, () -> 1_760_000_000_000L));
+
+        Enrollment first = enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        Enrollment second = enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+
+        assertNotEquals(first.getEnrollmentId(), second.getEnrollmentId());
+        assertTrue(first.getEnrollmentId().startsWith("ENR-"));
+    }
+
+    @Test
+    void testEnrollAndDrop_RecordedInJournal(@TempDir Path tempDir) {
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), 1 << 16)) {
+            enrollmentService.setEnrollmentJournal(journal);
+
+            Enrollment enrollment = enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+            enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+            enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+
+            assertEquals(journal.getWritePosition(), journal.getDurablePosition());
+            assertEquals(1, journal.rebuildSeatCounts().get(VALID_COURSE_CODE));
+            List<EnrollmentJournal.JournalRecord> records = new ArrayList<>();
+            journal.replay(records::add);
+            assertEquals(enrollment.getEnrollmentId(), records.get(0).enrollmentId());
+        }
+    }
+
+    @Test
+    void testEnrollCourse_JournalFailure_ReleasesSeat(@TempDir Path tempDir) {
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+        EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("closed.wal"), 1 << 16);
+        journal.close();
+        enrollmentService.setEnrollmentJournal(journal);
+
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+        assertEquals(30, validCourse.getEnrolledCount());
+        verifyNoInteractions(notificationService);
+    }
+
+    /**
+     * Record sudah tertulis ketika penantian fsync di-interrupt, journal harus ikut di-rollback
+     */
+    @Test
+    void testEnrollCourse_InterruptedWhileAwaitingJournal_ReplayMatchesRollback(@TempDir Path tempDir) {
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), 1 << 16,
+                1, TimeUnit.HOURS)) {
+            enrollmentService.setEnrollmentJournal(journal);
+
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(EnrollmentException.class, () ->
+                        enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+            } finally {
+                assertTrue(Thread.interrupted());
+            }
+
+            assertEquals(30, validCourse.getEnrolledCount());
+            journal.awaitDurable(journal.getWritePosition());
+            List<EnrollmentJournal.Status> statuses = new ArrayList<>();
+            journal.replay(record -> statuses.add(record.status()));
+            assertEquals(List.of(EnrollmentJournal.Status.ENROLLED, EnrollmentJournal.Status.DROPPED), statuses);
+            assertEquals(0, journal.rebuildSeatCounts().getOrDefault(VALID_COURSE_CODE, 0));
+        }
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testDropCourse_InterruptedWhileAwaitingJournal_ReplayMatchesRollback(@TempDir Path tempDir) {
+        validCourse.setEnrolledCount(40);
+        EnrollmentIndex index = new EnrollmentIndex();
+        index.add(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        enrollmentService.setEnrollmentIndex(index);
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.join(VALID_COURSE_CODE, "S2");
+        enrollmentService.setCourseWaitlist(waitlist);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(studentRepository.findById("S2")).thenReturn(
+                new Student("S2", "Sari", "sari@mail.com", "IF", 3, 3.0, "ACTIVE"));
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet("S2", VALID_COURSE_CODE)).thenReturn(true);
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), 1 << 16,
+                1, TimeUnit.HOURS)) {
+            enrollmentService.setEnrollmentJournal(journal);
+
+            Thread.currentThread().interrupt();
+            try {
+                assertThrows(EnrollmentException.class, () ->
+                        enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+            } finally {
+                assertTrue(Thread.interrupted());
+            }
+
+            // Replay journal ke index baru harus menghasilkan keadaan yang sama dengan rollback
+            journal.awaitDurable(journal.getWritePosition());
+            EnrollmentIndex replayed = new EnrollmentIndex();
+            replayed.add(VALID_STUDENT_ID, VALID_COURSE_CODE);
+            replayed.replay(journal, journal.getStartPosition());
+            assertTrue(replayed.contains(VALID_STUDENT_ID, VALID_COURSE_CODE));
+            assertFalse(replayed.contains("S2", VALID_COURSE_CODE));
+            assertTrue(index.contains(VALID_STUDENT_ID, VALID_COURSE_CODE));
+            assertFalse(index.contains("S2", VALID_COURSE_CODE));
+            assertEquals(0, journal.rebuildSeatCounts().getOrDefault(VALID_COURSE_CODE, 0));
+            assertEquals(40, validCourse.getEnrolledCount());
+            assertEquals(1, waitlist.position(VALID_COURSE_CODE, "S2"));
+        }
+        verifyNoInteractions(notificationService);
+    }
+
+    /**
+     * Stress test: banyak thread mendaftar ke satu mata kuliah populer secara bersamaan.
+     * Tidak boleh ada oversell, dan setiap penolakan harus berupa CourseFullException.
+     */
+    @Test
+    void testEnrollCourse_ConcurrentHotCourseNoOversell() throws InterruptedException {
+        final int capacity = 500;
+        final int threads = 8;
+        final int attemptsPerThread = 200;
+        validCourse.setCapacity(capacity);
+        validCourse.setEnrolledCount(0);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+                        enrolled.incrementAndGet();
+                    } catch (CourseFullException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(capacity, enrolled.get());
+        assertEquals(threads * attemptsPerThread - capacity, rejected.get());
+        assertEquals(capacity, validCourse.getEnrolledCount());
+        verify(courseRepository, times(capacity)).update(validCourse);
+    }
+
     // --- Test Exception enrollCourse ---
 
     @Test
@@ -137,6 +320,91 @@ class EnrollmentServiceTest {
                 enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
     }
 
+    //---------------------------------------------------------
+    // TEST METHOD: enrollCourses (batch KRS)
+    //---------------------------------------------------------
+
+    /**
+     * Skenario batch: satu sukses, satu penuh, satu prasyarat gagal, satu tidak ditemukan,
+     * satu duplikat. Repository hanya dipanggil sekali per jenis operasi.
+     */
+    @Test
+    void testEnrollCourses_MixedResults() {
+        Course fullCourse = new Course("CS102", "Struktur Data", 3, 10, 10, "B");
+        Course prereqCourse = new Course("CS201", "Basis Data", 3, 40, 0, "C");
+        Map<String, Course> found = new LinkedHashMap<>();
+        found.put(VALID_COURSE_CODE, validCourse);
+        found.put("CS102", fullCourse);
+        found.put("CS201", prereqCourse);
+
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCodes(any())).thenReturn(found);
+        when(courseRepository.findCoursesWithPrerequisitesMet(eq(VALID_STUDENT_ID), any()))
+                .thenReturn(Set.of(VALID_COURSE_CODE));
+
+        List<EnrollmentResult> results = enrollmentService.enrollCourses(VALID_STUDENT_ID,
+                Arrays.asList(VALID_COURSE_CODE, "CS102", "CS201", "MK999", VALID_COURSE_CODE));
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(VALID_COURSE_CODE, results.get(0).courseCode());
+        assertEquals(RejectionReason.COURSE_FULL, ((EnrollmentResult.Rejected) results.get(1)).reason());
+        assertEquals(RejectionReason.PREREQUISITE_NOT_MET, ((EnrollmentResult.Rejected) results.get(2)).reason());
+        assertEquals(RejectionReason.COURSE_NOT_FOUND, ((EnrollmentResult.Rejected) results.get(3)).reason());
+        assertEquals(RejectionReason.DUPLICATE_REQUEST, ((EnrollmentResult.Rejected) results.get(4)).reason());
+
+        assertEquals(31, validCourse.getEnrolledCount());
+        assertEquals(0, prereqCourse.getEnrolledCount());
+        verify(studentRepository, times(1)).findById(VALID_STUDENT_ID);
+        verify(courseRepository, times(1)).findByCourseCodes(any());
+        verify(courseRepository, times(1)).updateAll(List.of(validCourse));
+        verify(courseRepository, never()).update(any());
+        verify(notificationService, times(1)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testEnrollCourses_NothingEnrolled_NoUpdateNoNotification() {
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCodes(any())).thenReturn(Map.of());
+
+        List<EnrollmentResult> results = enrollmentService.enrollCourses(VALID_STUDENT_ID, List.of("MK999"));
+
+        assertFalse(results.get(0).isSuccess());
+        verify(courseRepository, never()).updateAll(any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testEnrollCourses_UpdateFails_ReleasesSeats() {
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCodes(any())).thenReturn(Map.of(VALID_COURSE_CODE, validCourse));
+        when(courseRepository.findCoursesWithPrerequisitesMet(eq(VALID_STUDENT_ID), any()))
+                .thenReturn(Set.of(VALID_COURSE_CODE));
+        doThrow(new IllegalStateException("db down")).when(courseRepository).updateAll(any());
+
+        assertThrows(IllegalStateException.class, () ->
+                enrollmentService.enrollCourses(VALID_STUDENT_ID, List.of(VALID_COURSE_CODE)));
+        assertEquals(30, validCourse.getEnrolledCount());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testEnrollCourses_ThrowsStudentNotFoundException() {
+        when(studentRepository.findById(anyString())).thenReturn(null);
+
+        assertThrows(StudentNotFoundException.class, () ->
+                enrollmentService.enrollCourses("S999", List.of(VALID_COURSE_CODE)));
+    }
+
+    @Test
+    void testEnrollCourses_ThrowsEnrollmentException_Suspended() {
+        validStudent.setAcademicStatus("SUSPENDED");
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.enrollCourses(VALID_STUDENT_ID, List.of(VALID_COURSE_CODE)));
+    }
+
     //---------------------------------------------------------
     // TEST METHOD: validateCreditLimit
     //---------------------------------------------------------
@@ -161,6 +429,18 @@ class EnrollmentServiceTest {
         assertFalse(enrollmentService.validateCreditLimit(VALID_STUDENT_ID, 18));
     }
 
+    @Test
+    void testValidateCreditLimit_CountsLedgerCredits() {
+        CreditLedger ledger = new CreditLedger();
+        ledger.restoreCharge(VALID_STUDENT_ID, "CS099", 6);
+        enrollmentService.setCreditLedger(ledger);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(gradeCalculator.calculateMaxCredits(validStudent.getGpa())).thenReturn(15);
+
+        assertTrue(enrollmentService.validateCreditLimit(VALID_STUDENT_ID, 9));
+        assertFalse(enrollmentService.validateCreditLimit(VALID_STUDENT_ID, 12));
+    }
+
     @Test
     void testValidateCreditLimit_ThrowsStudentNotFound() {
         // Setup: Student tidak ditemukan
@@ -194,6 +474,21 @@ class EnrollmentServiceTest {
         verify(notificationService, times(1)).sendEmail(anyString(), anyString(), anyString());
     }
 
+    @Test
+    void testDropCourse_ThrowsEnrollmentException_NoEnrolledSeat() {
+        // Setup: Tidak ada peserta, enrolledCount tidak boleh menjadi negatif
+        validCourse.setEnrolledCount(0);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+
+        // Eksekusi dan Verifikasi Exception
+        assertThrows(EnrollmentException.class, () ->
+                enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+        assertEquals(0, validCourse.getEnrolledCount());
+        verify(courseRepository, never()).update(any());
+        verifyNoInteractions(notificationService);
+    }
+
     @Test
     void testDropCourse_ThrowsStudentNotFoundException() {
         // Setup Mocking: Student tidak ditemukan
@@ -214,4 +509,569 @@ class EnrollmentServiceTest {
         assertThrows(CourseNotFoundException.class, () ->
                 enrollmentService.dropCourse(VALID_STUDENT_ID, "MK999"));
     }
-}
\ No newline at end of file
+
+    //---------------------------------------------------------
+    // TEST METHOD: enrollOrWaitlist & promosi waitlist
+    //---------------------------------------------------------
+
+    @Test
+    void testEnrollOrWaitlist_FullCourse_JoinsWaitlist() {
+        validCourse.setEnrolledCount(40);
+        CourseWaitlist waitlist = new CourseWaitlist();
+        enrollmentService.setCourseWaitlist(waitlist);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+
+        EnrollmentResult result = enrollmentService.enrollOrWaitlist(VALID_STUDENT_ID, VALID_COURSE_CODE);
+
+        assertEquals(new EnrollmentResult.Waitlisted(VALID_COURSE_CODE, VALID_STUDENT_ID, 1), result);
+        assertTrue(waitlist.contains(VALID_COURSE_CODE, VALID_STUDENT_ID));
+        assertEquals(40, validCourse.getEnrolledCount());
+        verify(courseRepository, never()).update(any());
+    }
+
+    @Test
+    void testEnrollOrWaitlist_WithoutWaitlist_ThrowsCourseFullException() {
+        validCourse.setEnrolledCount(40);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+
+        assertThrows(CourseFullException.class, () ->
+                enrollmentService.enrollOrWaitlist(VALID_STUDENT_ID, VALID_COURSE_CODE));
+    }
+
+    @Test
+    void testEnrollOrWaitlist_PrerequisiteNotMet_DoesNotJoin() {
+        validCourse.setEnrolledCount(40);
+        CourseWaitlist waitlist = new CourseWaitlist();
+        enrollmentService.setCourseWaitlist(waitlist);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(false);
+
+        assertThrows(PrerequisiteNotMetException.class, () ->
+                enrollmentService.enrollOrWaitlist(VALID_STUDENT_ID, VALID_COURSE_CODE));
+        assertTrue(waitlist.isEmpty(VALID_COURSE_CODE));
+    }
+
+    @Test
+    void testDropCourse_PromotesWaitlistedStudentIntoFreedSeat() {
+        validCourse.setEnrolledCount(40);
+        Student waiting = new Student("S2", "Sari", "sari@mail.com", "IF", 3, 3.0, "ACTIVE");
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.join(VALID_COURSE_CODE, "S2");
+        enrollmentService.setCourseWaitlist(waitlist);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(studentRepository.findById("S2")).thenReturn(waiting);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet("S2", VALID_COURSE_CODE)).thenReturn(true);
+
+        enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+
+        // Kursi berpindah langsung, tidak pernah terlihat kosong oleh pendaftar lain
+        assertEquals(40, validCourse.getEnrolledCount());
+        assertTrue(waitlist.isEmpty(VALID_COURSE_CODE));
+        verify(courseRepository, times(1)).update(validCourse);
+        verify(notificationService).sendEmail(eq("budi@mail.com"), eq("Course Drop Confirmation"), anyString());
+        verify(notificationService).sendEmail(eq("sari@mail.com"), eq("Waitlist Promotion"), anyString());
+    }
+
+    @Test
+    void testDropCourse_SkipsIneligibleWaitlistedStudents() {
+        validCourse.setEnrolledCount(40);
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.join(VALID_COURSE_CODE, "S2");
+        waitlist.join(VALID_COURSE_CODE, "S3");
+        enrollmentService.setCourseWaitlist(waitlist);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(studentRepository.findById("S2")).thenReturn(
+                new Student("S2", "Sari", "sari@mail.com", "IF", 3, 1.5, "SUSPENDED"));
+        when(studentRepository.findById("S3")).thenReturn(
+                new Student("S3", "Andi", "andi@mail.com", "IF", 3, 3.0, "ACTIVE"));
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet("S3", VALID_COURSE_CODE)).thenReturn(false);
+
+        enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+
+        assertEquals(39, validCourse.getEnrolledCount());
+        assertTrue(waitlist.isEmpty(VALID_COURSE_CODE));
+        verify(notificationService, times(1)).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testPromoteWaitlisted_FillsSeatsInFifoOrder() {
+        validCourse.setCapacity(42);
+        validCourse.setEnrolledCount(40);
+        CourseWaitlist waitlist = new CourseWaitlist();
+        for (String id : List.of("S2", "S3", "S4")) {
+            waitlist.join(VALID_COURSE_CODE, id);
+            lenient().when(studentRepository.findById(id)).thenReturn(
+                    new Student(id, "Mhs " + id, id + "@mail.com", "IF", 3, 3.0, "ACTIVE"));
+        }
+        enrollmentService.setCourseWaitlist(waitlist);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(anyString(), eq(VALID_COURSE_CODE))).thenReturn(true);
+
+        List<Enrollment> promoted = enrollmentService.promoteWaitlisted(VALID_COURSE_CODE);
+
+        assertEquals(List.of("S2", "S3"), promoted.stream().map(Enrollment::getStudentId).toList());
+        assertEquals(42, validCourse.getEnrolledCount());
+        assertEquals(1, waitlist.position(VALID_COURSE_CODE, "S4"));
+    }
+
+    @Test
+    void testPromoteWaitlisted_JournalFailure_KeepsFifoPlace(@TempDir Path tempDir) {
+        validCourse.setCapacity(41);
+        validCourse.setEnrolledCount(40);
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.join(VALID_COURSE_CODE, "S2");
+        waitlist.join(VALID_COURSE_CODE, "S3");
+        enrollmentService.setCourseWaitlist(waitlist);
+        when(studentRepository.findById("S2")).thenReturn(
+                new Student("S2", "Sari", "sari@mail.com", "IF", 3, 3.0, "ACTIVE"));
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet("S2", VALID_COURSE_CODE)).thenReturn(true);
+        EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("closed.wal"), 1 << 16);
+        journal.close();
+        enrollmentService.setEnrollmentJournal(journal);
+
+        assertThrows(EnrollmentException.class, () -> enrollmentService.promoteWaitlisted(VALID_COURSE_CODE));
+
+        // Promosi yang dibatalkan tidak boleh memindahkan S2 ke belakang S3
+        assertEquals(40, validCourse.getEnrolledCount());
+        assertEquals(1, waitlist.position(VALID_COURSE_CODE, "S2"));
+        assertEquals(2, waitlist.position(VALID_COURSE_CODE, "S3"));
+        verifyNoInteractions(notificationService);
+    }
+
+    //---------------------------------------------------------
+    // TEST: metrics
+    //---------------------------------------------------------
+
+    @Test
+    void testMetrics_RecordsStagesAndOutcomes() {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        enrollmentService.setMetricsRegistry(registry, 1);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE))
+                .thenReturn(true).thenReturn(false);
+
+        enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        assertThrows(PrerequisiteNotMetException.class, () ->
+                enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+        when(studentRepository.findById("S999")).thenReturn(null);
+        assertThrows(StudentNotFoundException.class, () -> enrollmentService.enrollCourse("S999", VALID_COURSE_CODE));
+        enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+
+        assertEquals(1, registry.getCount("enrollment.outcome.enrolled"));
+        assertEquals(1, registry.getCount("enrollment.outcome.prerequisite_not_met"));
+        assertEquals(1, registry.getCount("enrollment.outcome.student_not_found"));
+        assertEquals(1, registry.getCount("enrollment.outcome.dropped"));
+        assertEquals(4, registry.getHistogram("enrollment.stage.student_lookup").snapshot().getCount());
+        assertEquals(2, registry.getHistogram("enrollment.stage.prerequisite_check").snapshot().getCount());
+        assertEquals(2, registry.getHistogram("enrollment.stage.course_update").snapshot().getCount());
+        assertEquals(2, registry.getHistogram("enrollment.stage.notification").snapshot().getCount());
+        assertEquals(1, registry.getHistogram("enrollment.enroll").snapshot().getCount());
+    }
+
+    @Test
+    void testMetrics_CourseFullCounted() {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        enrollmentService.setMetricsRegistry(registry, 1);
+        validCourse.setEnrolledCount(40);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+
+        assertThrows(CourseFullException.class, () ->
+                enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+
+        assertEquals(1, registry.getCount("enrollment.outcome.course_full"));
+        assertEquals(0, registry.getCount("enrollment.outcome.enrolled"));
+    }
+
+    //---------------------------------------------------------
+    // TEST METHOD: tryEnrollCourse
+    //---------------------------------------------------------
+
+    @Test
+    void testTryEnrollCourse_Success() {
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+
+        EnrollmentResult result = enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+
+        Enrollment enrollment = assertInstanceOf(EnrollmentResult.Success.class, result).enrollment();
+        assertEquals(VALID_STUDENT_ID, enrollment.getStudentId());
+        assertEquals(31, validCourse.getEnrolledCount());
+        verify(notificationService).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void testTryEnrollCourse_RejectionsReturnReasonWithoutSideEffects() {
+        Student suspended = new Student("S2", "Sari", "sari@mail.com", "IF", 3, 1.5, "SUSPENDED");
+        Course full = new Course("FULL", "Penuh", 3, 10, 10, "A");
+        when(studentRepository.findById("S999")).thenReturn(null);
+        when(studentRepository.findById("S2")).thenReturn(suspended);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode("MK999")).thenReturn(null);
+        when(courseRepository.findByCourseCode("FULL")).thenReturn(full);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(false);
+
+        assertRejected(RejectionReason.STUDENT_NOT_FOUND, enrollmentService.tryEnrollCourse("S999", VALID_COURSE_CODE));
+        assertRejected(RejectionReason.STUDENT_SUSPENDED, enrollmentService.tryEnrollCourse("S2", VALID_COURSE_CODE));
+        assertRejected(RejectionReason.COURSE_NOT_FOUND, enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, "MK999"));
+        assertRejected(RejectionReason.COURSE_FULL, enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, "FULL"));
+        assertRejected(RejectionReason.PREREQUISITE_NOT_MET,
+                enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+
+        assertEquals(30, validCourse.getEnrolledCount());
+        verify(courseRepository, never()).update(any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void testRejectedToException_MapsReasonAndCanBeStackless() {
+        EnrollmentResult.Rejected full = new EnrollmentResult.Rejected(VALID_COURSE_CODE,
+                RejectionReason.COURSE_FULL, "Course is full");
+
+        RuntimeException stackless = full.toException(false);
+        assertInstanceOf(CourseFullException.class, stackless);
+        assertEquals("Course is full", stackless.getMessage());
+        assertEquals(0, stackless.getStackTrace().length);
+        assertTrue(full.toException(true).getStackTrace().length > 0);
+
+        assertInstanceOf(StudentNotFoundException.class, new EnrollmentResult.Rejected(VALID_COURSE_CODE,
+                RejectionReason.STUDENT_NOT_FOUND, "x").toException(false));
+        assertInstanceOf(EnrollmentException.class, new EnrollmentResult.Rejected(VALID_COURSE_CODE,
+                RejectionReason.STUDENT_SUSPENDED, "x").toException(false));
+        assertInstanceOf(CourseNotFoundException.class, new EnrollmentResult.Rejected(VALID_COURSE_CODE,
+                RejectionReason.COURSE_NOT_FOUND, "x").toException(false));
+        assertInstanceOf(PrerequisiteNotMetException.class, new EnrollmentResult.Rejected(VALID_COURSE_CODE,
+                RejectionReason.PREREQUISITE_NOT_MET, "x").toException(false));
+        assertInstanceOf(ScheduleConflictException.class, new EnrollmentResult.Rejected(VALID_COURSE_CODE,
+                RejectionReason.SCHEDULE_CONFLICT, "x").toException(false));
+        assertInstanceOf(CreditLimitExceededException.class, new EnrollmentResult.Rejected(VALID_COURSE_CODE,
+                RejectionReason.CREDIT_LIMIT_EXCEEDED, "x").toException(false));
+    }
+
+    @Test
+    void testEnrollCourse_ScheduleConflict_RejectedUntilDropped() {
+        Course clash = new Course("CS102", "Matematika Diskrit", 3, 40, 0, "B");
+        validCourse.addTimeSlot(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(7, 30), LocalTime.of(9, 10)));
+        clash.addTimeSlot(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 40)));
+        enrollmentService.setStudentTimetable(new StudentTimetable());
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.findByCourseCode("CS102")).thenReturn(clash);
+        when(courseRepository.isPrerequisiteMet(eq(VALID_STUDENT_ID), anyString())).thenReturn(true);
+
+        enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        EnrollmentResult rejected = enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, "CS102");
+
+        assertRejected(RejectionReason.SCHEDULE_CONFLICT, rejected);
+        assertEquals("Schedule conflicts with: CS101", ((EnrollmentResult.Rejected) rejected).message());
+        assertThrows(ScheduleConflictException.class, () -> enrollmentService.enrollCourse(VALID_STUDENT_ID, "CS102"));
+        assertEquals(0, clash.getEnrolledCount());
+
+        enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        assertTrue(enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, "CS102").isSuccess());
+    }
+
+    @Test
+    void testEnrollCourses_ConflictWithinRequestAndFittingQuery() {
+        Course morning = new Course("CS102", "Matematika Diskrit", 3, 40, 0, "B");
+        Course overlap = new Course("CS103", "Statistika", 3, 40, 0, "C");
+        Course afternoon = new Course("CS104", "Basis Data", 3, 40, 0, "D");
+        morning.addTimeSlot(new TimeSlot(DayOfWeek.TUESDAY, LocalTime.of(7, 0), LocalTime.of(8, 40)));
+        overlap.addTimeSlot(new TimeSlot(DayOfWeek.TUESDAY, LocalTime.of(8, 0), LocalTime.of(9, 40)));
+        afternoon.addTimeSlot(new TimeSlot(DayOfWeek.TUESDAY, LocalTime.of(8, 40), LocalTime.of(10, 20)));
+        Map<String, Course> catalog = new LinkedHashMap<>();
+        catalog.put("CS102", morning);
+        catalog.put("CS103", overlap);
+        catalog.put("CS104", afternoon);
+        enrollmentService.setStudentTimetable(new StudentTimetable());
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCodes(any())).thenReturn(catalog);
+        when(courseRepository.findCoursesWithPrerequisitesMet(eq(VALID_STUDENT_ID), any()))
+                .thenReturn(Set.of("CS102", "CS103"));
+
+        assertEquals(Set.of("CS102", "CS103", "CS104"),
+                enrollmentService.findCoursesFittingSchedule(VALID_STUDENT_ID, catalog.keySet()));
+
+        List<EnrollmentResult> results = enrollmentService.enrollCourses(VALID_STUDENT_ID, List.of("CS102", "CS103"));
+
+        assertTrue(results.get(0).isSuccess());
+        assertRejected(RejectionReason.SCHEDULE_CONFLICT, results.get(1));
+        assertEquals(0, overlap.getEnrolledCount());
+        assertEquals(Set.of("CS104"), enrollmentService.findCoursesFittingSchedule(VALID_STUDENT_ID, catalog.keySet()),
+                "Mata kuliah yang sudah diambil ikut bentrok dengan dirinya sendiri");
+    }
+
+    @Test
+    void testEnrollCourse_CreditLimitEnforcedAndReleasedOnDrop() {
+        Course second = new Course("CS102", "Matematika Diskrit", 3, 40, 0, "B");
+        CreditLedger ledger = new CreditLedger();
+        enrollmentService.setCreditLedger(ledger);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.findByCourseCode("CS102")).thenReturn(second);
+        when(courseRepository.isPrerequisiteMet(eq(VALID_STUDENT_ID), anyString())).thenReturn(true);
+        when(gradeCalculator.calculateMaxCredits(validStudent.getGpa())).thenReturn(5);
+
+        enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        assertThrows(CreditLimitExceededException.class,
+                () -> enrollmentService.enrollCourse(VALID_STUDENT_ID, "CS102"));
+        assertEquals(3, ledger.getCredits(VALID_STUDENT_ID));
+        assertEquals(0, second.getEnrolledCount());
+
+        enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        assertEquals(0, ledger.getCredits(VALID_STUDENT_ID));
+        assertTrue(enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, "CS102").isSuccess());
+    }
+
+    /**
+     * Tanpa index, drop mata kuliah yang tidak pernah diambil tidak boleh mengembalikan SKS, dan
+     * refund memakai SKS saat enroll walaupun SKS mata kuliah sudah diubah.
+     */
+    @Test
+    void testDropCourse_RefundsOnlyChargedCredits() {
+        Course other = new Course("CS102", "Matematika Diskrit", 3, 40, 5, "B");
+        CreditLedger ledger = new CreditLedger();
+        enrollmentService.setCreditLedger(ledger);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.findByCourseCode("CS102")).thenReturn(other);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+        when(gradeCalculator.calculateMaxCredits(validStudent.getGpa())).thenReturn(24);
+
+        enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        enrollmentService.dropCourse(VALID_STUDENT_ID, "CS102");
+        assertEquals(3, ledger.getCredits(VALID_STUDENT_ID));
+
+        validCourse.setCredits(4);
+        enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        assertEquals(0, ledger.getCredits(VALID_STUDENT_ID));
+    }
+
+    /**
+     * Setelah restart index kosong diisi dari journal, lalu ledger dan timetable dibangun ulang
+     * dari pasangan enrollment aktif. Beban lama di ledger dibuang.
+     */
+    @Test
+    void testRebuildEnrollmentState_RestoresIndexLedgerAndTimetable(@TempDir Path tempDir) {
+        validCourse.addTimeSlot(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(7, 30), LocalTime.of(9, 10)));
+        Course clash = new Course("CS102", "Matematika Diskrit", 2, 40, 0, "B");
+        clash.addTimeSlot(new TimeSlot(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 40)));
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        EnrollmentIndex index = new EnrollmentIndex();
+        CreditLedger ledger = new CreditLedger();
+        StudentTimetable timetable = new StudentTimetable();
+        ledger.restoreCharge(VALID_STUDENT_ID, "OLD", 9);
+
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), 1 << 16)) {
+            journal.append("E1", VALID_STUDENT_ID, VALID_COURSE_CODE, 0, EnrollmentJournal.Status.ENROLLED);
+            journal.append("E2", VALID_STUDENT_ID, "CS999", 0, EnrollmentJournal.Status.ENROLLED);
+            journal.append("E3", "S9", VALID_COURSE_CODE, 0, EnrollmentJournal.Status.ENROLLED);
+            journal.appendDurably("E4", "S9", VALID_COURSE_CODE, 0, EnrollmentJournal.Status.DROPPED);
+            enrollmentService.setEnrollmentJournal(journal);
+            enrollmentService.setEnrollmentIndex(index);
+            enrollmentService.setCreditLedger(ledger);
+            enrollmentService.setStudentTimetable(timetable);
+
+            enrollmentService.rebuildEnrollmentState();
+        }
+
+        assertTrue(index.contains(VALID_STUDENT_ID, VALID_COURSE_CODE));
+        assertTrue(index.contains(VALID_STUDENT_ID, "CS999"));
+        assertFalse(index.contains("S9", VALID_COURSE_CODE));
+        assertEquals(3, ledger.getCredits(VALID_STUDENT_ID));
+        assertEquals(0, ledger.getCredits("S9"));
+        assertEquals(Set.of(VALID_COURSE_CODE), timetable.getCourseCodes(VALID_STUDENT_ID));
+        assertEquals(VALID_COURSE_CODE, timetable.findConflict(VALID_STUDENT_ID, clash));
+    }
+
+    /**
+     * Index kosong tidak boleh diisi dari journal yang awalnya sudah dipotong, karena enrollment
+     * sebelum titik potong akan hilang tanpa jejak.
+     */
+    @Test
+    void testRebuildEnrollmentState_TruncatedJournalWithoutSnapshotThrows(@TempDir Path tempDir) {
+        CreditLedger ledger = new CreditLedger();
+        ledger.restoreCharge(VALID_STUDENT_ID, VALID_COURSE_CODE, 3);
+
+        try (EnrollmentJournal journal = new EnrollmentJournal(tempDir.resolve("enrollment.wal"), 4096)) {
+            for (int i = 0; i < 200; i++) {
+                journal.append("E" + i, "S" + i, VALID_COURSE_CODE, 0, EnrollmentJournal.Status.ENROLLED);
+            }
+            journal.awaitDurable(journal.getWritePosition());
+            assertTrue(journal.truncateBefore(journal.getWritePosition()) > 0);
+            enrollmentService.setEnrollmentJournal(journal);
+            enrollmentService.setEnrollmentIndex(new EnrollmentIndex());
+            enrollmentService.setCreditLedger(ledger);
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> enrollmentService.rebuildEnrollmentState());
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+        assertEquals(3, ledger.getCredits(VALID_STUDENT_ID));
+    }
+
+    @Test
+    void testRebuildEnrollmentState_WithoutIndexOrJournalThrows() {
+        enrollmentService.setCreditLedger(new CreditLedger());
+
+        assertThrows(IllegalStateException.class, () -> enrollmentService.rebuildEnrollmentState());
+    }
+
+    @Test
+    void testEnrollCourse_CreditRefundedWhenCourseFull() {
+        CreditLedger ledger = new CreditLedger();
+        enrollmentService.setCreditLedger(ledger);
+        validCourse.setEnrolledCount(40);
+        Map<String, Course> courses = Map.of(VALID_COURSE_CODE, validCourse);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCodes(any())).thenReturn(courses);
+
+        List<EnrollmentResult> results = enrollmentService.enrollCourses(VALID_STUDENT_ID, List.of(VALID_COURSE_CODE));
+
+        assertRejected(RejectionReason.COURSE_FULL, results.get(0));
+        assertEquals(0, ledger.getCredits(VALID_STUDENT_ID));
+    }
+
+    /**
+     * Banyak tab browser milik satu mahasiswa mendaftar ke mata kuliah berbeda secara bersamaan.
+     * Total SKS yang berhasil tidak boleh melebihi batas.
+     */
+    @Test
+    void testEnrollCourse_ParallelRequestsFromOneStudentRespectLimit() throws InterruptedException {
+        CreditLedger ledger = new CreditLedger();
+        enrollmentService.setCreditLedger(ledger);
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Course course = new Course("MK" + i, "Mata Kuliah " + i, 3, 40, 0, "A");
+            codes.add(course.getCourseCode());
+            when(courseRepository.findByCourseCode(course.getCourseCode())).thenReturn(course);
+        }
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.isPrerequisiteMet(eq(VALID_STUDENT_ID), anyString())).thenReturn(true);
+        when(gradeCalculator.calculateMaxCredits(validStudent.getGpa())).thenReturn(24);
+
+        AtomicInteger enrolled = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (String code : codes) {
+            pool.execute(() -> {
+                if (enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, code).isSuccess()) {
+                    enrolled.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(8, enrolled.get());
+        assertEquals(24, ledger.getCredits(VALID_STUDENT_ID));
+    }
+
+    @Test
+    void testEnrollCourse_DuplicateRejectedAndDropValidated() {
+        EnrollmentIndex index = new EnrollmentIndex();
+        enrollmentService.setEnrollmentIndex(index);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+
+        enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        assertRejected(RejectionReason.ALREADY_ENROLLED,
+                enrollmentService.tryEnrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+        assertEquals(31, validCourse.getEnrolledCount());
+        assertEquals(List.of(VALID_COURSE_CODE), index.getCourseCodes(VALID_STUDENT_ID));
+
+        enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        assertThrows(EnrollmentException.class,
+                () -> enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE));
+        assertEquals(30, validCourse.getEnrolledCount());
+        assertFalse(index.contains(VALID_STUDENT_ID, VALID_COURSE_CODE));
+    }
+
+    @Test
+    void testEnrollCourses_AlreadyEnrolledCourseRejected() {
+        Course second = new Course("CS102", "Matematika Diskrit", 3, 40, 0, "B");
+        EnrollmentIndex index = new EnrollmentIndex();
+        index.add(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        enrollmentService.setEnrollmentIndex(index);
+        Map<String, Course> courses = Map.of(VALID_COURSE_CODE, validCourse, "CS102", second);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCodes(any())).thenReturn(courses);
+        when(courseRepository.findCoursesWithPrerequisitesMet(eq(VALID_STUDENT_ID), any()))
+                .thenReturn(Set.of(VALID_COURSE_CODE, "CS102"));
+
+        List<EnrollmentResult> results = enrollmentService.enrollCourses(VALID_STUDENT_ID,
+                List.of(VALID_COURSE_CODE, "CS102"));
+
+        assertRejected(RejectionReason.ALREADY_ENROLLED, results.get(0));
+        assertTrue(results.get(1).isSuccess());
+        assertEquals(30, validCourse.getEnrolledCount());
+        assertEquals(Set.of(VALID_COURSE_CODE, "CS102"), Set.copyOf(index.getCourseCodes(VALID_STUDENT_ID)));
+    }
+
+    /**
+     * Double-click pada tombol drop: hanya satu drop yang boleh melepas kursi.
+     */
+    @Test
+    void testDropCourse_ParallelDropsReleaseOneSeat() throws InterruptedException {
+        EnrollmentIndex index = new EnrollmentIndex();
+        index.add(VALID_STUDENT_ID, VALID_COURSE_CODE);
+        enrollmentService.setEnrollmentIndex(index);
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+
+        AtomicInteger dropped = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 16; i++) {
+            pool.execute(() -> {
+                try {
+                    enrollmentService.dropCourse(VALID_STUDENT_ID, VALID_COURSE_CODE);
+                    dropped.incrementAndGet();
+                } catch (EnrollmentException e) {
+                    // Drop lain sudah melepas kursi
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1, dropped.get());
+        assertEquals(29, validCourse.getEnrolledCount());
+    }
+
+    /**
+     * Web tier me-retry request yang timeout: retry tidak boleh memakai kursi atau mengirim email lagi.
+     */
+    @Test
+    void testEnrollCourse_RetryWithSameRequestKeyReturnsOriginalEnrollment() {
+        enrollmentService.setIdempotencyCache(new IdempotencyCache(1_000, Duration.ofMinutes(10)));
+        when(studentRepository.findById(VALID_STUDENT_ID)).thenReturn(validStudent);
+        when(courseRepository.findByCourseCode(VALID_COURSE_CODE)).thenReturn(validCourse);
+        when(courseRepository.isPrerequisiteMet(VALID_STUDENT_ID, VALID_COURSE_CODE)).thenReturn(true);
+
+        Enrollment first = enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE, "req-1");
+        Enrollment retry = enrollmentService.enrollCourse(VALID_STUDENT_ID, VALID_COURSE_CODE, "req-1");
+
+        assertSame(first, retry);
+        assertEquals(31, validCourse.getEnrolledCount());
+        verify(studentRepository, times(1)).findById(VALID_STUDENT_ID);
+        verify(courseRepository, times(1)).update(validCourse);
+        verify(notificationService, times(1)).sendEmail(anyString(), anyString(), anyString());
+        assertThrows(IllegalArgumentException.class,
+                () -> enrollmentService.enrollCourse("S999", VALID_COURSE_CODE, "req-1"));
+    }
+
+    private static void assertRejected(RejectionReason expected, EnrollmentResult result) {
+        assertFalse(result.isSuccess());
+        assertEquals(expected, assertInstanceOf(EnrollmentResult.Rejected.class, result).reason());
+    }
+}
@@ -0,0 +1,128 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk GpaAccumulator, membandingkan hasilnya dengan GradeCalculator.calculateGPA.
+ */
+class GpaAccumulatorTest {
+
+    private static final double[] GRADE_POINTS = {0.0, 1.0, 1.7, 2.0, 2.3, 2.7, 3.0, 3.3, 3.7, 4.0};
+
+    private GradeCalculator calculator;
+
+    @BeforeEach
+    void setUp() {
+        calculator = new GradeCalculator();
+    }
+
+    @Test
+    void testEmptyAccumulator() {
+        GpaAccumulator accumulator = calculator.newAccumulator(null);
+
+        assertEquals(0.0, accumulator.getGpa());
+        assertEquals(0, accumulator.getGradeCount());
+        assertEquals(0, accumulator.getTotalCredits());
+    }
+
+    @Test
+    void testNewAccumulator_SameAsCalculateGPA() {
+        List<CourseGrade> grades = Arrays.asList(
+                new CourseGrade("MK1", 3, 4.0),
+                new CourseGrade("MK2", 2, 3.0)
+        );
+
+        GpaAccumulator accumulator = calculator.newAccumulator(grades);
+
+        assertEquals(calculator.calculateGPA(grades), accumulator.getGpa());
+        assertEquals(3.60, accumulator.getGpa());
+        assertEquals(5, accumulator.getTotalCredits());
+    }
+
+    @Test
+    void testReplace_Retake() {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        accumulator.add(3, 1.0);
+        accumulator.add(3, 4.0);
+
+        // Mengulang mata kuliah pertama, nilai D menjadi A
+        accumulator.replace(3, 1.0, 3, 4.0);
+
+        assertEquals(4.0, accumulator.getGpa());
+        assertEquals(2, accumulator.getGradeCount());
+    }
+
+    @Test
+    void testRemove_BackToEmpty() {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        accumulator.add(2, 3.0);
+        accumulator.remove(2, 3.0);
+
+        assertEquals(0.0, accumulator.getGpa());
+        assertThrows(IllegalArgumentException.class, () -> accumulator.remove(2, 3.0));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.replace(2, 3.0, 2, 4.0));
+    }
+
+    @Test
+    void testValidation_SameAsCalculateGPA() {
+        GpaAccumulator accumulator = new GpaAccumulator();
+
+        IllegalArgumentException fromAccumulator = assertThrows(IllegalArgumentException.class, () ->
+                accumulator.add(3, 4.5));
+        IllegalArgumentException fromCalculator = assertThrows(IllegalArgumentException.class, () ->
+                calculator.calculateGPA(List.of(new CourseGrade("MK1", 3, 4.5))));
+        assertEquals(fromCalculator.getMessage(), fromAccumulator.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(3, -0.1));
+        assertEquals(0, accumulator.getGradeCount(), "Nilai invalid tidak boleh mengubah akumulator");
+    }
+
+    @Test
+    void testZeroCredits_ReturnsZero() {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        accumulator.add(0, 3.0);
+
+        assertEquals(calculator.calculateGPA(List.of(new CourseGrade("MK1", 0, 3.0))), accumulator.getGpa());
+    }
+
+    /**
+     * Urutan acak add, remove, dan replace harus selalu menghasilkan IPK yang identik
+     * dengan calculateGPA atas transkrip yang setara.
+     */
+    @Test
+    void testRandomOperations_BitIdenticalToCalculateGPA() {
+        Random random = new Random(20240101L);
+        for (int round = 0; round < 200; round++) {
+            GpaAccumulator accumulator = new GpaAccumulator();
+            List<CourseGrade> transcript = new ArrayList<>();
+            for (int op = 0; op < 100; op++) {
+                int action = random.nextInt(3);
+                int credits = 1 + random.nextInt(4);
+                double gradePoint = GRADE_POINTS[random.nextInt(GRADE_POINTS.length)];
+                if (action == 0 || transcript.isEmpty()) {
+                    accumulator.add(credits, gradePoint);
+                    transcript.add(new CourseGrade("MK" + op, credits, gradePoint));
+                } else if (action == 1) {
+                    CourseGrade removed = transcript.remove(random.nextInt(transcript.size()));
+                    accumulator.remove(removed.getCredits(), removed.getGradePoint());
+                } else {
+                    int index = random.nextInt(transcript.size());
+                    CourseGrade old = transcript.get(index);
+                    accumulator.replace(old.getCredits(), old.getGradePoint(), credits, gradePoint);
+                    transcript.set(index, new CourseGrade(old.getCourseCode(), credits, gradePoint));
+                }
+                assertEquals(Double.doubleToLongBits(calculator.calculateGPA(transcript)),
+                        Double.doubleToLongBits(accumulator.getGpa()));
+            }
+        }
+    }
+}
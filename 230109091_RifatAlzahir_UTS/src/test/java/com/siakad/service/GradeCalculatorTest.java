@@ -3,9 +3,13 @@ package com.siakad.service;
 import com.siakad.model.CourseGrade;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,6 +76,57 @@ class GradeCalculatorTest {
         assertEquals(3.08, gpa, DELTA, "Pembulatan IPK salah (seharusnya 3.08)");
     }
 
+    /**
+     * Rata-rata yang tepat berada di batas .xx5 harus dibulatkan ke atas.
+     * Contoh pertama: total poin 20.4, total SKS 16, IPK eksak 1.275 -> 1.28
+     */
+    @Test
+    void testCalculateGPA_HalfUpOnExactBoundary() {
+        List<CourseGrade> grades = Arrays.asList(
+                new CourseGrade("MK1", 4, 1.3),
+                new CourseGrade("MK2", 1, 3.7),
+                new CourseGrade("MK3", 3, 1.0),
+                new CourseGrade("MK4", 4, 1.3),
+                new CourseGrade("MK5", 3, 0.0),
+                new CourseGrade("MK6", 1, 3.3)
+        );
+        assertEquals(1.28, calculator.calculateGPA(grades));
+
+        // 10.9 / 4 = 2.725 -> 2.73
+        assertEquals(2.73, calculator.calculateGPA(Arrays.asList(
+                new CourseGrade("MK1", 3, 3.3), new CourseGrade("MK2", 1, 1.0))));
+        // 33.9 / 20 = 1.695 -> 1.70
+        assertEquals(1.70, calculator.calculateGPA(Arrays.asList(
+                new CourseGrade("MK1", 10, 2.0), new CourseGrade("MK2", 10, 1.39))));
+        // 9.9 / 4 = 2.475 -> 2.48
+        assertEquals(2.48, calculator.calculateGPA(Arrays.asList(
+                new CourseGrade("MK1", 3, 3.3), new CourseGrade("MK2", 1, 0.0))));
+    }
+
+    /**
+     * Hasil calculateGPA harus sama dengan pembulatan HALF_UP eksak (BigDecimal) untuk transkrip acak.
+     */
+    @Test
+    void testCalculateGPA_MatchesExactHalfUp() {
+        double[] standard = {0.0, 1.0, 1.3, 1.7, 2.0, 2.3, 2.7, 3.0, 3.3, 3.7, 4.0};
+        Random random = new Random(7);
+        for (int t = 0; t < 20_000; t++) {
+            List<CourseGrade> grades = new ArrayList<>();
+            BigDecimal points = BigDecimal.ZERO;
+            int credits = 0;
+            for (int i = 1 + random.nextInt(12); i > 0; i--) {
+                double gradePoint = standard[random.nextInt(standard.length)];
+                int sks = 1 + random.nextInt(4);
+                grades.add(new CourseGrade("MK" + i, sks, gradePoint));
+                points = points.add(BigDecimal.valueOf(gradePoint).multiply(BigDecimal.valueOf(sks)));
+                credits += sks;
+            }
+            double expected = points.divide(BigDecimal.valueOf(credits), 2, RoundingMode.HALF_UP)
+                    .doubleValue();
+            assertEquals(expected, calculator.calculateGPA(grades), () -> "Transkrip: " + grades);
+        }
+    }
+
     @Test
     void testCalculateGPA_EdgeCases() {
         // Case: List kosong
@@ -0,0 +1,139 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Enrollment;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk IdempotencyCache.
+ */
+class IdempotencyCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void testGetOrCompute_DuplicateKeyReturnsFirstResult() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(10), clock::get);
+
+        Enrollment first = cache.getOrCompute("req-1", () -> enroll("S1"));
+        Enrollment retry = cache.getOrCompute("req-1", () -> enroll("S1"));
+        Enrollment other = cache.getOrCompute("req-2", () -> enroll("S1"));
+
+        assertSame(first, retry);
+        assertNotSame(first, other);
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testGetOrCompute_FailureIsNotCached() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(10), clock::get);
+
+        assertThrows(CourseFullException.class, () -> cache.getOrCompute("req-1", () -> {
+            throw new CourseFullException("Course is full");
+        }));
+        Enrollment retry = cache.getOrCompute("req-1", () -> enroll("S1"));
+
+        assertEquals("S1", retry.getStudentId());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testGetOrCompute_KeyExpiresAfterTtl() {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofSeconds(10), clock::get);
+        Enrollment first = cache.getOrCompute("req-1", () -> enroll("S1"));
+
+        clock.set(Duration.ofSeconds(9).toNanos());
+        assertSame(first, cache.getOrCompute("req-1", () -> enroll("S1")));
+        Enrollment second = cache.getOrCompute("req-2", () -> enroll("S2"));
+
+        clock.set(Duration.ofSeconds(15).toNanos());
+        assertSame(second, cache.getOrCompute("req-2", () -> enroll("S2")), "Key masih di generasi previous");
+        assertNotSame(first, cache.getOrCompute("req-1", () -> enroll("S1")));
+
+        clock.set(Duration.ofSeconds(25).toNanos());
+        assertNotSame(second, cache.getOrCompute("req-2", () -> enroll("S2")));
+        assertEquals(4, executions.get());
+    }
+
+    @Test
+    void testGetOrCompute_MemoryBoundedByMaxEntries() {
+        IdempotencyCache cache = new IdempotencyCache(1_000, Duration.ofHours(1), clock::get);
+
+        for (int i = 0; i < 100_000; i++) {
+            cache.getOrCompute("req-" + i, () -> enroll("S1"));
+            assertTrue(cache.size() <= 1_000);
+        }
+        assertEquals(100_000, executions.get());
+    }
+
+    /**
+     * Retry yang datang ketika request pertama masih berjalan harus menunggu hasilnya,
+     * bukan menjalankan enrollment kedua.
+     */
+    @Test
+    void testGetOrCompute_ConcurrentRetriesWaitForFirstExecution() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Enrollment>> results = new ArrayList<>();
+
+        results.add(pool.submit(() -> cache.getOrCompute("req-1", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return enroll("S1");
+        })));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            results.add(pool.submit(() -> cache.getOrCompute("req-1", () -> enroll("S1"))));
+        }
+        release.countDown();
+
+        Enrollment first = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<Enrollment> result : results) {
+            assertSame(first, result.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void testConstructor_InvalidArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyCache(0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyCache(10, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyCache(10, null));
+        IdempotencyCache cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        assertThrows(IllegalArgumentException.class, () -> cache.getOrCompute(null, () -> enroll("S1")));
+    }
+
+    private Enrollment enroll(String studentId) {
+        executions.incrementAndGet();
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentId("E" + executions.get());
+        enrollment.setStudentId(studentId);
+        enrollment.setCourseCode("IF101");
+        return enrollment;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.model.TimeSlot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk StudentTimetable.
+ */
+class StudentTimetableTest {
+
+    private StudentTimetable timetable;
+
+    @BeforeEach
+    void setUp() {
+        timetable = new StudentTimetable();
+    }
+
+    @Test
+    void testReserve_DetectsConflictAndAllowsAdjacentSlots() {
+        Course first = course("CS101", DayOfWeek.MONDAY, 7, 30, 9, 10);
+        Course adjacent = course("CS102", DayOfWeek.MONDAY, 9, 10, 10, 50);
+        Course clash = course("CS103", DayOfWeek.MONDAY, 10, 0, 11, 0);
+
+        assertNull(timetable.reserve("S1", first));
+        assertNull(timetable.reserve("S1", adjacent));
+        assertEquals("CS102", timetable.reserve("S1", clash));
+        assertEquals("CS102", timetable.findConflict("S1", clash));
+        assertNull(timetable.findConflict("S2", clash), "Mahasiswa lain tidak terpengaruh");
+        assertEquals(Set.of("CS101", "CS102"), timetable.getCourseCodes("S1"));
+    }
+
+    @Test
+    void testRelease_FreesSlots() {
+        Course first = course("CS101", DayOfWeek.FRIDAY, 13, 0, 15, 30);
+        Course clash = course("CS103", DayOfWeek.FRIDAY, 15, 0, 16, 0);
+        timetable.reserve("S1", first);
+
+        timetable.release("S1", "CS101");
+        timetable.release("S1", "MK999");
+        timetable.release("S9", "CS101");
+
+        assertNull(timetable.reserve("S1", clash));
+        assertEquals(Set.of("CS103"), timetable.getCourseCodes("S1"));
+    }
+
+    @Test
+    void testReserve_CourseWithoutSlotsNeverConflicts() {
+        Course online = new Course("CS900", "Kuliah Daring", 2, 100, 0, "A");
+        online.setTimeSlots(null);
+
+        assertNull(timetable.reserve("S1", course("CS101", DayOfWeek.MONDAY, 7, 0, 9, 0)));
+        assertNull(timetable.reserve("S1", online));
+        assertNull(timetable.findConflict("S1", new Course("CS901", "Daring", 2, 10, 0, "A")));
+    }
+
+    @Test
+    void testFindFitting_MatchesPairwiseOverlapCheck() {
+        Random random = new Random(3);
+        List<Course> catalog = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Course course = new Course("MK" + i, "Mata Kuliah " + i, 3, 40, 0, "A");
+            for (int meeting = 0; meeting < 1 + random.nextInt(2); meeting++) {
+                // Hari Senin-Sabtu, mulai 07:00-18:55, durasi 30-175 menit
+                int start = random.nextInt(6) * 288 + 7 * 12 + random.nextInt(12 * 12);
+                course.addTimeSlot(TimeSlot.ofUnits(start, start + 6 + random.nextInt(30)));
+            }
+            catalog.add(course);
+        }
+        List<TimeSlot> taken = new ArrayList<>();
+        for (Course course : catalog.subList(0, 60)) {
+            if (timetable.reserve("S1", course) == null) {
+                taken.addAll(course.getTimeSlots());
+            }
+        }
+
+        List<Course> expected = new ArrayList<>();
+        for (Course course : catalog) {
+            if (course.getTimeSlots().stream().noneMatch(slot -> taken.stream().anyMatch(slot::overlaps))) {
+                expected.add(course);
+            }
+        }
+        assertEquals(expected, timetable.findFitting("S1", catalog));
+        assertEquals(catalog, timetable.findFitting("S2", catalog));
+    }
+
+    private static Course course(String code, DayOfWeek day, int startHour, int startMinute,
+                                 int endHour, int endMinute) {
+        Course course = new Course(code, "Mata Kuliah " + code, 3, 40, 0, "A");
+        course.addTimeSlot(new TimeSlot(day, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute)));
+        return course;
+    }
+}
@@ -0,0 +1,129 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test untuk TranscriptImporter, hasil import dibandingkan dengan GradeCalculator.calculateGPA.
+ */
+class TranscriptImporterTest {
+
+    private static final String[] GRADE_POINTS = {"0.0", "1", "1.7", "2.0", "2.3", "2.7", "3.0", "3.3", "3.7", "4.00"};
+
+    @TempDir
+    Path tempDir;
+
+    private final GradeCalculator calculator = new GradeCalculator();
+
+    @Test
+    void testImport_MatchesCalculateGpaAcrossWindowBoundaries() throws Exception {
+        Random random = new Random(11);
+        Map<String, List<CourseGrade>> expected = new LinkedHashMap<>();
+        StringBuilder csv = new StringBuilder("studentId,courseCode,credits,gradePoint\n");
+        for (int s = 0; s < 200; s++) {
+            String studentId = "2301" + s;
+            List<CourseGrade> grades = new ArrayList<>();
+            for (int c = 0; c < 1 + random.nextInt(12); c++) {
+                String gradePoint = GRADE_POINTS[random.nextInt(GRADE_POINTS.length)];
+                int credits = 1 + random.nextInt(4);
+                grades.add(new CourseGrade("MK" + c, credits, Double.parseDouble(gradePoint)));
+                csv.append(studentId).append(",MK").append(c).append(',').append(credits).append(',')
+                        .append(gradePoint).append('\n');
+            }
+            expected.put(studentId, grades);
+        }
+        Path file = write(csv.toString());
+
+        Map<String, Double> imported = new LinkedHashMap<>();
+        TranscriptImporter.ImportSummary summary = new TranscriptImporter(',', true, 64)
+                .importFile(file, (studentId, gpa, totalCredits, gradeCount) -> {
+                    assertEquals(expected.get(studentId).size(), gradeCount);
+                    imported.put(studentId, gpa);
+                });
+
+        assertEquals(200, summary.getStudents());
+        assertEquals(expected.values().stream().mapToInt(List::size).sum(), summary.getRows());
+        for (Map.Entry<String, List<CourseGrade>> entry : expected.entrySet()) {
+            assertEquals(calculator.calculateGPA(entry.getValue()), imported.get(entry.getKey()), entry.getKey());
+        }
+    }
+
+    @Test
+    void testImport_CustomDelimiterCrlfAndBlankLines() throws Exception {
+        Path file = write("S1;IF101;3;4.0\r\n\r\nS1;IF102;2;2.5\r\nS2;IF101;3;3.3333333\r\n");
+        List<String> results = new ArrayList<>();
+
+        new TranscriptImporter(';', false).importFile(file, (studentId, gpa, totalCredits, gradeCount) ->
+                results.add(studentId + "=" + gpa + "/" + totalCredits + "/" + gradeCount));
+
+        double expectedS1 = calculator.calculateGPA(List.of(new CourseGrade("IF101", 3, 4.0),
+                new CourseGrade("IF102", 2, 2.5)));
+        double expectedS2 = calculator.calculateGPA(List.of(new CourseGrade("IF101", 3, 3.3333333)));
+        assertEquals(List.of("S1=" + expectedS1 + "/5/2", "S2=" + expectedS2 + "/3/1"), results);
+    }
+
+    @Test
+    void testImport_RejectsGradePointOutOfRange() throws Exception {
+        TranscriptImporter importer = new TranscriptImporter(',', false);
+
+        IllegalArgumentException tooHigh = assertThrows(IllegalArgumentException.class, () ->
+                importer.importFile(write("S1,IF101,3,4.5\n"), (id, gpa, credits, count) -> { }));
+        assertTrue(tooHigh.getMessage().startsWith("Invalid grade point: 4.5"));
+        assertThrows(IllegalArgumentException.class, () ->
+                importer.importFile(write("S1,IF101,3,-1.0\n"), (id, gpa, credits, count) -> { }));
+        assertThrows(IllegalArgumentException.class, () ->
+                importer.importFile(write("S1,IF101,3,4.0000001\n"), (id, gpa, credits, count) -> { }));
+    }
+
+    @Test
+    void testImport_RejectsMalformedRows() throws Exception {
+        TranscriptImporter importer = new TranscriptImporter(',', false);
+
+        for (String row : List.of("S1,IF101,3", "S1,,3,3.0", ",IF101,3,3.0", "S1,IF101,x,3.0",
+                "S1,IF101,3,3.0.0", "S1,IF101,3,", "S1,IF101,3,3.0,extra", "S1,IF101,-3,3.0")) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+                    importer.importFile(write(row + "\n"), (id, gpa, credits, count) -> { }), row);
+            assertTrue(error.getMessage().contains("line 1"), row);
+        }
+    }
+
+    @Test
+    void testImport_RejectsLineLongerThanWindow() throws Exception {
+        Path file = write("S1,IF101,3,3.0\nS1,IF102,3,3.0000000000000000000000000000\n");
+
+        assertThrows(IllegalArgumentException.class, () ->
+                new TranscriptImporter(',', false, 32).importFile(file, (id, gpa, credits, count) -> { }));
+    }
+
+    @Test
+    void testImport_EmptyFile() throws Exception {
+        TranscriptImporter.ImportSummary summary = new TranscriptImporter()
+                .importFile(write(""), (id, gpa, credits, count) -> fail("no students expected"));
+
+        assertEquals(0, summary.getRows());
+        assertEquals(0, summary.getStudents());
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidDelimiter() {
+        assertThrows(IllegalArgumentException.class, () -> new TranscriptImporter('.', true));
+        assertThrows(IllegalArgumentException.class, () -> new TranscriptImporter('5', true));
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = Files.createTempFile(tempDir, "transcript", ".csv");
+        Files.writeString(file, content);
+        return file;
+    }
+}